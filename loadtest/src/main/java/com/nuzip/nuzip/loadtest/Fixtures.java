@@ -0,0 +1,77 @@
+package com.nuzip.nuzip.loadtest;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.domain.UserRepository;
+import com.nuzip.nuzip.security.JwtService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 측정 전에 준비하는 데이터
+ * - 로컬 계정 N개 (비밀번호 해시는 한 번만 계산해서 공유)
+ * - 계정별 JWT, 구글 로그인용 스텁 ID 토큰 (측정 중 서명 비용이 섞이지 않도록 미리 발급)
+ */
+public final class Fixtures {
+
+    public static final String PASSWORD = "loadtest-pw";
+    private static final NewsCategory[] CATEGORIES = NewsCategory.values();
+
+    private final String[] userIds;
+    private final String[] tokens;
+    private final String[] googleIdTokens;
+
+    private Fixtures(String[] userIds, String[] tokens, String[] googleIdTokens) {
+        this.userIds = userIds;
+        this.tokens = tokens;
+        this.googleIdTokens = googleIdTokens;
+    }
+
+    public static Fixtures create(ConfigurableApplicationContext context, StubGoogleIssuer issuer, int users) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JwtService jwtService = context.getBean(JwtService.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        String[] userIds = new String[users];
+        String[] tokens = new String[users];
+        String[] googleIdTokens = new String[users];
+        List<User> batch = new ArrayList<>(1000);
+        for (int i = 0; i < users; i++) {
+            userIds[i] = "lt-user-" + i;
+            batch.add(User.builder()
+                    .userId(userIds[i])
+                    .password(passwordHash)
+                    .username("부하테스트" + i)
+                    .newsCategory(Set.of(CATEGORIES[i % 8], CATEGORIES[(i + 1) % 8], CATEGORIES[(i + 3) % 8]))
+                    .build());
+            if (batch.size() == 1000) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+            tokens[i] = jwtService.generateToken(userIds[i]);
+            googleIdTokens[i] = issuer.issueIdToken("lt-google-" + i + "@loadtest.local", "구글" + i);
+        }
+        userRepository.saveAll(batch);
+        return new Fixtures(userIds, tokens, googleIdTokens);
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public String userId(int i) {
+        return userIds[i];
+    }
+
+    public String token(int i) {
+        return tokens[i];
+    }
+
+    public String googleIdToken(int i) {
+        return googleIdTokens[i];
+    }
+}
@@ -0,0 +1,77 @@
+package com.nuzip.nuzip.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 (--key=value 인자)
+ * --rate=200            초당 요청 수 (고정 도착률, 응답을 기다리지 않음)
+ * --duration=60         측정 구간(초)
+ * --warmup=10           워밍업(초, 결과에서 제외)
+ * --users=500           미리 만들어 둘 로컬 계정 수
+ * --mix=login=20,registerCheck=20,me=40,categories=15,google=5   작업 비율
+ * --seed=42             작업 선택 난수 시드
+ * --report-dir=build/loadtest
+ * --app.<property>=...  앱 설정 덮어쓰기 (예: --app.nuzip.limiter.enabled=false)
+ */
+public record LoadTestConfig(int rate,
+                             int durationSeconds,
+                             int warmupSeconds,
+                             int users,
+                             Map<Operation, Integer> mix,
+                             long seed,
+                             String reportDir,
+                             List<String> appArgs) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("인자는 --key=value 형식이어야 합니다: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("app.")) {
+                appArgs.add("--" + key.substring(4) + "=" + value);
+            } else {
+                values.put(key, value);
+            }
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("users", "500")),
+                parseMix(values.getOrDefault("mix", "login=20,registerCheck=20,me=40,categories=15,google=5")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("report-dir", "build/loadtest"),
+                List.copyOf(appArgs));
+        if (config.rate() < 1 || config.durationSeconds() < 1 || config.users() < 1) {
+            throw new IllegalArgumentException("rate, duration, users는 1 이상이어야 합니다.");
+        }
+        return config;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("mix 형식이 올바르지 않습니다: " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(kv[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("mix에 비율이 0보다 큰 작업이 하나 이상 있어야 합니다.");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nuzip.nuzip.loadtest;
+
+import com.nuzip.nuzip.NuzipApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 오프라인 부하 테스트 진입점
+ * 1) 로컬 스텁 구글 발급자 기동
+ * 2) NuzipApplication을 임베디드 H2 + 스텁 발급자 설정으로 같은 JVM에서 기동 (MariaDB, 구글 접속 불필요)
+ * 3) 계정/토큰 준비 → 고정 도착률로 혼합 작업 실행 → 리포트 작성
+ *
+ * 실행: ./gradlew :loadtest:run --args="--rate=300 --duration=60 --mix=login=10,me=60,categories=20,google=10"
+ */
+public final class LoadTestMain {
+
+    private static final String CLIENT_ID = "loadtest-client";
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        run(LoadTestConfig.parse(args));
+    }
+
+    // 앱 기동 → 부하 → 리포트 (LoadTestMainTest가 짧은 설정으로 같은 경로를 실행)
+    static OpenLoopDriver.Result run(LoadTestConfig config) throws Exception {
+        try (StubGoogleIssuer issuer = new StubGoogleIssuer(CLIENT_ID);
+             ConfigurableApplicationContext context = startApplication(issuer, config)) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("앱 기동 완료: port=%d, 계정 %d개 준비 중...%n", port, config.users());
+            Fixtures fixtures = Fixtures.create(context, issuer, config.users());
+
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+            try {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(clientExecutor)
+                        .build();
+                System.out.printf("부하 시작: rate=%d/s, warmup=%ds, duration=%ds, mix=%s%n",
+                        config.rate(), config.warmupSeconds(), config.durationSeconds(), config.mix());
+                OpenLoopDriver.Result result =
+                        new OpenLoopDriver(client, "http://127.0.0.1:" + port, fixtures, config).run();
+                LoadTestReport.write(config, result, System.out);
+                return result;
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+        }
+    }
+
+    // 커맨드라인 인자로 넘겨야 application.properties(MariaDB 설정)보다 우선함
+    private static ConfigurableApplicationContext startApplication(StubGoogleIssuer issuer, LoadTestConfig config) {
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.security.oauth2.client.registration.google.client-id=" + CLIENT_ID,
+                "--spring.security.oauth2.client.registration.google.client-secret=loadtest",
+                "--nuzip.google.certs-url=" + issuer.certsUrl(),
+                "--nuzip.google.issuers=" + StubGoogleIssuer.ISSUER,
+                "--nuzip.ingest.enabled=false",
+                "--nuzip.article-log.enabled=false",
+                // 앱이 쓰는 로컬 파일은 리포트 디렉터리 아래로 (실행마다 새로)
+                "--nuzip.ingest.drop-dir=" + Path.of(config.reportDir(), "data", "drop"),
+                "--nuzip.seen.dir=" + Path.of(config.reportDir(), "data", "seen"),
+                "--nuzip.article-codec.dir=" + Path.of(config.reportDir(), "data", "dict"),
+                "--nuzip.digest.spool-dir=" + Path.of(config.reportDir(), "data", "digest")
+        ));
+        appArgs.addAll(config.appArgs()); // --app.* 로 받은 덮어쓰기가 마지막에 와서 우선
+        return new SpringApplicationBuilder(NuzipApplication.class).run(appArgs.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,89 @@
+package com.nuzip.nuzip.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 결과 리포트
+ * - report.txt  : 작업별 처리량, p50/p99/p999/max (보정 지연), 보정 전 p99
+ * - report.json : 같은 내용 (기계 판독용)
+ * - {작업}.hgrm  : HdrHistogram 백분위 분포 (그래프용)
+ */
+public final class LoadTestReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LoadTestReport() {
+    }
+
+    public static void write(LoadTestConfig config, OpenLoopDriver.Result result, PrintStream console) throws IOException {
+        Path dir = Path.of(config.reportDir());
+        Files.createDirectories(dir);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("rate", config.rate());
+        json.put("durationSeconds", config.durationSeconds());
+        json.put("warmupSeconds", config.warmupSeconds());
+        json.put("users", config.users());
+        json.put("measuredSeconds", result.measuredSeconds());
+        json.put("lateStarts", result.lateStarts());
+        json.put("unfinished", result.unfinished());
+        Map<String, Object> operations = new LinkedHashMap<>();
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("rate=%d/s duration=%ds warmup=%ds users=%d (late starts=%d, unfinished=%d)%n",
+                config.rate(), config.durationSeconds(), config.warmupSeconds(), config.users(),
+                result.lateStarts(), result.unfinished()));
+        text.append(String.format("%-14s %9s %9s %8s %8s %10s %10s %10s %10s %12s%n",
+                "operation", "ok", "rejected", "failed", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "svc p99(ms)"));
+
+        for (Map.Entry<Operation, OpenLoopDriver.Stats> e : result.stats().entrySet()) {
+            OpenLoopDriver.Stats s = e.getValue();
+            Histogram h = s.latency;
+            long count = h.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            double throughput = count / result.measuredSeconds();
+            text.append(String.format("%-14s %9d %9d %8d %8.1f %10.2f %10.2f %10.2f %10.2f %12.2f%n",
+                    e.getKey().key(), s.ok.sum(), s.rejected.sum(), s.failed.sum(), throughput,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(99)),
+                    ms(h.getValueAtPercentile(99.9)), ms(h.getMaxValue()),
+                    ms(s.serviceTime.getValueAtPercentile(99))));
+
+            Map<String, Object> op = new LinkedHashMap<>();
+            op.put("ok", s.ok.sum());
+            op.put("rejected", s.rejected.sum());
+            op.put("failed", s.failed.sum());
+            op.put("throughput", throughput);
+            op.put("p50Ms", ms(h.getValueAtPercentile(50)));
+            op.put("p99Ms", ms(h.getValueAtPercentile(99)));
+            op.put("p999Ms", ms(h.getValueAtPercentile(99.9)));
+            op.put("maxMs", ms(h.getMaxValue()));
+            op.put("serviceTimeP99Ms", ms(s.serviceTime.getValueAtPercentile(99)));
+            operations.put(e.getKey().key(), op);
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(e.getKey().key() + ".hgrm")))) {
+                h.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        json.put("operations", operations);
+
+        Files.writeString(dir.resolve("report.txt"), text);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(dir.resolve("report.json").toFile(), json);
+        console.print(text);
+        console.println("리포트: " + dir.toAbsolutePath());
+    }
+
+    private static double ms(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,124 @@
+package com.nuzip.nuzip.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 도착률(open model) 부하 발생기
+ * - i번째 요청의 "예정 시각" = 시작 + i / rate. 응답을 기다리지 않고 예정 시각에 비동기로 보냄
+ * - 지연시간은 실제 전송 시각이 아니라 예정 시각부터 잼 → 서버가 밀려 발생기가 늦게 보낸 시간까지 포함
+ *   (coordinated omission 보정. 보정 전 값은 serviceTime 히스토그램에 따로 기록)
+ */
+public class OpenLoopDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Fixtures fixtures;
+    private final LoadTestConfig config;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder lateStarts = new LongAdder();
+
+    public OpenLoopDriver(HttpClient client, String baseUrl, Fixtures fixtures, LoadTestConfig config) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.fixtures = fixtures;
+        this.config = config;
+        for (Operation op : Operation.values()) {
+            stats.put(op, new Stats());
+        }
+    }
+
+    public Result run() throws InterruptedException {
+        Operation[] table = weightedTable(config.mix());
+        SplittableRandom random = new SplittableRandom(config.seed());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long total = (long) config.rate() * (config.warmupSeconds() + config.durationSeconds());
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (-wait > TimeUnit.MILLISECONDS.toNanos(10)) {
+                lateStarts.increment();
+            }
+
+            Operation op = table[random.nextInt(table.length)];
+            HttpRequest request = op.request(baseUrl, fixtures, random);
+            boolean measured = intended >= measureFrom;
+            long sentAt = System.nanoTime();
+            outstanding.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long end = System.nanoTime();
+                        outstanding.decrementAndGet();
+                        if (measured) {
+                            stats.get(op).record(end - intended, end - sentAt,
+                                    error != null ? -1 : response.statusCode());
+                        }
+                    });
+        }
+        long measureEnd = System.nanoTime();
+
+        // 아직 응답이 안 온 요청 대기 (최대 30초)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        return new Result(stats, (measureEnd - measureFrom) / 1e9, lateStarts.sum(), outstanding.get());
+    }
+
+    // 비율대로 작업을 채운 선택표 (예: login=20 → 20칸)
+    private static Operation[] weightedTable(Map<Operation, Integer> mix) {
+        int size = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] table = new Operation[size];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> e : mix.entrySet()) {
+            for (int w = 0; w < e.getValue(); w++) {
+                table[i++] = e.getKey();
+            }
+        }
+        return table;
+    }
+
+    public record Result(Map<Operation, Stats> stats, double measuredSeconds, long lateStarts, int unfinished) {
+    }
+
+    public static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);     // 예정 시각 기준 (보정)
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3); // 실제 전송 시각 기준
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder(); // 503 (과부하 차단)
+        final LongAdder failed = new LongAdder();   // 그 외 4xx/5xx, 연결 오류
+
+        void record(long latencyNanos, long serviceNanos, int status) {
+            latency.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+            serviceTime.recordValue(Math.min(serviceNanos, HIGHEST_TRACKABLE_NANOS));
+            if (status >= 200 && status < 300) {
+                ok.increment();
+            } else if (status == 503) {
+                rejected.increment();
+            } else {
+                failed.increment();
+            }
+        }
+    }
+}
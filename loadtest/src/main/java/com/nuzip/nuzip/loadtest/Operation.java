@@ -0,0 +1,81 @@
+package com.nuzip.nuzip.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * 부하 테스트 작업 종류와 요청 생성
+ */
+public enum Operation {
+    LOGIN("login"),
+    REGISTER_CHECK("registerCheck"),
+    ME("me"),
+    CATEGORIES("categories"),
+    GOOGLE("google");
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] CATEGORY_CODES =
+            {"POLITICS", "ECONOMY", "SOCIETY", "LIFE_CULTURE", "IT_SCIENCE", "WORLD", "ENTERTAINMENT", "SPORTS"};
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation op : values()) {
+            if (op.key.equals(key)) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 작업: " + key);
+    }
+
+    public HttpRequest request(String baseUrl, Fixtures fixtures, SplittableRandom random) {
+        int user = random.nextInt(fixtures.userCount());
+        return switch (this) {
+            case LOGIN -> post(baseUrl + "/login", null,
+                    "{\"userId\":\"" + fixtures.userId(user) + "\",\"password\":\"" + Fixtures.PASSWORD + "\"}");
+            case REGISTER_CHECK -> HttpRequest.newBuilder(URI.create(
+                            baseUrl + "/api/auth/register/check?userId=lt-new-" + Long.toHexString(random.nextLong())))
+                    .timeout(REQUEST_TIMEOUT).GET().build();
+            case ME -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/me"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + fixtures.token(user))
+                    .GET().build();
+            case CATEGORIES -> post(baseUrl + "/api/users/me/categories", fixtures.token(user),
+                    "{\"categories\":" + threeCategories(random) + "}");
+            case GOOGLE -> post(baseUrl + "/api/auth/google", null,
+                    "{\"idToken\":\"" + fixtures.googleIdToken(user) + "\"}");
+        };
+    }
+
+    private static HttpRequest post(String url, String token, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    // 8개 중 서로 다른 3개
+    private static String threeCategories(SplittableRandom random) {
+        int a = random.nextInt(8);
+        int b = (a + 1 + random.nextInt(7)) % 8;
+        int c;
+        do {
+            c = random.nextInt(8);
+        } while (c == a || c == b);
+        return "[\"" + CATEGORY_CODES[a] + "\",\"" + CATEGORY_CODES[b] + "\",\"" + CATEGORY_CODES[c] + "\"]";
+    }
+}
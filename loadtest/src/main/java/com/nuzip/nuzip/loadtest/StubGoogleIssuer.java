@@ -0,0 +1,89 @@
+package com.nuzip.nuzip.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.Certificate;
+import java.util.Base64;
+
+/**
+ * 구글 ID 토큰 발급자 흉내 (오프라인 부하 테스트용)
+ * - /oauth2/v1/certs : 구글 v1 형식 {kid: PEM 인증서} 공개키 응답 (Cache-Control로 앱에서 캐시)
+ * - issueIdToken : 같은 키로 RS256 서명한 ID 토큰 발급
+ * 키는 리소스의 stub-issuer.p12 (자체 서명, 테스트 전용)
+ */
+public class StubGoogleIssuer implements AutoCloseable {
+
+    public static final String ISSUER = "https://stub-issuer.nuzip.local";
+    private static final String KEY_ID = "loadtest-stub";
+    private static final char[] STORE_PASSWORD = "loadtest".toCharArray();
+
+    private final String clientId;
+    private final PrivateKey privateKey;
+    private final byte[] certsBody;
+    private final HttpServer server;
+
+    public StubGoogleIssuer(String clientId) throws Exception {
+        this.clientId = clientId;
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = StubGoogleIssuer.class.getResourceAsStream("/stub-issuer.p12")) {
+            keyStore.load(in, STORE_PASSWORD);
+        }
+        this.privateKey = (PrivateKey) keyStore.getKey("stub-issuer", STORE_PASSWORD);
+        Certificate certificate = keyStore.getCertificate("stub-issuer");
+        String pem = "-----BEGIN CERTIFICATE-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(certificate.getEncoded())
+                + "\n-----END CERTIFICATE-----\n";
+        this.certsBody = ("{\"" + KEY_ID + "\":\"" + pem.replace("\n", "\\n") + "\"}").getBytes(StandardCharsets.UTF_8);
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth2/v1/certs", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, certsBody.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(certsBody);
+            }
+        });
+        server.start();
+    }
+
+    public String certsUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/oauth2/v1/certs";
+    }
+
+    public String issueIdToken(String email, String name) {
+        long now = System.currentTimeMillis() / 1000;
+        String header = "{\"alg\":\"RS256\",\"kid\":\"" + KEY_ID + "\",\"typ\":\"JWT\"}";
+        String payload = "{\"iss\":\"" + ISSUER + "\",\"aud\":\"" + clientId + "\",\"sub\":\"" + Math.abs(email.hashCode())
+                + "\",\"email\":\"" + email + "\",\"email_verified\":true,\"name\":\"" + name
+                + "\",\"iat\":" + now + ",\"exp\":" + (now + 3600) + "}";
+        String signingInput = base64Url(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + base64Url(payload.getBytes(StandardCharsets.UTF_8));
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + base64Url(signature.sign());
+        } catch (Exception e) {
+            throw new IllegalStateException("스텁 ID 토큰 서명 실패", e);
+        }
+    }
+
+    private static String base64Url(byte[] data) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(data);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.stop(0);
+    }
+}
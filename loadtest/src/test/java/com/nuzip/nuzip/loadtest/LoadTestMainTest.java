@@ -0,0 +1,52 @@
+package com.nuzip.nuzip.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 부하 테스트 모듈: 인자 파싱, 그리고 앱 기동 → 작업 5종 → 리포트까지 짧게 한 바퀴 (앱 API가 바뀌면 여기서 깨짐)
+class LoadTestMainTest {
+
+    @Test
+    void parsesArgumentsAndMix() {
+        LoadTestConfig config = LoadTestConfig.parse(new String[]{
+                "--rate=50", "--duration=5", "--mix=login=1,me=3,google=0", "--app.nuzip.limiter.enabled=false"});
+
+        assertThat(config.rate()).isEqualTo(50);
+        assertThat(config.durationSeconds()).isEqualTo(5);
+        assertThat(config.mix()).containsOnlyKeys(Operation.LOGIN, Operation.ME);
+        assertThat(config.appArgs()).containsExactly("--nuzip.limiter.enabled=false");
+
+        assertThatThrownBy(() -> LoadTestConfig.parse(new String[]{"--mix=nope=1"}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LoadTestConfig.parse(new String[]{"rate=1"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shortRunExercisesEveryOperation(@TempDir Path reportDir) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(new String[]{
+                "--rate=25", "--duration=2", "--warmup=0", "--users=10",
+                "--mix=login=1,registerCheck=1,me=1,categories=1,google=1",
+                "--report-dir=" + reportDir});
+
+        OpenLoopDriver.Result result = LoadTestMain.run(config);
+
+        assertThat(result.unfinished()).isZero();
+        long ok = 0;
+        for (Operation op : Operation.values()) {
+            OpenLoopDriver.Stats stats = result.stats().get(op);
+            assertThat(stats.failed.sum()).as(op.key()).isZero();
+            assertThat(stats.ok.sum()).as(op.key()).isPositive();
+            ok += stats.ok.sum();
+        }
+        assertThat(ok).isGreaterThanOrEqualTo(40);
+        assertThat(Files.exists(reportDir.resolve("report.json"))).isTrue();
+        assertThat(Files.exists(reportDir.resolve("me.hgrm"))).isTrue();
+    }
+}
@@ -0,0 +1,117 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// 기사 본문 저장 코덱: 카테고리 사전(raw deflate) vs 건별 gzip
+// - 압축률은 @Setup에서 한 번 계산해 출력 (저장 바이트 / 원문 바이트)
+// - decode*: 저장된 블록 1건을 본문 문자열로 되돌리는 처리량
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ArticleBodyCodecBenchmark {
+
+    private static final String[] PRESS = {"연합뉴스", "뉴시스", "뉴스1"};
+    private static final String[] WORDS = {
+            "프로야구", "포스트시즌", "홈런", "투수", "타석", "감독은", "경기에서", "선발", "승리를", "이끌었다",
+            "관중", "시즌", "우승", "대표팀", "득점", "후반", "역전", "연장", "기록했다", "밝혔다"};
+
+    @Param({"SPORTS"})
+    NewsCategory category;
+
+    private ArticleBodyCodec codec;
+    private byte[][] dictionaryBlocks;
+    private byte[][] gzipBlocks;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        codec = new ArticleBodyCodec(Files.createTempDirectory("codec-bench").toString(),
+                6, 512, 4096, 512, 0.15, 60, 168);
+        // 학습용 512건 → 사전 학습이 끝날 때까지 대기
+        for (int i = 0; i < 512; i++) {
+            codec.encode(category, body(random));
+        }
+        for (int i = 0; i < 200 && version() == 0; i++) {
+            Thread.sleep(50);
+        }
+
+        int n = 1024;
+        dictionaryBlocks = new byte[n][];
+        gzipBlocks = new byte[n][];
+        long raw = 0;
+        long dictionaryBytes = 0;
+        long gzipBytes = 0;
+        for (int i = 0; i < n; i++) {
+            String body = body(random);
+            raw += body.getBytes(StandardCharsets.UTF_8).length;
+            dictionaryBlocks[i] = codec.encode(category, body);
+            gzipBlocks[i] = gzip(body);
+            dictionaryBytes += dictionaryBlocks[i].length;
+            gzipBytes += gzipBlocks[i].length;
+        }
+        System.out.printf("%n[%s] 사전 v%d 압축률 %.3f, gzip 압축률 %.3f (원문 평균 %dB)%n",
+                category, version(), (double) dictionaryBytes / raw, (double) gzipBytes / raw, raw / n);
+    }
+
+    @Benchmark
+    public String decodeDictionary() {
+        return codec.decode(ByteBuffer.wrap(dictionaryBlocks[cursor++ & 1023]));
+    }
+
+    @Benchmark
+    public String decodeGzip() throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipBlocks[cursor++ & 1023]))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int version() {
+        Map<String, Object> categories = (Map<String, Object>) codec.stats().get("categories");
+        return (int) ((Map<String, Object>) categories.get(category.name())).get("version");
+    }
+
+    // 통신사 머리말/꼬리말 + 카테고리 어휘로 만든 본문
+    private static String body(SplittableRandom random) {
+        String press = PRESS[random.nextInt(PRESS.length)];
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append("(서울=").append(press).append(") 김").append((char) ('가' + random.nextInt(100)))
+                .append("기자 = ");
+        int sentences = 5 + random.nextInt(20);
+        for (int s = 0; s < sentences; s++) {
+            int words = 6 + random.nextInt(10);
+            for (int w = 0; w < words; w++) {
+                sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            sb.append(random.nextInt(10)).append("일 ").append("경기에서 ").append(random.nextInt(20)).append("점을 올렸다. ");
+        }
+        sb.append("\n\n").append(press).append(" 기자 news@").append(press.hashCode() & 0xff)
+                .append(".co.kr\n저작권자(c) ").append(press).append(", 무단 전재-재배포, AI 학습 및 활용 금지");
+        return sb.toString();
+    }
+
+    private static byte[] gzip(String body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,64 @@
+package com.nuzip.nuzip.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 수집 파이프라인 중복 제거 단계 처리량 측정
+// - fingerprint: 정규화 단계(병렬)에서 기사 1건당 SimHash 계산 비용
+// - representativeOf: 저장 스레드에서 LSH 밴드 조회+색인 비용 (윈도우에 windowSize건이 이미 있는 상태)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ArticleDedupBenchmark {
+
+    private static final String SYLLABLES = "가나다라마바사아자차카타파하국회정부예산경제시장금리선거야구축구반도체";
+
+    @Param({"100000"})
+    int windowSize;
+
+    private String[] titles;
+    private String[] bodies;
+    private long[] fingerprints;
+    private ArticleDeduplicator deduplicator;
+    private long nextId;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        titles = new String[1024];
+        bodies = new String[1024];
+        fingerprints = new long[1024];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = text(random, 30);
+            bodies[i] = text(random, 2000);
+            fingerprints[i] = random.nextLong();
+        }
+        deduplicator = new ArticleDeduplicator(true, 7, 60, 24, windowSize * 2);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < windowSize; i++) {
+            deduplicator.representativeOf(nextId++, random.nextLong(), now);
+        }
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        int i = cursor++ & 1023;
+        return SimHash.fingerprint(titles[i], bodies[i]);
+    }
+
+    @Benchmark
+    public long representativeOf() {
+        return deduplicator.representativeOf(nextId++, fingerprints[cursor++ & 1023] ^ nextId, System.currentTimeMillis());
+    }
+
+    private static String text(SplittableRandom random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextInt(6) == 0 ? ' ' : SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+        }
+        return sb.toString();
+    }
+}
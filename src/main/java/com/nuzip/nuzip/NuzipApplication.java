@@ -7,12 +7,14 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
 import java.util.Set;
 
 @SpringBootApplication
+@EnableScheduling   // 폐기 토큰 정리 등 주기 작업
 public class NuzipApplication {
 
 	public static void main(String[] args) {
@@ -22,12 +24,16 @@ public class NuzipApplication {
 	@Bean
 	CommandLineRunner runner(UserRepository userRepository, PasswordEncoder passwordEncoder) {
 		return args -> {
+			// BCrypt는 일부러 느리므로 더미 유저를 새로 만들 때만, 같은 비밀번호는 한 번만 해시
+			String password = null;
+
 			// 이미 더미유저가 있다면 중복 저장 방지
 			if (!userRepository.existsByUserId("kim1")) {
+				password = passwordEncoder.encode("1234");
 
 				User user1 = User.builder()
 						.userId("kim1")
-						.password(passwordEncoder.encode("1234"))
+						.password(password)
 						.username("김일")
 						.newsCategory(Set.of(
 								NewsCategory.POLITICS,
@@ -42,9 +48,12 @@ public class NuzipApplication {
 			}
 
 			if (!userRepository.existsByUserId("lee2")) {
+				if (password == null) {
+					password = passwordEncoder.encode("1234");
+				}
 				User user2 = User.builder()
 						.userId("lee2")
-						.password(passwordEncoder.encode("1234"))
+						.password(password)
 						.username("이이")
 						.newsCategory(Set.of(
 								NewsCategory.SOCIETY,
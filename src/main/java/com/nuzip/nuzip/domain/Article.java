@@ -0,0 +1,25 @@
+package com.nuzip.nuzip.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+// 기사 요약 (피드/검색에 쓰는 불변 값 객체, JPA 엔티티 아님)
+@Getter
+@Builder
+@AllArgsConstructor
+public class Article {
+
+    private final long id;
+    private final NewsCategory category;
+    private final String title;
+    private final String summary;
+    private final String url;
+    private final String source;     // 언론사/피드 이름
+    private final long publishedAt;  // epoch ms
+
+    // 본문 (피드/검색 응답에는 싣지 않음)
+    @JsonIgnore
+    private final String body;
+}
@@ -0,0 +1,26 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 기사 id 블록 발급 위치 (홈 샤드에 한 행)
+// - 노드는 nextId를 블록 크기만큼 올린 뒤(compare-and-set) 그 구간을 메모리에서 나눠 씀 → 노드끼리 id가 겹치지 않음
+// - 기사 로그를 복구한 노드는 nextId를 복구한 최대 id 다음까지 올림
+// - 읽기/쓰기는 ArticleIdGenerator가 JDBC로만 (엔티티는 스키마 정의용)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "article_id_blocks")
+public class ArticleIdBlock {
+
+    @Id
+    @Column(length = 30)
+    private String name;
+
+    // 아직 아무 노드에도 발급하지 않은 첫 id
+    @Column(nullable = false)
+    private long nextId;
+}
@@ -0,0 +1,39 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 이미 쓴 회원정보 수정용 임시(reverify) 토큰
+// - jti 유니크 제약이 1회 사용의 기준 → 노드가 여럿이어도 먼저 넣은 한 요청만 성공
+// - 쓰기/정리는 ReverifyTokenStore가 JDBC로만 (엔티티는 스키마 정의용), 사용자 샤드에 기록
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "consumed_reverify_tokens",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_consumed_reverify_tokens", columnNames = {"jti"})
+        },
+        indexes = {
+                @Index(name = "idx_consumed_reverify_tokens_expires_at", columnList = "expiresAt")
+        }
+)
+public class ConsumedReverifyToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String jti;
+
+    @Column(nullable = false, length = 50)
+    private String userId;
+
+    // 토큰 만료 시각(epoch ms) → 이후에는 기록을 지워도 됨 (토큰 자체가 파서에서 거절됨)
+    @Column(nullable = false)
+    private long expiresAt;
+}
@@ -0,0 +1,46 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 폐기된 JWT 기록 (서버 재시작 후 메모리 폐기 목록 복구용)
+// - TOKEN: 로그아웃 등으로 jti 하나를 폐기
+// - USER : 비밀번호 변경 등으로 해당 사용자의 notBefore 이전 발급 토큰 전체 폐기
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "revoked_tokens",
+        indexes = {
+                @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt")
+        }
+)
+public class RevokedToken {
+
+    public enum Kind {
+        TOKEN,
+        USER
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    // TOKEN이면 jti, USER면 userId
+    @Column(nullable = false, length = 64)
+    private String revokedKey;
+
+    // USER일 때만 사용: 이 시각(epoch ms) 이전에 발급된 토큰은 무효
+    private long notBefore;
+
+    // 원래 토큰이 만료되는 시각(epoch ms) → 이후에는 기록을 지워도 됨
+    @Column(nullable = false)
+    private long expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.nuzip.nuzip.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// 폐기 토큰 기록 리포지토리 (Spring Data REST 노출 안 함)
+@RepositoryRestResource(exported = false)
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // 재시작 시 아직 살아있는(만료 전) 기록만 복구
+    List<RevokedToken> findByExpiresAtGreaterThan(long now);
+
+    @Transactional
+    long deleteByExpiresAtLessThanEqual(long now);
+}
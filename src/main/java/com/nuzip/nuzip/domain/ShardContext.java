@@ -0,0 +1,47 @@
+package com.nuzip.nuzip.domain;
+
+/**
+ * 현재 스레드가 사용할 샤드 번호
+ * - ShardRoutingDataSource가 "첫 SQL을 실행하는 순간" 이 값으로 실제 DB를 고름 (LazyConnectionDataSourceProxy)
+ * - 한 트랜잭션은 첫 SQL의 샤드에 고정되므로, 바인딩은 트랜잭션 안 첫 조회보다 먼저 걸려 있어야 함
+ * - 바인딩이 없으면 홈 샤드(0번): 샤드와 무관한 테이블, 스케줄러 등
+ */
+public final class ShardContext {
+
+    public static final int HOME = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    // 바인딩된 샤드 (없으면 null)
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    // try-with-resources로 사용, 닫으면 이전 바인딩으로 복원 (중첩 가능)
+    public static Binding bind(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return new Binding(previous);
+    }
+
+    public static final class Binding implements AutoCloseable {
+
+        private final Integer previous;
+
+        private Binding(Integer previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.nuzip.nuzip.domain;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 샤드별 실제 커넥션 풀 (라우팅을 거치지 않고 특정 샤드에 직접 붙어야 할 때: 스키마 복제 등)
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardDataSources(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,72 @@
+package com.nuzip.nuzip.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 일관된 해시 링 (불변)
+ * - 샤드마다 가상 노드 virtualNodes개를 링에 뿌리고, userId 해시의 시계 방향 첫 지점이 담당 샤드
+ * - 샤드 하나를 추가하면 약 1/(N+1)의 사용자만 새 샤드로 이동
+ */
+public final class ShardRing {
+
+    private final int[] members;
+    private final long[] points;  // 정렬된 링 위치
+    private final int[] owners;   // points[i]를 담당하는 샤드
+
+    public ShardRing(List<Integer> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("샤드가 하나 이상 있어야 합니다.");
+        }
+        this.members = members.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        int n = this.members.length * virtualNodes;
+        long[] hashes = new long[n];
+        int k = 0;
+        for (int shard : this.members) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[k++] = hash("shard-" + shard + "#" + v);
+            }
+        }
+        // 해시 순으로 정렬하면서 담당 샤드도 같이 옮기기 위해 순서만 구함
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[n];
+        this.owners = new int[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = this.members[order[i] / virtualNodes];
+        }
+    }
+
+    public int shardOf(String userId) {
+        long h = hash(userId);
+        int i = Arrays.binarySearch(points, h);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return owners[i == points.length ? 0 : i];
+    }
+
+    public int[] members() {
+        return members.clone();
+    }
+
+    public boolean contains(int shard) {
+        return Arrays.binarySearch(members, shard) >= 0;
+    }
+
+    // FNV-1a 64 + 마무리 섞기 (짧은 아이디도 링 전체에 고르게)
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,36 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 노드별로 마지막에 적용한 샤드 링 version (홈 샤드)
+// - ShardRingSync가 주기마다 갱신 → UserResharder는 살아 있는 노드가 모두 새 version을 보고한 뒤에만 옛 샤드를 정리
+// - seenAt이 오래된 행은 내려간 노드로 보고 무시 (정상 종료 시에는 행을 지움)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "shard_ring_nodes",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_shard_ring_nodes_node_id", columnNames = {"nodeId"})
+        }
+)
+public class ShardRingNode {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String nodeId;
+
+    @Column(nullable = false)
+    private long version;
+
+    // 마지막 보고 시각 (epoch ms)
+    @Column(nullable = false)
+    private long seenAt;
+}
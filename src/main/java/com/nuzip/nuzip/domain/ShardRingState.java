@@ -0,0 +1,31 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 모든 노드가 따르는 현재 샤드 링 (홈 샤드에 한 행, id = 1)
+// - 처음 뜬 노드가 설정(nuzip.sharding.active)의 링을 version 1로 기록, 이후에는 재분배만 version을 올림
+// - 읽기/쓰기는 ShardRingSync가 JDBC로만 (엔티티는 스키마 정의용)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "shard_ring_state")
+public class ShardRingState {
+
+    @Id
+    private Long id;
+
+    // 링 멤버 샤드 번호 (쉼표 구분, 예: "0,1,2")
+    @Column(nullable = false, length = 200)
+    private String members;
+
+    @Column(nullable = false)
+    private long version;
+
+    // 마지막으로 바뀐 시각 (epoch ms)
+    @Column(nullable = false)
+    private long updatedAt;
+}
@@ -0,0 +1,152 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 사용자 샤드 라우팅
+ * - userId의 일관된 해시로 샤드를 고르고, 그 샤드를 바인딩한 채로 작업 실행
+ * - 샤딩을 끄면(기본) 샤드는 0번 하나뿐이고 바인딩은 아무 영향 없음 → 기존 단일 DB 그대로
+ * - 링은 교체 가능 (노드 사이 공유 링은 ShardRingSync가 적용, 재분배는 UserResharder)
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    private final int shardCount;
+    private final int virtualNodes;
+    private final int idStride;
+    private final ExecutorService scatterPool;
+    private volatile ShardRing ring;
+
+    public ShardRouter(@Value("${nuzip.sharding.enabled:false}") boolean enabled,
+                       @Value("${nuzip.sharding.urls:}") List<String> urls,
+                       @Value("${nuzip.sharding.active:}") List<Integer> active,
+                       @Value("${nuzip.sharding.virtual-nodes:128}") int virtualNodes,
+                       @Value("${nuzip.sharding.id-stride:64}") int idStride) {
+        this.shardCount = enabled ? urls.size() : 1;
+        if (shardCount < 1 || shardCount > idStride) {
+            throw new IllegalStateException("샤드 수는 1 ~ " + idStride + "개여야 합니다: " + shardCount);
+        }
+        this.virtualNodes = virtualNodes;
+        this.idStride = enabled ? idStride : 1;
+        this.ring = new ShardRing(active.isEmpty() || !enabled
+                ? IntStream.range(0, shardCount).boxed().toList()
+                : active, virtualNodes);
+        for (int shard : ring.members()) {
+            if (shard >= shardCount) {
+                throw new IllegalStateException("설정에 없는 샤드 번호: " + shard);
+            }
+        }
+        this.scatterPool = shardCount > 1 ? Executors.newFixedThreadPool(shardCount, r -> {
+            Thread t = new Thread(r, "shard-scatter");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+        if (enabled) {
+            log.info("🗂️ 사용자 샤딩: 물리 샤드 {}개, 링 {}", shardCount, Arrays.toString(ring.members()));
+        }
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    // 설정된 물리 샤드 수 (링에 아직 안 들어간 샤드 포함)
+    public int shardCount() {
+        return shardCount;
+    }
+
+    // 샤드 k의 users.id는 k+1, k+1+stride, k+1+2*stride ... → 샤드끼리 겹치지 않음 (샤딩 끄면 1)
+    public int idStride() {
+        return idStride;
+    }
+
+    public ShardRing ring() {
+        return ring;
+    }
+
+    public ShardRing newRing(List<Integer> members) {
+        for (int shard : members) {
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("설정에 없는 샤드 번호: " + shard);
+            }
+        }
+        return new ShardRing(members, virtualNodes);
+    }
+
+    // 공유 링이 바뀔 때만 호출 (ShardRingSync)
+    public void switchRing(ShardRing next) {
+        log.info("🗂️ 샤드 링 전환: {} → {}", Arrays.toString(ring.members()),
+                Arrays.toString(next.members()));
+        this.ring = next;
+    }
+
+    public int shardOf(String userId) {
+        return ring.shardOf(userId);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        try (ShardContext.Binding ignored = ShardContext.bind(shard)) {
+            return work.get();
+        }
+    }
+
+    public void runOnShard(int shard, Runnable work) {
+        try (ShardContext.Binding ignored = ShardContext.bind(shard)) {
+            work.run();
+        }
+    }
+
+    public <T> T onShardOf(String userId, Supplier<T> work) {
+        return onShard(shardOf(userId), work);
+    }
+
+    /**
+     * 스캐터-개더: 링의 모든 샤드에서 실행해 샤드 번호 순으로 결과 모음
+     * - 샤드가 여럿이면 샤드마다 별도 스레드(각자 커넥션/트랜잭션)로 병렬 실행
+     * - 호출한 쪽 트랜잭션에는 참여하지 않음
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        int[] shards = ring.members();
+        if (scatterPool == null || shards.length == 1) {
+            List<T> results = new ArrayList<>(shards.length);
+            for (int shard : shards) {
+                results.add(onShard(shard, () -> work.apply(shard)));
+            }
+            return results;
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.length);
+        for (int shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> onShard(shard, () -> work.apply(shard)), scatterPool));
+        }
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scatterPool != null) {
+            scatterPool.shutdownNow();
+        }
+    }
+}
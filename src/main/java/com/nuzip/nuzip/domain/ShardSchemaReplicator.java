@@ -0,0 +1,136 @@
+package com.nuzip.nuzip.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 홈 샤드 스키마를 나머지 샤드로 복제
+ * - Hibernate DDL(ddl-auto)은 홈 샤드에만 실행되므로, EntityManagerFactory 생성 직후(= DDL 직후,
+ *   리포지토리를 쓰는 빈들이 초기화되기 전)에 같은 테이블을 다른 샤드에 만듦
+ * - ddl-auto가 create 계열이면 다시 만들고, 아니면 테이블이 없을 때만 만듦
+ * - H2는 IDENTITY 증가폭을 샤드별로 맞춤 (MariaDB는 커넥션 세션 변수로 처리, ShardingConfig 참고)
+ *
+ * 운영 MariaDB에서는 마이그레이션 도구로 각 샤드 스키마를 관리하는 것이 원칙이고, 이건 로컬/테스트용 편의
+ */
+@Slf4j
+public class ShardSchemaReplicator implements BeanPostProcessor, EnvironmentAware {
+
+    // 샤드끼리 id가 겹치면 안 되는 테이블 (아웃박스는 릴레이가 간격을 stride로 봄)
+    private static final List<String> STRIDED_TABLES = List.of("users", "user_change_outbox");
+
+    private final ObjectProvider<ShardDataSources> shards;
+    private final ObjectProvider<ShardRouter> shardRouter;
+    private boolean recreate;
+    private boolean done;
+
+    ShardSchemaReplicator(ObjectProvider<ShardDataSources> shards, ObjectProvider<ShardRouter> shardRouter) {
+        this.shards = shards;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        recreate = environment.getProperty("spring.jpa.hibernate.ddl-auto", "none").startsWith("create");
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof LocalContainerEntityManagerFactoryBean && !done) {
+            done = true;
+            replicate(shards.getObject(), shardRouter.getObject().idStride());
+        }
+        return bean;
+    }
+
+    private void replicate(ShardDataSources shards, int stride) {
+        JdbcTemplate home = new JdbcTemplate(shards.get(ShardContext.HOME));
+        boolean h2 = "H2".equals(productName(home));
+        List<String> tables = tables(home);
+        List<String> ddl = h2 ? h2Script(home) : mariaDbScript(home, tables);
+
+        for (int k = 0; k < shards.size(); k++) {
+            JdbcTemplate shard = new JdbcTemplate(shards.get(k));
+            if (k != ShardContext.HOME) {
+                boolean exists = tables(shard).stream().anyMatch(t -> t.equalsIgnoreCase("users"));
+                if (recreate || !exists) {
+                    shard.execute((ConnectionCallback<Void>) c -> {
+                        try (var statement = c.createStatement()) {
+                            if (h2) {
+                                statement.execute("DROP ALL OBJECTS");
+                            } else {
+                                statement.execute("SET FOREIGN_KEY_CHECKS=0");
+                                for (String table : tables) {
+                                    statement.execute("DROP TABLE IF EXISTS `" + table + "`");
+                                }
+                            }
+                            for (String sql : ddl) {
+                                statement.execute(sql);
+                            }
+                            if (!h2) {
+                                statement.execute("SET FOREIGN_KEY_CHECKS=1");
+                            }
+                        }
+                        return null;
+                    });
+                    log.info("🗂️ 샤드 {} 스키마 생성: 테이블 {}개", k, tables.size());
+                }
+            }
+            if (h2) {
+                for (String table : STRIDED_TABLES) {
+                    long max = shard.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+                    long next = max - Math.floorMod(max, stride) + k + 1; // max보다 큰, k+1 (mod stride) 인 첫 값
+                    if (next <= max) {
+                        next += stride;
+                    }
+                    shard.execute("alter table " + table + " alter column id restart with " + next);
+                    shard.execute("alter table " + table + " alter column id set increment by " + stride);
+                }
+            }
+        }
+    }
+
+    private static String productName(JdbcTemplate jdbc) {
+        return jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+    }
+
+    private static List<String> tables(JdbcTemplate jdbc) {
+        return jdbc.execute((ConnectionCallback<List<String>>) c -> {
+            List<String> tables = new ArrayList<>();
+            DatabaseMetaData meta = c.getMetaData();
+            try (ResultSet rs = meta.getTables(c.getCatalog(), c.getSchema(), "%", new String[]{"TABLE"})) {
+                while (rs.next()) {
+                    tables.add(rs.getString("TABLE_NAME"));
+                }
+            }
+            return tables;
+        });
+    }
+
+    // 데이터 없이 스키마 객체만 (계정/설정 문장 제외)
+    private static List<String> h2Script(JdbcTemplate home) {
+        return home.queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS", String.class).stream()
+                .filter(sql -> !sql.startsWith("--") && !sql.startsWith("CREATE USER"))
+                .toList();
+    }
+
+    private static List<String> mariaDbScript(JdbcTemplate home, List<String> tables) {
+        List<String> ddl = new ArrayList<>(tables.size());
+        for (String table : tables) {
+            ddl.add(home.queryForObject("SHOW CREATE TABLE `" + table + "`", (rs, i) -> rs.getString(2)));
+        }
+        return ddl;
+    }
+}
@@ -0,0 +1,88 @@
+package com.nuzip.nuzip.domain;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 샤딩 데이터소스 (nuzip.sharding.enabled=true일 때만)
+ * - nuzip.sharding.urls의 순서가 곧 샤드 번호, 0번은 홈 샤드(샤드 키 없는 작업)
+ * - 라우팅 데이터소스를 LazyConnectionDataSourceProxy로 감싸서, 트랜잭션 시작이 아니라 첫 SQL 시점에 샤드를 고름
+ * - 모든 샤드는 같은 스키마 (홈 샤드에서 Hibernate가 만든 것을 ShardSchemaReplicator가 복제)
+ */
+@Configuration
+@ConditionalOnProperty(name = "nuzip.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    ShardDataSources shardDataSources(@Value("${nuzip.sharding.urls}") List<String> urls,
+                                      @Value("${nuzip.sharding.username:${spring.datasource.username:}}") String username,
+                                      @Value("${nuzip.sharding.password:${spring.datasource.password:}}") String password,
+                                      @Value("${nuzip.sharding.pool-size:10}") int poolSize,
+                                      ShardRouter shardRouter) {
+        List<HikariDataSource> shards = new ArrayList<>(urls.size());
+        for (int k = 0; k < urls.size(); k++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + k);
+            config.setJdbcUrl(urls.get(k));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            if (urls.get(k).startsWith("jdbc:mariadb:")) {
+                // 샤드마다 AUTO_INCREMENT를 k+1부터 stride 간격으로 → 전체에서 users.id가 겹치지 않음
+                config.setConnectionInitSql("SET SESSION auto_increment_increment=" + shardRouter.idStride()
+                        + ", auto_increment_offset=" + (k + 1));
+            }
+            shards.add(new HikariDataSource(config));
+        }
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int k = 0; k < shards.size(); k++) {
+            targets.put(k, shards.get(k));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(ShardContext.HOME));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // 홈 샤드에 스키마가 만들어진 직후 다른 샤드로 복제
+    @Bean
+    static ShardSchemaReplicator shardSchemaReplicator(ObjectProvider<ShardDataSources> shards,
+                                                       ObjectProvider<ShardRouter> shardRouter) {
+        return new ShardSchemaReplicator(shards, shardRouter);
+    }
+
+    // UserRepository 호출을 userId 샤드로
+    @Bean
+    static UserShardingPostProcessor userShardingPostProcessor(ObjectProvider<ShardRouter> shardRouter) {
+        return new UserShardingPostProcessor(shardRouter);
+    }
+
+    static class ShardRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            Integer shard = ShardContext.current();
+            return shard != null ? shard : ShardContext.HOME;
+        }
+    }
+}
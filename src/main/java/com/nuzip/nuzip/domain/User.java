@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Set;
 
 
@@ -69,6 +70,25 @@ public class User {
     @Builder.Default
     private AuthProvider provider = AuthProvider.LOCAL;
 
+    // 가입 시각 (관리자 사용자 목록의 가입 기간 필터용)
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    // 마지막 로그인/접속 시각 (UserActivityTracker만 JDBC 배치로 기록, 최대 flush 주기만큼 늦음)
+    // JPA는 읽기만 함 → 프로필 수정 시 엔티티가 옛 값으로 덮어쓰지 않음
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastLoginAt;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastSeenAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
     // 편의 메서드
     public boolean hasLocalPassword() {
         return this.password != null && !this.password.isBlank();
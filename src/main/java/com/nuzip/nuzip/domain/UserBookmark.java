@@ -0,0 +1,36 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 사용자가 "zip"(저장)한 기사
+// - 조회는 BookmarkService가 사용자 단위로 article_id만 한 번에 읽어 메모리 배열로 들고 있음
+// - 쓰기는 BookmarkService가 JDBC 배치로만 (엔티티는 스키마 정의용)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "user_bookmarks",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_user_bookmarks", columnNames = {"userId", "articleId"})
+        }
+)
+public class UserBookmark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String userId;
+
+    @Column(nullable = false)
+    private long articleId;
+
+    // 저장한 시각 (epoch ms)
+    @Column(nullable = false)
+    private long createdAt;
+}
@@ -0,0 +1,40 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 사용자별 카테고리 관심도 (클릭/체류 이벤트 누적, 시간이 지나면 반감기에 따라 감소)
+// - score는 decayedAt 시점 기준 값 → 읽을 때 현재 시각까지 감쇠해서 사용
+// - 쓰기는 UserAffinityService가 JDBC 배치 upsert로만 (엔티티는 스키마 정의용)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "user_category_affinity",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_user_category_affinity", columnNames = {"userId", "category"})
+        }
+)
+public class UserCategoryAffinity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private NewsCategory category;
+
+    @Column(nullable = false)
+    private float score;
+
+    // score가 기준으로 삼는 시각 (epoch ms)
+    @Column(nullable = false)
+    private long decayedAt;
+}
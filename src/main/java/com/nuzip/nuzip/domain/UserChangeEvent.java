@@ -0,0 +1,40 @@
+package com.nuzip.nuzip.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 트랜잭셔널 아웃박스: 사용자 변경과 같은 트랜잭션에서 기록되는 이벤트
+// 각 노드의 릴레이가 id 순서대로 읽어가서 로컬 캐시 무효화 등에 사용
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "user_change_outbox",
+        indexes = {
+                @Index(name = "idx_user_change_outbox_created_at", columnList = "createdAt")
+        }
+)
+public class UserChangeEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private UserChangeType type;
+
+    // 이벤트별 부가 정보 (없으면 null)
+    @Column(length = 100)
+    private String payload;
+
+    // 기록 시각(epoch ms)
+    @Column(nullable = false)
+    private long createdAt;
+}
@@ -0,0 +1,22 @@
+package com.nuzip.nuzip.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+// 아웃박스 리포지토리 (Spring Data REST 노출 안 함)
+@RepositoryRestResource(exported = false)
+public interface UserChangeEventRepository extends JpaRepository<UserChangeEvent, Long> {
+
+    // 키셋 페이징: 마지막으로 읽은 id 다음부터 한 배치
+    List<UserChangeEvent> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    // 노드 기동 시 시작 위치(가장 최근 id)
+    Optional<UserChangeEvent> findTopByOrderByIdDesc();
+
+    @Transactional
+    long deleteByCreatedAtLessThan(long createdAt);
+}
@@ -0,0 +1,10 @@
+package com.nuzip.nuzip.domain;
+
+// 아웃박스 이벤트 종류 (사용자 데이터가 바뀐 이유)
+public enum UserChangeType {
+    JOINED,             // 회원가입 / 소셜 최초 가입
+    PROFILE_UPDATED,    // 이름·전화·생년월일 등 프로필 수정
+    CATEGORIES_UPDATED, // 관심 카테고리 변경
+    PASSWORD_CHANGED,   // 비밀번호 변경 (payload = 토큰 notBefore epoch ms)
+    TOKEN_REVOKED       // 로그아웃으로 토큰 폐기 (payload = "jti:만료 epoch ms")
+}
@@ -1,8 +1,10 @@
 package com.nuzip.nuzip.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
+import java.util.List;
 import java.util.Optional;
 
 // JPA 리포지토리 (existsByUserId, findByUserId)
@@ -15,4 +17,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUserId(String userId);
 
+    // 구독 통계 초기화/보정용 집계: [카테고리, 공급자, 출생연도(null 가능), 인원]
+    @Query("select c, u.provider, year(u.birthDate), count(u) from User u join u.newsCategory c " +
+            "group by c, u.provider, year(u.birthDate)")
+    List<Object[]> countSubscriptionsByCategoryProviderBirthYear();
+
+    // [공급자, 출생연도(null 가능), 인원]
+    @Query("select u.provider, year(u.birthDate), count(u) from User u group by u.provider, year(u.birthDate)")
+    List<Object[]> countUsersByProviderBirthYear();
+
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.nuzip.nuzip.domain;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * UserRepository 호출을 샤드로 보냄 (샤딩 켰을 때만 등록)
+ * - findByUserId / existsByUserId 등 userId 인자 → 그 사용자의 샤드
+ * - save / delete 등 User 인자 → user.getUserId()의 샤드
+ * - saveAll / deleteAll 등 User 묶음 인자 → 샤드별로 나눠 샤드마다 한 번씩 호출 (샤드끼리 원자적이지 않음)
+ *   결과 목록은 넘긴 순서대로 다시 맞춤. User가 아닌 묶음(id 목록 등)은 조회(find*)만 스캐터, 쓰기는 거부
+ * - 키가 없는 조회 → 스캐터-개더: 목록은 이어 붙이고, 개수는 더하고, Optional/엔티티는 처음 찾은 것
+ * - 이미 샤드가 바인딩돼 있으면(재분배 도구, 같은 사용자의 트랜잭션 안) 그대로 실행
+ *
+ * 트랜잭션 인터셉터보다 바깥에서 감싸므로, 리포지토리가 여는 트랜잭션도 바인딩된 샤드에서 시작됨.
+ * 서비스 트랜잭션 안이라면 그 트랜잭션의 첫 SQL이 이 호출이어야 함 (UserService 등은 모두 조회로 시작).
+ */
+public class UserShardingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    UserShardingPostProcessor(ObjectProvider<ShardRouter> shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof UserRepository)) {
+            return bean;
+        }
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.addAdvice(new Routing(shardRouter.getObject()));
+        return factory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private record Routing(ShardRouter router) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (ShardContext.current() != null || invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            String userId = userIdOf(invocation);
+            if (userId != null) {
+                try (ShardContext.Binding ignored = ShardContext.bind(router.shardOf(userId))) {
+                    return invocation.proceed();
+                }
+            }
+            Object[] args = invocation.getArguments();
+            if (args.length == 1 && args[0] instanceof Iterable<?> items) {
+                return splitByShard(invocation, items);
+            }
+            return scatter(invocation);
+        }
+
+        // User 묶음을 샤드별로 나눠 샤드마다 같은 메서드를 그 샤드 몫만 넘겨 호출
+        private Object splitByShard(MethodInvocation invocation, Iterable<?> items) throws Throwable {
+            Map<Integer, List<Object>> byShard = new LinkedHashMap<>();
+            Map<Integer, List<Integer>> positions = new HashMap<>();
+            int count = 0;
+            for (Object item : items) {
+                if (!(item instanceof User user)) {
+                    if (invocation.getMethod().getName().startsWith("find")) {
+                        return scatter(invocation);
+                    }
+                    throw new IllegalStateException("샤드를 정할 수 없는 일괄 호출입니다: "
+                            + invocation.getMethod().getName());
+                }
+                int shard = router.shardOf(user.getUserId());
+                byShard.computeIfAbsent(shard, k -> new ArrayList<>()).add(item);
+                positions.computeIfAbsent(shard, k -> new ArrayList<>()).add(count++);
+            }
+
+            Object[] merged = new Object[count];
+            for (Map.Entry<Integer, List<Object>> entry : byShard.entrySet()) {
+                Object result;
+                try (ShardContext.Binding ignored = ShardContext.bind(entry.getKey())) {
+                    result = ((ProxyMethodInvocation) invocation).invocableClone(entry.getValue()).proceed();
+                }
+                if (result instanceof List<?> saved) {
+                    List<Integer> at = positions.get(entry.getKey());
+                    for (int i = 0; i < saved.size(); i++) {
+                        merged[at.get(i)] = saved.get(i);
+                    }
+                }
+            }
+            return invocation.getMethod().getReturnType() == void.class ? null : new ArrayList<>(Arrays.asList(merged));
+        }
+
+        private static String userIdOf(MethodInvocation invocation) {
+            Object[] args = invocation.getArguments();
+            if (args.length == 0) {
+                return null;
+            }
+            if (args[0] instanceof User user) {
+                return user.getUserId();
+            }
+            if (args[0] instanceof String s && invocation.getMethod().getName().contains("UserId")) {
+                return s;
+            }
+            return null;
+        }
+
+        private Object scatter(MethodInvocation invocation) {
+            Class<?> type = invocation.getMethod().getReturnType();
+            List<Object> results = router.scatter(shard -> {
+                try {
+                    // 샤드마다 같은 호출을 다시 진행 (ReflectiveMethodInvocation은 복제해야 재진행 가능)
+                    return ((ProxyMethodInvocation) invocation).invocableClone().proceed();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            if (type == void.class) {
+                return null;
+            }
+            if (type == long.class || type == Long.class) {
+                return results.stream().mapToLong(r -> (Long) r).sum();
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return results.stream().anyMatch(Boolean.TRUE::equals);
+            }
+            if (type == Optional.class) {
+                return results.stream().map(r -> (Optional<?>) r).filter(Optional::isPresent).findFirst()
+                        .orElse(Optional.empty());
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                List<Object> merged = new ArrayList<>();
+                results.forEach(r -> merged.addAll((Collection<?>) r));
+                return merged;
+            }
+            return results.stream().filter(Objects::nonNull).findFirst().orElse(null);
+        }
+    }
+}
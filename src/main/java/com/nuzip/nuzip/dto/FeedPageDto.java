@@ -0,0 +1,15 @@
+package com.nuzip.nuzip.dto;
+
+import com.nuzip.nuzip.domain.Article;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 피드 한 페이지 응답 (nextCursor가 null이면 더 이상 없음)
+@Getter
+@AllArgsConstructor
+public class FeedPageDto {
+    private List<Article> items;
+    private String nextCursor;
+}
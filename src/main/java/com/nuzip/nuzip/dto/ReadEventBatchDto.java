@@ -0,0 +1,17 @@
+package com.nuzip.nuzip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// 클라이언트가 모아서 보내는 읽기 이벤트 묶음
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadEventBatchDto {
+    private List<ReadEventDto> events;
+}
@@ -0,0 +1,17 @@
+package com.nuzip.nuzip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 기사 읽기 이벤트 하나 (type: CLICK | DWELL | IMPRESSION, DWELL이면 dwellMs = 머문 시간, IMPRESSION = 피드에서 화면에 보임)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadEventDto {
+    private long articleId;
+    private String type;
+    private long dwellMs;
+}
@@ -2,7 +2,11 @@ package com.nuzip.nuzip.security;
 
 import com.nuzip.nuzip.domain.AuthProvider;
 import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.domain.UserChangeType;
 import com.nuzip.nuzip.domain.UserRepository;
+import com.nuzip.nuzip.service.SubscriptionStats;
+import com.nuzip.nuzip.service.UserActivityTracker;
+import com.nuzip.nuzip.service.UserChangeOutbox;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,6 +17,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.net.URLEncoder;
@@ -46,6 +51,10 @@ public class CustomOAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHa
 
     private final JwtService jwtService;
     private final UserRepository userRepository; // ✅ 서비스 대신 레포지토리만 주입
+    private final UserChangeOutbox userChangeOutbox;     // 가입 이벤트를 같은 트랜잭션에 기록
+    private final SubscriptionStats subscriptionStats;
+    private final UserActivityTracker userActivityTracker;
+    private final TransactionTemplate transactionTemplate;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     @Value("${oauth2.success.redirect-url}")
@@ -69,7 +78,7 @@ public class CustomOAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHa
         String userId = (email != null) ? email : (sub != null ? sub : oAuth2User.getName());
 
         // ✅ 최초 로그인 시 DB에 가입(카테고리는 빈 Set으로 초기화!)
-        userRepository.findByUserId(userId).orElseGet(() -> {
+        transactionTemplate.execute(status -> userRepository.findByUserId(userId).orElseGet(() -> {
             User u = User.builder()
                     .userId(userId)
                     .username((name != null && !name.isBlank()) ? name : userId)
@@ -77,11 +86,15 @@ public class CustomOAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHa
                     .newsCategory(new HashSet<>())     // ← @NotNull 충족 (중요)
                     .provider(AuthProvider.OAUTH_GOOGLE)
                     .build();
-            return userRepository.save(u);
-        });
+            User saved = userRepository.save(u);
+            userChangeOutbox.record(userId, UserChangeType.JOINED);
+            subscriptionStats.recordChange(null, SubscriptionStats.Profile.of(saved));
+            return saved;
+        }));
 
         // ✅ JWT 발급 (subject = userId)
         String jwt = jwtService.generateToken(userId);
+        userActivityTracker.recordLogin(userId);
 
         // 전달: 해시 프래그먼트(#token=...) 사용 (프론트에서 파싱해 sessionStorage에 저장)
         String bearerEncoded = URLEncoder.encode("Bearer " + jwt, StandardCharsets.UTF_8)
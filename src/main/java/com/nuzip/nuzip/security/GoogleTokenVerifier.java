@@ -5,13 +5,17 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken.Payload;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.jackson2.JacksonFactory;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.List;
 
 
 // 구글이 보낸 ID 토큰이 위조된 게 아닌지 확인하고, 그 안의 사용자 정보를 꺼내주는 검증기.
+// 검증기는 한 번만 만들어 재사용 (구글 공개키도 Cache-Control 기간 동안 캐시됨)
+// 인증서 URL/발급자는 설정으로 바꿀 수 있음 (부하 테스트의 로컬 스텁 발급자용)
 
 @Component
 public class GoogleTokenVerifier {
@@ -22,12 +26,25 @@ public class GoogleTokenVerifier {
     @Value("${nuzip.google.client-id}")
     private String clientId;
 
-    public Payload verify(String idTokenString) throws Exception {
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier
+    @Value("${nuzip.google.certs-url:https://www.googleapis.com/oauth2/v1/certs}")
+    private String certsUrl;
+
+    @Value("${nuzip.google.issuers:accounts.google.com,https://accounts.google.com}")
+    private List<String> issuers;
+
+    private GoogleIdTokenVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        verifier = new GoogleIdTokenVerifier
                 .Builder(transport, jsonFactory)
                 .setAudience(Collections.singletonList(clientId))
+                .setPublicCertsEncodedUrl(certsUrl)
+                .setIssuers(issuers)
                 .build();
+    }
 
+    public Payload verify(String idTokenString) throws Exception {
         GoogleIdToken idToken = verifier.verify(idTokenString);
         return (idToken != null) ? idToken.getPayload() : null;
     }
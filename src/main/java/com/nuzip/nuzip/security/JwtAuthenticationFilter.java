@@ -1,9 +1,11 @@
 package com.nuzip.nuzip.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.nuzip.nuzip.service.UserActivityTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +25,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;                 // JWT 생성/검증 담당
     private final UserDetailsServiceImpl userDetailsService; // DB 사용자 로드
+    private final TokenRevocationStore tokenRevocationStore; // 로그아웃/비번변경으로 폐기된 토큰 확인
+    private final UserActivityTracker userActivityTracker;   // 마지막 접속 시각 (메모리에만, DB는 주기적으로 배치 반영)
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,17 +34,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        // 🔹 Authorization 헤더에서 userId(subject) 추출
-        String userId = jwtService.getAuthUser(request);
+        // 🔹 Authorization 헤더의 JWT를 한 번만 검증해서 클레임 추출 (유효하지 않으면 null)
+        Claims claims = jwtService.parseClaims(request);
+        String userId = (claims != null) ? claims.getSubject() : null;
 
         // 🔹 userId가 존재하고, 아직 SecurityContext에 인증정보가 없으면
         if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // DB에서 사용자 정보 로드 (UserDetailsServiceImpl → UserRepository) 사용자 정보 조회
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+            // 폐기된 토큰(로그아웃, 비밀번호 변경 이전 발급)이면 인증하지 않음 → 보호 경로는 401
+            if (!tokenRevocationStore.isRevoked(claims.getId(), userId, claims.getIssuedAt())) {
+                // DB에서 사용자 정보 로드 (UserDetailsServiceImpl → UserRepository) 사용자 정보 조회
+                UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
 
-            // 토큰 유효성 검사 추가 (선택: isValid() 구현 시)
-            if (jwtService.isValidToken(request)) {
                 // 인증 객체 생성 후 SecurityContext에 등록
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -50,6 +55,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 // SecurityContextHolder에 인증 객체(Authentication) 저장
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                userActivityTracker.recordSeen(userId);
             }
         }
 
@@ -1,7 +1,9 @@
 package com.nuzip.nuzip.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -11,10 +13,10 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 // 로그인 성공 시 헤더에 토큰발급
 @Service
@@ -26,11 +28,14 @@ public class JwtService {
     // ✅ 고정 secret 사용 (서버 재시작 시 토큰 무효화 방지)
     private static final String SECRET = "replace-this-with-your-own-64-byte-secret-key-string...........";
     private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    // 파서는 불변·스레드 안전 → 매 요청마다 새로 만들지 않고 재사용
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
 
     // ✅ JWT 생성 (subject = userId)
     // 로그인 시 토큰 발급
     public String generateToken(String userId) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())   // jti: 로그아웃 시 토큰 단위 폐기용
                 .subject(userId)    // 로그인한 사용자를 토큰에 담아 JWT 생성
                 .issuedAt(new Date())   // 언제 발급됐는지
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME)) // 언제 만료되는지
@@ -45,9 +50,7 @@ public class JwtService {
 
         if(token != null && token.startsWith(PREFIX)) {
             try {
-                String user = Jwts.parser()
-                        .verifyWith(key)
-                        .build()
+                String user = parser
                         .parseSignedClaims(token.replace(PREFIX, ""))   // 접두사 "Bearer " 제거
                         .getPayload()
                         .getSubject();
@@ -70,7 +73,7 @@ public class JwtService {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                Jwts.parser().verifyWith(key).build().parseSignedClaims(token); // 검증 시도
+                parser.parseSignedClaims(token); // 검증 시도
                 return true;    // 성공
             } catch (Exception e) {
                 return false;   // 실패
@@ -79,12 +82,39 @@ public class JwtService {
         return false;
     }
 
+    // ✅ 요청 헤더의 JWT를 한 번만 검증하고 클레임(subject, jti, iat, exp) 반환
+    // 토큰이 없거나 유효하지 않으면 null
+    public Claims parseClaims(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return parser.parseSignedClaims(header.substring(PREFIX.length())).getPayload();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    static final String REVERIFY_AUDIENCE = "reverify";
+    static final String REVERIFY_SCOPE = "profile:edit";
+
     // 생성자 → 외부 설정 값으로 키 주입
     // 환경설정 파일에 있는 비밀키를 실제 암호화 키로 변환해서 보관
-    private final Key signingKey;   // jwt 서명 검증 비밀키
+    private final SecretKey signingKey;   // jwt 서명 검증 비밀키
+    // 임시 토큰 파서도 불변·스레드 안전 → 한 번 만들어 재사용 (audience 검사까지 파서가 수행)
+    private final JwtParser reverifyParser;
+    private final ReverifyTokenStore reverifyTokenStore;
+
     // application에서 jwt.secret 값을 읽어와서 암호화 키 객체로 변환
-    public JwtService(@Value("${jwt.secret}") String secret) {  // 스프링 의존성 주입 키
+    public JwtService(@Value("${jwt.secret}") String secret,  // 스프링 의존성 주입 키
+                      ReverifyTokenStore reverifyTokenStore) {
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());    // 문자열 키를 실제 암호화 키로 변환하는 과정
+        this.reverifyParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireAudience(REVERIFY_AUDIENCE)
+                .build();
+        this.reverifyTokenStore = reverifyTokenStore;
     }
 
     // 회원정보 수정 전 비밀번호 확인하여 임시 토큰 발급
@@ -92,27 +122,30 @@ public class JwtService {
     public String issueReverifyToken(String userId, Duration ttl) {
         Instant now = Instant.now();
         return Jwts.builder()
-                .setSubject(userId)
-                .setAudience("reverify")    // 용도 구분 (로그인 토큰이냐, 수정용 임시토큰이냐 구분)
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(now.plus(ttl)))
-                .claim("scope", "profile:edit") // 권한 범위 명시 (행동 범위)
-                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .id(UUID.randomUUID().toString())   // jti: 1회 사용 처리용
+                .subject(userId)
+                .audience().add(REVERIFY_AUDIENCE).and()    // 용도 구분 (로그인 토큰이냐, 수정용 임시토큰이냐 구분)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(ttl)))
+                .claim("scope", REVERIFY_SCOPE) // 권한 범위 명시 (행동 범위)
+                .signWith(signingKey, Jwts.SIG.HS256)
                 .compact();
     }
-    // 임시 토큰 검증
-    // "회원정보 수정용 토큰이 진짜 맞는지" 확인하는 메서드
+    // 임시 토큰 검증 + 사용 처리
+    // "회원정보 수정용 토큰이 진짜 맞는지" 확인하고, 맞으면 그 토큰은 다시 쓸 수 없게 함 (두 번째부터 false)
     public boolean verifyReverifyToken(String token, String expectedUserId) {
-        var claims = Jwts.parser()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        // audience가 "reverify"인지 확인 → 수정용 토큰인지 체크
-        if (!"reverify".equals(claims.getAudience())) return false;
+        if (token == null || token.isBlank()) return false;
+        Claims claims;
+        try {
+            // 서명, 만료, audience("reverify") 검사는 파서에서 수행
+            claims = reverifyParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
         // subject 토큰에 저장된 userId가 맞는지도 비교
         if (!expectedUserId.equals(claims.getSubject())) return false;
-        // 만료는 파서에서 자동 검증됨
-        return true;
+        if (!REVERIFY_SCOPE.equals(claims.get("scope", String.class))) return false;
+        // 본인 토큰이 맞을 때만 소모 (남의 토큰을 대신 써서 무효로 만들 수 없게)
+        return reverifyTokenStore.consume(expectedUserId, claims.getId(), claims.getExpiration());
     }
 }
\ No newline at end of file
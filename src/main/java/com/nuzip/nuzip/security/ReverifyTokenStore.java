@@ -0,0 +1,124 @@
+package com.nuzip.nuzip.security;
+
+import com.nuzip.nuzip.domain.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 회원정보 수정용 임시(reverify) 토큰 1회 사용 처리
+ * - 기준은 DB(consumed_reverify_tokens)의 jti 유니크 제약: INSERT 한 번이 성공한 요청만 통과
+ *   → 같은 토큰이 다른 노드로 가도, 동시에 두 요청이 와도 하나만 성공. 재시작해도 기록이 남음
+ * - 기록은 토큰 주인의 샤드에 (UserResharder가 사용자와 함께 옮김)
+ * - 이 노드에서 본 jti는 메모리에도 기억해 같은 노드로 온 재사용은 DB까지 가지 않고 거절
+ *   메모리 기억은 토큰 만료 시각까지만, 만료는 TimingWheel이 처리 (주기적으로 맵 전체를 훑지 않음)
+ * - DB 기록은 1분마다 만료된 것만 정리 (토큰 자체가 파서에서 거절되므로 그 뒤로는 필요 없음)
+ * - DB 오류 시에는 통과시키지 않음 (비밀번호 확인을 다시 하면 됨)
+ */
+@Slf4j
+@Component
+public class ReverifyTokenStore {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    // jti → 토큰 만료 시각(epoch ms), 이 노드에서 이미 쓴 것으로 확인된 것만
+    private final ConcurrentHashMap<String, Long> consumed = new ConcurrentHashMap<>();
+    private final TimingWheel wheel;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder replayedOtherNode = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    public ReverifyTokenStore(JdbcTemplate jdbcTemplate, ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.wheel = new TimingWheel(TICK_MILLIS, System.currentTimeMillis(), (jti, expiresAt) -> {
+            if (consumed.remove(jti, expiresAt)) {
+                expired.increment();
+            }
+        });
+    }
+
+    /** @return 이 토큰을 처음 쓰는 것이면 true (이미 썼거나, jti가 없거나, 만료됐거나, DB 오류면 false) */
+    public boolean consume(String userId, String jti, Date expiration) {
+        if (userId == null || jti == null || expiration == null) {
+            return false;
+        }
+        long expiresAt = expiration.getTime();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return false;
+        }
+        if (consumed.containsKey(jti)) {
+            replayed.increment();
+            log.warn("🔒 이미 사용한 reverify 토큰 재사용 시도: jti={}", jti);
+            return false;
+        }
+        try {
+            shardRouter.runOnShard(shardRouter.shardOf(userId), () -> jdbcTemplate.update(
+                    "insert into consumed_reverify_tokens (jti, user_id, expires_at) values (?, ?, ?)",
+                    jti, userId, expiresAt));
+        } catch (DuplicateKeyException e) {
+            remember(jti, expiresAt);
+            replayedOtherNode.increment();
+            log.warn("🔒 이미 사용한 reverify 토큰 재사용 시도(다른 요청/노드에서 사용): jti={}", jti);
+            return false;
+        } catch (DataAccessException e) {
+            failed.increment();
+            log.warn("❌ reverify 토큰 사용 기록 실패: jti={}, {}", jti, e.getMessage());
+            return false;
+        }
+        remember(jti, expiresAt);
+        accepted.increment();
+        return true;
+    }
+
+    private void remember(String jti, long expiresAt) {
+        if (consumed.putIfAbsent(jti, expiresAt) == null) {
+            wheel.schedule(jti, expiresAt);
+        }
+    }
+
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void tick() {
+        tick(System.currentTimeMillis());
+    }
+
+    void tick(long now) {
+        wheel.advance(now);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        evictExpired(System.currentTimeMillis());
+    }
+
+    void evictExpired(long now) {
+        shardRouter.scatter(shard -> jdbcTemplate.update(
+                "delete from consumed_reverify_tokens where expires_at <= ?", now));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("remembered", consumed.size());
+        stats.put("accepted", accepted.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("replayedOtherNode", replayedOtherNode.sum());
+        stats.put("failed", failed.sum());
+        stats.put("expired", expired.sum());
+        return stats;
+    }
+}
@@ -1,5 +1,7 @@
 package com.nuzip.nuzip.security;
 
+import com.nuzip.nuzip.service.UserActivityTracker;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +24,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
 
@@ -37,6 +40,8 @@ public class SecurityConfig {
     private final UserDetailsServiceImpl userDetailsService; // userId 기반으로 사용자 로딩
     private final JwtService jwtService;                     // JJWT 0.13.x 기반
     private final AuthEntryPoint authEntryPoint;             // 401 응답 통일
+    private final TokenRevocationStore tokenRevocationStore; // 로그아웃 시 토큰 폐기
+    private final UserActivityTracker userActivityTracker;   // 요청마다 마지막 접속 시각 기록 (write-behind)
 
     // ✅ 추가: OAuth2 성공 핸들러 & 커스텀 OAuth2UserService 주입
     private final CustomOAuth2SuccessHandler customOAuth2SuccessHandler;
@@ -72,7 +77,7 @@ public class SecurityConfig {
     // JWT 필터를 빈으로 등록
     @Bean
     public JwtAuthenticationFilter authenticationFilter() {
-        return new JwtAuthenticationFilter(jwtService, userDetailsService);
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, tokenRevocationStore, userActivityTracker);
     }
 
     /**
@@ -92,6 +97,8 @@ public class SecurityConfig {
 
                 // 엔드포인트 접근 규칙
                 .authorizeHttpRequests(auth -> auth
+                        // SSE 등 비동기 응답의 재디스패치 (최초 요청에서 이미 인증됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // 체크/루트
                         .requestMatchers("/", "/ready").permitAll()
                         // 로그인(헤더로 토큰 반환), 회원가입은 공개
@@ -104,11 +111,20 @@ public class SecurityConfig {
                         .requestMatchers("/oauth2/**", "/login/oauth2/code/*").permitAll()
                         // Swagger UI & OpenAPI 스펙 공개
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                        // 운영 지표/통계는 관리자만
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // 그 외는 인증 필요
                         .anyRequest().authenticated()
                 )
                 .logout(logout -> logout
                         .logoutUrl("/logout")
+                        // 로그아웃한 토큰은 만료 전이라도 서버에서 폐기 (jti 기준)
+                        .addLogoutHandler((request, response, authentication) -> {
+                            Claims claims = jwtService.parseClaims(request);
+                            if (claims != null) {
+                                tokenRevocationStore.revokeToken(claims.getSubject(), claims.getId(), claims.getExpiration());
+                            }
+                        })
                         .logoutSuccessHandler((request, response, authentication) ->
                                 response.setStatus(HttpServletResponse.SC_OK))
                         .permitAll()
@@ -0,0 +1,87 @@
+package com.nuzip.nuzip.security;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * 계층형 타이밍 휠 (만료 시각이 있는 id를 훑지 않고 만료시키기)
+ * - 레벨 0: tickMillis 칸 64개, 레벨 1: 64틱 칸 64개, 레벨 2: 4096틱 칸 64개 (1초 틱이면 약 3일까지)
+ * - 등록: 만료 틱까지 남은 거리로 레벨을 고르고 그 칸 큐에 넣기만 함 → O(1), 잠금 없음
+ * - advance: 지난 틱마다 레벨 0 칸 하나를 비움. 레벨 0이 한 바퀴 돌면 레벨 1 칸 하나를 아래로 내려 다시 등록 (레벨 2도 같은 식)
+ *   → 한 항목은 많아야 레벨 수만큼만 옮겨지고, 만료 처리 비용은 만료되는 항목 수에만 비례
+ * - 칸을 비울 때 아직 만료 전인 항목은 다시 등록 (등록과 advance가 엇갈려 지난 칸에 들어가도 늦게 만료될 뿐 일찍 만료되진 않음)
+ */
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private record Entry(String id, long expiresAt) {
+    }
+
+    private final long tickMillis;
+    private final BiConsumer<String, Long> onExpire;
+    private final Queue<Entry>[][] buckets;
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis, BiConsumer<String, Long> onExpire) {
+        this.tickMillis = tickMillis;
+        this.onExpire = onExpire;
+        this.currentTick = startMillis / tickMillis;
+        this.buckets = new Queue[LEVELS][SLOTS];
+        for (Queue<Entry>[] level : buckets) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+    }
+
+    // expiresAt(epoch ms)이 지나면 onExpire(id, expiresAt) 호출
+    public void schedule(String id, long expiresAt) {
+        add(new Entry(id, expiresAt));
+    }
+
+    private void add(Entry entry) {
+        long tick = Math.floorDiv(entry.expiresAt() + tickMillis - 1, tickMillis);
+        long delta = Math.max(1, tick - currentTick);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        // 마지막 레벨보다 먼 항목은 그 레벨의 마지막 칸에 두고 꺼낼 때 다시 등록
+        long slotTick = Math.min(Math.max(tick, currentTick + 1), currentTick + (1L << (SLOT_BITS * LEVELS)) - 1);
+        buckets[level][(int) ((slotTick >>> (SLOT_BITS * level)) & MASK)].add(entry);
+    }
+
+    // 지금 시각까지 밀린 틱을 처리 (스케줄러 스레드 하나에서만 호출)
+    public void advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            long tick = ++currentTick;
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    drain(buckets[level][(int) ((tick >>> (SLOT_BITS * level)) & MASK)], nowMillis);
+                }
+            }
+            drain(buckets[0][(int) (tick & MASK)], nowMillis);
+        }
+    }
+
+    private void drain(Queue<Entry> bucket, long nowMillis) {
+        for (int n = bucket.size(); n > 0; n--) {
+            Entry entry = bucket.poll();
+            if (entry == null) {
+                return;
+            }
+            if (entry.expiresAt() <= nowMillis) {
+                onExpire.accept(entry.id(), entry.expiresAt());
+            } else {
+                add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.nuzip.nuzip.security;
+
+import com.nuzip.nuzip.domain.RevokedToken;
+import com.nuzip.nuzip.domain.RevokedTokenRepository;
+import com.nuzip.nuzip.domain.ShardContext;
+import com.nuzip.nuzip.domain.ShardRouter;
+import com.nuzip.nuzip.domain.UserChangeEvent;
+import com.nuzip.nuzip.domain.UserChangeType;
+import com.nuzip.nuzip.service.UserChangeListener;
+import com.nuzip.nuzip.service.UserChangeOutbox;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버 측 JWT 폐기 목록
+ * - jti 단위 폐기(로그아웃) + 사용자 단위 notBefore 폐기(비밀번호 변경)
+ * - 조회는 ConcurrentHashMap 두 번의 get → O(1), 객체 생성 없음 (매 요청 필터에서 호출)
+ * - 원래 토큰이 만료될 시각이 지나면 메모리/DB에서 제거 (목록이 무한히 커지지 않음)
+ * - DB(revoked_tokens)에 함께 기록해 재시작 후에도 복구
+ * - 메모리 반영은 아웃박스 이벤트로 → 커밋 이후에만, 그리고 다른 노드에도 전파
+ * - 샤딩 시 기록과 아웃박스 이벤트는 해당 사용자의 샤드에 (복구/정리는 모든 샤드)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationStore implements UserChangeListener {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserChangeOutbox userChangeOutbox;
+    private final ShardRouter shardRouter;
+
+    // jti → 원래 토큰 만료 시각(epoch ms)
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // userId → notBefore(epoch ms). 이 시각 이전에 발급된 토큰은 무효
+    private final ConcurrentHashMap<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    // 재시작 시 만료 전 기록 복구
+    @PostConstruct
+    void restore() {
+        long now = System.currentTimeMillis();
+        List<RevokedToken> restored = shardRouter.scatter(shard -> revokedTokenRepository.findByExpiresAtGreaterThan(now))
+                .stream().flatMap(List::stream).toList();
+        for (RevokedToken r : restored) {
+            if (r.getKind() == RevokedToken.Kind.TOKEN) {
+                revokedTokens.put(r.getRevokedKey(), r.getExpiresAt());
+            } else {
+                notBefore.merge(r.getRevokedKey(), r.getNotBefore(), Math::max);
+            }
+        }
+        log.info("🔒 폐기 토큰 복구: jti {}건, 사용자 {}건", revokedTokens.size(), notBefore.size());
+    }
+
+    /**
+     * 요청 토큰이 폐기되었는지 확인 (JwtAuthenticationFilter에서 매 요청 호출)
+     * - iat는 초 단위라 같은 초에 발급된 토큰은 통과함 (폐기 직후 재발급한 토큰을 살리기 위함)
+     */
+    public boolean isRevoked(String jti, String userId, Date issuedAt) {
+        if (jti != null && revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        Long cutoff = notBefore.get(userId);
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() < cutoff);
+    }
+
+    // 로그아웃: 토큰 하나 폐기
+    @Transactional
+    public void revokeToken(String userId, String jti, Date expiration) {
+        if (jti == null || expiration == null) {
+            return; // jti 없는 구버전 토큰은 만료까지 기다릴 수밖에 없음
+        }
+        long expiresAt = expiration.getTime();
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        try (ShardContext.Binding ignored = ShardContext.bind(shardRouter.shardOf(userId))) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .kind(RevokedToken.Kind.TOKEN)
+                    .revokedKey(jti)
+                    .expiresAt(expiresAt)
+                    .build());
+            userChangeOutbox.record(userId, UserChangeType.TOKEN_REVOKED, jti + ":" + expiresAt);
+        }
+    }
+
+    /**
+     * 비밀번호 변경: 지금까지 발급된 해당 사용자의 토큰 전부 폐기
+     * - 호출한 트랜잭션과 함께 DB에 기록되고, 메모리 반영은 커밋 이후 (롤백 시 폐기되지 않도록)
+     */
+    @Transactional
+    public void revokeAllIssuedBefore(String userId, long epochMillis) {
+        long cutoff = epochMillis - (epochMillis % 1000); // iat(초 단위)와 비교하기 위해 초 단위로 내림
+        try (ShardContext.Binding ignored = ShardContext.bind(shardRouter.shardOf(userId))) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .kind(RevokedToken.Kind.USER)
+                    .revokedKey(userId)
+                    .notBefore(cutoff)
+                    .expiresAt(cutoff + JwtService.EXPIRATION_TIME)
+                    .build());
+            userChangeOutbox.record(userId, UserChangeType.PASSWORD_CHANGED, Long.toString(cutoff));
+        }
+    }
+
+    // 커밋된 폐기 이벤트를 메모리에 반영 (이 노드 + 다른 노드 모두 여기로 들어옴, 멱등)
+    @Override
+    public void onUserChanged(UserChangeEvent event) {
+        if (event.getType() == UserChangeType.TOKEN_REVOKED) {
+            String payload = event.getPayload();
+            int sep = payload.lastIndexOf(':');
+            revokedTokens.put(payload.substring(0, sep), Long.parseLong(payload.substring(sep + 1)));
+        } else if (event.getType() == UserChangeType.PASSWORD_CHANGED) {
+            notBefore.merge(event.getUserId(), Long.parseLong(event.getPayload()), Math::max);
+        }
+    }
+
+    // 원래 토큰이 이미 만료됐을 시각이 지난 기록은 정리 (1분마다)
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        notBefore.values().removeIf(cutoff -> cutoff + JwtService.EXPIRATION_TIME <= now);
+        shardRouter.scatter(shard -> revokedTokenRepository.deleteByExpiresAtLessThanEqual(now));
+    }
+}
@@ -1,30 +1,43 @@
 package com.nuzip.nuzip.security;
 
-import com.nuzip.nuzip.domain.User;
-import com.nuzip.nuzip.domain.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.nuzip.nuzip.service.UserCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 
 // 로그인할 때 DB에서 사용자 정보를 찾아서 시큐리티가 인식할 수 있는 형태로 바꿔주는 서비스.
+// 매 요청 JWT 필터에서도 호출되므로 노드 로컬 UserCache를 거침 (변경 시 아웃박스 이벤트로 무효화)
+// 운영 API(/api/admin/**)는 nuzip.admin.user-ids에 등록된 아이디에만 ROLE_ADMIN 부여
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private static final List<GrantedAuthority> USER = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final List<GrantedAuthority> ADMIN =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+    private final UserCache userCache;
+    private final Set<String> adminUserIds;
+
+    public UserDetailsServiceImpl(UserCache userCache,
+                                  @Value("${nuzip.admin.user-ids:}") Set<String> adminUserIds) {
+        this.userCache = userCache;
+        this.adminUserIds = adminUserIds;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
-        User u = userRepository.findByUserId(userId)
+        UserCache.CachedUser u = userCache.find(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
 
         return new org.springframework.security.core.userdetails.User(
-                u.getUserId(),
-                u.getPassword(),
-                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                u.userId(),
+                u.password(),
+                adminUserIds.contains(u.userId()) ? ADMIN : USER
         );
     }
-}
\ No newline at end of file
+}
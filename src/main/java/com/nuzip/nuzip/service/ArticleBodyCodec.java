@@ -0,0 +1,532 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 기사 본문 저장용 압축 코덱 (카테고리별로 학습한 preset dictionary + raw deflate)
+ * - 같은 카테고리 기사끼리는 머리말/꼬리말/상투어가 겹쳐서, 건별 압축만으로는 압축률이 안 나옴
+ * - 카테고리마다 최근 본문 표본을 모아 자주 나오는 구간으로 사전(최대 32KB = deflate 창 크기)을 만듦
+ * - 블록: [카테고리 1][사전 버전 4][원문 길이 4][deflate] — 버전 0은 사전 없이 압축
+ * - 사전은 파일로 남긴 뒤에야 쓰기 시작 (로그에 남은 레코드는 언제나 자기 버전 사전으로 풀 수 있어야 함)
+ *   임시 파일 fsync → rename → 디렉터리 fsync까지 끝나야 공개 (로그 레코드가 먼저 디스크에 닿아도 사전이 남음)
+ * - 교체: 압축률 이동평균이 학습 시점보다 drift 비율 이상 나빠지거나 max-age가 지나면 백그라운드에서 다시 학습
+ * - encode는 수집 저장 스레드에서만, decode는 아무 스레드에서나 호출
+ */
+@Slf4j
+@Component
+public class ArticleBodyCodec {
+
+    static final int BLOCK_HEADER = 9;
+    static final int MAX_DICTIONARY = 32 * 1024;
+    private static final int SHINGLE = 8;
+    private static final int PIECE = 64;
+    private static final int CHECK_EVERY = 64;
+    private static final String SUFFIX = ".dict";
+    private static final NewsCategory[] CATEGORIES = NewsCategory.values();
+
+    private final Path dir;
+    private final int level;
+    private final int sampleSize;
+    private final int sampleBytes;
+    private final int minSamples;
+    private final double drift;
+    private final long minRetrainMillis;
+    private final long maxAgeMillis;
+
+    // (카테고리 << 32 | 버전) → 사전. 지나간 버전도 로그에 남아 있는 동안은 보관
+    private final Map<Long, byte[]> dictionaries = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Dictionary> current = new AtomicReferenceArray<>(CATEGORIES.length);
+    private final CategoryState[] states = new CategoryState[CATEGORIES.length];
+    private final ExecutorService trainer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "article-dict-trainer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Deflater deflater;                 // 저장 스레드 전용
+    private byte[] outBuffer = new byte[64 * 1024];
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private volatile long trainings;
+    private volatile long lastTrainMs;
+
+    // 카테고리별 현재 사전 (baseline: 이 사전으로 처음 CHECK_EVERY건을 압축했을 때의 압축률, 재기 전엔 NaN)
+    private record Dictionary(int version, byte[] bytes, long createdAt, double baseline) {
+    }
+
+    // 저장 스레드에서만 만지는 카테고리별 상태
+    private static final class CategoryState {
+        final byte[][] samples;
+        int sampleCount;
+        int sampleCursor;
+        double ratio = Double.NaN;      // 지금 사전으로 압축한 최근 압축률(저장 바이트/원문 바이트) 이동평균
+        int ratioVersion;               // ratio를 잰 사전 버전 (바뀌면 처음부터 다시 잼)
+        int sinceCheck;
+        long encoded;
+        long rawBytes;
+        long storedBytes;
+        volatile boolean training;
+
+        CategoryState(int sampleSize) {
+            samples = new byte[sampleSize][];
+        }
+    }
+
+    public ArticleBodyCodec(@Value("${nuzip.article-codec.dir:./data/articles/dict}") String dir,
+                            @Value("${nuzip.article-codec.level:6}") int level,
+                            @Value("${nuzip.article-codec.sample-size:512}") int sampleSize,
+                            @Value("${nuzip.article-codec.sample-bytes:4096}") int sampleBytes,
+                            @Value("${nuzip.article-codec.min-samples:200}") int minSamples,
+                            @Value("${nuzip.article-codec.drift:0.15}") double drift,
+                            @Value("${nuzip.article-codec.min-retrain-minutes:60}") int minRetrainMinutes,
+                            @Value("${nuzip.article-codec.max-age-hours:168}") int maxAgeHours) throws IOException {
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.level = level;
+        this.sampleSize = sampleSize;
+        this.sampleBytes = sampleBytes;
+        this.minSamples = Math.min(minSamples, sampleSize);
+        this.drift = drift;
+        this.minRetrainMillis = TimeUnit.MINUTES.toMillis(minRetrainMinutes);
+        this.maxAgeMillis = TimeUnit.HOURS.toMillis(maxAgeHours);
+        this.deflater = new Deflater(level, true);
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new CategoryState(sampleSize);
+        }
+        load();
+    }
+
+    // 저장해 둔 사전들을 읽고, 카테고리마다 가장 높은 버전을 현재 사전으로
+    private void load() throws IOException {
+        Files.createDirectories(dir);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dash = name.lastIndexOf('-');
+                NewsCategory category;
+                int version;
+                try {
+                    category = NewsCategory.valueOf(name.substring(0, dash));
+                    version = Integer.parseInt(name.substring(dash + 1, name.length() - SUFFIX.length()));
+                } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+                    log.warn("알 수 없는 사전 파일 무시: {}", name);
+                    continue;
+                }
+                byte[] bytes = Files.readAllBytes(file);
+                dictionaries.put(key(category.ordinal(), version), bytes);
+                Dictionary known = current.get(category.ordinal());
+                if (known == null || known.version() < version) {
+                    current.set(category.ordinal(), new Dictionary(version, bytes,
+                            Files.getLastModifiedTime(file).toMillis(), Double.NaN));
+                }
+            }
+        }
+        if (!dictionaries.isEmpty()) {
+            log.info("🗜️ 본문 압축 사전 {}개 불러옴: {}", dictionaries.size(), dir);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        trainer.shutdownNow();
+        deflater.end();
+    }
+
+    // ===== 압축 (저장 스레드) =====
+
+    /** 본문 → 블록. 표본 수집과 압축률 추적, 필요하면 재학습 예약까지 */
+    public byte[] encode(NewsCategory category, String body) {
+        byte[] raw = (body == null ? "" : body).getBytes(StandardCharsets.UTF_8);
+        int ordinal = category.ordinal();
+        Dictionary dictionary = current.get(ordinal);
+
+        deflater.reset();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary.bytes());
+        }
+        deflater.setInput(raw);
+        deflater.finish();
+        int length = BLOCK_HEADER;
+        while (!deflater.finished()) {
+            if (length == outBuffer.length) {
+                outBuffer = Arrays.copyOf(outBuffer, outBuffer.length * 2);
+            }
+            length += deflater.deflate(outBuffer, length, outBuffer.length - length);
+        }
+        byte[] block = Arrays.copyOf(outBuffer, length);
+        ByteBuffer.wrap(block)
+                .put((byte) ordinal)
+                .putInt(dictionary == null ? 0 : dictionary.version())
+                .putInt(raw.length);
+
+        CategoryState state = states[ordinal];
+        sample(state, raw);
+        int version = dictionary == null ? 0 : dictionary.version();
+        if (state.ratioVersion != version) {
+            state.ratioVersion = version;
+            state.ratio = Double.NaN;
+            state.sinceCheck = 0;
+        }
+        if (raw.length > 0) {
+            double ratio = (double) length / raw.length;
+            state.ratio = Double.isNaN(state.ratio) ? ratio : state.ratio * 0.98 + ratio * 0.02;
+        }
+        state.encoded++;
+        state.rawBytes += raw.length;
+        state.storedBytes += length;
+        if (++state.sinceCheck >= CHECK_EVERY) {
+            state.sinceCheck = 0;
+            maybeRetrain(category, state, dictionary);
+        }
+        return block;
+    }
+
+    private void sample(CategoryState state, byte[] raw) {
+        if (raw.length == 0) {
+            return;
+        }
+        state.samples[state.sampleCursor] = raw.length <= sampleBytes ? raw : Arrays.copyOf(raw, sampleBytes);
+        state.sampleCursor = (state.sampleCursor + 1) % sampleSize;
+        state.sampleCount = Math.min(state.sampleCount + 1, sampleSize);
+    }
+
+    private void maybeRetrain(NewsCategory category, CategoryState state, Dictionary dictionary) {
+        if (state.training || state.sampleCount < minSamples) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (dictionary != null) {
+            if (Double.isNaN(dictionary.baseline())) {
+                // 새 사전(또는 재기동 후 불러온 사전)으로 처음 잰 압축률을 기준으로 삼음
+                current.compareAndSet(category.ordinal(), dictionary,
+                        new Dictionary(dictionary.version(), dictionary.bytes(), dictionary.createdAt(), state.ratio));
+                return;
+            }
+            boolean drifted = state.ratio > dictionary.baseline() * (1 + drift);
+            boolean stale = now - dictionary.createdAt() >= maxAgeMillis;
+            if (now - dictionary.createdAt() < minRetrainMillis || !(drifted || stale)) {
+                return;
+            }
+        }
+        List<byte[]> snapshot = new ArrayList<>(state.sampleCount);
+        for (byte[] s : state.samples) {
+            if (s != null) {
+                snapshot.add(s);
+            }
+        }
+        state.training = true;
+        trainer.execute(() -> {
+            try {
+                install(category, snapshot);
+            } catch (Exception e) {
+                log.warn("본문 압축 사전 학습 실패: {}", category, e);
+            } finally {
+                state.training = false;
+            }
+        });
+    }
+
+    // 학습 → 파일로 저장 → 공개 (이 순서라야 로그에 남는 레코드의 사전이 항상 디스크에 있음)
+    private void install(NewsCategory category, List<byte[]> samples) throws IOException {
+        long startedAt = System.nanoTime();
+        byte[] bytes = train(samples, MAX_DICTIONARY);
+        if (bytes.length == 0) {
+            return; // 겹치는 구간이 없음 → 지금 사전 유지
+        }
+        double sampleRatio = ratio(samples, bytes, level);
+        Dictionary previous = current.get(category.ordinal());
+        int version = previous == null ? 1 : previous.version() + 1;
+
+        Path file = dir.resolve(category.name() + "-" + version + SUFFIX);
+        Path tmp = dir.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(dir);
+        dictionaries.put(key(category.ordinal(), version), bytes);
+        current.set(category.ordinal(), new Dictionary(version, bytes, System.currentTimeMillis(), Double.NaN));
+
+        trainings++;
+        lastTrainMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.info("🗜️ 본문 압축 사전 교체: {} v{} ({}B, 표본 {}건, 표본 압축률 {}, {}ms)",
+                category, version, bytes.length, samples.size(), String.format("%.3f", sampleRatio), lastTrainMs);
+    }
+
+    // rename한 디렉터리 항목까지 디스크에 (디렉터리를 채널로 열 수 없는 OS에서는 건너뜀)
+    private static void forceDirectory(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            log.debug("디렉터리 fsync 미지원: {}", dir);
+        }
+    }
+
+    // ===== 해제 (아무 스레드) =====
+
+    /** 블록(position부터 limit까지) → 본문. mmap 버퍼를 그대로 넘기면 복사 없이 inflate */
+    public String decode(ByteBuffer block) {
+        int at = block.position();
+        int ordinal = block.get(at);
+        int version = block.getInt(at + 1);
+        int rawLength = block.getInt(at + 5);
+        Inflater inflater = inflaters.get();
+        inflater.reset();
+        if (version > 0) {
+            byte[] dictionary = dictionaries.get(key(ordinal, version));
+            if (dictionary == null) {
+                throw new IllegalStateException("압축 사전이 없습니다: " + CATEGORIES[ordinal] + " v" + version);
+            }
+            inflater.setDictionary(dictionary);
+        }
+        inflater.setInput(block.duplicate().position(at + BLOCK_HEADER));
+        byte[] raw = new byte[rawLength];
+        try {
+            int n = 0;
+            while (n < rawLength) {
+                int read = inflater.inflate(raw, n, rawLength - n);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new DataFormatException("블록이 잘렸습니다");
+                }
+                n += read;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("본문 압축 해제 실패: " + CATEGORIES[ordinal] + " v" + version, e);
+        }
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    // 블록 머리에서 카테고리/버전만 읽기 (로그 복구 시 세그먼트별 참조 버전 계산용)
+    static int categoryOf(ByteBuffer buffer, int at) {
+        return buffer.get(at);
+    }
+
+    static int versionOf(ByteBuffer buffer, int at) {
+        return buffer.getInt(at + 1);
+    }
+
+    /**
+     * 더 이상 참조되지 않는 옛 사전 삭제
+     * @param minVersionInUse 카테고리 ordinal별로 남아 있는 로그 레코드가 쓰는 가장 낮은 버전 (없으면 Integer.MAX_VALUE)
+     */
+    public void retainFrom(int[] minVersionInUse) {
+        for (Long key : dictionaries.keySet()) {
+            int ordinal = (int) (key >>> 32);
+            int version = (int) (long) key;
+            Dictionary dictionary = current.get(ordinal);
+            // 현재 버전과 바로 앞 버전은 남김 (교체 직전에 압축돼 아직 세그먼트에 기록 중인 레코드가 있을 수 있음)
+            if (version >= minVersionInUse[ordinal] || (dictionary != null && version >= dictionary.version() - 1)) {
+                continue;
+            }
+            dictionaries.remove(key);
+            try {
+                Files.deleteIfExists(dir.resolve(CATEGORIES[ordinal].name() + "-" + version + SUFFIX));
+                log.info("🗜️ 쓰이지 않는 압축 사전 삭제: {} v{}", CATEGORIES[ordinal], version);
+            } catch (IOException e) {
+                log.warn("압축 사전 삭제 실패: {} v{}", CATEGORIES[ordinal], version, e);
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> byCategory = new LinkedHashMap<>();
+        long raw = 0;
+        long stored = 0;
+        for (NewsCategory category : CATEGORIES) {
+            CategoryState state = states[category.ordinal()];
+            Dictionary dictionary = current.get(category.ordinal());
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("version", dictionary == null ? 0 : dictionary.version());
+            s.put("dictionaryBytes", dictionary == null ? 0 : dictionary.bytes().length);
+            s.put("baselineRatio", dictionary == null || Double.isNaN(dictionary.baseline()) ? null : round(dictionary.baseline()));
+            s.put("recentRatio", Double.isNaN(state.ratio) ? null : round(state.ratio));
+            s.put("encoded", state.encoded);
+            s.put("samples", state.sampleCount);
+            byCategory.put(category.name(), s);
+            raw += state.rawBytes;
+            stored += state.storedBytes;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dir", dir.toString());
+        stats.put("dictionaries", dictionaries.size());
+        stats.put("trainings", trainings);
+        stats.put("lastTrainMs", lastTrainMs);
+        stats.put("rawBytes", raw);
+        stats.put("storedBytes", stored);
+        stats.put("ratio", raw == 0 ? null : round((double) stored / raw));
+        stats.put("categories", byCategory);
+        return stats;
+    }
+
+    // ===== 사전 학습 =====
+
+    /**
+     * 표본에서 여러 기사에 걸쳐 반복되는 구간을 골라 사전을 만듦 (zstd COVER를 단순화한 방식)
+     * 1) 8바이트 shingle마다 몇 개 기사에 나왔는지(df) 셈
+     * 2) 기사를 64바이트 조각으로 자르고, 조각 점수 = 아직 사전에 없는 shingle들의 df 합 (df 1은 0점)
+     * 3) 점수 높은 조각부터 담되, 담을 때마다 겹치는 shingle은 빼고 다시 계산 (lazy greedy)
+     * 4) deflate는 가까운 거리를 싸게 부호화하므로 가장 좋은 조각이 사전 끝에 오도록 역순으로 이어 붙임
+     */
+    static byte[] train(List<byte[]> samples, int size) {
+        LongIntHashMap docFrequency = new LongIntHashMap(1 << 16);
+        LongIntHashMap lastDoc = new LongIntHashMap(1 << 16);
+        int pieces = 0;
+        for (int d = 0; d < samples.size(); d++) {
+            byte[] s = samples.get(d);
+            long h = 0;
+            for (int i = 0; i < s.length; i++) {
+                h = (h << 8) | (s[i] & 0xff);
+                if (i >= SHINGLE - 1) {
+                    long k = shingleKey(h);
+                    if (lastDoc.get(k, -1) != d) {
+                        lastDoc.put(k, d);
+                        docFrequency.put(k, docFrequency.get(k, 0) + 1);
+                    }
+                }
+            }
+            pieces += s.length / PIECE;
+        }
+
+        // 조각 후보: (점수, 기사 번호, 시작 위치)
+        long[] scores = new long[pieces];
+        int[] docs = new int[pieces];
+        int[] offsets = new int[pieces];
+        int n = 0;
+        LongIntHashMap none = new LongIntHashMap(4);
+        for (int d = 0; d < samples.size(); d++) {
+            byte[] s = samples.get(d);
+            for (int off = 0; off + PIECE <= s.length; off += PIECE) {
+                scores[n] = score(s, off, docFrequency, none);
+                docs[n] = d;
+                offsets[n] = off;
+                n++;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(scores[b], scores[a]));
+
+        LongIntHashMap covered = new LongIntHashMap(size);
+        List<Integer> chosen = new ArrayList<>();
+        int total = 0;
+        for (int i = 0; i < n && total + PIECE <= size; i++) {
+            int c = order[i];
+            if (scores[c] == 0) {
+                break;
+            }
+            byte[] s = samples.get(docs[c]);
+            long fresh = score(s, offsets[c], docFrequency, covered);
+            if (fresh * 2 < scores[c]) {
+                continue; // 절반 이상이 이미 사전에 있음
+            }
+            long h = 0;
+            for (int j = offsets[c]; j < offsets[c] + PIECE; j++) {
+                h = (h << 8) | (s[j] & 0xff);
+                if (j >= offsets[c] + SHINGLE - 1) {
+                    covered.put(shingleKey(h), 1);
+                }
+            }
+            chosen.add(c);
+            total += PIECE;
+        }
+
+        byte[] dictionary = new byte[total];
+        int at = 0;
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            int c = chosen.get(i);
+            System.arraycopy(samples.get(docs[c]), offsets[c], dictionary, at, PIECE);
+            at += PIECE;
+        }
+        return dictionary;
+    }
+
+    private static long score(byte[] s, int offset, LongIntHashMap docFrequency, LongIntHashMap covered) {
+        long score = 0;
+        long h = 0;
+        for (int j = offset; j < offset + PIECE; j++) {
+            h = (h << 8) | (s[j] & 0xff);
+            if (j >= offset + SHINGLE - 1) {
+                long k = shingleKey(h);
+                int df = docFrequency.get(k, 0);
+                if (df > 1 && covered.get(k, 0) == 0) {
+                    score += df;
+                }
+            }
+        }
+        return score;
+    }
+
+    // 8바이트를 그대로 키로 (LongIntHashMap은 Long.MIN_VALUE를 빈 칸으로 씀)
+    private static long shingleKey(long h) {
+        return h == Long.MIN_VALUE ? Long.MIN_VALUE + 1 : h;
+    }
+
+    // 표본 전체를 이 사전으로 압축했을 때의 (저장 바이트 / 원문 바이트)
+    static double ratio(List<byte[]> samples, byte[] dictionary, int level) {
+        Deflater deflater = new Deflater(level, true);
+        byte[] out = new byte[64 * 1024];
+        long raw = 0;
+        long stored = 0;
+        try {
+            for (byte[] s : samples) {
+                deflater.reset();
+                if (dictionary != null && dictionary.length > 0) {
+                    deflater.setDictionary(dictionary);
+                }
+                deflater.setInput(s);
+                deflater.finish();
+                while (!deflater.finished()) {
+                    stored += deflater.deflate(out);
+                }
+                stored += BLOCK_HEADER;
+                raw += s.length;
+            }
+        } finally {
+            deflater.end();
+        }
+        return raw == 0 ? 1.0 : (double) stored / raw;
+    }
+
+    private static long key(int ordinal, int version) {
+        return ((long) ordinal << 32) | (version & 0xffffffffL);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
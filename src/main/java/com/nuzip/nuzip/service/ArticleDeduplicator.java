@@ -0,0 +1,192 @@
+package com.nuzip.nuzip.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 수집 시점 근접 중복(통신사 기사 재전송 등) 제거
+ * - SimHash 64비트 지문을 b개 밴드로 나눠 LSH 밴드 테이블에 색인 (b = 허용 해밍 거리 d보다 큰 2의 거듭제곱)
+ *   → 해밍 거리 d 이하인 두 지문은 적어도 한 밴드가 완전히 같음(비둘기집) → 밴드 일치 후보만 비교
+ *   기본 d=7 → 8비트 밴드 8개: 후보는 밴드당 1/256 수준이라 비교 비용이 작음
+ * - 처음 들어온 기사가 클러스터 대표, 이후 비슷한 기사는 대표 id로 묶이고 피드에는 넣지 않음
+ * - 시간 버킷 링으로 슬라이딩 윈도우 유지: 오래된 버킷은 통째로 비움 → 메모리 상한 고정
+ *
+ * 수집 파이프라인의 저장 스레드 하나에서만 호출됨 (동기화 없음, stats()만 다른 스레드에서 읽음)
+ */
+@Component
+public class ArticleDeduplicator {
+
+    private static final int NONE = -1;
+
+    private final boolean enabled;
+    private final int maxHammingDistance;
+    private final int bands;
+    private final long bucketMillis;
+    private final int maxPerBucket;
+    private final Bucket[] ring;
+
+    private volatile long duplicates;
+    private volatile long representatives;
+
+    public ArticleDeduplicator(@Value("${nuzip.dedup.enabled:true}") boolean enabled,
+                               @Value("${nuzip.dedup.max-hamming-distance:7}") int maxHammingDistance,
+                               @Value("${nuzip.dedup.bucket-minutes:60}") int bucketMinutes,
+                               @Value("${nuzip.dedup.window-buckets:24}") int windowBuckets,
+                               @Value("${nuzip.dedup.max-per-bucket:50000}") int maxPerBucket) {
+        this.enabled = enabled;
+        if (maxHammingDistance < 1 || maxHammingDistance > 15) {
+            throw new IllegalArgumentException("nuzip.dedup.max-hamming-distance는 1~15 사이여야 합니다.");
+        }
+        this.maxHammingDistance = maxHammingDistance;
+        this.bands = Integer.highestOneBit(maxHammingDistance) << 1; // 1→2, 3→4, 7→8, 15→16
+        this.bucketMillis = bucketMinutes * 60_000L;
+        this.maxPerBucket = maxPerBucket;
+        this.ring = new Bucket[windowBuckets];
+    }
+
+    /**
+     * 이미 본 기사와 근접 중복이면 그 클러스터 대표 id, 새 기사면 -1 (이 기사가 새 대표로 색인됨)
+     * @param now 버킷 결정에 쓰는 수집 시각(epoch ms)
+     */
+    public long representativeOf(long articleId, long fingerprint, long now) {
+        if (!enabled) {
+            return NONE;
+        }
+        Bucket current = bucketFor(now / bucketMillis);
+
+        for (Bucket bucket : ring) {
+            if (bucket == null || bucket.index <= current.index - ring.length) {
+                continue; // 비어 있거나 윈도우 밖
+            }
+            int match = bucket.find(fingerprint, maxHammingDistance);
+            if (match != NONE) {
+                bucket.clusterSizes[match]++;
+                duplicates++;
+                return bucket.ids[match];
+            }
+        }
+
+        if (current.size < maxPerBucket) {
+            current.add(articleId, fingerprint);
+        }
+        representatives++;
+        return NONE;
+    }
+
+    // 현재 시간 버킷 (링에서 자리를 재사용할 때 이전 내용은 통째로 버림)
+    private Bucket bucketFor(long index) {
+        int slot = (int) Math.floorMod(index, (long) ring.length);
+        Bucket bucket = ring[slot];
+        if (bucket == null) {
+            bucket = new Bucket(bands, Math.min(maxPerBucket, 1024));
+            ring[slot] = bucket;
+        }
+        if (bucket.index != index) {
+            bucket.reset(index);
+        }
+        return bucket;
+    }
+
+    public Map<String, Object> stats() {
+        long indexed = 0;
+        long bytes = 0;
+        for (Bucket bucket : ring) {
+            if (bucket != null) {
+                indexed += bucket.size;
+                bytes += bucket.memoryBytes();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("duplicatesDropped", duplicates);
+        stats.put("representatives", representatives);
+        stats.put("windowEntries", indexed);
+        stats.put("windowMemoryBytes", bytes);
+        return stats;
+    }
+
+    // 시간 버킷 하나: 지문 배열 + 밴드별 (밴드 값 → 체인 head) 맵 + 밴드별 체인
+    private static final class Bucket {
+        final int bands;
+        final int bandBits;
+        final long bandMask;
+        long index = Long.MIN_VALUE;
+        int size;
+        long[] ids;
+        long[] fingerprints;
+        int[] clusterSizes;
+        final int[][] nextInBand;
+        final LongIntHashMap bandHeads;
+
+        Bucket(int bands, int initialCapacity) {
+            this.bands = bands;
+            this.bandBits = 64 / bands;
+            this.bandMask = (1L << bandBits) - 1;
+            this.nextInBand = new int[bands][];
+            ids = new long[initialCapacity];
+            fingerprints = new long[initialCapacity];
+            clusterSizes = new int[initialCapacity];
+            for (int b = 0; b < bands; b++) {
+                nextInBand[b] = new int[initialCapacity];
+            }
+            bandHeads = new LongIntHashMap(initialCapacity * bands);
+        }
+
+        void reset(long newIndex) {
+            index = newIndex;
+            size = 0;
+            bandHeads.clear();
+        }
+
+        int find(long fingerprint, int maxDistance) {
+            for (int b = 0; b < bands; b++) {
+                int i = bandHeads.get(bandKey(b, fingerprint), NONE);
+                while (i != NONE) {
+                    if (SimHash.hammingDistance(fingerprints[i], fingerprint) <= maxDistance) {
+                        return i;
+                    }
+                    i = nextInBand[b][i];
+                }
+            }
+            return NONE;
+        }
+
+        void add(long articleId, long fingerprint) {
+            if (size == ids.length) {
+                grow();
+            }
+            int i = size++;
+            ids[i] = articleId;
+            fingerprints[i] = fingerprint;
+            clusterSizes[i] = 1;
+            for (int b = 0; b < bands; b++) {
+                long key = bandKey(b, fingerprint);
+                nextInBand[b][i] = bandHeads.get(key, NONE);
+                bandHeads.put(key, i);
+            }
+        }
+
+        private void grow() {
+            int capacity = ids.length << 1;
+            ids = Arrays.copyOf(ids, capacity);
+            fingerprints = Arrays.copyOf(fingerprints, capacity);
+            clusterSizes = Arrays.copyOf(clusterSizes, capacity);
+            for (int b = 0; b < bands; b++) {
+                nextInBand[b] = Arrays.copyOf(nextInBand[b], capacity);
+            }
+        }
+
+        long memoryBytes() {
+            return (long) ids.length * (Long.BYTES * 2 + Integer.BYTES * (1 + bands)) + bandHeads.memoryBytes();
+        }
+
+        // (밴드 번호, 밴드 값) → long 키
+        private long bandKey(int band, long fingerprint) {
+            return ((long) band << bandBits) | ((fingerprint >>> (band * bandBits)) & bandMask);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.ShardContext;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수집된 기사 id 발급 (클러스터 전체에서 유일, 한 노드 안에서는 수집 순서대로 증가)
+ * - 홈 샤드 article_id_blocks의 공유 위치에서 block-size개씩 구간을 받아(hi-lo) 메모리에서 나눠 씀
+ *   → 발급은 대부분 AtomicLong 증가 한 번, 구간을 다 쓸 때만 DB 왕복 (compare-and-set)
+ * - 노드끼리는 구간 단위로만 순서가 맞음 (구간이 작을수록 클러스터 전체 순서에 가까움)
+ * - 복구(advanceTo): 공유 위치를 복구한 id 다음까지 올리고, 그 id에 못 미친 현재 구간은 버림
+ * - mayExist(): 클러스터 어딘가에서 발급됐을 수 있는 id인지 (공유 위치 기준) → 수집하지 않는 노드도 판단 가능
+ * - 인자 없는 생성자는 DB 없이 혼자 쓰는 발급기 (테스트/도구용)
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ArticleIdGenerator {
+
+    // 공유 발급 위치 (아직 아무 노드에도 주지 않은 첫 id)
+    interface Blocks {
+
+        // 위치를 size만큼 올리고, 받은 구간의 첫 id 반환
+        long reserve(int size);
+
+        // 위치를 최소 nextId까지 올림
+        void advanceTo(long nextId);
+
+        long position();
+    }
+
+    // [next, end) 구간
+    private static final class Range {
+        final AtomicLong next;
+        final long end;
+
+        Range(long from, long end) {
+            this.next = new AtomicLong(from);
+            this.end = end;
+        }
+    }
+
+    private static final Range EXHAUSTED = new Range(0, 0);
+    // 모르는 큰 id가 들어와도 공유 위치는 이 간격에 한 번만 다시 읽음
+    private static final long POSITION_REFRESH_MILLIS = 1000;
+
+    private final Blocks blocks;
+    private final int blockSize;
+    private volatile Range range = EXHAUSTED;
+    // 복구한 최대 id
+    private volatile long recovered;
+    // 마지막으로 읽은 공유 위치와 읽은 시각
+    private volatile long knownPosition;
+    private volatile long positionCheckedAt;
+
+    public ArticleIdGenerator() {
+        this(new LocalBlocks(), 1024);
+    }
+
+    @Autowired
+    public ArticleIdGenerator(JdbcTemplate jdbcTemplate,
+                              ShardRouter shardRouter,
+                              @Value("${nuzip.article-id.block-size:100}") int blockSize) {
+        this(new JdbcBlocks(jdbcTemplate, shardRouter), blockSize);
+    }
+
+    ArticleIdGenerator(Blocks blocks, int blockSize) {
+        this.blocks = blocks;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public long next() {
+        while (true) {
+            Range r = range;
+            long id = r.next.getAndIncrement();
+            if (id < r.end) {
+                return id;
+            }
+            refill(r);
+        }
+    }
+
+    private synchronized void refill(Range exhausted) {
+        if (range == exhausted) {
+            long from = blocks.reserve(blockSize);
+            range = new Range(from, from + blockSize);
+        }
+    }
+
+    // 저장된 기사를 복구했을 때 그 다음 번호부터 발급하도록 (다른 노드도 공유 위치를 통해 이어서)
+    public synchronized void advanceTo(long id) {
+        if (id <= recovered) {
+            return;
+        }
+        recovered = id;
+        blocks.advanceTo(id + 1);
+        if (range.next.get() <= id) {
+            range = EXHAUSTED;
+        }
+    }
+
+    // 이 노드가 발급했거나 복구한 최대 id
+    public long current() {
+        Range r = range;
+        return Math.max(recovered, Math.min(r.next.get(), r.end) - 1);
+    }
+
+    // 클러스터 어딘가에서 발급됐을 수 있는 id인지 (받아 간 구간 안이면 true, 아직 안 쓴 번호일 수도 있음)
+    public boolean mayExist(long id) {
+        if (id <= 0) {
+            return false;
+        }
+        if (id < knownPosition || id <= current()) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - positionCheckedAt >= POSITION_REFRESH_MILLIS) {
+            positionCheckedAt = now;
+            knownPosition = blocks.position();
+        }
+        return id < knownPosition;
+    }
+
+    // DB 없이 메모리에서만
+    static final class LocalBlocks implements Blocks {
+
+        private final AtomicLong position = new AtomicLong(1);
+
+        @Override
+        public long reserve(int size) {
+            return position.getAndAdd(size);
+        }
+
+        @Override
+        public void advanceTo(long nextId) {
+            position.accumulateAndGet(nextId, Math::max);
+        }
+
+        @Override
+        public long position() {
+            return position.get();
+        }
+    }
+
+    // 홈 샤드의 article_id_blocks 한 행 (행 잠금 없이 compare-and-set으로 올림)
+    static final class JdbcBlocks implements Blocks {
+
+        private static final String NAME = "article";
+
+        private final JdbcTemplate jdbcTemplate;
+        private final ShardRouter shardRouter;
+
+        JdbcBlocks(JdbcTemplate jdbcTemplate, ShardRouter shardRouter) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.shardRouter = shardRouter;
+            try {
+                shardRouter.runOnShard(ShardContext.HOME, () -> jdbcTemplate.update(
+                        "insert into article_id_blocks (name, next_id) values (?, 1)", NAME));
+            } catch (DuplicateKeyException e) {
+                // 이미 있음 (다른 노드 또는 이전 실행)
+            }
+        }
+
+        @Override
+        public long reserve(int size) {
+            while (true) {
+                long at = position();
+                if (compareAndSet(at, at + size)) {
+                    return at;
+                }
+            }
+        }
+
+        @Override
+        public void advanceTo(long nextId) {
+            while (true) {
+                long at = position();
+                if (at >= nextId || compareAndSet(at, nextId)) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public long position() {
+            return shardRouter.onShard(ShardContext.HOME, () -> jdbcTemplate.queryForObject(
+                    "select next_id from article_id_blocks where name = ?", Long.class, NAME));
+        }
+
+        private boolean compareAndSet(long expected, long next) {
+            return shardRouter.onShard(ShardContext.HOME, () -> jdbcTemplate.update(
+                    "update article_id_blocks set next_id = ? where name = ? and next_id = ?",
+                    next, NAME, expected)) == 1;
+        }
+    }
+}
@@ -0,0 +1,625 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32C;
+
+/**
+ * 수집된 기사 원본(본문 포함)을 디스크에 남기는 추가 전용(append-only) 로그
+ * - 쓰기: 저장 스레드가 배치 하나를 버퍼 하나로 인코딩해서 FileChannel로 한 번에 append (+ fsync)
+ * - 레코드: [길이 4][CRC32C 4][id 8][publishedAt 8][메타 길이 4][메타 JSON][본문 블록] — CRC는 id부터 끝까지
+ *   본문 블록은 카테고리별 사전으로 압축 (ArticleBodyCodec)
+ * - 세그먼트: 크기나 시간이 차면 새 파일로 넘김. 닫힌 세그먼트는 통째로 mmap, 활성 세그먼트는 커진 만큼 다시 map
+ * - 희소 색인: 레코드 N개마다 (오프셋, 블록 최소/최대 id)만 기억 → 블록 하나만 훑으면 찾음
+ *   (id는 병렬 정규화 단계에서 발급돼서 로그 안에서는 "거의" 오름차순이라 블록 범위가 겹칠 수 있음)
+ * - 복구: 마지막 세그먼트만 CRC까지 확인하며 끝까지 훑고, 찢어진 꼬리는 잘라냄. 재기동 후 쓰기는 새 세그먼트부터
+ * - 기동 시: 최근 replay-hours 안의 세그먼트를 다른 sink들에 다시 흘려서 피드/검색/중복 제거를 복원, id 발급기도 이어서
+ * - 조회: 메타 JSON은 mmap 슬라이스 그대로, 본문은 블록을 mmap에서 바로 inflate
+ * - 세그먼트마다 카테고리별로 쓰인 가장 낮은 사전 버전을 기억 → 만료 삭제 후 안 쓰는 사전도 정리
+ */
+@Slf4j
+@Component
+@Order(50)
+public class ArticleLog implements ArticleSink {
+
+    static final int HEADER = 28;
+    private static final String SUFFIX = ".log";
+    private static final int REPLAY_BATCH = 512;
+
+    private final ObjectProvider<ArticleSink> sinks;
+    private final ArticleIdGenerator idGenerator;
+    private final ArticleDeduplicator deduplicator;
+    private final ArticleBodyCodec codec;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    private final boolean enabled;
+    private final Path dir;
+    private final long segmentBytes;
+    private final long rollMillis;
+    private final long retentionMillis;
+    private final long replayMillis;
+    private final int indexInterval;
+    private final boolean fsync;
+
+    // 오래된 것 → 최신 순. 마지막 원소가 활성 세그먼트 (저장 스레드만 append)
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final CRC32C crc = new CRC32C();     // 저장 스레드 전용
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(1 << 20);
+    private Segment active;
+
+    // ===== 지표 =====
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder appendedBytes = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder readMisses = new LongAdder();
+    private volatile long recoveredRecords;
+    private volatile long truncatedBytes;
+    private volatile long replayedRecords;
+    private volatile long replayMs;
+    private volatile long lastAppendMs;
+    private volatile long segmentsDeleted;
+
+    // 로그에 남기는 메타 (본문은 압축 블록으로 따로)
+    record Stored(long id, NewsCategory category, String title, String summary, String url,
+                  String source, long publishedAt) {
+
+        static Stored of(Article a) {
+            return new Stored(a.getId(), a.getCategory(), a.getTitle(), a.getSummary(), a.getUrl(),
+                    a.getSource(), a.getPublishedAt());
+        }
+
+        Article toArticle(String body) {
+            return Article.builder()
+                    .id(id).category(category).title(title).summary(summary)
+                    .url(url).source(source).publishedAt(publishedAt).body(body)
+                    .build();
+        }
+    }
+
+    // 조회 결과: 메타 JSON, 본문 블록 (둘 다 mmap 슬라이스)
+    public record Location(ByteBuffer meta, ByteBuffer body) {
+    }
+
+    public ArticleLog(ObjectProvider<ArticleSink> sinks,
+                      ArticleIdGenerator idGenerator,
+                      ArticleDeduplicator deduplicator,
+                      ArticleBodyCodec codec,
+                      @Value("${nuzip.article-log.enabled:true}") boolean enabled,
+                      @Value("${nuzip.article-log.dir:./data/articles}") String dir,
+                      @Value("${nuzip.article-log.segment-mb:128}") int segmentMb,
+                      @Value("${nuzip.article-log.roll-minutes:60}") int rollMinutes,
+                      @Value("${nuzip.article-log.retention-days:7}") int retentionDays,
+                      @Value("${nuzip.article-log.replay-hours:24}") int replayHours,
+                      @Value("${nuzip.article-log.index-interval:32}") int indexInterval,
+                      @Value("${nuzip.article-log.fsync:true}") boolean fsync) {
+        this.sinks = sinks;
+        this.idGenerator = idGenerator;
+        this.deduplicator = deduplicator;
+        this.codec = codec;
+        ObjectMapper mapper = new ObjectMapper();
+        this.writer = mapper.writerFor(Stored.class);
+        this.reader = mapper.readerFor(Stored.class);
+        this.enabled = enabled;
+        this.dir = Paths.get(dir).toAbsolutePath().normalize();
+        this.segmentBytes = Math.min(segmentMb * 1024L * 1024L, Integer.MAX_VALUE);
+        this.rollMillis = TimeUnit.MINUTES.toMillis(rollMinutes);
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+        this.replayMillis = TimeUnit.HOURS.toMillis(replayHours);
+        this.indexInterval = Math.max(1, indexInterval);
+        this.fsync = fsync;
+    }
+
+    // ===== 복구 =====
+    @PostConstruct
+    void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(dir);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Path::compareTo); // 이름이 0으로 채운 일련번호라 사전순 = 생성순
+
+        long maxId = 0;
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < files.size(); i++) {
+            Segment segment = recover(files.get(i), i == files.size() - 1);
+            if (segment == null) {
+                continue;
+            }
+            segments.add(segment);
+            maxId = Math.max(maxId, segment.maxId);
+            recoveredRecords += segment.records;
+        }
+        idGenerator.advanceTo(maxId);
+
+        long nextBase = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).base + 1;
+        active = Segment.create(dir, nextBase, indexInterval);
+        segments.add(active);
+        log.info("🗄️ 기사 로그 복구: 세그먼트 {}개, 레코드 {}건, 잘라낸 꼬리 {}B, 최대 id {} ({}ms)",
+                segments.size() - 1, recoveredRecords, truncatedBytes, maxId,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    // 세그먼트 하나를 훑어 희소 색인을 다시 만듦. verify면 CRC까지 확인하고 깨진 곳부터 잘라냄
+    private Segment recover(Path path, boolean verify) throws IOException {
+        long base = Long.parseLong(path.getFileName().toString().replace(SUFFIX, ""));
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long valid = 0;
+        Segment segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("세그먼트가 너무 큽니다: " + path);
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            segment = new Segment(base, path, indexInterval);
+            CRC32C check = new CRC32C();
+            while (valid + HEADER <= fileSize) {
+                int pos = (int) valid;
+                int length = map.getInt(pos);
+                if (length <= 0 || valid + HEADER + length > fileSize) {
+                    break; // 쓰다 만 레코드
+                }
+                if (verify) {
+                    check.reset();
+                    check.update(map.duplicate().position(pos + 8).limit(pos + HEADER + length));
+                    if ((int) check.getValue() != map.getInt(pos + 4)) {
+                        break;
+                    }
+                }
+                int metaLength = map.getInt(pos + 24);
+                if (metaLength < 0 || metaLength + ArticleBodyCodec.BLOCK_HEADER > length) {
+                    break;
+                }
+                int block = pos + HEADER + metaLength;
+                segment.index(map.getLong(pos + 8), pos);
+                segment.usesDictionary(ArticleBodyCodec.categoryOf(map, block), ArticleBodyCodec.versionOf(map, block));
+                valid += HEADER + length;
+            }
+            if (valid < fileSize) {
+                truncatedBytes += fileSize - valid;
+                log.warn("기사 로그 꼬리 손상 → 잘라냄: {} ({}B 중 {}B 유효)", path.getFileName(), fileSize, valid);
+                channel.truncate(valid);
+                channel.force(true);
+            }
+            if (valid > 0) {
+                segment.seal(valid == fileSize ? map : channel.map(FileChannel.MapMode.READ_ONLY, 0, valid), valid, lastModified);
+            }
+        }
+        if (valid == 0) {
+            Files.deleteIfExists(path);
+            return null;
+        }
+        return segment;
+    }
+
+    // 다른 sink들이 다 만들어진 뒤, 수집 파이프라인이 시작하기 전에 최근 기사들을 다시 흘려보냄
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void replay() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long now = System.currentTimeMillis();
+        List<ArticleSink> targets = sinks.orderedStream().filter(s -> s != this).toList();
+        List<Article> batch = new ArrayList<>(REPLAY_BATCH);
+        long count = 0;
+        for (Segment segment : segments) {
+            if (segment == active || segment.lastAppendAt < now - replayMillis) {
+                continue;
+            }
+            ByteBuffer map = segment.map;
+            int pos = 0;
+            while (pos < segment.size) {
+                int length = map.getInt(pos);
+                int metaLength = map.getInt(pos + 24);
+                Article article;
+                try {
+                    String body = codec.decode(map.duplicate()
+                            .position(pos + HEADER + metaLength).limit(pos + HEADER + length));
+                    article = reader.<Stored>readValue(bytes(map, pos + HEADER, metaLength)).toArticle(body);
+                } catch (IOException | IllegalStateException e) {
+                    log.warn("기사 로그 레코드 해석 실패: {}@{}", segment.path.getFileName(), pos, e);
+                    pos += HEADER + length;
+                    continue;
+                }
+                pos += HEADER + length;
+                // 재기동 직후 크롤러가 같은 기사를 다시 떨궈도 걸러지도록 중복 제거기에도 등록
+                deduplicator.representativeOf(article.getId(), SimHash.fingerprint(article.getTitle(), article.getBody()), now);
+                batch.add(article);
+                if (batch.size() == REPLAY_BATCH) {
+                    deliver(targets, batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(REPLAY_BATCH);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deliver(targets, batch);
+            count += batch.size();
+        }
+        replayedRecords = count;
+        replayMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.info("🗄️ 기사 로그 재생: {}건 → sink {}개 ({}ms)", count, targets.size(), replayMs);
+    }
+
+    private void deliver(List<ArticleSink> targets, List<Article> batch) {
+        for (ArticleSink sink : targets) {
+            try {
+                sink.accept(batch);
+            } catch (Exception e) {
+                log.warn("기사 로그 재생 실패: sink={}", sink.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    // ===== 쓰기 (저장 스레드) =====
+    @Override
+    public void accept(List<Article> batch) {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        List<byte[]> metas = new ArrayList<>(batch.size());
+        List<byte[]> bodies = new ArrayList<>(batch.size());
+        int total = 0;
+        for (Article article : batch) {
+            try {
+                byte[] meta = writer.writeValueAsBytes(Stored.of(article));
+                byte[] body = codec.encode(article.getCategory(), article.getBody());
+                metas.add(meta);
+                bodies.add(body);
+                total += HEADER + meta.length + body.length;
+            } catch (IOException e) {
+                throw new IllegalStateException("기사 직렬화 실패: id=" + article.getId(), e);
+            }
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            if (active.size > 0 && (active.size + total > segmentBytes || now - active.createdAt >= rollMillis)) {
+                roll();
+            }
+            ByteBuffer buf = buffer(total);
+            int[] offsets = new int[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Article article = batch.get(i);
+                byte[] meta = metas.get(i);
+                byte[] body = bodies.get(i);
+                int start = buf.position();
+                offsets[i] = (int) active.size + start;
+                buf.putInt(meta.length + body.length).putInt(0)
+                        .putLong(article.getId()).putLong(article.getPublishedAt())
+                        .putInt(meta.length).put(meta).put(body);
+                crc.reset();
+                crc.update(buf.duplicate().position(start + 8).limit(buf.position()));
+                buf.putInt(start + 4, (int) crc.getValue());
+            }
+            buf.flip();
+            long position = active.size;
+            while (buf.hasRemaining()) {
+                position += active.channel.write(buf, position);
+            }
+            if (fsync) {
+                active.channel.force(false);
+            }
+            // 디스크에 다 쓴 다음에야 크기 → 색인 순으로 공개 → 읽는 쪽은 완성된 레코드만 봄
+            active.appended(position, now);
+            for (int i = 0; i < batch.size(); i++) {
+                byte[] body = bodies.get(i);
+                active.index(batch.get(i).getId(), offsets[i]);
+                active.usesDictionary(ArticleBodyCodec.categoryOf(ByteBuffer.wrap(body), 0),
+                        ArticleBodyCodec.versionOf(ByteBuffer.wrap(body), 0));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("기사 로그 쓰기 실패: " + active.path, e);
+        }
+        appended.add(batch.size());
+        appendedBytes.add(total);
+        lastAppendMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    private ByteBuffer buffer(int size) {
+        if (writeBuffer.capacity() < size) {
+            writeBuffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size - 1) << 1);
+        }
+        return writeBuffer.clear();
+    }
+
+    // 활성 세그먼트를 닫고(통째로 mmap) 새 세그먼트 시작
+    private void roll() throws IOException {
+        Segment sealed = active;
+        sealed.channel.force(true);
+        sealed.seal(sealed.channel.map(FileChannel.MapMode.READ_ONLY, 0, sealed.size), sealed.size, sealed.lastAppendAt);
+        sealed.close();
+        active = Segment.create(dir, sealed.base + 1, indexInterval);
+        segments.add(active);
+    }
+
+    // ===== 조회 =====
+
+    /** id의 메타/본문 블록 위치. 없거나 보관 기간이 지났으면 null */
+    public Location locate(long id) {
+        if (!enabled) {
+            return null;
+        }
+        reads.increment();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            if (segment.expired) {
+                continue; // 보관 기간이 지나 파일 삭제를 기다리는 세그먼트
+            }
+            int pos = segment.find(id);
+            if (pos >= 0) {
+                ByteBuffer map = segment.mapped();
+                int length = map.getInt(pos);
+                int metaLength = map.getInt(pos + 24);
+                return new Location(map.slice(pos + HEADER, metaLength).asReadOnlyBuffer(),
+                        map.slice(pos + HEADER + metaLength, length - metaLength).asReadOnlyBuffer());
+            }
+        }
+        readMisses.increment();
+        return null;
+    }
+
+    /** 조회한 위치의 본문 (mmap 구간에서 바로 inflate) */
+    public String body(Location location) {
+        return codec.decode(location.body());
+    }
+
+    // ===== 보관 기간 =====
+    @Scheduled(fixedDelay = 600_000)
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        for (Segment segment : segments) {
+            if (segment == active || segment.lastAppendAt >= cutoff) {
+                continue;
+            }
+            segment.expired = true; // 조회에서는 바로 빠짐
+            // 파일을 먼저 지우고 성공했을 때만 목록에서 뺌 → 실패하면 목록에 남아 다음 정리 때 다시 시도
+            // (목록에서 먼저 빼면 지우지 못한 파일을 아무도 기억하지 않고, 그 사전 버전도 보관 대상에서 빠짐)
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("기사 로그 세그먼트 삭제 실패 (다음 정리 때 다시 시도): {}", segment.path, e);
+                continue;
+            }
+            segments.remove(segment); // 진행 중인 조회는 잡고 있던 mmap으로 끝까지 읽음
+            segmentsDeleted++;
+            log.info("🗄️ 기사 로그 세그먼트 만료 삭제: {} (레코드 {}건)", segment.path.getFileName(), segment.records);
+        }
+
+        // 삭제를 기다리는 세그먼트도 포함 (파일이 남아 있는 동안 재시작하면 다시 읽으므로)
+        int[] minVersion = new int[NewsCategory.values().length];
+        Arrays.fill(minVersion, Integer.MAX_VALUE);
+        for (Segment segment : segments) {
+            segment.minDictionaryVersions(minVersion);
+        }
+        codec.retainFrom(minVersion);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("dir", dir.toString());
+        long bytes = 0;
+        long records = 0;
+        long indexEntries = 0;
+        for (Segment segment : segments) {
+            bytes += segment.size;
+            records += segment.records;
+            indexEntries += segment.blocks;
+        }
+        stats.put("segments", segments.size());
+        stats.put("records", records);
+        stats.put("bytes", bytes);
+        stats.put("indexEntries", indexEntries);
+        stats.put("appended", appended.sum());
+        stats.put("appendedBytes", appendedBytes.sum());
+        stats.put("lastAppendMs", lastAppendMs);
+        stats.put("reads", reads.sum());
+        stats.put("readMisses", readMisses.sum());
+        stats.put("recoveredRecords", recoveredRecords);
+        stats.put("truncatedBytes", truncatedBytes);
+        stats.put("replayedRecords", replayedRecords);
+        stats.put("replayMs", replayMs);
+        stats.put("segmentsDeleted", segmentsDeleted);
+        stats.put("segmentsPendingDelete", segments.stream().filter(s -> s.expired).count());
+        stats.put("codec", codec.stats());
+        return stats;
+    }
+
+    private static byte[] bytes(ByteBuffer map, int offset, int length) {
+        byte[] out = new byte[length];
+        map.get(offset, out);
+        return out;
+    }
+
+    /**
+     * 세그먼트 파일 하나 + 희소 색인
+     * - 색인/범위는 저장 스레드가 쓰고 조회 스레드가 읽으므로 this로 동기화
+     * - size는 fsync까지 끝난 바이트 수 (volatile). 활성 세그먼트 mmap은 조회 시 size보다 작으면 다시 map
+     */
+    private static final class Segment {
+
+        final long base;
+        final Path path;
+        final int interval;
+        FileChannel channel;                 // 활성 세그먼트만 열려 있음
+        final long createdAt = System.currentTimeMillis();
+        volatile long size;
+        volatile long lastAppendAt;
+        volatile MappedByteBuffer map;
+        volatile boolean expired;            // 보관 기간이 지남 (파일 삭제에 성공하면 목록에서 빠짐)
+
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        int records;
+        int blocks;
+        int[] blockOffset = new int[64];
+        long[] blockMin = new long[64];
+        long[] blockMax = new long[64];
+        final int[] minDictionary = new int[NewsCategory.values().length];
+
+        Segment(long base, Path path, int interval) {
+            this.base = base;
+            this.path = path;
+            this.interval = interval;
+            Arrays.fill(minDictionary, Integer.MAX_VALUE);
+        }
+
+        static Segment create(Path dir, long base, int interval) throws IOException {
+            Path path = dir.resolve(String.format("%020d%s", base, SUFFIX));
+            Segment segment = new Segment(base, path, interval);
+            segment.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment.lastAppendAt = segment.createdAt;
+            return segment;
+        }
+
+        synchronized void index(long id, int offset) {
+            if (records % interval == 0) {
+                if (blocks == blockOffset.length) {
+                    blockOffset = Arrays.copyOf(blockOffset, blocks * 2);
+                    blockMin = Arrays.copyOf(blockMin, blocks * 2);
+                    blockMax = Arrays.copyOf(blockMax, blocks * 2);
+                }
+                blockOffset[blocks] = offset;
+                blockMin[blocks] = id;
+                blockMax[blocks] = id;
+                blocks++;
+            } else {
+                blockMin[blocks - 1] = Math.min(blockMin[blocks - 1], id);
+                blockMax[blocks - 1] = Math.max(blockMax[blocks - 1], id);
+            }
+            minId = Math.min(minId, id);
+            maxId = Math.max(maxId, id);
+            records++;
+        }
+
+        synchronized void usesDictionary(int ordinal, int version) {
+            minDictionary[ordinal] = Math.min(minDictionary[ordinal], version);
+        }
+
+        synchronized void minDictionaryVersions(int[] into) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] = Math.min(into[i], minDictionary[i]);
+            }
+        }
+
+        void appended(long newSize, long at) {
+            size = newSize;
+            lastAppendAt = at;
+        }
+
+        synchronized void seal(MappedByteBuffer sealedMap, long sealedSize, long at) {
+            map = sealedMap;
+            size = sealedSize;
+            lastAppendAt = at;
+        }
+
+        // 활성 세그먼트는 커진 만큼 다시 map (닫힌 세그먼트는 처음 map 그대로)
+        ByteBuffer mapped() {
+            MappedByteBuffer current = map;
+            long committed = size;
+            if (current != null && current.capacity() >= committed) {
+                return current;
+            }
+            synchronized (this) {
+                if (map == null || map.capacity() < size) {
+                    try {
+                        map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("기사 로그 map 실패: " + path, e);
+                    }
+                }
+                return map;
+            }
+        }
+
+        // 레코드 시작 오프셋, 없으면 -1. 범위가 맞는 블록만 훑음
+        // 색인은 잠금 안에서 다음 후보 블록 하나의 구간만 읽고, mmap은 잠금 밖에서 훑음 → 조회마다 배열을 만들지 않음
+        // (id가 거의 순서대로 들어오므로 후보 블록은 보통 하나)
+        int find(long id) {
+            int b = 0;
+            while (true) {
+                int from;
+                int to;
+                synchronized (this) {
+                    if (records == 0 || id < minId || id > maxId) {
+                        return -1;
+                    }
+                    while (b < blocks && (id < blockMin[b] || id > blockMax[b])) {
+                        b++;
+                    }
+                    if (b == blocks) {
+                        return -1;
+                    }
+                    from = blockOffset[b];
+                    to = b + 1 < blocks ? blockOffset[b + 1] : (int) size;
+                    b++;
+                }
+                ByteBuffer buf = mapped(); // 위에서 읽은 size까지는 덮음
+                for (int pos = from; pos < to; pos += HEADER + buf.getInt(pos)) {
+                    if (buf.getLong(pos + 8) == id) {
+                        return pos;
+                    }
+                }
+            }
+        }
+
+        synchronized void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 수집된 기사용 인메모리 역색인 검색 엔진
+ * - 토큰: KoreanBigramTokenizer (어절 + 한글 bigram), 제목은 tf 2배
+ * - 수집 배치 하나 = 불변 세그먼트 하나. 세그먼트는 term → (doc 번호 델타 배열, tf 배열) 원시 int 배열로 보관
+ * - 세그먼트가 많아지면 백그라운드 스레드가 작은 것부터 병합 (보관 기간 지난 기사는 이때 빠짐)
+ * - 병합되지 않는 큰 세그먼트도 주기 정리(sweep)가 같은 스레드에서 처리: 전부 지났으면 버리고, 절반 이상 지났으면
+ *   남은 기사로 다시 만듦. 정리 전이라도 보관 기간이 지난 기사는 검색 결과에 넣지 않음
+ * - 세그먼트 목록은 불변 리스트를 volatile로 교체 → 검색은 락 없이 스냅샷 하나로 수행
+ * - 점수: BM25(k1=1.2, b=0.75), 카테고리 비트마스크(1 << ordinal)로 필터
+ * - 점수 누적은 문서 번호 WINDOW개 구간씩 (posting이 문서 번호 순이라 term별 커서를 구간 끝까지만 전진)
+ *   → 스레드별 누적 배열이 세그먼트 크기와 무관하게 WINDOW 크기로 고정
+ */
+@Slf4j
+@Component
+@Order(200)
+public class ArticleSearchIndex implements ArticleSink {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_BODY_CHARS = 5000;
+    private static final int WINDOW = 4096;
+
+    private final int maxSegments;
+    private final int mergeFactor;
+    private final long retentionMillis;
+    private final ExecutorService merger = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "search-segment-merger");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile List<Segment> segments = List.of();
+    private boolean mergeScheduled; // segmentsLock으로 보호
+    private final Object segmentsLock = new Object();
+
+    // 구간 하나의 점수 누적 배열과 건드린 칸 목록 (스레드별 재사용, 크기 고정)
+    private static final class Scratch {
+        final float[] scores = new float[WINDOW];
+        final int[] touched = new int[WINDOW];
+    }
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public ArticleSearchIndex(@Value("${nuzip.search.max-segments:8}") int maxSegments,
+                              @Value("${nuzip.search.merge-factor:4}") int mergeFactor,
+                              @Value("${nuzip.search.retention-days:30}") int retentionDays) {
+        this.maxSegments = maxSegments;
+        this.mergeFactor = mergeFactor;
+        this.retentionMillis = retentionDays * 86_400_000L;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        merger.shutdownNow();
+    }
+
+    @Override
+    public void accept(List<Article> batch) {
+        Segment segment = Segment.build(batch);
+        synchronized (segmentsLock) {
+            List<Segment> next = new ArrayList<>(segments);
+            next.add(segment);
+            segments = List.copyOf(next);
+            scheduleMergeIfNeeded();
+        }
+    }
+
+    /**
+     * BM25 상위 size건
+     * @param categoryMask 허용 카테고리 비트마스크 (1 << NewsCategory.ordinal()), 0이면 전체
+     */
+    public List<SearchHit> search(String query, int categoryMask, int size) {
+        Map<String, Integer> queryTerms = new LinkedHashMap<>();
+        KoreanBigramTokenizer.tokenize(query, t -> queryTerms.merge(t, 1, Integer::sum));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        int mask = (categoryMask == 0) ? -1 : categoryMask;
+
+        List<Segment> snapshot = segments;
+        long totalDocs = 0, totalLength = 0;
+        for (Segment s : snapshot) {
+            totalDocs += s.size();
+            totalLength += s.totalLength;
+        }
+        if (totalDocs == 0) {
+            return List.of();
+        }
+        float avgLength = (float) totalLength / totalDocs;
+
+        // term별 IDF (전체 세그먼트 기준 df)
+        String[] terms = queryTerms.keySet().toArray(new String[0]);
+        float[] idf = new float[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            long df = 0;
+            for (Segment s : snapshot) {
+                Segment.Postings p = s.postings.get(terms[t]);
+                df += (p == null) ? 0 : p.docDeltas.length;
+            }
+            idf[t] = (float) Math.log(1 + (totalDocs - df + 0.5) / (df + 0.5));
+        }
+
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        TopHits top = new TopHits(size);
+        for (Segment s : snapshot) {
+            if (s.maxPublishedAt >= cutoff) {
+                searchSegment(s, terms, queryTerms, idf, avgLength, mask, cutoff, top);
+            }
+        }
+        return top.toSortedList();
+    }
+
+    private void searchSegment(Segment s, String[] terms, Map<String, Integer> queryTerms, float[] idf,
+                               float avgLength, int mask, long cutoff, TopHits top) {
+        // term별 커서: 다음 posting 위치와 그 문서 번호 (다 읽었으면 Integer.MAX_VALUE)
+        Segment.Postings[] lists = new Segment.Postings[terms.length];
+        float[] weights = new float[terms.length];
+        int[] cursors = new int[terms.length];
+        int[] docs = new int[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            Segment.Postings p = s.postings.get(terms[t]);
+            docs[t] = (p == null) ? Integer.MAX_VALUE : p.docDeltas[0];
+            lists[t] = p;
+            weights[t] = idf[t] * queryTerms.get(terms[t]);
+        }
+        Scratch buffer = scratch.get();
+        float[] scores = buffer.scores;
+        int[] touched = buffer.touched;
+
+        while (true) {
+            // 남은 posting 중 가장 앞 문서부터 WINDOW개 구간 (빈 구간은 건너뜀)
+            int base = Integer.MAX_VALUE;
+            for (int doc : docs) {
+                base = Math.min(base, doc);
+            }
+            if (base == Integer.MAX_VALUE) {
+                return;
+            }
+            long end = (long) base + WINDOW;
+            int touchedCount = 0;
+
+            for (int t = 0; t < terms.length; t++) {
+                Segment.Postings p = lists[t];
+                int i = cursors[t];
+                int doc = docs[t];
+                while (doc < end) {
+                    if ((mask & (1 << s.categories[doc])) != 0 && s.publishedAt[doc] >= cutoff) {
+                        float tf = p.freqs[i];
+                        float norm = K1 * (1 - B + B * s.docLengths[doc] / avgLength);
+                        int slot = doc - base;
+                        if (scores[slot] == 0) {
+                            touched[touchedCount++] = slot;
+                        }
+                        scores[slot] += weights[t] * tf * (K1 + 1) / (tf + norm);
+                    }
+                    if (++i == p.docDeltas.length) {
+                        doc = Integer.MAX_VALUE;
+                        break;
+                    }
+                    doc += p.docDeltas[i];
+                }
+                cursors[t] = i;
+                docs[t] = doc;
+            }
+
+            for (int k = 0; k < touchedCount; k++) {
+                int slot = touched[k];
+                top.offer(s, base + slot, scores[slot]);
+                scores[slot] = 0; // 다음 구간/질의를 위해 건드린 칸만 초기화
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        List<Segment> snapshot = segments;
+        long docs = 0, postings = 0, terms = 0;
+        for (Segment s : snapshot) {
+            docs += s.size();
+            terms += s.postings.size();
+            postings += s.postingCount;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("segments", snapshot.size());
+        stats.put("docs", docs);
+        stats.put("segmentTerms", terms);
+        stats.put("postings", postings);
+        return stats;
+    }
+
+    // ===== 보관 기간 정리 =====
+    @Scheduled(fixedDelayString = "${nuzip.search.sweep-interval-ms:600000}")
+    public void scheduleSweep() {
+        if (!merger.isShutdown()) {
+            merger.execute(this::sweep); // 병합과 같은 스레드 → 세그먼트 교체가 겹치지 않음
+        }
+    }
+
+    // 전부 지난 세그먼트는 버리고, 절반 이상 지난 세그먼트는 남은 기사만으로 다시 만듦
+    void sweep() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        Map<Segment, Segment> replaced = new IdentityHashMap<>(); // 값이 null이면 버림
+        for (Segment s : segments) {
+            if (s.minPublishedAt >= cutoff) {
+                continue;
+            }
+            if (s.maxPublishedAt < cutoff) {
+                replaced.put(s, null);
+                continue;
+            }
+            int expired = 0;
+            for (long p : s.publishedAt) {
+                if (p < cutoff) {
+                    expired++;
+                }
+            }
+            if (expired * 2 >= s.size()) {
+                replaced.put(s, Segment.merge(List.of(s), cutoff));
+            }
+        }
+        if (replaced.isEmpty()) {
+            return;
+        }
+        long dropped = 0;
+        synchronized (segmentsLock) {
+            List<Segment> next = new ArrayList<>(segments.size());
+            for (Segment s : segments) {
+                if (!replaced.containsKey(s)) {
+                    next.add(s);
+                    continue;
+                }
+                Segment rewritten = replaced.get(s);
+                dropped += s.size() - (rewritten == null ? 0 : rewritten.size());
+                if (rewritten != null && rewritten.size() > 0) {
+                    next.add(rewritten);
+                }
+            }
+            segments = List.copyOf(next);
+        }
+        log.info("🔎 검색 색인 보관 기간 정리: 세그먼트 {}개 처리, 기사 {}건 제외", replaced.size(), dropped);
+    }
+
+    // ===== 백그라운드 병합 =====
+    private void scheduleMergeIfNeeded() {
+        if (!mergeScheduled && segments.size() > maxSegments) {
+            mergeScheduled = true;
+            merger.execute(this::mergeLoop);
+        }
+    }
+
+    private void mergeLoop() {
+        while (true) {
+            List<Segment> victims;
+            synchronized (segmentsLock) {
+                if (segments.size() <= maxSegments) {
+                    mergeScheduled = false;
+                    return;
+                }
+                // 가장 작은 세그먼트 mergeFactor개 (크기가 비슷한 것끼리 합쳐 병합 비용을 로그 수준으로)
+                victims = segments.stream()
+                        .sorted(Comparator.comparingInt(Segment::size))
+                        .limit(mergeFactor)
+                        .toList();
+            }
+
+            Segment merged;
+            try {
+                merged = Segment.merge(victims, System.currentTimeMillis() - retentionMillis);
+            } catch (RuntimeException e) {
+                log.warn("검색 세그먼트 병합 실패", e);
+                synchronized (segmentsLock) {
+                    mergeScheduled = false;
+                }
+                return;
+            }
+
+            synchronized (segmentsLock) {
+                List<Segment> next = new ArrayList<>(segments.size());
+                boolean inserted = false;
+                for (Segment s : segments) {
+                    if (victims.stream().anyMatch(v -> v == s)) {
+                        if (!inserted && merged.size() > 0) {
+                            next.add(merged);
+                        }
+                        inserted = true;
+                    } else {
+                        next.add(s);
+                    }
+                }
+                segments = List.copyOf(next);
+            }
+        }
+    }
+
+    // ===== 상위 K 선택 (점수 최소 힙) =====
+    private static final class TopHits {
+        private final int capacity;
+        private final PriorityQueue<SearchHit> heap;
+
+        TopHits(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(capacity + 1, Comparator.comparingDouble(SearchHit::score));
+        }
+
+        void offer(Segment s, int doc, float score) {
+            if (heap.size() == capacity && heap.peek().score() >= score) {
+                return; // 힙 최소값보다 낮으면 객체를 만들지 않음
+            }
+            heap.add(s.hit(doc, score));
+            if (heap.size() > capacity) {
+                heap.poll();
+            }
+        }
+
+        List<SearchHit> toSortedList() {
+            List<SearchHit> hits = new ArrayList<>(heap);
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(Comparator.comparingLong(SearchHit::publishedAt).reversed()));
+            return hits;
+        }
+    }
+
+    // ===== 불변 세그먼트 =====
+    static final class Segment {
+
+        // term 하나의 posting 목록: 문서 번호는 앞 문서와의 차이(델타)로 저장
+        static final class Postings {
+            final int[] docDeltas;
+            final int[] freqs;
+
+            Postings(int[] docDeltas, int[] freqs) {
+                this.docDeltas = docDeltas;
+                this.freqs = freqs;
+            }
+        }
+
+        final long[] articleIds;
+        final byte[] categories;
+        final long[] publishedAt;
+        final int[] docLengths;
+        final String[] titles;
+        final String[] urls;
+        final String[] sources;
+        final Map<String, Postings> postings;
+        final long totalLength;
+        final long postingCount;
+        final long minPublishedAt;
+        final long maxPublishedAt;
+
+        private Segment(long[] articleIds, byte[] categories, long[] publishedAt, int[] docLengths,
+                        String[] titles, String[] urls, String[] sources, Map<String, Postings> postings) {
+            this.articleIds = articleIds;
+            this.categories = categories;
+            this.publishedAt = publishedAt;
+            this.docLengths = docLengths;
+            this.titles = titles;
+            this.urls = urls;
+            this.sources = sources;
+            this.postings = postings;
+            long length = 0;
+            for (int l : docLengths) {
+                length += l;
+            }
+            this.totalLength = length;
+            long count = 0;
+            for (Postings p : postings.values()) {
+                count += p.docDeltas.length;
+            }
+            this.postingCount = count;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (long p : publishedAt) {
+                min = Math.min(min, p);
+                max = Math.max(max, p);
+            }
+            this.minPublishedAt = min;
+            this.maxPublishedAt = max;
+        }
+
+        int size() {
+            return articleIds.length;
+        }
+
+        SearchHit hit(int doc, float score) {
+            return new SearchHit(articleIds[doc], NewsCategory.values()[categories[doc]],
+                    titles[doc], urls[doc], sources[doc], publishedAt[doc], score);
+        }
+
+        static Segment build(List<Article> articles) {
+            int n = articles.size();
+            long[] ids = new long[n];
+            byte[] categories = new byte[n];
+            long[] publishedAt = new long[n];
+            int[] lengths = new int[n];
+            String[] titles = new String[n];
+            String[] urls = new String[n];
+            String[] sources = new String[n];
+            Map<String, PostingsBuilder> builders = new HashMap<>();
+            Map<String, int[]> docTerms = new HashMap<>();
+
+            for (int doc = 0; doc < n; doc++) {
+                Article a = articles.get(doc);
+                ids[doc] = a.getId();
+                categories[doc] = (byte) a.getCategory().ordinal();
+                publishedAt[doc] = a.getPublishedAt();
+                titles[doc] = a.getTitle();
+                urls[doc] = a.getUrl();
+                sources[doc] = a.getSource();
+
+                docTerms.clear();
+                KoreanBigramTokenizer.tokenize(a.getTitle(),
+                        t -> docTerms.computeIfAbsent(t, k -> new int[1])[0] += TITLE_WEIGHT);
+                String body = a.getBody() != null ? a.getBody() : a.getSummary();
+                if (body != null && body.length() > MAX_BODY_CHARS) {
+                    body = body.substring(0, MAX_BODY_CHARS);
+                }
+                KoreanBigramTokenizer.tokenize(body, t -> docTerms.computeIfAbsent(t, k -> new int[1])[0]++);
+
+                int length = 0;
+                for (Map.Entry<String, int[]> e : docTerms.entrySet()) {
+                    int tf = e.getValue()[0];
+                    length += tf;
+                    builders.computeIfAbsent(e.getKey(), k -> new PostingsBuilder()).add(doc, tf);
+                }
+                lengths[doc] = length;
+            }
+
+            Map<String, Postings> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+            builders.forEach((term, b) -> postings.put(term, b.build()));
+            return new Segment(ids, categories, publishedAt, lengths, titles, urls, sources, postings);
+        }
+
+        // 여러 세그먼트를 하나로 (cutoff보다 오래된 기사는 제외)
+        static Segment merge(List<Segment> parts, long cutoff) {
+            int n = 0;
+            for (Segment s : parts) {
+                for (long p : s.publishedAt) {
+                    if (p >= cutoff) {
+                        n++;
+                    }
+                }
+            }
+            long[] ids = new long[n];
+            byte[] categories = new byte[n];
+            long[] publishedAt = new long[n];
+            int[] lengths = new int[n];
+            String[] titles = new String[n];
+            String[] urls = new String[n];
+            String[] sources = new String[n];
+
+            // 세그먼트별 옛 문서 번호 → 새 문서 번호 (-1 = 제외)
+            int[][] remap = new int[parts.size()][];
+            int next = 0;
+            for (int si = 0; si < parts.size(); si++) {
+                Segment s = parts.get(si);
+                remap[si] = new int[s.size()];
+                for (int doc = 0; doc < s.size(); doc++) {
+                    if (s.publishedAt[doc] < cutoff) {
+                        remap[si][doc] = -1;
+                        continue;
+                    }
+                    ids[next] = s.articleIds[doc];
+                    categories[next] = s.categories[doc];
+                    publishedAt[next] = s.publishedAt[doc];
+                    lengths[next] = s.docLengths[doc];
+                    titles[next] = s.titles[doc];
+                    urls[next] = s.urls[doc];
+                    sources[next] = s.sources[doc];
+                    remap[si][doc] = next++;
+                }
+            }
+
+            // 새 문서 번호는 세그먼트 순서대로 증가하므로 순서대로 이어붙이면 정렬이 유지됨
+            Map<String, PostingsBuilder> builders = new HashMap<>();
+            for (int si = 0; si < parts.size(); si++) {
+                int[] map = remap[si];
+                for (Map.Entry<String, Postings> e : parts.get(si).postings.entrySet()) {
+                    Postings p = e.getValue();
+                    PostingsBuilder b = null;
+                    int doc = 0;
+                    for (int i = 0; i < p.docDeltas.length; i++) {
+                        doc += p.docDeltas[i];
+                        int newDoc = map[doc];
+                        if (newDoc < 0) {
+                            continue;
+                        }
+                        if (b == null) {
+                            b = builders.computeIfAbsent(e.getKey(), k -> new PostingsBuilder());
+                        }
+                        b.add(newDoc, p.freqs[i]);
+                    }
+                }
+            }
+
+            Map<String, Postings> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+            builders.forEach((term, b) -> postings.put(term, b.build()));
+            return new Segment(ids, categories, publishedAt, lengths, titles, urls, sources, postings);
+        }
+    }
+
+    // posting 목록 작성용 (문서 번호는 오름차순으로만 들어옴)
+    private static final class PostingsBuilder {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size << 1);
+                freqs = Arrays.copyOf(freqs, size << 1);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        Segment.Postings build() {
+            int[] deltas = new int[size];
+            int prev = 0;
+            for (int i = 0; i < size; i++) {
+                deltas[i] = docs[i] - prev;
+                prev = docs[i];
+            }
+            return new Segment.Postings(deltas, Arrays.copyOf(freqs, size));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+
+import java.util.List;
+
+/**
+ * 수집 파이프라인의 마지막 단계(저장)에서 기사 배치를 받는 쪽
+ * - 피드 저장소, 검색 색인 등이 구현
+ * - @Order 순서대로 같은 스레드에서 호출되므로 오래 막히지 않게 구현할 것
+ */
+public interface ArticleSink {
+
+    void accept(List<Article> batch);
+}
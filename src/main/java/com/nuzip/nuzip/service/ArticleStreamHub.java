@@ -0,0 +1,393 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 새 기사 SSE 실시간 푸시 허브
+ * - 구독은 카테고리 단위로 모음: 기사 1건은 SSE 프레임 문자열로 한 번만 직렬화되고, 같은 카테고리 구독자 전원이 그 객체를 공유
+ * - 연결마다 스레드를 두지 않음: 연결별 작은 큐에 프레임 참조만 넣고, 공용 sender 스레드 몇 개가 큐를 비우며 전송
+ * - 큐가 queueCapacity를 넘거나 한 번 쓰는 데 slowSendMillis 이상 걸리면 느린 클라이언트로 보고 연결을 끊음
+ *   쓰기가 끝나길 기다리지 않음: 감시자(watchdog-ms마다)가 쓰는 중인 연결의 시작 시각을 보고 넘긴 연결을 바로 떼어 내고,
+ *   그 쓰기에 묶인 sender 자리만큼 sender를 하나 더 띄움 (막힌 쓰기가 돌아오면 그 스레드가 연결을 닫고 원래 수로 돌아감)
+ *   → 멈춘 클라이언트가 있어도 다른 연결 전송은 공용 sender 수만큼 계속 돎 (보충은 maxStalledSenders개까지)
+ * - 카테고리별 최근 replayPerCategory건을 보관해 Last-Event-ID 재접속 시 놓친 이벤트를 다시 보냄
+ *   이벤트 id = 기사 id (클러스터 전체에서 유일) → 다른 노드로 재접속하거나 재시작한 뒤(기사 로그 재생으로 다시 채움)에도 뜻이 같음
+ *   기사 id는 발급 구간 단위로만 순서가 맞으므로, 그 id보다 큰 이벤트에 더해 이 노드에서 그 이벤트 뒤에 발행된 것도 보냄
+ *   (중복될 수 있으니 클라이언트는 id로 거름)
+ */
+@Slf4j
+@Component
+@Order(300)
+public class ArticleStreamHub implements ArticleSink {
+
+    private static final MediaType TEXT_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+    // 프록시/로드밸런서의 유휴 연결 종료를 막는 주석 프레임 (모든 연결이 같은 객체 공유)
+    private static final Frame HEARTBEAT = new Frame(-1, -1, Set.of(new DataWithMediaType(":hb\n\n", TEXT_UTF8)));
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long slowSendMillis;
+    private final long connectionTimeoutMillis;
+    private final int senderThreads;
+    private final int maxStalledSenders;
+    private final ThreadPoolExecutor senders;
+    // 쓰기가 막힌 채로 떼어 낸 연결 수 (그만큼 sender를 더 띄움, senders로 동기화)
+    private int stalledSenders;
+
+    private final Map<NewsCategory, Set<Subscriber>> subscribers = new EnumMap<>(NewsCategory.class);
+    private final Map<NewsCategory, ReplayRing> replay = new EnumMap<>(NewsCategory.class);
+    private final Set<Subscriber> all = ConcurrentHashMap.newKeySet();
+    private final Object publishLock = new Object();
+
+    // 이 노드에서의 발행 순서 (재전송 정렬과 위치 기준 재전송에만 씀, 클라이언트에는 보내지 않음)
+    private long nextSeq;
+
+    private final LongAdder framesSent = new LongAdder();
+    private final LongAdder evictedSlow = new LongAdder();
+    private final LongAdder evictedStalled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+
+    public ArticleStreamHub(ObjectMapper objectMapper,
+                            @Value("${nuzip.stream.queue-capacity:64}") int queueCapacity,
+                            @Value("${nuzip.stream.slow-send-ms:2000}") long slowSendMillis,
+                            @Value("${nuzip.stream.timeout-ms:1800000}") long connectionTimeoutMillis,
+                            @Value("${nuzip.stream.replay-per-category:500}") int replayPerCategory,
+                            @Value("${nuzip.stream.sender-threads:4}") int senderThreads,
+                            @Value("${nuzip.stream.max-stalled-senders:16}") int maxStalledSenders) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.slowSendMillis = slowSendMillis;
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.senderThreads = senderThreads;
+        this.maxStalledSenders = maxStalledSenders;
+        AtomicInteger seq = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads + maxStalledSenders,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "sse-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (NewsCategory category : NewsCategory.values()) {
+            subscribers.put(category, ConcurrentHashMap.newKeySet());
+            replay.put(category, new ReplayRing(replayPerCategory));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        for (Subscriber s : all) {
+            s.emitter.complete();
+        }
+    }
+
+    /**
+     * 구독 등록
+     * @param lastEventId 재접속 시 클라이언트가 보낸 Last-Event-ID (없으면 null)
+     */
+    public SseEmitter subscribe(Set<NewsCategory> categories, Long lastEventId) {
+        return subscribe(categories, lastEventId, new SseEmitter(connectionTimeoutMillis));
+    }
+
+    SseEmitter subscribe(Set<NewsCategory> categories, Long lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, EnumSet.copyOf(categories));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+
+        // 등록과 재전송을 발행과 같은 락 안에서 → 재전송분과 실시간분 사이에 빠지거나 겹치는 이벤트 없음
+        synchronized (publishLock) {
+            all.add(subscriber);
+            for (NewsCategory category : subscriber.categories) {
+                subscribers.get(category).add(subscriber);
+            }
+            if (lastEventId != null) {
+                // 마지막으로 받은 기사가 이 노드에도 있으면 그 뒤에 발행된 것 전부
+                long afterSeq = Long.MAX_VALUE;
+                for (NewsCategory category : subscriber.categories) {
+                    afterSeq = Math.min(afterSeq, replay.get(category).seqOf(lastEventId));
+                }
+                List<Frame> missed = new ArrayList<>();
+                for (NewsCategory category : subscriber.categories) {
+                    replay.get(category).collectAfter(lastEventId, afterSeq, missed);
+                }
+                missed.sort(Comparator.comparingLong(Frame::seq));
+                for (Frame frame : missed) {
+                    if (!subscriber.offer(frame)) {
+                        break; // 큐보다 많이 놓쳤으면 앞쪽 일부만 보내고 이후는 피드 API로 보충
+                    }
+                }
+                replayed.add(missed.size());
+            }
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @Override
+    public void accept(List<Article> batch) {
+        synchronized (publishLock) {
+            for (Article article : batch) {
+                Frame frame = toFrame(nextSeq++, article);
+                if (frame == null) {
+                    continue;
+                }
+                replay.get(article.getCategory()).add(frame);
+                for (Subscriber s : subscribers.get(article.getCategory())) {
+                    if (!s.offer(frame)) {
+                        evict(s);
+                    } else {
+                        schedule(s);
+                    }
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${nuzip.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber s : all) {
+            // 보낼 게 쌓여 있으면 그 자체가 생존 신호
+            if (s.isIdle() && s.offer(HEARTBEAT)) {
+                schedule(s);
+            }
+        }
+    }
+
+    // 쓰기 하나가 slowSendMillis를 넘기고 있는 연결은 쓰기가 끝나길 기다리지 않고 떼어 냄
+    @Scheduled(fixedDelayString = "${nuzip.stream.watchdog-ms:500}")
+    public void checkStalled() {
+        long now = System.nanoTime();
+        for (Subscriber s : all) {
+            if (s.sendState.get() == SENDING && (now - s.sendStartedAt) / 1_000_000 > slowSendMillis
+                    && s.sendState.compareAndSet(SENDING, STALLED)) {
+                compensate(1);
+                if (unregister(s)) {
+                    evictedStalled.increment();
+                    log.warn("📡 SSE 쓰기가 {}ms 넘게 멈춘 연결을 끊음", slowSendMillis);
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("connections", all.size());
+        Map<String, Integer> perCategory = new LinkedHashMap<>();
+        subscribers.forEach((category, set) -> perCategory.put(category.name(), set.size()));
+        stats.put("subscribersPerCategory", perCategory);
+        stats.put("framesSent", framesSent.sum());
+        stats.put("evictedSlow", evictedSlow.sum());
+        stats.put("evictedStalled", evictedStalled.sum());
+        synchronized (senders) {
+            stats.put("stalledSenders", stalledSenders);
+        }
+        stats.put("senderThreads", senders.getPoolSize());
+        stats.put("replayed", replayed.sum());
+        return stats;
+    }
+
+    private Frame toFrame(long seq, Article article) {
+        try {
+            // data 줄은 개행 없는 JSON 한 줄 (Jackson 기본 출력은 개행을 이스케이프함)
+            String frame = "id:" + article.getId() + "\nevent:article\ndata:"
+                    + objectMapper.writeValueAsString(article) + "\n\n";
+            return new Frame(article.getId(), seq, Set.of(new DataWithMediaType(frame, TEXT_UTF8)));
+        } catch (JsonProcessingException e) {
+            log.warn("SSE 직렬화 실패 id={}", article.getId(), e);
+            return null;
+        }
+    }
+
+    // 큐에 쌓인 게 있고 아직 담당 sender가 없으면 하나 배정
+    private void schedule(Subscriber s) {
+        if (s.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(s));
+            } catch (RuntimeException e) {
+                s.draining.set(false); // 종료 중
+            }
+        }
+    }
+
+    private void drain(Subscriber s) {
+        while (true) {
+            Frame frame;
+            while ((frame = s.poll()) != null) {
+                if (!send(s, frame)) {
+                    return;
+                }
+            }
+            s.draining.set(false);
+            // 내려놓는 사이에 새로 들어온 프레임이 있으면 다시 잡음
+            if (s.isIdle() || !s.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    // 프레임 하나 쓰기 (false면 이 연결은 끝났으니 더 보내지 않음)
+    private boolean send(Subscriber s, Frame frame) {
+        long start = System.nanoTime();
+        s.sendStartedAt = start;
+        s.sendState.set(SENDING);
+        boolean failed = false;
+        try {
+            s.emitter.send(frame.data);
+            framesSent.increment();
+        } catch (IOException | IllegalStateException e) {
+            failed = true;
+        }
+        if (!s.sendState.compareAndSet(SENDING, IDLE)) {
+            // 쓰는 동안 감시자가 떼어 냄 → 보충했던 sender를 돌려놓고 여기서 닫음
+            compensate(-1);
+            if (!failed) {
+                s.emitter.complete();
+            }
+            return false;
+        }
+        if (failed) {
+            // 끊긴 연결 (onError/onCompletion 콜백에서도 정리됨)
+            unregister(s);
+            return false;
+        }
+        if ((System.nanoTime() - start) / 1_000_000 > slowSendMillis) {
+            evict(s);
+            return false;
+        }
+        return true;
+    }
+
+    // 막힌 쓰기에 묶인 sender만큼 풀 크기를 늘리고 줄임
+    private void compensate(int delta) {
+        synchronized (senders) {
+            stalledSenders += delta;
+            senders.setCorePoolSize(senderThreads + Math.min(stalledSenders, maxStalledSenders));
+        }
+    }
+
+    private void evict(Subscriber s) {
+        if (unregister(s)) {
+            evictedSlow.increment();
+            s.emitter.complete(); // 클라이언트는 Last-Event-ID로 재접속해서 이어받음
+        }
+    }
+
+    private boolean unregister(Subscriber s) {
+        if (!all.remove(s)) {
+            return false;
+        }
+        for (NewsCategory category : s.categories) {
+            subscribers.get(category).remove(s);
+        }
+        s.clear();
+        return true;
+    }
+
+    // 직렬화가 끝난 SSE 프레임 (불변, 구독자 간 공유). id는 기사 id, seq는 이 노드에서의 발행 순서
+    private record Frame(long id, long seq, Set<DataWithMediaType> data) {
+    }
+
+    private static final int IDLE = 0;
+    private static final int SENDING = 1;
+    private static final int STALLED = 2;
+
+    // 연결 하나: 유휴 연결이 많아도 부담이 없도록 큐는 필요할 때만 커짐
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Set<NewsCategory> categories;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // 쓰기 상태 (IDLE/SENDING/STALLED)와 지금 쓰기를 시작한 시각(nanoTime), 감시자가 읽음
+        final AtomicInteger sendState = new AtomicInteger(IDLE);
+        volatile long sendStartedAt;
+        private ArrayDeque<Frame> queue;
+
+        Subscriber(SseEmitter emitter, Set<NewsCategory> categories) {
+            this.emitter = emitter;
+            this.categories = categories;
+        }
+
+        synchronized boolean offer(Frame frame) {
+            if (queue == null) {
+                queue = new ArrayDeque<>(4);
+            }
+            if (queue.size() >= queueCapacity) {
+                return false;
+            }
+            queue.addLast(frame);
+            return true;
+        }
+
+        synchronized Frame poll() {
+            return (queue == null) ? null : queue.pollFirst();
+        }
+
+        synchronized boolean isIdle() {
+            return queue == null || queue.isEmpty();
+        }
+
+        synchronized void clear() {
+            queue = null;
+        }
+    }
+
+    // 카테고리별 최근 이벤트 원형 버퍼 (publishLock 안에서만 접근)
+    private static final class ReplayRing {
+        private final Frame[] frames;
+        private int next;
+        private int size;
+
+        ReplayRing(int capacity) {
+            this.frames = new Frame[Math.max(1, capacity)];
+        }
+
+        void add(Frame frame) {
+            frames[next] = frame;
+            next = (next + 1) % frames.length;
+            size = Math.min(size + 1, frames.length);
+        }
+
+        // 이 기사 id 이벤트의 발행 순서, 없으면 Long.MAX_VALUE
+        long seqOf(long eventId) {
+            for (int i = 0; i < size; i++) {
+                Frame f = frames[(next - size + i + frames.length) % frames.length];
+                if (f.id() == eventId) {
+                    return f.seq();
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        void collectAfter(long lastEventId, long afterSeq, List<Frame> out) {
+            for (int i = 0; i < size; i++) {
+                Frame f = frames[(next - size + i + frames.length) % frames.length];
+                if (f.id() > lastEventId || f.seq() > afterSeq) {
+                    out.add(f);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 기사 저장("zip")
+ * - 사용자별 저장한 기사 id를 정렬된 long[] 하나로 메모리에 둠 (처음 쓸 때 DB에서 한 번에 읽어 옴)
+ * - 저장/해제: 사용자 단위 잠금 안에서 배열을 새로 만들어 교체(copy-on-write) + 사용자의 대기 맵에 기사 → 마지막 동작만 남김
+ *   → 같은 기사를 연달아 눌러도 DB에는 마지막 상태 한 번만 반영
+ * - flushIntervalMillis마다 대기분을 샤드별 JDBC 배치(upsert/delete)로 반영, 실패분은 되돌려 놓고 다음 주기에 재시도
+ * - "저장했나?" 확인은 잠금 없이 배열 이진 탐색 → 피드 한 페이지를 한 번에 O(k log n)
+ * - 메모리 상한(maxUsers)을 넘거나 오래 안 쓴 사용자는 반영 직후 오래된 순(LRU)으로 내림
+ * - 노드 로컬 캐시라 같은 사용자가 여러 노드에 동시에 쓰면 ttl 동안 어긋날 수 있음 (ttl이 지나면 DB에서 다시 읽음)
+ * - 다시 읽기/내리기는 사용자 잠금 안에서, 대기 중이거나 반영 중인 동작이 없을 때만 (DB가 메모리보다 뒤처진 상태로 덮어쓰지 않음)
+ */
+@Slf4j
+@Service
+public class BookmarkService {
+
+    private static final String UPSERT = "insert into user_bookmarks (user_id, article_id, created_at) values (?, ?, ?) "
+            + "on duplicate key update created_at = created_at";
+    private static final String DELETE = "delete from user_bookmarks where user_id = ? and article_id = ?";
+    private static final long[] EMPTY = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ArticleIdGenerator idGenerator;
+    private final int maxPerUser;
+    private final int maxUsers;
+    private final long idleMillis;
+    private final long ttlMillis;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<String, Saved> users = new ConcurrentHashMap<>();
+    // 대기 동작이 있는 사용자
+    private final Set<Saved> dirty = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder unsaves = new LongAdder();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private volatile long lastFlushAt;
+    private volatile long lastFlushMillis;
+
+    // 대기 동작 (saved=false면 해제)
+    private record Op(boolean saved, long at) {
+    }
+
+    // 반영하려고 꺼낸 한 사용자의 동작들
+    private record Taken(Saved saved, Map<Long, Op> ops) {
+    }
+
+    // 한 사용자의 저장 목록. ids는 항상 오름차순, 교체만 함 (pending/inFlight/evicted는 이 객체 잠금 안에서만)
+    private static final class Saved {
+        final String userId;
+        volatile long[] ids;
+        volatile long loadedAt = System.currentTimeMillis();
+        volatile long touchedAt = loadedAt;
+        Map<Long, Op> pending = new HashMap<>();
+        Map<Long, Op> inFlight;
+        boolean evicted;
+
+        Saved(String userId, long[] ids) {
+            this.userId = userId;
+            this.ids = ids;
+        }
+
+        // 메모리 = DB (이 노드 기준)
+        boolean clean() {
+            return pending.isEmpty() && inFlight == null;
+        }
+    }
+
+    public BookmarkService(JdbcTemplate jdbcTemplate,
+                           ShardRouter shardRouter,
+                           ArticleIdGenerator idGenerator,
+                           @Value("${nuzip.bookmark.max-per-user:5000}") int maxPerUser,
+                           @Value("${nuzip.bookmark.max-users:200000}") int maxUsers,
+                           @Value("${nuzip.bookmark.idle-evict-ms:1800000}") long idleMillis,
+                           @Value("${nuzip.bookmark.ttl-ms:600000}") long ttlMillis,
+                           @Value("${nuzip.bookmark.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.idGenerator = idGenerator;
+        this.maxPerUser = maxPerUser;
+        this.maxUsers = maxUsers;
+        this.idleMillis = idleMillis;
+        this.ttlMillis = ttlMillis;
+        this.batchSize = batchSize;
+    }
+
+    // ===== 저장/해제 =====
+
+    /** @return 새로 저장됐으면 true (이미 저장돼 있었으면 false) */
+    public boolean save(String userId, long articleId) {
+        if (!idGenerator.mayExist(articleId)) {
+            throw new IllegalArgumentException("존재하지 않는 기사입니다: " + articleId);
+        }
+        while (true) {
+            Saved saved = saved(userId);
+            synchronized (saved) {
+                if (saved.evicted) {
+                    continue; // 방금 메모리에서 내려감 → 다시 읽은 것에 씀
+                }
+                long[] ids = saved.ids;
+                int at = Arrays.binarySearch(ids, articleId);
+                if (at >= 0) {
+                    return false;
+                }
+                if (ids.length >= maxPerUser) {
+                    throw new IllegalStateException("기사는 최대 " + maxPerUser + "개까지 저장할 수 있습니다.");
+                }
+                int insert = -at - 1;
+                long[] next = new long[ids.length + 1];
+                System.arraycopy(ids, 0, next, 0, insert);
+                next[insert] = articleId;
+                System.arraycopy(ids, insert, next, insert + 1, ids.length - insert);
+                saved.ids = next;
+                record(saved, articleId, true);
+            }
+            saves.increment();
+            return true;
+        }
+    }
+
+    /** @return 저장돼 있던 것을 지웠으면 true */
+    public boolean unsave(String userId, long articleId) {
+        while (true) {
+            Saved saved = saved(userId);
+            synchronized (saved) {
+                if (saved.evicted) {
+                    continue;
+                }
+                long[] ids = saved.ids;
+                int at = Arrays.binarySearch(ids, articleId);
+                if (at < 0) {
+                    return false;
+                }
+                long[] next = new long[ids.length - 1];
+                System.arraycopy(ids, 0, next, 0, at);
+                System.arraycopy(ids, at + 1, next, at, ids.length - at - 1);
+                saved.ids = next;
+                record(saved, articleId, false);
+            }
+            unsaves.increment();
+            return true;
+        }
+    }
+
+    // saved 잠금 안에서 호출
+    private void record(Saved saved, long articleId, boolean save) {
+        long now = System.currentTimeMillis();
+        saved.pending.put(articleId, new Op(save, now));
+        saved.touchedAt = now;
+        dirty.add(saved);
+    }
+
+    // ===== 조회 =====
+
+    /** articleIds 중 저장한 것만 (입력 순서 유지) */
+    public List<Long> savedAmong(String userId, List<Long> articleIds) {
+        long[] ids = saved(userId).ids;
+        List<Long> result = new ArrayList<>();
+        for (Long articleId : articleIds) {
+            if (articleId != null && Arrays.binarySearch(ids, articleId) >= 0) {
+                result.add(articleId);
+            }
+        }
+        checks.increment();
+        return result;
+    }
+
+    /** 최근 저장한 기사(기사 id 내림차순 = 최신 기사부터). before보다 작은 id만, 최대 size개 */
+    public long[] page(String userId, long before, int size) {
+        long[] ids = saved(userId).ids;
+        int end = Arrays.binarySearch(ids, before);
+        end = end >= 0 ? end : -end - 1;          // before 미만인 마지막 위치 + 1
+        int from = Math.max(0, end - size);
+        long[] page = new long[end - from];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = ids[end - 1 - i];
+        }
+        return page;
+    }
+
+    public int count(String userId) {
+        return saved(userId).ids.length;
+    }
+
+    /**
+     * 메모리에 있으면 그대로, 없으면 DB에서
+     * - ttl이 지났으면 사용자 잠금 안에서 같은 객체에 다시 읽어 넣음 (그 사이 저장/해제는 잠금을 기다렸다가 새 목록에 적용)
+     * - 대기 중이거나 반영 중인 동작이 있으면 DB가 아직 뒤처져 있으므로 ttl과 무관하게 유지
+     */
+    private Saved saved(String userId) {
+        long now = System.currentTimeMillis();
+        Saved saved = users.get(userId);
+        if (saved == null) {
+            Saved loaded = new Saved(userId, load(userId));
+            Saved existing = users.putIfAbsent(userId, loaded);
+            return existing != null ? existing : loaded;
+        }
+        saved.touchedAt = now;
+        if (now - saved.loadedAt >= ttlMillis) {
+            synchronized (saved) {
+                if (now - saved.loadedAt >= ttlMillis && saved.clean() && !saved.evicted) {
+                    saved.ids = load(userId);
+                    saved.loadedAt = now;
+                }
+            }
+        }
+        return saved;
+    }
+
+    private long[] load(String userId) {
+        loads.increment();
+        List<Long> ids = shardRouter.onShardOf(userId, () -> jdbcTemplate.queryForList(
+                "select article_id from user_bookmarks where user_id = ? order by article_id", Long.class, userId));
+        if (ids.isEmpty()) {
+            return EMPTY;
+        }
+        long[] result = new long[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    // ===== 반영 =====
+
+    @Scheduled(fixedDelayString = "${nuzip.bookmark.flush-interval-ms:1000}")
+    public void flush() {
+        long start = System.currentTimeMillis();
+        if (!dirty.isEmpty()) {
+            // 사용자 단위로 대기 맵을 통째로 꺼냄 (꺼낸 뒤 들어온 동작은 새 대기 맵에 남아 다음 주기에 반영), 샤드별로 모음
+            Map<Integer, List<Taken>> byShard = new HashMap<>();
+            for (Saved saved : dirty) {
+                dirty.remove(saved);
+                synchronized (saved) {
+                    if (saved.pending.isEmpty()) {
+                        continue;
+                    }
+                    byShard.computeIfAbsent(shardRouter.shardOf(saved.userId), k -> new ArrayList<>())
+                            .add(new Taken(saved, saved.pending));
+                    saved.inFlight = saved.pending;
+                    saved.pending = new HashMap<>();
+                }
+            }
+            for (Map.Entry<Integer, List<Taken>> entry : byShard.entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+        }
+        lastFlushAt = start;
+        lastFlushMillis = System.currentTimeMillis() - start;
+        evict(start);
+    }
+
+    // 한 샤드의 upsert/delete 배치 (upsert/delete 모두 멱등이라 실패 후 통째로 다시 써도 됨)
+    private void write(int shard, List<Taken> taken) {
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Taken t : taken) {
+            t.ops().forEach((articleId, op) -> {
+                if (op.saved()) {
+                    upserts.add(new Object[]{t.saved().userId, articleId, op.at()});
+                } else {
+                    deletes.add(new Object[]{t.saved().userId, articleId});
+                }
+            });
+        }
+        boolean ok = true;
+        try {
+            shardRouter.runOnShard(shard, () -> {
+                batches(UPSERT, upserts);
+                batches(DELETE, deletes);
+            });
+            written.add(upserts.size() + deletes.size());
+        } catch (RuntimeException e) {
+            ok = false;
+            log.warn("기사 저장 반영 실패, 다음 주기에 재시도: {}건", upserts.size() + deletes.size(), e);
+        }
+        for (Taken t : taken) {
+            Saved saved = t.saved();
+            synchronized (saved) {
+                if (!ok) {
+                    // 못 쓴 것은 되돌려 놓음 (그 사이 같은 기사에 새 동작이 들어왔으면 그쪽 유지)
+                    t.ops().forEach(saved.pending::putIfAbsent);
+                    dirty.add(saved);
+                }
+                saved.inFlight = null;
+            }
+        }
+    }
+
+    private void batches(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+
+    // 오래 안 쓴 사용자 + 상한 초과분(오래된 순). 반영 안 된 동작이 있는 사용자는 내리지 않음
+    private void evict(long flushedAt) {
+        List<Saved> candidates = new ArrayList<>();
+        for (Saved saved : users.values()) {
+            if (flushedAt - saved.touchedAt > idleMillis) {
+                evict(saved);
+            } else {
+                candidates.add(saved);
+            }
+        }
+        int excess = users.size() - maxUsers;
+        if (excess <= 0) {
+            return;
+        }
+        excess += maxUsers / 10; // 한 번에 10% 여유를 만들어 매 주기 정렬하지 않게
+        candidates.sort(Comparator.comparingLong(saved -> saved.touchedAt));
+        for (int i = 0; i < candidates.size() && excess > 0; i++) {
+            if (evict(candidates.get(i))) {
+                excess--;
+            }
+        }
+    }
+
+    private boolean evict(Saved saved) {
+        synchronized (saved) {
+            if (!saved.clean() || saved.evicted) {
+                return false;
+            }
+            saved.evicted = true;
+            users.remove(saved.userId, saved);
+        }
+        evictions.increment();
+        return true;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> stats() {
+        long ids = 0;
+        for (Saved saved : users.values()) {
+            ids += saved.ids.length;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("usersInMemory", users.size());
+        stats.put("idsInMemory", ids);
+        stats.put("memoryBytes", ids * Long.BYTES + users.size() * 64L);
+        stats.put("pending", dirty.size());
+        stats.put("saves", saves.sum());
+        stats.put("unsaves", unsaves.sum());
+        stats.put("checks", checks.sum());
+        stats.put("loads", loads.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("written", written.sum());
+        stats.put("lastFlushAt", lastFlushAt);
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+}
@@ -0,0 +1,173 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.dto.FeedPageDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 앱 시작 시 필요한 데이터를 한 번에 조립 (/api/bootstrap)
+ * - 프로필(DB)은 전용 DB 풀(스레드 db-threads개 + 대기열 db-queue칸)에서, 그동안 요청 스레드는 메모리 파트를 바로 만듦
+ *   관심 카테고리(UserCache에 있으면), 카테고리 목록(정적), 피드 첫 페이지(메모리)는 마이크로초 단위라 풀을 거치지 않음
+ * - 프로필은 제한 시간까지만 기다리고, 넘기면 작업을 취소 (대기열에 있던 작업은 DB에 가지 않고, 실행 중이면 인터럽트)
+ * - DB 풀 대기열이 차면 기다리지 않고 바로 프로필만 빼고 응답 ("busy") → DB가 느려져도 작업이 무한히 쌓이지 않음
+ * - 늦거나 실패한 파트는 null + errors에 사유를 담아 나머지만 먼저 응답
+ * - UserCache에 없는 사용자(드묾)는 카테고리도 DB 파트에서 같이 읽음
+ */
+@Slf4j
+@Service
+public class BootstrapService {
+
+    public static final String PROFILE = "profile";
+    public static final String CATEGORIES = "categories";
+    public static final String CATALOGUE = "catalogue";
+    public static final String FEED = "feed";
+
+    // 카테고리 목록은 바뀌지 않으므로 한 번만 만들어 둠
+    private static final List<Map<String, String>> CATALOGUE_ITEMS = Arrays.stream(NewsCategory.values())
+            .map(c -> Map.of("code", c.name(), "label", c.getLabel()))
+            .toList();
+
+    // DB 파트 결과: 프로필 + (캐시에 없을 때 쓸) 카테고리
+    private record DbPart(Map<String, Object> profile, Set<NewsCategory> categories) {
+    }
+
+    private final UserService userService;
+    private final UserCache userCache;
+    private final CategoryFeedStore categoryFeedStore;
+    private final FeedMaterializer feedMaterializer;
+    private final long profileTimeoutMillis;
+    private final ThreadPoolExecutor dbExecutor;
+
+    public BootstrapService(UserService userService,
+                            UserCache userCache,
+                            CategoryFeedStore categoryFeedStore,
+                            FeedMaterializer feedMaterializer,
+                            @Value("${nuzip.bootstrap.profile-timeout-ms:800}") long profileTimeoutMillis,
+                            @Value("${nuzip.bootstrap.db-threads:8}") int dbThreads,
+                            @Value("${nuzip.bootstrap.db-queue:64}") int dbQueue) {
+        this.userService = userService;
+        this.userCache = userCache;
+        this.categoryFeedStore = categoryFeedStore;
+        this.feedMaterializer = feedMaterializer;
+        this.profileTimeoutMillis = profileTimeoutMillis;
+        AtomicInteger seq = new AtomicInteger();
+        this.dbExecutor = new ThreadPoolExecutor(dbThreads, dbThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dbQueue), r -> {
+                    Thread t = new Thread(r, "bootstrap-db-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dbExecutor.shutdownNow();
+    }
+
+    public Map<String, Object> bootstrap(String userId) {
+        long deadline = System.currentTimeMillis() + profileTimeoutMillis;
+        Map<String, String> errors = new LinkedHashMap<>();
+        Future<DbPart> db;
+        try {
+            db = dbExecutor.submit(() -> {
+                User user = userService.getUserOrThrow(userId);
+                return new DbPart(profile(user), user.getNewsCategory() == null
+                        ? Set.of() : Set.copyOf(user.getNewsCategory()));
+            });
+        } catch (RejectedExecutionException e) {
+            db = null;
+            errors.put(PROFILE, "busy");
+        }
+
+        // 피드는 DB 프로필을 기다리지 않고 인증 때 이미 채워진 UserCache의 카테고리로 바로 만듦
+        Set<NewsCategory> categorySet = userCache.peek(userId).map(UserCache.CachedUser::categories).orElse(null);
+        Object feed = categorySet == null ? null : feed(categorySet, errors);
+
+        DbPart dbPart = db == null ? null : await(db, deadline, errors);
+        if (categorySet == null) {
+            if (dbPart != null) {
+                categorySet = dbPart.categories();
+                feed = feed(categorySet, errors);
+            } else {
+                errors.put(CATEGORIES, errors.get(PROFILE));
+                errors.put(FEED, errors.get(PROFILE));
+            }
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put(PROFILE, dbPart == null ? null : dbPart.profile());
+        body.put(CATEGORIES, categorySet == null ? null : categorySet.stream().map(Enum::name).sorted().toList());
+        body.put(CATALOGUE, CATALOGUE_ITEMS);
+        body.put(FEED, feed);
+        body.put("partial", !errors.isEmpty());
+        body.put("errors", errors);
+        return body;
+    }
+
+    // 남은 시간만큼만 기다리고, 넘기면 취소 (DB 풀 자리를 계속 차지하지 않도록)
+    private static DbPart await(Future<DbPart> db, long deadline, Map<String, String> errors) {
+        try {
+            return db.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            db.cancel(true);
+            errors.put(PROFILE, "timeout");
+        } catch (InterruptedException e) {
+            db.cancel(true);
+            Thread.currentThread().interrupt();
+            errors.put(PROFILE, "interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            errors.put(PROFILE, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+            log.warn("bootstrap 파트 실패: {}", PROFILE, cause);
+        }
+        return null;
+    }
+
+    private Object feed(Set<NewsCategory> categories, Map<String, String> errors) {
+        try {
+            return firstFeedPage(categories);
+        } catch (RuntimeException e) {
+            errors.put(FEED, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.warn("bootstrap 파트 실패: {}", FEED, e);
+            return null;
+        }
+    }
+    private static Map<String, Object> profile(User entity) {
+        // /api/users/me 와 같은 필드
+        boolean categoriesSelected = entity.getNewsCategory() != null && entity.getNewsCategory().size() == 3;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("userId", entity.getUserId());
+        body.put("username", entity.getUsername());
+        body.put("provider", entity.getProvider());
+        body.put("phone", entity.getPhone());
+        body.put("birthDate", entity.getBirthDate());
+        body.put("categoriesSelected", categoriesSelected);
+        body.put("needsCategorySelection", !categoriesSelected);
+        return body;
+    }
+
+    // 미리 직렬화된 조합 피드가 있으면 그 JSON을 그대로 끼워 넣음
+    private Object firstFeedPage(Set<NewsCategory> categories) {
+        if (categories.isEmpty()) {
+            return new FeedPageDto(List.of(), null);
+        }
+        FeedMaterializer.Snapshot snapshot = feedMaterializer.find(categories, null);
+        if (snapshot != null) {
+            return new RawValue(new String(snapshot.json(), StandardCharsets.UTF_8));
+        }
+        var items = categoryFeedStore.page(categories, null, feedMaterializer.pageSize());
+        String nextCursor = items.size() < feedMaterializer.pageSize()
+                ? null : FeedCursor.of(items.get(items.size() - 1)).toString();
+        return new FeedPageDto(items, nextCursor);
+    }
+}
@@ -0,0 +1,147 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 카테고리별 인메모리 피드 저장소
+ * - NewsCategory마다 최신순으로 정렬된 기사 배열을 최대 capacity개까지 보관 (오래된 것부터 밀려남)
+ * - 기사 id는 타임라인 안에서 한 번만 (같은 id가 다시 오면 교체)
+ * - 쓰기(수집)는 카테고리별로 직렬화하고 새 배열을 만들어 volatile로 교체 → 읽기는 락 없이 스냅샷만 봄
+ * - 피드 조회는 사용자의 카테고리 스트림들을 (publishedAt, id) 키셋 커서 기준으로 k-way 병합
+ */
+@Component
+@Order(100)
+public class CategoryFeedStore implements ArticleSink {
+
+    private static final Comparator<Article> NEWEST_FIRST =
+            (a, b) -> FeedCursor.compare(a.getPublishedAt(), a.getId(), b.getPublishedAt(), b.getId());
+
+    private final Map<NewsCategory, Timeline> timelines = new EnumMap<>(NewsCategory.class);
+
+    public CategoryFeedStore(@Value("${nuzip.feed.capacity-per-category:2000}") int capacityPerCategory) {
+        for (NewsCategory category : NewsCategory.values()) {
+            timelines.put(category, new Timeline(capacityPerCategory));
+        }
+    }
+
+    @Override
+    public void accept(List<Article> batch) {
+        addAll(batch);
+    }
+
+    // 수집된 기사 반영 (배치 단위로 받아서 카테고리당 배열 복사는 한 번만)
+    public void addAll(Collection<Article> articles) {
+        Map<NewsCategory, List<Article>> byCategory = new EnumMap<>(NewsCategory.class);
+        for (Article article : articles) {
+            byCategory.computeIfAbsent(article.getCategory(), c -> new ArrayList<>()).add(article);
+        }
+        byCategory.forEach((category, batch) -> timelines.get(category).addAll(batch));
+    }
+
+    /**
+     * 여러 카테고리의 피드를 최신순으로 병합해 한 페이지 반환
+     * @param cursor null이면 첫 페이지, 아니면 커서보다 오래된 기사부터
+     */
+    public List<Article> page(Set<NewsCategory> categories, FeedCursor cursor, int size) {
+        int k = categories.size();
+        Article[][] streams = new Article[k][];
+        int[] positions = new int[k];
+        int i = 0;
+        for (NewsCategory category : categories) {
+            Article[] snapshot = timelines.get(category).items;   // volatile 읽기 한 번 = 일관된 스냅샷
+            streams[i] = snapshot;
+            positions[i] = (cursor == null) ? 0 : firstOlderThan(snapshot, cursor);
+            i++;
+        }
+
+        List<Article> page = new ArrayList<>(size);
+        while (page.size() < size) {
+            // 카테고리 수(k ≤ 8)가 작아서 힙 대신 선형으로 가장 최신 head 선택
+            int best = -1;
+            for (int s = 0; s < k; s++) {
+                if (positions[s] < streams[s].length
+                        && (best < 0 || NEWEST_FIRST.compare(streams[s][positions[s]], streams[best][positions[best]]) < 0)) {
+                    best = s;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            page.add(streams[best][positions[best]++]);
+        }
+        return page;
+    }
+
+    public List<Article> latest(NewsCategory category, int size) {
+        Article[] snapshot = timelines.get(category).items;
+        return List.of(snapshot).subList(0, Math.min(size, snapshot.length));
+    }
+
+    public int size(NewsCategory category) {
+        return timelines.get(category).items.length;
+    }
+
+    // 최신순 정렬 배열에서 커서보다 엄격히 오래된 첫 위치 (이진 탐색)
+    private static int firstOlderThan(Article[] items, FeedCursor cursor) {
+        int lo = 0, hi = items.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            Article a = items[mid];
+            if (FeedCursor.compare(a.getPublishedAt(), a.getId(), cursor.publishedAt(), cursor.id()) <= 0) {
+                lo = mid + 1;   // 커서와 같거나 더 최신 → 건너뜀
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 카테고리 하나의 타임라인 (최신순, 최대 capacity개)
+    private static final class Timeline {
+        private final int capacity;
+        private volatile Article[] items = new Article[0];
+
+        Timeline(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // 기존 배열과 새 배치를 병합해서 새 배열로 교체 (늦게 도착한 과거 기사도 제자리에 들어감)
+        // 같은 id가 다시 오면(재전송, 로그 복구) 새로 온 쪽만 남김 → 배치 안에서는 뒤에 온 것
+        synchronized void addAll(List<Article> batch) {
+            Map<Long, Article> byId = new HashMap<>(batch.size() * 2);
+            for (Article article : batch) {
+                byId.put(article.getId(), article);
+            }
+            List<Article> incoming = new ArrayList<>(byId.values());
+            incoming.sort(NEWEST_FIRST);
+            Article[] current = items;
+            Article[] merged = new Article[Math.min(capacity, current.length + incoming.size())];
+            int c = 0, b = 0, m = 0;
+            while (m < merged.length && (c < current.length || b < incoming.size())) {
+                if (c < current.length && byId.containsKey(current[c].getId())) {
+                    c++;    // 새로 온 같은 id로 대체
+                } else if (b >= incoming.size()
+                        || (c < current.length && NEWEST_FIRST.compare(current[c], incoming.get(b)) <= 0)) {
+                    merged[m++] = current[c++];
+                } else {
+                    merged[m++] = incoming.get(b++);
+                }
+            }
+            items = (m == merged.length) ? merged : Arrays.copyOf(merged, m);
+        }
+    }
+}
@@ -0,0 +1,494 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 아침 뉴스 요약(다이제스트) 배치
+ * - 사용자를 샤드별로 id 키셋 청크(chunkSize명)로 읽음 → findAll()처럼 전체 엔티티를 메모리에 올리지 않음
+ * - 요약 본문은 카테고리 조합(비트마스크)마다 한 번만 렌더링해서 digest-{mask}.html.gz로 저장,
+ *   사용자별로는 "누가 어떤 요약을 받는지"만 청크 단위 recipients-*.ndjson.gz로 씀 (발송기가 {{username}} 치환)
+ * - 읽기(샤드마다 1스레드) → 큐 → 작업 레인 lanes개가 병렬로 청크 처리
+ * - 체크포인트: 샤드별로 "여기까지는 빠짐없이 완료"된 id를 원자적으로 기록 → 중단 후 같은 날짜로 다시 실행하면 이어서
+ *   (이어서 실행하기 전에 체크포인트 뒤 구간의 수신자 파일은 지움 → 다시 만든 청크와 겹쳐 중복 발송되지 않음)
+ * - 완료 시 _SUCCESS 기록 (같은 날짜 재실행은 건너뜀), 정해진 시간 창을 넘기면 멈추고 체크포인트에서 재개 가능
+ */
+@Slf4j
+@Service
+public class DailyDigestJob {
+
+    private static final Chunk END = new Chunk(-1, 0, 0, List.of());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final CategoryFeedStore categoryFeedStore;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final Path spoolRoot;
+    private final int chunkSize;
+    private final int lanes;
+    private final int articlesPerCategory;
+    private final long windowMillis;
+    private final int keepDays;
+    private final ZoneId zone;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Run current;
+
+    public DailyDigestJob(JdbcTemplate jdbcTemplate,
+                          ShardRouter shardRouter,
+                          CategoryFeedStore categoryFeedStore,
+                          ObjectMapper objectMapper,
+                          @Value("${nuzip.digest.enabled:false}") boolean enabled,
+                          @Value("${nuzip.digest.spool-dir:./spool/digest}") String spoolDir,
+                          @Value("${nuzip.digest.chunk-size:5000}") int chunkSize,
+                          @Value("${nuzip.digest.lanes:4}") int lanes,
+                          @Value("${nuzip.digest.articles-per-category:5}") int articlesPerCategory,
+                          @Value("${nuzip.digest.window-minutes:60}") long windowMinutes,
+                          @Value("${nuzip.digest.keep-days:7}") int keepDays,
+                          @Value("${nuzip.digest.zone:Asia/Seoul}") String zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.categoryFeedStore = categoryFeedStore;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.spoolRoot = Paths.get(spoolDir);
+        this.chunkSize = chunkSize;
+        this.lanes = lanes;
+        this.articlesPerCategory = articlesPerCategory;
+        this.windowMillis = windowMinutes * 60_000;
+        this.keepDays = keepDays;
+        this.zone = ZoneId.of(zone);
+    }
+
+    // 매일 아침 (여러 노드 중 한 곳에서만 enabled=true로)
+    @Scheduled(cron = "${nuzip.digest.cron:0 0 6 * * *}", zone = "${nuzip.digest.zone:Asia/Seoul}")
+    public void scheduled() {
+        if (enabled) {
+            run(LocalDate.now(zone));
+        }
+    }
+
+    // 관리자 수동 실행 (백그라운드, 바로 반환)
+    public Map<String, Object> start(LocalDate date) {
+        if (running.get()) {
+            throw new IllegalArgumentException("이미 실행 중입니다.");
+        }
+        LocalDate day = date != null ? date : LocalDate.now(zone);
+        Thread thread = new Thread(() -> run(day), "digest-job");
+        thread.setDaemon(true);
+        thread.start();
+        return Map.of("date", day.toString(), "started", true);
+    }
+
+    public void run(LocalDate date) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("📰 다이제스트 배치가 이미 실행 중이라 건너뜀: {}", date);
+            return;
+        }
+        try {
+            Path dir = spoolRoot.resolve(date.toString());
+            if (Files.exists(dir.resolve("_SUCCESS"))) {
+                log.info("📰 다이제스트 {} 이미 완료됨", date);
+                return;
+            }
+            Files.createDirectories(dir);
+            purgeOld(date);
+            execute(new Run(date, dir));
+        } catch (IOException e) {
+            log.error("📰 다이제스트 스풀 디렉터리 오류", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void execute(Run run) throws IOException {
+        current = run;
+        int[] shards = shardRouter.ring().members();
+        run.totalUsers = shardRouter.scatter(shard ->
+                jdbcTemplate.queryForObject("select count(*) from users", Long.class)).stream().mapToLong(Long::longValue).sum();
+        log.info("📰 다이제스트 {} 시작: 사용자 약 {}명, 샤드 {}개, 레인 {}개", run.date, run.totalUsers, shards.length, lanes);
+
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(lanes * 2);
+        ExecutorService pool = Executors.newFixedThreadPool(shards.length + lanes);
+        CountDownLatch readersDone = new CountDownLatch(shards.length);
+        CountDownLatch lanesDone = new CountDownLatch(lanes);
+        for (int shard : shards) {
+            Checkpoint checkpoint = new Checkpoint(run.dir.resolve("checkpoint-" + shard), readCheckpoint(run.dir, shard));
+            discardBeyond(run.dir, shard, checkpoint.watermark());
+            run.checkpoints.put(shard, checkpoint);
+            pool.submit(() -> {
+                try {
+                    read(run, shard, checkpoint.watermark(), queue);
+                } catch (Exception e) {
+                    run.fail(e);
+                } finally {
+                    readersDone.countDown();
+                }
+            });
+        }
+        for (int i = 0; i < lanes; i++) {
+            pool.submit(() -> {
+                // 실패 후에도 END까지 큐를 비워서 읽기 스레드가 막히지 않게 함
+                try {
+                    while (true) {
+                        Chunk chunk = queue.take();
+                        if (chunk == END) {
+                            return;
+                        }
+                        if (!run.failed.get()) {
+                            try {
+                                process(run, chunk);
+                            } catch (Exception e) {
+                                run.fail(e);
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    run.fail(e);
+                } finally {
+                    lanesDone.countDown();
+                }
+            });
+        }
+        try {
+            readersDone.await();
+            for (int i = 0; i < lanes; i++) {
+                queue.put(END);
+            }
+            lanesDone.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        run.finishedAt = System.currentTimeMillis();
+        if (run.failed.get()) {
+            log.error("📰 다이제스트 {} 중단 (체크포인트에서 재개 가능): {}", run.date, run.error);
+        } else if (run.deadlineExceeded) {
+            log.warn("📰 다이제스트 {} 시간 창({}분) 초과로 중단: {}명 처리, 체크포인트에서 재개 가능",
+                    run.date, windowMillis / 60_000, run.users.sum());
+        } else {
+            Files.write(run.dir.resolve("_SUCCESS"), objectMapper.writeValueAsBytes(run.stats()));
+            log.info("📰 다이제스트 {} 완료: {}명, 요약 {}종, {}초 ({}명/초)", run.date, run.users.sum(),
+                    run.digests.size(), (run.finishedAt - run.startedAt) / 1000, run.usersPerSecond());
+        }
+    }
+
+    // 샤드 하나를 키셋 청크로 읽어서 큐에 넣음 (큐가 차면 레인이 따라올 때까지 대기 = 배압)
+    private void read(Run run, int shard, long from, BlockingQueue<Chunk> queue) throws InterruptedException {
+        long cursor = from;
+        while (!run.failed.get()) {
+            if (System.currentTimeMillis() > run.startedAt + windowMillis) {
+                run.deadlineExceeded = true;
+                return;
+            }
+            long after = cursor;
+            List<Recipient> recipients = shardRouter.onShard(shard, () -> fetch(after));
+            if (recipients.isEmpty()) {
+                return;
+            }
+            long last = recipients.get(recipients.size() - 1).id();
+            queue.put(new Chunk(shard, after, last, recipients));
+            cursor = last;
+        }
+    }
+
+    // 사용자 chunkSize명 + 카테고리 (사용자를 먼저 LIMIT으로 자르고 카테고리를 붙임)
+    private List<Recipient> fetch(long after) {
+        List<Recipient> recipients = new ArrayList<>(chunkSize);
+        jdbcTemplate.query("select u.id, u.user_id, u.username, c.category from ("
+                + "select id, user_id, username from users where id > ? order by id limit " + chunkSize
+                + ") u left join user_categories c on c.user_id = u.id order by u.id", rs -> {
+            long id = rs.getLong("id");
+            Recipient last = recipients.isEmpty() ? null : recipients.get(recipients.size() - 1);
+            if (last == null || last.id() != id) {
+                last = new Recipient(id, rs.getString("user_id"), rs.getString("username"), EnumSet.noneOf(NewsCategory.class));
+                recipients.add(last);
+            }
+            String category = rs.getString("category");
+            if (category != null) {
+                last.categories().add(NewsCategory.valueOf(category));
+            }
+        }, after);
+        return recipients;
+    }
+
+    // 청크 하나: 조합별 요약 확보 → 수신자 목록 gzip 파일(임시 파일 → 이동) → 체크포인트 전진
+    private void process(Run run, Chunk chunk) throws IOException {
+        Path target = run.dir.resolve(String.format("recipients-s%d-%019d.ndjson.gz", chunk.shard(), chunk.after() + 1));
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        long written = 0;
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024);
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.setRootValueSeparator(null);
+            for (Recipient recipient : chunk.recipients()) {
+                int mask = FeedMaterializer.maskOf(recipient.categories());
+                if (mask == 0) {
+                    run.skipped.increment(); // 카테고리를 아직 안 고른 사용자
+                    continue;
+                }
+                String digest = run.digests.computeIfAbsent(mask, m -> render(run, m));
+                json.writeStartObject();
+                json.writeNumberField("id", recipient.id());
+                json.writeStringField("userId", recipient.userId());
+                json.writeStringField("username", recipient.username());
+                json.writeStringField("digest", digest);
+                json.writeEndObject();
+                json.writeRaw('\n');
+                written++;
+            }
+        }
+        run.bytes.add(Files.size(tmp));
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        run.users.add(written);
+        run.chunks.increment();
+        run.checkpoints.get(chunk.shard()).complete(chunk.after(), chunk.last());
+    }
+
+    // 카테고리 조합 하나의 요약 HTML (이 실행에서 조합당 한 번)
+    private String render(Run run, int mask) {
+        String name = String.format("digest-%02x.html.gz", mask);
+        Path target = run.dir.resolve(name);
+        StringBuilder html = new StringBuilder(8 * 1024);
+        html.append("<!doctype html><html><head><meta charset=\"utf-8\"><title>")
+                .append(run.date).append(" 뉴집 아침 뉴스</title></head><body>")
+                .append("<p>{{username}}님, 좋은 아침입니다.</p>");
+        for (NewsCategory category : NewsCategory.values()) {
+            if ((mask & (1 << category.ordinal())) == 0) {
+                continue;
+            }
+            html.append("<h2>").append(escape(category.getLabel())).append("</h2><ul>");
+            for (Article article : categoryFeedStore.latest(category, articlesPerCategory)) {
+                html.append("<li><a href=\"").append(escape(article.getUrl())).append("\">")
+                        .append(escape(article.getTitle())).append("</a> <small>")
+                        .append(escape(article.getSource())).append("</small></li>");
+            }
+            html.append("</ul>");
+        }
+        html.append("</body></html>");
+        try {
+            Path tmp = target.resolveSibling(name + ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                out.write(html.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            run.bytes.add(Files.size(target));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return name;
+    }
+
+    private static String escape(String s) {
+        if (s == null) {
+            return "";
+        }
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static long readCheckpoint(Path dir, int shard) throws IOException {
+        Path file = dir.resolve("checkpoint-" + shard);
+        return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0L;
+    }
+
+    /**
+     * 체크포인트 뒤쪽 구간의 수신자 파일 삭제 (재개 전에)
+     * - 레인이 청크를 순서와 다르게 끝내므로 중단 시점에 watermark 뒤 구간 파일이 남아 있을 수 있음
+     * - 다시 읽는 청크의 경계는 그사이 가입/탈퇴로 달라질 수 있어 같은 이름으로 덮어쓴다는 보장이 없음 → 남겨 두면 중복 발송
+     * - 파일 이름의 시작 id(after + 1)가 watermark보다 크면 삭제, 쓰다 만 .tmp도 함께
+     */
+    private static void discardBeyond(Path dir, int shard, long watermark) throws IOException {
+        String prefix = "recipients-s" + shard + "-";
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(prefix)) {
+                    continue;
+                }
+                int end = name.indexOf('.', prefix.length());
+                long start;
+                try {
+                    start = Long.parseLong(name.substring(prefix.length(), end < 0 ? name.length() : end));
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                if (start > watermark || name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                    log.info("📰 체크포인트({}) 뒤 수신자 파일 삭제: {}", watermark, name);
+                }
+            }
+        }
+    }
+
+    // 보관 기간이 지난 날짜 디렉터리 삭제
+    private void purgeOld(LocalDate today) throws IOException {
+        if (!Files.isDirectory(spoolRoot)) {
+            return;
+        }
+        try (Stream<Path> days = Files.list(spoolRoot)) {
+            for (Path day : days.toList()) {
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(day.getFileName().toString());
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                if (date.isBefore(today.minusDays(keepDays))) {
+                    try (Stream<Path> files = Files.walk(day)) {
+                        for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                            Files.deleteIfExists(p);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Run run = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running.get());
+        if (run != null) {
+            stats.putAll(run.stats());
+        }
+        return stats;
+    }
+
+    private record Recipient(long id, String userId, String username, Set<NewsCategory> categories) {
+    }
+
+    // 샤드의 (after, last] 구간 사용자들
+    private record Chunk(int shard, long after, long last, List<Recipient> recipients) {
+    }
+
+    /**
+     * 샤드별 체크포인트: 레인이 청크를 순서와 다르게 끝내므로, 앞 구간이 모두 끝난 지점까지만 전진
+     * (after → last 구간을 완료 목록에 넣고, watermark에서 이어지는 구간을 차례로 소비)
+     */
+    private static final class Checkpoint {
+        private final Path file;
+        private final TreeMap<Long, Long> completed = new TreeMap<>();
+        private long watermark;
+
+        Checkpoint(Path file, long watermark) {
+            this.file = file;
+            this.watermark = watermark;
+        }
+
+        synchronized void complete(long after, long last) throws IOException {
+            completed.put(after, last);
+            long before = watermark;
+            while (completed.containsKey(watermark)) {
+                watermark = completed.remove(watermark);
+            }
+            if (watermark != before) {
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.writeString(tmp, Long.toString(watermark));
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        synchronized long watermark() {
+            return watermark;
+        }
+    }
+
+    // 실행 한 번의 상태와 지표
+    private static final class Run {
+        final LocalDate date;
+        final Path dir;
+        final long startedAt = System.currentTimeMillis();
+        volatile long finishedAt;
+        volatile long totalUsers;
+        volatile boolean deadlineExceeded;
+        volatile String error;
+        final AtomicBoolean failed = new AtomicBoolean();
+        final ConcurrentHashMap<Integer, String> digests = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Integer, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+        final LongAdder users = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder chunks = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+
+        Run(LocalDate date, Path dir) {
+            this.date = date;
+            this.dir = dir;
+        }
+
+        void fail(Exception e) {
+            if (failed.compareAndSet(false, true)) {
+                error = e.toString();
+                log.error("📰 다이제스트 처리 실패", e);
+            }
+        }
+
+        long usersPerSecond() {
+            long elapsed = Math.max(1, (finishedAt != 0 ? finishedAt : System.currentTimeMillis()) - startedAt);
+            return (users.sum() + skipped.sum()) * 1000 / elapsed;
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            long done = users.sum() + skipped.sum();
+            long rate = usersPerSecond();
+            stats.put("date", date.toString());
+            stats.put("startedAt", startedAt);
+            stats.put("finishedAt", finishedAt);
+            stats.put("totalUsers", totalUsers);
+            stats.put("users", users.sum());
+            stats.put("skippedNoCategory", skipped.sum());
+            stats.put("chunks", chunks.sum());
+            stats.put("distinctDigests", digests.size());
+            stats.put("bytesWritten", bytes.sum());
+            stats.put("usersPerSecond", rate);
+            stats.put("etaSeconds", rate > 0 && finishedAt == 0 ? Math.max(0, totalUsers - done) / rate : 0);
+            Map<Integer, Long> watermarks = new LinkedHashMap<>();
+            checkpoints.forEach((shard, checkpoint) -> watermarks.put(shard, checkpoint.watermark()));
+            stats.put("checkpoints", watermarks);
+            stats.put("deadlineExceeded", deadlineExceeded);
+            stats.put("error", error);
+            return stats;
+        }
+    }
+}
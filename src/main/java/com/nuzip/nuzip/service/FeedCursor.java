@@ -0,0 +1,41 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+
+/**
+ * 피드 키셋 커서 (publishedAt, id)
+ * - 피드는 최신순(publishedAt 내림차순, 같으면 id 내림차순)
+ * - 커서 다음 페이지 = 커서보다 "엄격히 오래된" 기사들
+ * - 문자열 형식: "{publishedAt}_{id}"
+ */
+public record FeedCursor(long publishedAt, long id) {
+
+    public static FeedCursor of(Article article) {
+        return new FeedCursor(article.getPublishedAt(), article.getId());
+    }
+
+    public static FeedCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int sep = value.indexOf('_');
+        try {
+            return new FeedCursor(Long.parseLong(value.substring(0, sep)), Long.parseLong(value.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + value);
+        }
+    }
+
+    // 최신순 비교: a가 b보다 앞(더 최신)이면 음수
+    public static int compare(long publishedAtA, long idA, long publishedAtB, long idB) {
+        if (publishedAtA != publishedAtB) {
+            return publishedAtA > publishedAtB ? -1 : 1;
+        }
+        return Long.compare(idB, idA);
+    }
+
+    @Override
+    public String toString() {
+        return publishedAt + "_" + id;
+    }
+}
@@ -0,0 +1,213 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.dto.FeedPageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 카테고리 3개 조합별 피드 첫 페이지 미리 만들기
+ * - 관심 카테고리는 8개 중 정확히 3개 → 전체 사용자의 피드는 C(8,3) = 56가지뿐
+ * - 조합 키 = 카테고리 비트마스크 (1 << ordinal 의 OR, 8비트)
+ * - 기사 배치가 들어오면 해당 카테고리를 포함한 조합만 기존 상위 목록과 병합해서 갱신
+ * - 페이지마다 JSON 바이트와 gzip 바이트를 미리 만들어 불변 스냅샷으로 교체 → 요청은 공유 바이트를 그대로 응답
+ * - ETag는 JSON 바이트의 SHA-256 (앞 128비트)
+ */
+@Slf4j
+@Component
+@Order(150) // CategoryFeedStore(100) 다음
+public class FeedMaterializer implements ArticleSink {
+
+    public static final int COMBINATION_SIZE = 3;
+
+    private static final Comparator<Article> NEWEST_FIRST =
+            (a, b) -> FeedCursor.compare(a.getPublishedAt(), a.getId(), b.getPublishedAt(), b.getId());
+
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int pages;
+    private final int[] combinationMasks;
+
+    // 조합 마스크 → 최신 상위 pageSize * pages 건 (쓰기는 accept에서만)
+    private final Article[][] heads = new Article[1 << NewsCategory.values().length][];
+    // 조합 마스크 → 페이지별 스냅샷 (읽기는 락 없이)
+    private final AtomicReferenceArray<Snapshot[]> snapshots = new AtomicReferenceArray<>(1 << NewsCategory.values().length);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public FeedMaterializer(ObjectMapper objectMapper,
+                            @Value("${nuzip.feed.materialized-page-size:20}") int pageSize,
+                            @Value("${nuzip.feed.materialized-pages:3}") int pages) {
+        this.objectMapper = objectMapper;
+        this.pageSize = pageSize;
+        this.pages = pages;
+
+        List<Integer> masks = new ArrayList<>();
+        for (int mask = 0; mask < (1 << NewsCategory.values().length); mask++) {
+            if (Integer.bitCount(mask) == COMBINATION_SIZE) {
+                masks.add(mask);
+                heads[mask] = new Article[0];
+                snapshots.set(mask, build(heads[mask]));
+            }
+        }
+        this.combinationMasks = masks.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static int maskOf(Collection<NewsCategory> categories) {
+        int mask = 0;
+        for (NewsCategory category : categories) {
+            mask |= 1 << category.ordinal();
+        }
+        return mask;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * 미리 만든 페이지 조회
+     * @param cursor null이면 첫 페이지, 아니면 앞 페이지의 nextCursor와 일치할 때만
+     * @return 없으면 null (호출 측에서 일반 경로로 처리)
+     */
+    public Snapshot find(Set<NewsCategory> categories, String cursor) {
+        if (categories.size() != COMBINATION_SIZE) {
+            return null;
+        }
+        Snapshot[] pageSnapshots = snapshots.get(maskOf(categories));
+        if (cursor == null) {
+            hits.increment();
+            return pageSnapshots[0];
+        }
+        for (int i = 1; i < pageSnapshots.length; i++) {
+            if (cursor.equals(pageSnapshots[i - 1].nextCursor())) {
+                hits.increment();
+                return pageSnapshots[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void accept(List<Article> batch) {
+        Map<NewsCategory, List<Article>> byCategory = new EnumMap<>(NewsCategory.class);
+        int touched = 0;
+        for (Article article : batch) {
+            byCategory.computeIfAbsent(article.getCategory(), c -> new ArrayList<>()).add(article);
+            touched |= 1 << article.getCategory().ordinal();
+        }
+        byCategory.values().forEach(list -> list.sort(NEWEST_FIRST));
+
+        int limit = pageSize * pages;
+        for (int mask : combinationMasks) {
+            if ((mask & touched) == 0) {
+                continue;
+            }
+            Article[] current = heads[mask];
+            List<Article> incoming = new ArrayList<>();
+            for (Map.Entry<NewsCategory, List<Article>> e : byCategory.entrySet()) {
+                if ((mask & (1 << e.getKey().ordinal())) != 0) {
+                    incoming.addAll(e.getValue());
+                }
+            }
+            incoming.sort(NEWEST_FIRST);
+            // 현재 상위 목록보다 전부 오래된 기사만 왔고 목록이 이미 꽉 찼으면 바뀔 게 없음
+            if (current.length == limit && NEWEST_FIRST.compare(incoming.get(0), current[limit - 1]) > 0) {
+                continue;
+            }
+
+            Article[] merged = new Article[Math.min(limit, current.length + incoming.size())];
+            int c = 0, b = 0, m = 0;
+            while (m < merged.length) {
+                if (b >= incoming.size()
+                        || (c < current.length && NEWEST_FIRST.compare(current[c], incoming.get(b)) <= 0)) {
+                    merged[m++] = current[c++];
+                } else {
+                    merged[m++] = incoming.get(b++);
+                }
+            }
+            heads[mask] = merged;
+            snapshots.set(mask, build(merged));
+            rebuilds.increment();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long bytes = 0;
+        for (int mask : combinationMasks) {
+            for (Snapshot s : snapshots.get(mask)) {
+                bytes += s.json().length + s.gzip().length;
+            }
+        }
+        stats.put("combinations", combinationMasks.length);
+        stats.put("pagesPerCombination", pages);
+        stats.put("hits", hits.sum());
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("bytes", bytes);
+        return stats;
+    }
+
+    private Snapshot[] build(Article[] items) {
+        Snapshot[] result = new Snapshot[pages];
+        for (int p = 0; p < pages; p++) {
+            int from = Math.min(items.length, p * pageSize);
+            int to = Math.min(items.length, from + pageSize);
+            List<Article> page = List.of(Arrays.copyOfRange(items, from, to));
+            String nextCursor = page.size() < pageSize ? null : FeedCursor.of(page.get(page.size() - 1)).toString();
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(new FeedPageDto(page, nextCursor));
+                result[p] = new Snapshot(json, gzip(json), nextCursor, etag(json));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("피드 스냅샷 직렬화 실패", e);
+            }
+        }
+        return result;
+    }
+
+    // 본문 SHA-256 앞 16바이트(128비트) → 내용이 다른 두 페이지가 같은 ETag를 받아 304가 잘못 나갈 일이 사실상 없음
+    // (노드마다 같은 기사면 같은 바이트라 노드를 옮겨 다녀도 ETag가 유지됨)
+    static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // 미리 직렬화한 피드 페이지 (바이트 배열은 공유되므로 절대 수정 금지)
+    public record Snapshot(byte[] json, byte[] gzip, String nextCursor, String etag) {
+
+        // gzip 본문은 바이트가 다르므로 ETag도 따로 ("abc" → "abc-gz")
+        public String etag(boolean gzipped) {
+            return gzipped ? etag.substring(0, etag.length() - 1) + "-gz\"" : etag;
+        }
+    }
+}
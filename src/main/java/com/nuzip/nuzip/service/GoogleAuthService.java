@@ -3,6 +3,7 @@ package com.nuzip.nuzip.service;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken.Payload;
 import com.nuzip.nuzip.domain.AuthProvider;
 import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.domain.UserChangeType;
 import com.nuzip.nuzip.domain.UserRepository;
 import com.nuzip.nuzip.security.GoogleTokenVerifier;
 import com.nuzip.nuzip.security.JwtService;
@@ -10,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashSet;
 import java.util.UUID;
@@ -23,6 +25,10 @@ public class GoogleAuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final UserChangeOutbox userChangeOutbox;
+    private final SubscriptionStats subscriptionStats;
+    private final UserActivityTracker userActivityTracker;
+    private final TransactionTemplate transactionTemplate; // 같은 클래스 내부 호출이라 @Transactional 프록시를 안 거침
 
     public String authenticateByIdToken(String idToken) throws Exception {
         Payload payload = googleTokenVerifier.verify(idToken);
@@ -52,8 +58,9 @@ public class GoogleAuthService {
 //        return jwtService.generateToken(user.getUserId());
 //    }
 
-        // 최초 로그인 시 자동 가입
-        joinIfAbsent(email, name);
+        // 최초 로그인 시 자동 가입 (구글 토큰 검증은 트랜잭션 밖, 가입만 트랜잭션 안에서)
+        transactionTemplate.execute(status -> joinIfAbsent(email, name));
+        userActivityTracker.recordLogin(email);
 
         // JWT subject=userId(email)
         return jwtService.generateToken(email);
@@ -68,7 +75,10 @@ public class GoogleAuthService {
                 u.setPassword(passwordEncoder.encode("GOOGLE-" + UUID.randomUUID())); // 소셜전용 더미 비번
                 u.setProvider(AuthProvider.OAUTH_GOOGLE);   // 구글 회원인데도 LOCAL로 뜨던 문제 해결
             u.setNewsCategory(new HashSet<>());
-                return userRepository.save(u);
+                User saved = userRepository.save(u);
+                userChangeOutbox.record(email, UserChangeType.JOINED);
+                subscriptionStats.recordChange(null, SubscriptionStats.Profile.of(saved));
+                return saved;
             });
 
         }
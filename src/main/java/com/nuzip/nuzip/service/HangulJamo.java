@@ -0,0 +1,98 @@
+package com.nuzip.nuzip.service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 자동완성 키 만들기: 한글 음절을 자판으로 치는 순서대로의 자모(호환 자모)로 풀어씀
+ * - "닭" → ㄷㅏㄹㄱ, "과" → ㄱㅗㅏ (겹받침/겹모음은 두 글자로, ㄲ/ㅆ처럼 자판 한 번인 것은 그대로)
+ * - 초성과 종성을 같은 호환 자모로 쓰므로 입력 중간 상태("한" → "하나")도 접두어로 맞음
+ * - 영문은 소문자, 공백 연속은 하나로, 그 밖의 문장부호는 버림
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_FIRST = '가';
+    private static final char SYLLABLE_LAST = '힣';
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ",
+            "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    // 따로 입력된 호환 자모 중 겹자모 → 풀어쓴 것 ("삼성ㄵ"처럼 들어오는 경우)
+    private static final Map<Character, String> COMPOUND = new HashMap<>();
+
+    static {
+        for (String[] table : new String[][]{JUNG, JONG}) {
+            for (String jamo : table) {
+                if (jamo.length() == 2) {
+                    COMPOUND.put(compose(jamo), jamo);
+                }
+            }
+        }
+    }
+
+    private HangulJamo() {
+    }
+
+    public static String decompose(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_FIRST && c <= SYLLABLE_LAST) {
+                int s = c - SYLLABLE_FIRST;
+                space = append(sb, space);
+                sb.append(CHO[s / (21 * 28)]).append(JUNG[(s / 28) % 21]).append(JONG[s % 28]);
+            } else if (Character.isLetterOrDigit(c)) {
+                space = append(sb, space);
+                String split = COMPOUND.get(c);
+                if (split != null) {
+                    sb.append(split);
+                } else {
+                    sb.append(Character.toLowerCase(c));
+                }
+            } else if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean append(StringBuilder sb, boolean space) {
+        if (space) {
+            sb.append(' ');
+        }
+        return false;
+    }
+
+    // 풀어쓴 두 자모 → 호환 자모 한 글자 (정적 표 만들 때만 사용)
+    private static char compose(String pair) {
+        return switch (pair) {
+            case "ㅗㅏ" -> 'ㅘ';
+            case "ㅗㅐ" -> 'ㅙ';
+            case "ㅗㅣ" -> 'ㅚ';
+            case "ㅜㅓ" -> 'ㅝ';
+            case "ㅜㅔ" -> 'ㅞ';
+            case "ㅜㅣ" -> 'ㅟ';
+            case "ㅡㅣ" -> 'ㅢ';
+            case "ㄱㅅ" -> 'ㄳ';
+            case "ㄴㅈ" -> 'ㄵ';
+            case "ㄴㅎ" -> 'ㄶ';
+            case "ㄹㄱ" -> 'ㄺ';
+            case "ㄹㅁ" -> 'ㄻ';
+            case "ㄹㅂ" -> 'ㄼ';
+            case "ㄹㅅ" -> 'ㄽ';
+            case "ㄹㅌ" -> 'ㄾ';
+            case "ㄹㅍ" -> 'ㄿ';
+            case "ㄹㅎ" -> 'ㅀ';
+            case "ㅂㅅ" -> 'ㅄ';
+            default -> throw new IllegalArgumentException(pair);
+        };
+    }
+}
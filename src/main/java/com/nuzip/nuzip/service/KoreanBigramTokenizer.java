@@ -0,0 +1,72 @@
+package com.nuzip.nuzip.service;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * 검색용 토크나이저 (형태소 분석기 없이 한국어를 다루는 간단한 방식)
+ * - 공백/문장부호로 어절을 나누고 어절 자체를 하나의 term으로 (조사가 붙은 채로)
+ * - 어절 안의 한글 구간은 글자 2-gram(bigram)으로도 쪼갬: "국회의원은" → 국회, 회의, 의원, 원은
+ *   → "의원"으로 검색해도 "국회의원은"이 걸림
+ * - 영문/숫자는 소문자로 바꾼 어절 그대로
+ */
+public final class KoreanBigramTokenizer {
+
+    private KoreanBigramTokenizer() {
+    }
+
+    public static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) {
+            return;
+        }
+        int len = text.length();
+        int i = 0;
+        while (i < len) {
+            while (i < len && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (start < i) {
+                emitWord(text.substring(start, i).toLowerCase(Locale.ROOT), sink);
+            }
+        }
+    }
+
+    private static void emitWord(String word, Consumer<String> sink) {
+        boolean allHangul = true;
+        int runStart = -1;
+        for (int i = 0; i <= word.length(); i++) {
+            boolean hangul = i < word.length() && isHangulSyllable(word.charAt(i));
+            if (!hangul && i < word.length()) {
+                allHangul = false;
+            }
+            if (hangul && runStart < 0) {
+                runStart = i;
+            } else if (!hangul && runStart >= 0) {
+                emitBigrams(word, runStart, i, sink);
+                runStart = -1;
+            }
+        }
+        // 한글 두 글자 이하 어절은 bigram과 같으므로 중복해서 내보내지 않음
+        if (!(allHangul && word.length() <= 2)) {
+            sink.accept(word);
+        }
+    }
+
+    private static void emitBigrams(String word, int start, int end, Consumer<String> sink) {
+        if (end - start == 1) {
+            sink.accept(word.substring(start, end)); // 한 글자 한글(예: "북")
+            return;
+        }
+        for (int i = start; i + 1 < end; i++) {
+            sink.accept(word.substring(i, i + 2));
+        }
+    }
+
+    static boolean isHangulSyllable(char c) {
+        return c >= '가' && c <= '힣';
+    }
+}
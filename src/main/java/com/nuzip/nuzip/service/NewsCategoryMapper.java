@@ -0,0 +1,62 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 언론사 섹션명(RSS category, NDJSON section, 파일명 토큰) → NewsCategory
+ * - enum 이름, 한글 라벨, 흔히 쓰는 영문/한글 섹션명을 모두 인식
+ * - 알 수 없는 섹션이면 null (파이프라인에서 버리고 unmapped로 집계)
+ */
+@Component
+public class NewsCategoryMapper {
+
+    private final Map<String, NewsCategory> sections = new HashMap<>();
+
+    public NewsCategoryMapper() {
+        for (NewsCategory c : NewsCategory.values()) {
+            register(c, c.name(), c.getLabel());
+        }
+        register(NewsCategory.POLITICS, "politics", "정치일반", "국회", "청와대", "대통령실", "북한");
+        register(NewsCategory.ECONOMY, "economy", "business", "finance", "경제일반", "금융", "증권", "부동산", "산업");
+        register(NewsCategory.SOCIETY, "society", "national", "사회일반", "사건사고", "교육", "노동");
+        register(NewsCategory.LIFE_CULTURE, "life", "culture", "lifestyle", "생활", "문화", "생활문화", "건강", "여행");
+        register(NewsCategory.IT_SCIENCE, "it", "science", "tech", "technology", "과학", "it과학", "모바일", "인터넷");
+        register(NewsCategory.WORLD, "world", "international", "국제", "해외");
+        register(NewsCategory.ENTERTAINMENT, "entertainment", "연예", "방송", "연예가화제");
+        register(NewsCategory.SPORTS, "sports", "sport", "야구", "축구", "농구", "배구", "골프");
+    }
+
+    public NewsCategory map(String section) {
+        if (section == null || section.isBlank()) {
+            return null;
+        }
+        return sections.get(normalize(section));
+    }
+
+    // 파일명(예: yonhap_politics_20261019.xml)의 토큰에서 섹션 추정
+    public NewsCategory fromFileName(String fileName) {
+        for (String token : fileName.split("[-_.\\s]+")) {
+            NewsCategory c = map(token);
+            if (c != null) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    private void register(NewsCategory category, String... names) {
+        for (String name : names) {
+            sections.put(normalize(name), category);
+        }
+    }
+
+    // 대소문자, 공백, 구분자(ㆍ·/&) 차이는 무시
+    private static String normalize(String section) {
+        return section.toLowerCase(Locale.ROOT).replaceAll("[\\sㆍ·/&_\\-]+", "");
+    }
+}
@@ -0,0 +1,152 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * 크롤러 드롭 파일 스트리밍 파서
+ * - RSS 2.0 / Atom: StAX로 item(entry) 단위로 읽음
+ * - NDJSON: 한 줄씩 RawArticle로 바인딩
+ * 어느 쪽도 파일 전체를 메모리에 올리지 않음 (기사 하나씩 consumer로 넘김)
+ */
+public class NewsFeedParser {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    static {
+        // 외부 엔티티/DTD 차단 (XXE 방지)
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    private final ObjectReader ndjsonReader = new ObjectMapper().readerFor(RawArticle.class);
+
+    public static boolean isXml(String fileName) {
+        String f = fileName.toLowerCase();
+        return f.endsWith(".xml") || f.endsWith(".rss") || f.endsWith(".atom");
+    }
+
+    public static boolean isNdjson(String fileName) {
+        String f = fileName.toLowerCase();
+        return f.endsWith(".ndjson") || f.endsWith(".jsonl");
+    }
+
+    public void parseNdjson(InputStream in, Consumer<RawArticle> consumer) throws IOException {
+        try (MappingIterator<RawArticle> it = ndjsonReader.readValues(in)) {
+            while (it.hasNextValue()) {
+                consumer.accept(it.nextValue());
+            }
+        }
+    }
+
+    // RSS(<channel><item>)와 Atom(<feed><entry>)을 같은 루프에서 처리
+    public void parseXml(InputStream in, Consumer<RawArticle> consumer) throws XMLStreamException {
+        XMLStreamReader r = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            String feedTitle = null;
+            RawArticle current = null;
+            while (r.hasNext()) {
+                int event = r.next();
+                if (event == XMLStreamConstants.END_ELEMENT && current != null && isItem(r.getLocalName())) {
+                    if (current.getSource() == null) {
+                        current.setSource(feedTitle);
+                    }
+                    consumer.accept(current);
+                    current = null;
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                String name = r.getLocalName();
+                if (isItem(name)) {
+                    current = new RawArticle();
+                } else if (current == null) {
+                    // 채널/피드 제목 = 언론사 이름 (image 안의 title 등은 무시)
+                    if ("title".equals(name) && feedTitle == null) {
+                        feedTitle = readText(r).trim();
+                    }
+                } else {
+                    readItemField(r, name, current);
+                }
+            }
+        } finally {
+            r.close();
+        }
+    }
+
+    private static boolean isItem(String localName) {
+        return "item".equals(localName) || "entry".equals(localName);
+    }
+
+    private static void readItemField(XMLStreamReader r, String name, RawArticle a) throws XMLStreamException {
+        switch (name) {
+            case "title" -> a.setTitle(readText(r));
+            case "link" -> {
+                // Atom: <link rel="alternate" href="..."/>, RSS: <link>...</link>
+                String href = r.getAttributeValue(null, "href");
+                String rel = r.getAttributeValue(null, "rel");
+                if (href != null) {
+                    if (a.getUrl() == null || "alternate".equals(rel)) {
+                        a.setUrl(href);
+                    }
+                    readText(r);
+                } else {
+                    a.setUrl(readText(r).trim());
+                }
+            }
+            case "description", "summary" -> a.setSummary(readText(r));
+            case "encoded", "content" -> a.setBody(readText(r)); // content:encoded(RSS) / content(Atom)
+            case "category" -> {
+                // 여러 개면 첫 번째만 (Atom은 term 속성)
+                String term = r.getAttributeValue(null, "term");
+                String text = readText(r);
+                if (a.getSection() == null) {
+                    a.setSection(term != null ? term : text.trim());
+                }
+            }
+            case "pubDate", "published", "updated", "date" -> {
+                String text = readText(r).trim();
+                if (a.getPublishedAt() == null || "published".equals(name)) {
+                    a.setPublishedAt(text);
+                }
+            }
+            case "source", "author" -> {
+                String text = readText(r).trim();
+                if (a.getSource() == null && !text.isEmpty()) {
+                    a.setSource(text);
+                }
+            }
+            default -> readText(r); // 모르는 요소는 하위 요소까지 통째로 건너뜀
+        }
+    }
+
+    // 현재 START_ELEMENT의 모든 하위 텍스트를 이어붙여 읽고 END_ELEMENT에서 멈춤 (xhtml content도 처리)
+    private static String readText(XMLStreamReader r) throws XMLStreamException {
+        StringBuilder sb = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = r.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        sb.append(r.getText());
+                default -> {
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
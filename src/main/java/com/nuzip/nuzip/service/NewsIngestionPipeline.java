@@ -0,0 +1,605 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 뉴스 수집 파이프라인 (네트워크 없이 크롤러가 공유 디스크에 떨군 파일만 처리)
+ *
+ *  [감시] WatchService가 drop 디렉터리의 새 파일 감지
+ *    → [파싱] ForkJoinPool에서 파일별 스트리밍 파싱 (RSS/Atom/NDJSON)
+ *    → [정규화] 256건 단위로 fork해서 병렬로 HTML 제거·카테고리 매핑·id 발급·SimHash 계산
+ *               (파일당 아직 안 끝난 묶음은 parallelism x 2개까지, 넘으면 파서가 앞 묶음을 join하며 기다림)
+ *    → [핸드오프] 크기 제한 큐 (가득 차면 기다림 = 백프레셔, ForkJoinPool.managedBlock으로 기다려 풀이 멈추지 않음)
+ *    → [중복 제거] 저장 스레드에서 LSH 밴드 조회로 근접 중복 기사 제외 (ArticleDeduplicator)
+ *    → [저장] 단일 스레드가 배치로 꺼내 ArticleSink들(@Order 순)에 전달
+ *
+ * 처리된 파일은 processed/, 실패한 파일은 failed/ 로 이동.
+ * 실패·중단 시 앞에서부터 핸드오프가 끝난 레코드 수를 checkpoints/<파일명>에 남김 (첫/마지막 레코드 키 포함)
+ * → 같은 파일을 다시 넣으면 그만큼 건너뛰고 이어서 수집 (내용이 다르면 체크포인트를 버리고 처음부터)
+ * 종료 등으로 중단된 파일은 옮기지 않고 그대로 둬서 다음 기동 때 이어서 처리.
+ * 크롤러는 임시 이름(.tmp, .part, 점으로 시작)으로 쓰고 다 쓴 뒤 rename 해야 함.
+ */
+@Slf4j
+@Component
+public class NewsIngestionPipeline {
+
+    private static final int NORMALIZE_CHUNK = 256;
+    private static final int STORE_BATCH = 512;
+    private static final int SUMMARY_MAX = 300;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+    // ISO-8601 + 오프셋 "Z", "+09:00", "+0900", "+09" 모두 허용
+    private static final DateTimeFormatter ISO_OFFSET = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .optionalStart().appendOffset("+HH:MM", "Z").optionalEnd()
+            .optionalStart().appendOffset("+HHMM", "Z").optionalEnd()
+            .optionalStart().appendOffset("+HH", "Z").optionalEnd()
+            .toFormatter();
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final List<ArticleSink> sinks;
+    private final NewsCategoryMapper categoryMapper;
+    private final ArticleIdGenerator idGenerator;
+    private final ArticleDeduplicator deduplicator;
+    private final NewsFeedParser parser = new NewsFeedParser();
+
+    private final boolean enabled;
+    private final Path dropDir;
+    private final int parallelism;
+    private final BlockingQueue<Queued> handOff;
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ForkJoinPool parsePool;
+    private WatchService watchService;
+    private Thread watcherThread;
+    private Thread storeThread;
+    private volatile boolean running;
+
+    // ===== 지표 =====
+    private final LongAdder filesProcessed = new LongAdder();
+    private final LongAdder filesFailed = new LongAdder();
+    private final LongAdder filesInterrupted = new LongAdder();
+    private final LongAdder filesResumed = new LongAdder();
+    private final LongAdder skippedOnResume = new LongAdder();
+    private final LongAdder articlesParsed = new LongAdder();
+    private final LongAdder articlesStored = new LongAdder();
+    private final LongAdder droppedNoTitle = new LongAdder();
+    private final LongAdder unmappedCategory = new LongAdder();
+    private volatile long fileLagMs;     // 파일 생성 → 파싱 시작
+    private volatile long queueLagMs;    // 핸드오프 큐 대기 시간(배치 중 가장 오래 기다린 것)
+    private volatile long storeMs;       // 한 배치를 sink들에 넘기는 데 걸린 시간
+    private volatile double articlesPerSecond;
+    private long lastStoredSample;
+    private long lastSampleAt = System.nanoTime();
+
+    // 핸드오프 큐 원소 (병렬 단계에서 미리 계산한 SimHash, 큐 대기 시간 측정용 시각 포함)
+    private record Queued(Article article, long fingerprint, long enqueuedAt) {
+    }
+
+    // 정규화 묶음 하나의 결과: size건 중 앞에서부터 records건을 끝까지 넘김 (중단되면 records < size)
+    private record Handled(int size, int records, long lastKey) {
+    }
+
+    // 파일의 앞 records건은 핸드오프 완료 (firstKey/lastKey로 다시 넣은 파일이 같은 내용인지 확인)
+    private record Checkpoint(long records, long firstKey, long lastKey) {
+    }
+
+    // 다시 넣은 파일이 체크포인트와 다른 내용 → 처음부터 다시
+    private static final class ResumeMismatch extends RuntimeException {
+        ResumeMismatch() {
+            super(null, null, false, false);
+        }
+    }
+
+    // 파일 하나를 읽는 동안의 진행 상황 (파싱 스레드만 씀)
+    private static final class Progress {
+        final Checkpoint resume;
+        final List<ForkJoinTask<Handled>> chunks = new ArrayList<>();
+        int joined;
+        long parsed;
+        long firstKey;
+
+        Progress(Checkpoint resume) {
+            this.resume = resume;
+        }
+
+        // 앞에서부터 연속으로 끝난 묶음까지 (실패/중단된 묶음에서 멈춤)
+        Checkpoint committed() {
+            long records = resume == null ? 0 : resume.records();
+            long lastKey = resume == null ? 0 : resume.lastKey();
+            for (ForkJoinTask<Handled> chunk : chunks) {
+                if (!chunk.isCompletedNormally()) {
+                    break;
+                }
+                Handled h = chunk.join();
+                if (h.records() > 0) {
+                    records += h.records();
+                    lastKey = h.lastKey();
+                }
+                if (h.records() < h.size()) {
+                    break;
+                }
+            }
+            return new Checkpoint(records, firstKey, lastKey);
+        }
+
+        boolean interrupted() {
+            for (ForkJoinTask<Handled> chunk : chunks) {
+                if (chunk.isCompletedNormally() && chunk.join().records() < chunk.join().size()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public NewsIngestionPipeline(List<ArticleSink> sinks,
+                                 NewsCategoryMapper categoryMapper,
+                                 ArticleIdGenerator idGenerator,
+                                 ArticleDeduplicator deduplicator,
+                                 @Value("${nuzip.ingest.enabled:true}") boolean enabled,
+                                 @Value("${nuzip.ingest.drop-dir:./data/drop}") String dropDir,
+                                 @Value("${nuzip.ingest.parallelism:4}") int parallelism,
+                                 @Value("${nuzip.ingest.queue-capacity:10000}") int queueCapacity) {
+        this.sinks = sinks;
+        this.categoryMapper = categoryMapper;
+        this.idGenerator = idGenerator;
+        this.deduplicator = deduplicator;
+        this.enabled = enabled;
+        this.dropDir = Paths.get(dropDir).toAbsolutePath().normalize();
+        this.parallelism = parallelism;
+        this.handOff = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // 모든 sink가 준비된 뒤(애플리케이션 기동 완료) 시작
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled || running) {
+            return;
+        }
+        Files.createDirectories(dropDir.resolve("processed"));
+        Files.createDirectories(dropDir.resolve("failed"));
+        Files.createDirectories(dropDir.resolve("checkpoints"));
+
+        running = true;
+        // 핸드오프에서 기다리는 동안 보충 스레드는 parallelism개까지만 (넘으면 보충 없이 기다림)
+        parsePool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false,
+                parallelism, parallelism * 2, 1, pool -> true, 60, TimeUnit.SECONDS);
+        watchService = FileSystems.getDefault().newWatchService();
+        dropDir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE); // 같은 디렉터리 안 rename도 CREATE로 옴
+
+        storeThread = new Thread(this::storeLoop, "news-ingest-store");
+        storeThread.start();
+        watcherThread = new Thread(this::watchLoop, "news-ingest-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+
+        scanExisting(); // 꺼져 있는 동안 쌓인 파일
+        log.info("📰 뉴스 수집 시작: dir={}, parallelism={}, queue={}", dropDir, parallelism, handOff.remainingCapacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        parsePool.shutdown();
+        if (!parsePool.awaitTermination(30, TimeUnit.SECONDS)) {
+            parsePool.shutdownNow(); // 핸드오프에서 기다리던 파일은 체크포인트를 남기고 그 자리에 둠
+            parsePool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        running = false;        // 이후 저장 스레드는 큐에 남은 것만 비우고 종료
+        storeThread.join(30_000);
+        log.info("📰 뉴스 수집 종료: 저장 {}건", articlesStored.sum());
+    }
+
+    // ===== 1단계: 감시 =====
+    private void watchLoop() {
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    scanExisting(); // 이벤트 유실 → 디렉터리 다시 훑기
+                } else {
+                    submit(dropDir.resolve((Path) event.context()));
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private void scanExisting() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dropDir)) {
+            for (Path file : files) {
+                submit(file);
+            }
+        } catch (IOException e) {
+            log.warn("drop 디렉터리 읽기 실패: {}", dropDir, e);
+        }
+    }
+
+    private void submit(Path file) {
+        String name = file.getFileName().toString();
+        if (name.startsWith(".") || name.endsWith(".tmp") || name.endsWith(".part")
+                || !(NewsFeedParser.isXml(name) || NewsFeedParser.isNdjson(name))
+                || !Files.isRegularFile(file)) {
+            return;
+        }
+        if (inFlight.add(file)) {
+            parsePool.execute(() -> ingestFile(file));
+        }
+    }
+
+    // ===== 2~4단계: 파싱 → 병렬 정규화 → 핸드오프 =====
+    private void ingestFile(Path file) {
+        String name = file.getFileName().toString();
+        NewsCategory fileCategory = categoryMapper.fromFileName(name);
+        Path checkpointFile = dropDir.resolve("checkpoints").resolve(name);
+        Progress progress = new Progress(readCheckpoint(checkpointFile));
+        try {
+            fileLagMs = System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis();
+            try {
+                parse(file, name, fileCategory, progress);
+            } catch (ResumeMismatch e) {
+                log.info("📰 체크포인트와 내용이 달라 처음부터 다시 수집: {}", file);
+                progress = new Progress(null);
+                parse(file, name, fileCategory, progress);
+            }
+            progress.chunks.forEach(ForkJoinTask::join);
+            if (progress.interrupted()) {
+                leaveInterrupted(file, checkpointFile, progress);
+                return;
+            }
+            moveTo(file, "processed");
+            Files.deleteIfExists(checkpointFile);
+            filesProcessed.increment();
+        } catch (Exception e) {
+            progress.chunks.forEach(ForkJoinTask::quietlyJoin);
+            if (progress.interrupted() || Thread.currentThread().isInterrupted()) {
+                leaveInterrupted(file, checkpointFile, progress);
+                return;
+            }
+            log.warn("뉴스 파일 처리 실패: {}", file, e);
+            writeCheckpoint(checkpointFile, progress.committed());
+            moveTo(file, "failed");
+            filesFailed.increment();
+        } finally {
+            inFlight.remove(file);
+        }
+    }
+
+    private void parse(Path file, String name, NewsCategory fileCategory, Progress progress) throws Exception {
+        Checkpoint resume = progress.resume;
+        List<RawArticle> chunk = new ArrayList<>(NORMALIZE_CHUNK);
+        try (InputStream in = Files.newInputStream(file)) {
+            Consumer<RawArticle> collect = raw -> {
+                long index = progress.parsed++;
+                if (index == 0) {
+                    progress.firstKey = recordKey(raw);
+                }
+                if (resume != null && index < resume.records()) {
+                    // 지난번에 이미 넘긴 레코드: 첫/마지막 레코드가 같은지만 확인하고 건너뜀
+                    if ((index == 0 && progress.firstKey != resume.firstKey())
+                            || (index == resume.records() - 1 && recordKey(raw) != resume.lastKey())) {
+                        throw new ResumeMismatch();
+                    }
+                    return;
+                }
+                articlesParsed.increment();
+                chunk.add(raw);
+                if (chunk.size() == NORMALIZE_CHUNK) {
+                    List<RawArticle> batch = new ArrayList<>(chunk);
+                    chunk.clear();
+                    progress.chunks.add(ForkJoinTask.adapt(() -> normalizeAndHandOff(batch, fileCategory)).fork());
+                    // 파서가 정규화보다 빠르면 앞 묶음을 도우며 기다림 (파일 하나가 메모리에 다 쌓이지 않게)
+                    while (progress.chunks.size() - progress.joined > parallelism * 2) {
+                        progress.chunks.get(progress.joined++).quietlyJoin();
+                    }
+                }
+            };
+            if (NewsFeedParser.isXml(name)) {
+                parser.parseXml(in, collect);
+            } else {
+                parser.parseNdjson(in, collect);
+            }
+        }
+        if (resume != null) {
+            if (progress.parsed < resume.records()) {
+                throw new ResumeMismatch();
+            }
+            filesResumed.increment();
+            skippedOnResume.add(resume.records());
+        }
+        if (!chunk.isEmpty()) {
+            progress.chunks.add(ForkJoinTask.adapt(() -> normalizeAndHandOff(chunk, fileCategory)).fork());
+        }
+    }
+
+    private void leaveInterrupted(Path file, Path checkpointFile, Progress progress) {
+        writeCheckpoint(checkpointFile, progress.committed());
+        filesInterrupted.increment();
+        log.info("📰 뉴스 파일 처리 중단, 다음에 이어서: {} ({}건까지 완료)", file, progress.committed().records());
+    }
+
+    private Handled normalizeAndHandOff(List<RawArticle> batch, NewsCategory fileCategory) {
+        int handled = 0;
+        long lastKey = 0;
+        for (RawArticle raw : batch) {
+            Article article = normalize(raw, fileCategory);
+            if (article != null) {
+                long fingerprint = SimHash.fingerprint(article.getTitle(), article.getBody());
+                try {
+                    handOff(new Queued(article, fingerprint, System.nanoTime()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            handled++;
+            lastKey = recordKey(raw);
+        }
+        return new Handled(batch.size(), handled, lastKey);
+    }
+
+    // 큐가 가득 차면 기다림 (백프레셔). ForkJoinPool 워커를 그냥 막지 않고 managedBlock으로 풀에 알림
+    private void handOff(Queued queued) throws InterruptedException {
+        if (handOff.offer(queued)) {
+            return;
+        }
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+            private boolean done;
+
+            @Override
+            public boolean block() throws InterruptedException {
+                if (!done) {
+                    handOff.put(queued);
+                    done = true;
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return done || (done = handOff.offer(queued));
+            }
+        });
+    }
+
+    // 레코드 식별용 키 (URL + 제목), 체크포인트 대조에만 사용
+    private static long recordKey(RawArticle raw) {
+        return ((long) Objects.hashCode(raw.getUrl()) << 32) | (Objects.hashCode(raw.getTitle()) & 0xFFFFFFFFL);
+    }
+
+    private Checkpoint readCheckpoint(Path checkpointFile) {
+        if (!Files.exists(checkpointFile)) {
+            return null;
+        }
+        try {
+            String[] parts = Files.readString(checkpointFile).trim().split(" ");
+            return new Checkpoint(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IOException | RuntimeException e) {
+            log.warn("체크포인트 읽기 실패, 처음부터 수집: {}", checkpointFile, e);
+            return null;
+        }
+    }
+
+    private void writeCheckpoint(Path checkpointFile, Checkpoint checkpoint) {
+        try {
+            if (checkpoint.records() == 0) {
+                Files.deleteIfExists(checkpointFile);
+                return;
+            }
+            Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.writeString(tmp, checkpoint.records() + " " + checkpoint.firstKey() + " " + checkpoint.lastKey());
+            Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("체크포인트 기록 실패: {}", checkpointFile, e);
+        }
+    }
+
+    private Article normalize(RawArticle raw, NewsCategory fileCategory) {
+        String title = cleanText(raw.getTitle());
+        if (title.isEmpty()) {
+            droppedNoTitle.increment();
+            return null;
+        }
+        NewsCategory category = categoryMapper.map(raw.getSection());
+        if (category == null) {
+            category = fileCategory;
+        }
+        if (category == null) {
+            unmappedCategory.increment();
+            return null;
+        }
+
+        String body = cleanText(raw.getBody());
+        String summary = cleanText(raw.getSummary());
+        if (summary.isEmpty()) {
+            summary = body;
+        }
+        if (summary.length() > SUMMARY_MAX) {
+            summary = summary.substring(0, SUMMARY_MAX) + "…";
+        }
+        if (body.isEmpty()) {
+            body = summary;
+        }
+
+        return Article.builder()
+                .id(idGenerator.next())
+                .category(category)
+                .title(title)
+                .summary(summary)
+                .body(body)
+                .url(raw.getUrl() == null ? null : raw.getUrl().trim())
+                .source(raw.getSource() == null ? null : cleanText(raw.getSource()))
+                .publishedAt(parsePublishedAt(raw.getPublishedAt()))
+                .build();
+    }
+
+    // ===== 5단계: 저장 =====
+    private void storeLoop() {
+        List<Queued> drained = new ArrayList<>(STORE_BATCH);
+        while (running || !handOff.isEmpty()) {
+            try {
+                Queued first = handOff.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                handOff.drainTo(drained, STORE_BATCH - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            long startedAt = System.nanoTime();
+            queueLagMs = TimeUnit.NANOSECONDS.toMillis(startedAt - drained.get(0).enqueuedAt());
+            long now = System.currentTimeMillis();
+            List<Article> batch = new ArrayList<>(drained.size());
+            for (Queued q : drained) {
+                if (deduplicator.representativeOf(q.article().getId(), q.fingerprint(), now) < 0) {
+                    batch.add(q.article());
+                }
+            }
+            drained.clear();
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            for (ArticleSink sink : sinks) {
+                try {
+                    sink.accept(batch);
+                } catch (Exception e) {
+                    log.warn("기사 저장 실패: sink={}", sink.getClass().getSimpleName(), e);
+                }
+            }
+            articlesStored.add(batch.size());
+            storeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        }
+    }
+
+    // 처리량(건/초) 샘플링
+    @Scheduled(fixedRate = 10_000)
+    public void sampleThroughput() {
+        long now = System.nanoTime();
+        long stored = articlesStored.sum();
+        articlesPerSecond = (stored - lastStoredSample) / ((now - lastSampleAt) / 1e9);
+        lastStoredSample = stored;
+        lastSampleAt = now;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running);
+        stats.put("dropDir", dropDir.toString());
+        stats.put("filesProcessed", filesProcessed.sum());
+        stats.put("filesFailed", filesFailed.sum());
+        stats.put("filesInterrupted", filesInterrupted.sum());
+        stats.put("filesResumed", filesResumed.sum());
+        stats.put("skippedOnResume", skippedOnResume.sum());
+        stats.put("filesInFlight", inFlight.size());
+        stats.put("articlesParsed", articlesParsed.sum());
+        stats.put("articlesStored", articlesStored.sum());
+        stats.put("droppedNoTitle", droppedNoTitle.sum());
+        stats.put("unmappedCategory", unmappedCategory.sum());
+        stats.put("articlesPerSecond", Math.round(articlesPerSecond * 10) / 10.0);
+        stats.put("queueDepth", handOff.size());
+        stats.put("fileLagMs", fileLagMs);
+        stats.put("queueLagMs", queueLagMs);
+        stats.put("storeBatchMs", storeMs);
+        stats.put("dedup", deduplicator.stats());
+        return stats;
+    }
+
+    private void moveTo(Path file, String dir) {
+        try {
+            Files.move(file, dropDir.resolve(dir).resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("뉴스 파일 이동 실패: {} → {}", file, dir, e);
+        }
+    }
+
+    // HTML 태그/엔티티 제거 + 공백 정리
+    static String cleanText(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String s = TAGS.matcher(text).replaceAll(" ");
+        s = s.replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&apos;", "'")
+                .replace("&amp;", "&");
+        return SPACES.matcher(s).replaceAll(" ").trim();
+    }
+
+    // RFC 1123(RSS) / ISO-8601(Atom, 오프셋 +09:00·+0900·Z) / "yyyy-MM-dd HH:mm:ss"(KST) / epoch(초·ms). 없거나 미래면 현재 시각
+    static long parsePublishedAt(String value) {
+        long now = System.currentTimeMillis();
+        if (value == null || value.isBlank()) {
+            return now;
+        }
+        String v = value.trim();
+        long parsed;
+        try {
+            if (v.chars().allMatch(Character::isDigit)) {
+                long n = Long.parseLong(v);
+                parsed = n < 100_000_000_000L ? n * 1000 : n;
+            } else if (Character.isLetter(v.charAt(0))) {
+                parsed = OffsetDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } else if (v.endsWith("Z") || v.matches(".*:\\d{2}(\\.\\d+)?[+-]\\d{2}(:?\\d{2})?$")) {
+                // "2026-10-19 08:00:00+0900"처럼 날짜와 시각 사이가 공백인 것도 허용
+                String iso = v.length() > 10 && v.charAt(10) == ' ' ? v.substring(0, 10) + 'T' + v.substring(11) : v;
+                parsed = OffsetDateTime.parse(iso, ISO_OFFSET).toInstant().toEpochMilli();
+            } else if (v.indexOf('T') > 0) {
+                parsed = LocalDateTime.parse(v).atZone(KST).toInstant().toEpochMilli();
+            } else {
+                parsed = LocalDateTime.parse(v, LOCAL_DATE_TIME).atZone(KST).toInstant().toEpochMilli();
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return now;
+        }
+        return Math.min(parsed, now);
+    }
+}
@@ -3,6 +3,7 @@ package com.nuzip.nuzip.service;
 import com.nuzip.nuzip.domain.AuthProvider;
 import com.nuzip.nuzip.domain.NewsCategory;
 import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.domain.UserChangeType;
 import com.nuzip.nuzip.domain.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,8 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class OAuthJoinService {
     private final UserRepository userRepository;
+    private final UserChangeOutbox userChangeOutbox;
+    private final SubscriptionStats subscriptionStats;
 
     /**
      * 구글 계정 → userId로 받아옴
@@ -44,7 +47,10 @@ public class OAuthJoinService {
                             .provider(AuthProvider.OAUTH_GOOGLE)
                             .build();
 
-                    return userRepository.save(user);       // 실제 INSERT
+                    User saved = userRepository.save(user);       // 실제 INSERT
+                    userChangeOutbox.record(googleEmail, UserChangeType.JOINED);
+                    subscriptionStats.recordChange(null, SubscriptionStats.Profile.of(saved));
+                    return saved;
                 });
     }
 }
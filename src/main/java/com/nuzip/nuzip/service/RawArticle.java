@@ -0,0 +1,22 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 파싱 직후의 원본 기사 (정규화/카테고리 매핑 전)
+// NDJSON 한 줄도 이 형태로 바로 바인딩됨
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RawArticle {
+    private String source;      // 언론사/피드 이름
+    private String section;     // 언론사 섹션명 → NewsCategory로 매핑
+    private String title;
+    private String url;
+    private String summary;
+    private String body;
+    private String publishedAt; // RFC 1123(RSS), ISO-8601(Atom/NDJSON) 또는 epoch ms
+}
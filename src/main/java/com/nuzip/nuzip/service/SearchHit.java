@@ -0,0 +1,13 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+
+// 검색 결과 한 건 (색인에 보관하는 최소 필드 + BM25 점수)
+public record SearchHit(long articleId,
+                        NewsCategory category,
+                        String title,
+                        String url,
+                        String source,
+                        long publishedAt,
+                        float score) {
+}
@@ -0,0 +1,433 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.dto.ReadEventDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자별 "이미 본 기사" (피드 중복 노출 제거)
+ * - 노출(IMPRESSION) 이벤트를 DB 행 대신 사용자 x 날짜별 압축 비트맵(SeenBitmap)에 기록
+ * - 날짜별 id 공간: 그날 처음 발급된 기사 id(base)부터 0, 1, 2 ... (기사 id는 수집 순서대로 증가하므로
+ *   id → 수집된 날짜는 최근 windowDays개의 base만 보면 정해짐)
+ * - 사용자 비트맵은 windowDays칸 링. 날짜가 창에서 빠지면 그 칸은 통째로 무효 (정리 주기에 메모리 해제)
+ * - 피드 한 페이지 거르기: 페이지는 최신순이라 날짜 커서를 앞에서부터 옮기며 한 번 훑음
+ * - snapshot-interval-ms마다(바뀐 게 있을 때만) 파일 스냅샷, 기동 시 복원 → 재시작해도 본 기사 유지
+ * - 노드 로컬 상태라 사용자가 다른 노드로 가면 그 노드에선 처음부터 (노출 제거는 근사치로 충분)
+ */
+@Slf4j
+@Component
+@Order(270)
+public class SeenArticleTracker implements ArticleSink {
+
+    private static final int MAGIC = 0x5345454E; // "SEEN"
+    private static final int VERSION = 1;
+    // 사용자당 고정 비용 추정치: 맵 노드 + UserSeen 객체 + 링 배열 2개 헤더 + 아이디 문자열 헤더
+    private static final int USER_OVERHEAD_BYTES = 32 + 24 + 16 + 16 + 40;
+    private static final int BITMAP_OVERHEAD_BYTES = 40;
+
+    private final int windowDays;
+    private final ZoneId zone;
+    private final Path snapshotFile;
+
+    private final ConcurrentHashMap<String, UserSeen> users = new ConcurrentHashMap<>();
+    private volatile Days days;
+    private volatile long maxId;
+    private volatile boolean dirty;
+    private final Object snapshotLock = new Object();
+
+    private final LongAdder impressions = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder scanned = new LongAdder();
+    private volatile long lastSnapshotAt;
+    private volatile long lastSnapshotMillis;
+    private volatile long lastSnapshotBytes;
+
+    /**
+     * 최근 날짜들의 id 시작점 (불변, 날짜가 바뀔 때만 새로 만들어 교체)
+     * - epochDays/bases/slots는 base 내림차순 (최신 날짜가 0번)
+     */
+    private record Days(long[] epochDays, long[] bases, int[] slots) {
+
+        static final Days EMPTY = new Days(new long[0], new long[0], new int[0]);
+
+        // id가 수집된 날짜의 인덱스 (hint부터 뒤로 찾음, 창보다 오래됐으면 -1)
+        int indexOf(long id, int hint) {
+            for (int i = Math.max(0, hint); i < bases.length; i++) {
+                if (id >= bases[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // 한 사용자의 날짜별 비트맵 링 (slot = epochDay % windowDays, 칸의 epochDay가 다르면 지난 날짜)
+    private static final class UserSeen {
+        final long[] epochDays;
+        final SeenBitmap[] bitmaps;
+        volatile long touchedAt = System.currentTimeMillis();
+
+        UserSeen(int windowDays) {
+            epochDays = new long[windowDays];
+            Arrays.fill(epochDays, -1);
+            bitmaps = new SeenBitmap[windowDays];
+        }
+
+        SeenBitmap bitmap(int slot, long epochDay, boolean create) {
+            if (epochDays[slot] != epochDay) {
+                if (!create) {
+                    return null;
+                }
+                epochDays[slot] = epochDay;
+                bitmaps[slot] = new SeenBitmap();
+            }
+            return bitmaps[slot];
+        }
+    }
+
+    public SeenArticleTracker(@Value("${nuzip.seen.window-days:7}") int windowDays,
+                              @Value("${nuzip.seen.zone:Asia/Seoul}") String zone,
+                              @Value("${nuzip.seen.dir:./data/seen}") String dir) {
+        this.windowDays = windowDays;
+        this.zone = ZoneId.of(zone);
+        this.snapshotFile = Paths.get(dir).resolve("seen.snap");
+        this.days = Days.EMPTY;
+    }
+
+    // ===== 날짜별 id 시작점 (수집 스레드) =====
+
+    // 새로 발급된 id 중 오늘 첫 번째를 오늘의 base로 (기동 시 로그 재생으로 들어오는 옛 기사는 maxId 이하라 무시)
+    @Override
+    public void accept(List<Article> batch) {
+        long today = LocalDate.now(zone).toEpochDay();
+        for (Article article : batch) {
+            long id = article.getId();
+            if (id <= maxId) {
+                continue;
+            }
+            Days current = days;
+            if (current.epochDays.length == 0 || current.epochDays[0] != today) {
+                openDay(today, id);
+            }
+            maxId = id;
+        }
+    }
+
+    private synchronized void openDay(long epochDay, long base) {
+        Days current = days;
+        int keep = 0;
+        while (keep < current.bases.length && keep < windowDays - 1 && current.epochDays[keep] > epochDay - windowDays) {
+            keep++;
+        }
+        long[] epochDays = new long[keep + 1];
+        long[] bases = new long[keep + 1];
+        int[] slots = new int[keep + 1];
+        epochDays[0] = epochDay;
+        bases[0] = base;
+        slots[0] = (int) (epochDay % windowDays);
+        System.arraycopy(current.epochDays, 0, epochDays, 1, keep);
+        System.arraycopy(current.bases, 0, bases, 1, keep);
+        System.arraycopy(current.slots, 0, slots, 1, keep);
+        days = new Days(epochDays, bases, slots);
+        dirty = true;
+        log.info("👀 본 기사 날짜 시작: {} (base id {}, 창 {}일)", LocalDate.ofEpochDay(epochDay), base, keep + 1);
+    }
+
+    // ===== 기록 / 거르기 (요청 스레드) =====
+
+    // 읽기 이벤트 중 노출(IMPRESSION)과 클릭을 "본 기사"로 기록
+    public void record(String userId, List<ReadEventDto> events) {
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        Days current = days;
+        UserSeen seen = null;
+        for (ReadEventDto event : events) {
+            if (!"IMPRESSION".equalsIgnoreCase(event.getType()) && !"CLICK".equalsIgnoreCase(event.getType())) {
+                continue;
+            }
+            long id = event.getArticleId();
+            int at = id > maxId ? -1 : current.indexOf(id, 0);
+            if (at < 0) {
+                untracked.increment();
+                continue;
+            }
+            if (seen == null) {
+                seen = users.computeIfAbsent(userId, k -> new UserSeen(windowDays));
+            }
+            synchronized (seen) {
+                if (seen.bitmap(current.slots[at], current.epochDays[at], true).add((int) (id - current.bases[at]))) {
+                    impressions.increment();
+                    dirty = true;
+                }
+            }
+        }
+        if (seen != null) {
+            seen.touchedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 아직 안 본 기사만 남김 (순서 유지)
+     * - 페이지가 최신순이면 날짜 인덱스가 앞에서 뒤로만 움직여 페이지 한 번 훑기로 끝남
+     * - 창보다 오래된 기사는 기록이 없으니 안 본 것으로 취급
+     */
+    public List<Article> unseen(String userId, List<Article> page) {
+        UserSeen seen = users.get(userId);
+        scanned.add(page.size());
+        Days current = days;
+        if (seen == null || page.isEmpty() || current.bases.length == 0) {
+            return page;
+        }
+        List<Article> result = new ArrayList<>(page.size());
+        int at = 0;
+        synchronized (seen) {
+            for (Article article : page) {
+                long id = article.getId();
+                if (at < 0 || (at > 0 && id >= current.bases[at - 1])) {
+                    at = current.indexOf(id, 0); // 순서가 뒤섞였거나 창보다 오래된 기사 다음이면 처음부터
+                } else if (id < current.bases[at]) {
+                    at = current.indexOf(id, at + 1);
+                }
+                SeenBitmap bitmap = at < 0 ? null : seen.bitmap(current.slots[at], current.epochDays[at], false);
+                if (bitmap != null && bitmap.contains((int) (id - current.bases[at]))) {
+                    continue;
+                }
+                result.add(article);
+            }
+        }
+        filtered.add(page.size() - result.size());
+        return result;
+    }
+
+    // ===== 정리 / 스냅샷 =====
+
+    // 창에서 빠진 날짜 칸을 비우고, 남은 칸이 없는 사용자는 내림 (방금 만들어진 사용자는 제외)
+    private void compact() {
+        Days current = days;
+        long idleBefore = System.currentTimeMillis() - 60_000;
+        for (Map.Entry<String, UserSeen> entry : users.entrySet()) {
+            UserSeen seen = entry.getValue();
+            boolean live = false;
+            synchronized (seen) {
+                for (int slot = 0; slot < windowDays; slot++) {
+                    if (seen.epochDays[slot] >= 0 && !isLive(current, slot, seen.epochDays[slot])) {
+                        seen.epochDays[slot] = -1;
+                        seen.bitmaps[slot] = null;
+                    }
+                    live |= seen.bitmaps[slot] != null;
+                }
+            }
+            if (!live && seen.touchedAt < idleBefore) {
+                users.remove(entry.getKey(), seen);
+            }
+        }
+    }
+
+    private static boolean isLive(Days current, int slot, long epochDay) {
+        for (int i = 0; i < current.slots.length; i++) {
+            if (current.slots[i] == slot) {
+                return current.epochDays[i] == epochDay;
+            }
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${nuzip.seen.snapshot-interval-ms:300000}",
+            initialDelayString = "${nuzip.seen.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            compact();
+            if (dirty) {
+                dirty = false;
+                writeSnapshot();
+            }
+        }
+    }
+
+    private void writeSnapshot() {
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            Path tmp = snapshotFile.resolveSibling("seen.snap.tmp");
+            int written = 0;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                Days current = days;
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(maxId);
+                out.writeInt(current.bases.length);
+                for (int i = 0; i < current.bases.length; i++) {
+                    out.writeLong(current.epochDays[i]);
+                    out.writeLong(current.bases[i]);
+                }
+                for (Map.Entry<String, UserSeen> entry : users.entrySet()) {
+                    UserSeen seen = entry.getValue();
+                    synchronized (seen) {
+                        int live = 0;
+                        for (SeenBitmap bitmap : seen.bitmaps) {
+                            live += bitmap != null ? 1 : 0;
+                        }
+                        if (live == 0) {
+                            continue;
+                        }
+                        out.writeBoolean(true);
+                        out.writeUTF(entry.getKey());
+                        out.writeByte(live);
+                        for (int slot = 0; slot < windowDays; slot++) {
+                            if (seen.bitmaps[slot] != null) {
+                                out.writeLong(seen.epochDays[slot]);
+                                seen.bitmaps[slot].write(out);
+                            }
+                        }
+                    }
+                    written++;
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastSnapshotAt = start;
+            lastSnapshotMillis = System.currentTimeMillis() - start;
+            lastSnapshotBytes = Files.size(snapshotFile);
+            log.info("👀 본 기사 스냅샷: 사용자 {}명, {}KB, {}ms", written, lastSnapshotBytes / 1024, lastSnapshotMillis);
+        } catch (IOException e) {
+            dirty = true; // 다음 주기에 다시
+            log.warn("👀 본 기사 스냅샷 실패: {}", e.getMessage());
+        }
+    }
+
+    @PostConstruct
+    void restore() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        long today = LocalDate.now(zone).toEpochDay();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("👀 본 기사 스냅샷 형식이 달라 무시: {}", snapshotFile);
+                return;
+            }
+            long savedMaxId = in.readLong();
+            int n = in.readInt();
+            List<long[]> kept = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                long epochDay = in.readLong();
+                long base = in.readLong();
+                if (epochDay > today - windowDays && kept.size() < windowDays) {
+                    kept.add(new long[]{epochDay, base});
+                }
+            }
+            long[] epochDays = new long[kept.size()];
+            long[] bases = new long[kept.size()];
+            int[] slots = new int[kept.size()];
+            for (int i = 0; i < kept.size(); i++) {
+                epochDays[i] = kept.get(i)[0];
+                bases[i] = kept.get(i)[1];
+                slots[i] = (int) (epochDays[i] % windowDays);
+            }
+            Days restored = new Days(epochDays, bases, slots);
+            while (in.readBoolean()) {
+                String userId = in.readUTF();
+                int live = in.readByte();
+                UserSeen seen = new UserSeen(windowDays);
+                boolean any = false;
+                for (int i = 0; i < live; i++) {
+                    long epochDay = in.readLong();
+                    SeenBitmap bitmap = SeenBitmap.read(in);
+                    int slot = (int) (epochDay % windowDays);
+                    if (isLive(restored, slot, epochDay)) {
+                        seen.epochDays[slot] = epochDay;
+                        seen.bitmaps[slot] = bitmap;
+                        any = true;
+                    }
+                }
+                if (any) {
+                    users.put(userId, seen);
+                }
+            }
+            days = restored;
+            maxId = savedMaxId;
+            log.info("👀 본 기사 스냅샷 복원: 사용자 {}명, 날짜 {}개", users.size(), bases.length);
+        } catch (IOException e) {
+            users.clear();
+            log.warn("👀 본 기사 스냅샷을 읽지 못해 비어 있는 상태로 시작: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    // ===== 통계 =====
+
+    public Map<String, Object> stats() {
+        long bitmaps = 0;
+        long bitmapBytes = 0;
+        long ids = 0;
+        long keyBytes = 0;
+        for (Map.Entry<String, UserSeen> entry : users.entrySet()) {
+            UserSeen seen = entry.getValue();
+            keyBytes += entry.getKey().length();
+            synchronized (seen) {
+                for (SeenBitmap bitmap : seen.bitmaps) {
+                    if (bitmap != null) {
+                        bitmaps++;
+                        bitmapBytes += bitmap.sizeInBytes() + BITMAP_OVERHEAD_BYTES;
+                        ids += bitmap.cardinality();
+                    }
+                }
+            }
+        }
+        int activeUsers = users.size();
+        long totalBytes = bitmapBytes + keyBytes
+                + activeUsers * (USER_OVERHEAD_BYTES + windowDays * (long) (Long.BYTES + Integer.BYTES));
+        Days current = days;
+        List<String> window = new ArrayList<>(current.bases.length);
+        for (int i = 0; i < current.bases.length; i++) {
+            window.add(LocalDate.ofEpochDay(current.epochDays[i]) + " ≥ " + current.bases[i]);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeUsers", activeUsers);
+        stats.put("days", window);
+        stats.put("bitmaps", bitmaps);
+        stats.put("seenIds", ids);
+        stats.put("memoryBytes", totalBytes);
+        stats.put("bytesPerSeenId", ids == 0 ? 0 : (double) bitmapBytes / ids);
+        stats.put("mbPerMillionUsers", activeUsers == 0 ? 0 : totalBytes * 1_000_000.0 / activeUsers / (1024 * 1024));
+        stats.put("impressions", impressions.sum());
+        stats.put("untracked", untracked.sum());
+        stats.put("scanned", scanned.sum());
+        stats.put("filtered", filtered.sum());
+        stats.put("lastSnapshotAt", lastSnapshotAt);
+        stats.put("lastSnapshotMillis", lastSnapshotMillis);
+        stats.put("lastSnapshotBytes", lastSnapshotBytes);
+        return stats;
+    }
+}
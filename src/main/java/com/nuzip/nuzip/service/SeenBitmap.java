@@ -0,0 +1,174 @@
+package com.nuzip.nuzip.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 하루치 id 공간(0부터 시작하는 오프셋)의 압축 비트맵 (한 사용자, 하루)
+ * - 적게 본 날: 정렬된 char[] (오프셋 < 65536) 또는 int[] → 항목당 2/4바이트
+ * - 많이 본 날: 배열이 같은 범위의 비트셋보다 커지는 순간 long[] 비트셋으로 바꿈 (다시 배열로 돌아가진 않음)
+ * - 스레드 안전하지 않음 (SeenArticleTracker가 사용자 단위로 잠그고 씀)
+ */
+public final class SeenBitmap {
+
+    private static final byte SMALL = 0;
+    private static final byte WIDE = 1;
+    private static final byte BITS = 2;
+
+    private byte kind = SMALL;
+    private char[] small = new char[4];
+    private int[] wide;
+    private long[] bits;
+    private int size;
+
+    public boolean contains(int offset) {
+        return switch (kind) {
+            case SMALL -> offset < 65536 && Arrays.binarySearch(small, 0, size, (char) offset) >= 0;
+            case WIDE -> Arrays.binarySearch(wide, 0, size, offset) >= 0;
+            default -> (offset >>> 6) < bits.length && (bits[offset >>> 6] & (1L << offset)) != 0;
+        };
+    }
+
+    // 새로 추가됐으면 true
+    public boolean add(int offset) {
+        if (kind == BITS) {
+            int word = offset >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, Math.max(word + 1, bits.length + (bits.length >> 1)));
+            }
+            long mask = 1L << offset;
+            if ((bits[word] & mask) != 0) {
+                return false;
+            }
+            bits[word] |= mask;
+            size++;
+            return true;
+        }
+        if (kind == SMALL && offset >= 65536) {
+            toWide();
+        }
+        int pos = kind == SMALL
+                ? Arrays.binarySearch(small, 0, size, (char) offset)
+                : Arrays.binarySearch(wide, 0, size, offset);
+        if (pos >= 0) {
+            return false;
+        }
+        pos = -pos - 1;
+        if (kind == SMALL) {
+            if (size == small.length) {
+                small = Arrays.copyOf(small, size + Math.max(4, size >> 1));
+            }
+            System.arraycopy(small, pos, small, pos + 1, size - pos);
+            small[pos] = (char) offset;
+        } else {
+            if (size == wide.length) {
+                wide = Arrays.copyOf(wide, size + Math.max(4, size >> 1));
+            }
+            System.arraycopy(wide, pos, wide, pos + 1, size - pos);
+            wide[pos] = offset;
+        }
+        size++;
+        if ((long) size * (kind == SMALL ? 2 : 4) > bitsetBytes(max())) {
+            toBits();
+        }
+        return true;
+    }
+
+    public int cardinality() {
+        return size;
+    }
+
+    // 실제로 잡고 있는 배열 바이트 (여유 용량 포함, 객체 헤더 제외)
+    public long sizeInBytes() {
+        return switch (kind) {
+            case SMALL -> small.length * 2L;
+            case WIDE -> wide.length * 4L;
+            default -> bits.length * 8L;
+        };
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeByte(kind);
+        out.writeInt(size);
+        switch (kind) {
+            case SMALL -> {
+                for (int i = 0; i < size; i++) {
+                    out.writeChar(small[i]);
+                }
+            }
+            case WIDE -> {
+                for (int i = 0; i < size; i++) {
+                    out.writeInt(wide[i]);
+                }
+            }
+            default -> {
+                out.writeInt(bits.length);
+                for (long word : bits) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    public static SeenBitmap read(DataInputStream in) throws IOException {
+        SeenBitmap bitmap = new SeenBitmap();
+        byte kind = in.readByte();
+        int size = in.readInt();
+        bitmap.kind = kind;
+        bitmap.size = size;
+        switch (kind) {
+            case SMALL -> {
+                bitmap.small = new char[Math.max(4, size)];
+                for (int i = 0; i < size; i++) {
+                    bitmap.small[i] = in.readChar();
+                }
+            }
+            case WIDE -> {
+                bitmap.small = null;
+                bitmap.wide = new int[Math.max(4, size)];
+                for (int i = 0; i < size; i++) {
+                    bitmap.wide[i] = in.readInt();
+                }
+            }
+            case BITS -> {
+                bitmap.small = null;
+                bitmap.bits = new long[in.readInt()];
+                for (int i = 0; i < bitmap.bits.length; i++) {
+                    bitmap.bits[i] = in.readLong();
+                }
+            }
+            default -> throw new IOException("알 수 없는 비트맵 종류: " + kind);
+        }
+        return bitmap;
+    }
+
+    private int max() {
+        return kind == SMALL ? small[size - 1] : wide[size - 1];
+    }
+
+    private static long bitsetBytes(int maxOffset) {
+        return ((maxOffset >>> 6) + 1) * 8L;
+    }
+
+    private void toWide() {
+        wide = new int[Math.max(4, small.length)];
+        for (int i = 0; i < size; i++) {
+            wide[i] = small[i];
+        }
+        small = null;
+        kind = WIDE;
+    }
+
+    private void toBits() {
+        bits = new long[(max() >>> 6) + 1];
+        for (int i = 0; i < size; i++) {
+            int offset = kind == SMALL ? small[i] : wide[i];
+            bits[offset >>> 6] |= 1L << offset;
+        }
+        small = null;
+        wide = null;
+        kind = BITS;
+    }
+}
@@ -0,0 +1,190 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.ShardContext;
+import com.nuzip.nuzip.domain.ShardRing;
+import com.nuzip.nuzip.domain.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 노드 사이 샤드 링 공유
+ * - 기준 링은 홈 샤드의 shard_ring_state 한 행. 설정(nuzip.sharding.active)은 처음 기록할 때만 쓰임
+ *   → 옛 설정으로 재시작한 노드도 기동 중(요청을 받기 전)에 공유 링으로 맞춤
+ * - ring-poll-ms마다 version을 읽어 바뀌었으면 라우터를 전환하고, shard_ring_nodes에 적용한 version을 보고
+ * - UserResharder는 publish()로 새 링을 올린 뒤 lagging()이 빌 때까지 기다렸다가 옛 샤드를 정리
+ * - 보고가 node-timeout-ms보다 오래된 노드는 내려간 것으로 봄 (다시 뜨면 기동 시 새 링부터 적용)
+ * - 샤딩을 끄면 아무것도 하지 않음
+ *
+ * 엔티티 테이블이 만들어진 뒤(DDL 직후) 초기화되도록 EntityManagerFactory 다음에 생성
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ShardRingSync {
+
+    private static final long STATE_ID = 1L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final long nodeTimeoutMillis;
+    private final String nodeId;
+
+    // 이 노드가 마지막으로 적용한 공유 링 version
+    private volatile long version;
+
+    public ShardRingSync(JdbcTemplate jdbcTemplate,
+                         ShardRouter shardRouter,
+                         @Value("${nuzip.sharding.node-id:}") String nodeId,
+                         @Value("${nuzip.sharding.node-timeout-ms:10000}") long nodeTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.nodeTimeoutMillis = nodeTimeoutMillis;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    @PostConstruct
+    void init() {
+        if (!shardRouter.isSharded()) {
+            return;
+        }
+        try {
+            shardRouter.runOnShard(ShardContext.HOME, () -> jdbcTemplate.update(
+                    "insert into shard_ring_state (id, members, version, updated_at) values (?, ?, 1, ?)",
+                    STATE_ID, join(shardRouter.ring().members()), System.currentTimeMillis()));
+            log.info("🗂️ 공유 샤드 링 기록: {} (version 1)", Arrays.toString(shardRouter.ring().members()));
+        } catch (DuplicateKeyException e) {
+            // 다른 노드가 이미 기록함 → 그 링을 따름
+        }
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${nuzip.sharding.ring-poll-ms:1000}")
+    public void poll() {
+        if (!shardRouter.isSharded()) {
+            return;
+        }
+        try {
+            sync();
+        } catch (DataAccessException e) {
+            log.warn("🗂️ 공유 샤드 링 확인 실패 (다음 주기에 재시도): {}", e.getMessage());
+        }
+    }
+
+    // 공유 링이 바뀌었으면 적용하고 보고
+    synchronized void sync() {
+        Map<String, Object> state = shardRouter.onShard(ShardContext.HOME, () -> jdbcTemplate.queryForMap(
+                "select members, version from shard_ring_state where id = ?", STATE_ID));
+        long shared = ((Number) state.get("version")).longValue();
+        if (shared != version) {
+            ShardRing ring = shardRouter.newRing(parse((String) state.get("members")));
+            if (!Arrays.equals(ring.members(), shardRouter.ring().members())) {
+                shardRouter.switchRing(ring);
+            }
+            version = shared;
+        }
+        report();
+    }
+
+    /**
+     * 새 링을 공유 링으로 올리고 이 노드도 바로 전환 (재분배의 전환 단계)
+     * - 이 노드가 본 version일 때만 올림 → 다른 노드의 재분배와 겹치면 실패
+     * @return 새 version
+     */
+    public synchronized long publish(ShardRing next) {
+        long expected = version;
+        int updated = shardRouter.onShard(ShardContext.HOME, () -> jdbcTemplate.update(
+                "update shard_ring_state set members = ?, version = ?, updated_at = ? where id = ? and version = ?",
+                join(next.members()), expected + 1, System.currentTimeMillis(), STATE_ID, expected));
+        if (updated == 0) {
+            throw new IllegalStateException("공유 샤드 링이 다른 노드에서 바뀌었습니다. 다시 시도하세요.");
+        }
+        shardRouter.switchRing(next);
+        version = expected + 1;
+        report();
+        return version;
+    }
+
+    // 살아 있는 노드 중 target version을 아직 적용하지 않은 노드
+    public List<String> lagging(long target) {
+        long aliveSince = System.currentTimeMillis() - nodeTimeoutMillis;
+        return shardRouter.onShard(ShardContext.HOME, () -> jdbcTemplate.queryForList(
+                "select node_id from shard_ring_nodes where version < ? and seen_at >= ? order by node_id",
+                String.class, target, aliveSince));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("nodeId", nodeId);
+        stats.put("version", version);
+        stats.put("ring", shardRouter.ring().members());
+        return stats;
+    }
+
+    @PreDestroy
+    void leave() {
+        if (!shardRouter.isSharded()) {
+            return;
+        }
+        try {
+            shardRouter.runOnShard(ShardContext.HOME, () ->
+                    jdbcTemplate.update("delete from shard_ring_nodes where node_id = ?", nodeId));
+        } catch (DataAccessException e) {
+            log.warn("🗂️ 노드 보고 삭제 실패 (node-timeout 뒤 무시됨): {}", e.getMessage());
+        }
+    }
+
+    private void report() {
+        long now = System.currentTimeMillis();
+        shardRouter.runOnShard(ShardContext.HOME, () -> {
+            int updated = jdbcTemplate.update(
+                    "update shard_ring_nodes set version = ?, seen_at = ? where node_id = ?", version, now, nodeId);
+            if (updated == 0) {
+                try {
+                    jdbcTemplate.update("insert into shard_ring_nodes (node_id, version, seen_at) values (?, ?, ?)",
+                            nodeId, version, now);
+                } catch (DuplicateKeyException e) {
+                    // 같은 node-id로 동시에 넣음 → 다음 주기에 UPDATE
+                }
+            }
+        });
+    }
+
+    private static String join(int[] members) {
+        return Arrays.stream(members).mapToObj(Integer::toString).collect(Collectors.joining(","));
+    }
+
+    private static List<Integer> parse(String members) {
+        return Arrays.stream(members.split(",")).map(String::trim).map(Integer::parseInt).toList();
+    }
+
+    // 호스트 이름 + pid + 임의값 (같은 호스트에서 여러 노드를 띄워도 겹치지 않게)
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
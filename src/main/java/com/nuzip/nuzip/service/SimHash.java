@@ -0,0 +1,77 @@
+package com.nuzip.nuzip.service;
+
+import java.util.regex.Pattern;
+
+/**
+ * 64비트 SimHash (근접 중복 기사 탐지용 지문)
+ * - 공백/문장부호를 뺀 글자 3-gram(shingle) 단위 → 띄어쓰기가 제각각인 한국어 기사에도 안정적
+ * - 제목 shingle은 가중치 2, 본문은 1. 본문은 앞부분(MAX_CHARS)만 사용해서 비용을 고정
+ * - 두 지문의 해밍 거리가 작을수록 비슷한 글
+ */
+public final class SimHash {
+
+    private static final int MAX_CHARS = 4000;
+    // 재전송마다 달라지는 말머리/꼬리표: [속보], (종합), 【단독】, (끝), <사진> 등
+    private static final Pattern TAGS = Pattern.compile("[\\[(【<][^\\])】>]{1,10}[\\])】>]");
+
+    private SimHash() {
+    }
+
+    public static long fingerprint(String title, String body) {
+        int[] weights = new int[64];
+        addShingles(weights, stripTags(title), 2);
+        addShingles(weights, stripTags(body), 1);
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    static String stripTags(String text) {
+        return text == null ? null : TAGS.matcher(text).replaceAll(" ");
+    }
+
+    public static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    // 문자열을 새로 만들지 않고 앞의 두 글자만 들고 가며 3-gram 해시를 누적
+    private static void addShingles(int[] weights, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        int len = Math.min(text.length(), MAX_CHARS);
+        char c0 = 0, c1 = 0;
+        int seen = 0;
+        for (int i = 0; i < len; i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            if (seen >= 2) {
+                long h = mix(((long) c0 << 32) | ((long) c1 << 16) | c);
+                for (int bit = 0; bit < 64; bit++) {
+                    weights[bit] += ((h >>> bit) & 1L) != 0 ? weight : -weight;
+                }
+            }
+            c0 = c1;
+            c1 = c;
+            seen++;
+        }
+    }
+
+    // MurmurHash3 fmix64: 비슷한 입력도 비트가 고르게 퍼지도록
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
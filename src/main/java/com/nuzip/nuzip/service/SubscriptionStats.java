@@ -0,0 +1,228 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.AuthProvider;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.domain.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 카테고리 구독자 수 실시간 집계 (COUNT 쿼리 없이)
+ * - 칸 = [카테고리][가입 공급자][연령대], 각 칸은 LongAdder (동시 증감에 강함)
+ * - 시작 시 DB GROUP BY 한 번으로 채우고, 이후엔 사용자 변경 트랜잭션의 커밋 직후에만 증감
+ * - 다른 노드에서 일어난 변경, 해가 바뀌어 연령대가 넘어가는 경우 등 누적 오차는 주기적 재집계로 보정
+ * - 연령대는 출생 "연도" 기준 (DB 집계와 같은 기준이어야 보정이 맞음)
+ */
+@Slf4j
+@Component
+public class SubscriptionStats {
+
+    public enum AgeBand {
+        UNDER_20, TWENTIES, THIRTIES, FORTIES, FIFTIES, SIXTIES_PLUS, UNKNOWN;
+
+        static AgeBand of(Integer birthYear, int currentYear) {
+            if (birthYear == null) {
+                return UNKNOWN;
+            }
+            int age = currentYear - birthYear;
+            if (age < 20) return UNDER_20;
+            if (age < 30) return TWENTIES;
+            if (age < 40) return THIRTIES;
+            if (age < 50) return FORTIES;
+            if (age < 60) return FIFTIES;
+            return SIXTIES_PLUS;
+        }
+    }
+
+    // 변경 전/후 비교에 필요한 사용자 속성만 복사해 둔 것
+    public record Profile(Set<NewsCategory> categories, AuthProvider provider, LocalDate birthDate) {
+
+        public static Profile of(User user) {
+            Set<NewsCategory> categories = (user.getNewsCategory() == null || user.getNewsCategory().isEmpty())
+                    ? Set.of()
+                    : Set.copyOf(user.getNewsCategory());
+            return new Profile(categories, user.getProvider(), user.getBirthDate());
+        }
+    }
+
+    private static final int CATEGORIES = NewsCategory.values().length;
+    private static final int PROVIDERS = AuthProvider.values().length;
+    private static final int BANDS = AgeBand.values().length;
+
+    private final UserRepository userRepository;
+
+    // 구독 칸 [category][provider][band] 와 전체 사용자 칸 [provider][band] 를 1차원 배열로
+    private final LongAdder[] subscriptions = newAdders(CATEGORIES * PROVIDERS * BANDS);
+    private final LongAdder[] users = newAdders(PROVIDERS * BANDS);
+
+    private volatile long lastReconciledAt;
+    private final LongAdder driftCorrections = new LongAdder();
+
+    public SubscriptionStats(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+        log.info("📊 구독 통계 초기화 완료: 사용자 {}명", sum(users));
+    }
+
+    /**
+     * 사용자 변경 반영 (현재 트랜잭션이 커밋된 뒤에만 적용, 롤백되면 버림)
+     * @param before 변경 전 (신규 가입이면 null)
+     * @param after  변경 후 (탈퇴면 null)
+     */
+    public void recordChange(Profile before, Profile after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(before, after);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(before, after);
+            }
+        });
+    }
+
+    private void apply(Profile before, Profile after) {
+        int year = Year.now().getValue();
+        if (before != null) {
+            add(before, -1, year);
+        }
+        if (after != null) {
+            add(after, 1, year);
+        }
+    }
+
+    private void add(Profile profile, int delta, int currentYear) {
+        int provider = profile.provider().ordinal();
+        int band = AgeBand.of(profile.birthDate() == null ? null : profile.birthDate().getYear(), currentYear).ordinal();
+        users[userCell(provider, band)].add(delta);
+        for (NewsCategory category : profile.categories()) {
+            subscriptions[subscriptionCell(category.ordinal(), provider, band)].add(delta);
+        }
+    }
+
+    /**
+     * DB와 대조해 오차 보정
+     * - 조회 전후로 값이 그대로인 칸만 DB 값으로 맞춤 (조회 중에 증감이 있었던 칸은 다음 주기로 미룸)
+     */
+    @Scheduled(initialDelayString = "${nuzip.stats.reconcile-interval-ms:600000}",
+            fixedDelayString = "${nuzip.stats.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        long[] subscriptionsBefore = snapshot(subscriptions);
+        long[] usersBefore = snapshot(users);
+
+        int year = Year.now().getValue();
+        long[] subscriptionsDb = new long[subscriptions.length];
+        for (Object[] row : userRepository.countSubscriptionsByCategoryProviderBirthYear()) {
+            int band = AgeBand.of((Integer) row[2], year).ordinal();
+            subscriptionsDb[subscriptionCell(((NewsCategory) row[0]).ordinal(), ((AuthProvider) row[1]).ordinal(), band)]
+                    += (Long) row[3];
+        }
+        long[] usersDb = new long[users.length];
+        for (Object[] row : userRepository.countUsersByProviderBirthYear()) {
+            int band = AgeBand.of((Integer) row[1], year).ordinal();
+            usersDb[userCell(((AuthProvider) row[0]).ordinal(), band)] += (Long) row[2];
+        }
+
+        int corrected = correct(subscriptions, subscriptionsBefore, subscriptionsDb)
+                + correct(users, usersBefore, usersDb);
+        driftCorrections.add(corrected);
+        lastReconciledAt = System.currentTimeMillis();
+        if (corrected > 0) {
+            log.info("📊 구독 통계 보정: {}칸", corrected);
+        }
+    }
+
+    private static int correct(LongAdder[] adders, long[] before, long[] db) {
+        int corrected = 0;
+        for (int i = 0; i < adders.length; i++) {
+            long now = adders[i].sum();
+            if (now == before[i] && now != db[i]) {
+                adders[i].add(db[i] - now);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> categories = new LinkedHashMap<>();
+        for (NewsCategory category : NewsCategory.values()) {
+            long total = 0;
+            Map<String, Long> byProvider = new LinkedHashMap<>();
+            Map<String, Long> byAgeBand = new LinkedHashMap<>();
+            Map<String, Map<String, Long>> matrix = new LinkedHashMap<>();
+            for (AuthProvider provider : AuthProvider.values()) {
+                Map<String, Long> row = new LinkedHashMap<>();
+                for (AgeBand band : AgeBand.values()) {
+                    long n = subscriptions[subscriptionCell(category.ordinal(), provider.ordinal(), band.ordinal())].sum();
+                    total += n;
+                    byProvider.merge(provider.name(), n, Long::sum);
+                    byAgeBand.merge(band.name(), n, Long::sum);
+                    row.put(band.name(), n);
+                }
+                matrix.put(provider.name(), row);
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("total", total);
+            entry.put("byProvider", byProvider);
+            entry.put("byAgeBand", byAgeBand);
+            entry.put("byProviderAndAgeBand", matrix);
+            categories.put(category.name(), entry);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("users", sum(users));
+        stats.put("categories", categories);
+        stats.put("lastReconciledAt", lastReconciledAt);
+        stats.put("driftCorrections", driftCorrections.sum());
+        return stats;
+    }
+
+    private static int subscriptionCell(int category, int provider, int band) {
+        return (category * PROVIDERS + provider) * BANDS + band;
+    }
+
+    private static int userCell(int provider, int band) {
+        return provider * BANDS + band;
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] snapshot(LongAdder[] adders) {
+        long[] values = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            values[i] = adders[i].sum();
+        }
+        return values;
+    }
+
+    private static long sum(LongAdder[] adders) {
+        long total = 0;
+        for (LongAdder a : adders) {
+            total += a.sum();
+        }
+        return total;
+    }
+}
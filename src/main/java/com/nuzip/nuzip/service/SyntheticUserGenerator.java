@@ -0,0 +1,297 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.AuthProvider;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량 사용자 생성 모드 (규모 테스트용)
+ * 실행: ./gradlew bootRun --args='--nuzip.generator.enabled=true --nuzip.generator.users=2000000'
+ *
+ * - 재현 가능: 사용자 i의 모든 값은 (seed, i)와 기준일(epoch)로만 정해짐 → 스레드 수/실행 순서/실행 시각과
+ *   무관하게 같은 데이터 (가입 시각과 생년월일은 기준일에서 거꾸로 계산)
+ * - 한국식 이름, 010 11자리 전화번호, 연령 분포, 공급자 비율, 인기 편중된 카테고리 3개 조합
+ * - 비밀번호 해시는 시작할 때 한 번만 계산해서 모든 계정이 공유 (BCrypt를 N번 돌리지 않음)
+ * - id를 미리 정해 users/user_categories를 청크 단위 JDBC 배치로 여러 스레드가 동시에 INSERT
+ * - 샤딩 시 청크를 사용자 샤드별로 나눠 INSERT, id는 그 샤드의 stride 규칙(k+1 mod stride)을 따름
+ */
+@Slf4j
+@Component
+@Order(Integer.MAX_VALUE) // 다른 초기화(더미 유저 등)가 끝난 뒤
+public class SyntheticUserGenerator implements ApplicationRunner {
+
+    public static final String PASSWORD = "generated-1234";
+
+    private static final String INSERT_USER = "insert into users "
+            + "(id, user_id, password, username, birth_date, phone, provider, created_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY = "insert into user_categories (user_id, category) values (?, ?)";
+
+    // 성씨 (대략적인 인구 비율, 단위 0.1%)
+    private static final String[] SURNAMES =
+            {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임", "한", "오", "서", "신", "권", "황", "안", "송", "류", "홍"};
+    private static final int[] SURNAME_WEIGHTS =
+            {215, 147, 84, 47, 44, 24, 21, 20, 19, 17, 15, 15, 14, 14, 14, 13, 13, 12, 12, 11};
+    private static final String[] GIVEN_SYLLABLES = ("민 서 지 현 준 우 예 하 도 윤 수 연 유 진 시 은 재 성 영 채 다 주 원 호 태 승 혜 경 소 나 "
+            + "정 희 동 훈 석 건 아 린 율 온 빈 규 한 결 찬 용 미 선").split(" ");
+
+    // 카테고리 인기 편중 (정치/경제 쪽이 많음)
+    private static final NewsCategory[] CATEGORIES = {
+            NewsCategory.POLITICS, NewsCategory.ECONOMY, NewsCategory.IT_SCIENCE, NewsCategory.SOCIETY,
+            NewsCategory.SPORTS, NewsCategory.ENTERTAINMENT, NewsCategory.WORLD, NewsCategory.LIFE_CULTURE};
+    private static final double[] CATEGORY_WEIGHTS = {0.20, 0.18, 0.15, 0.12, 0.11, 0.10, 0.08, 0.06};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    private final boolean enabled;
+    private final long users;
+    private final long seed;
+    private final int threads;
+    private final int chunkSize;
+    private final String idPrefix;
+    private final LocalDate epoch;
+    private final boolean exitWhenDone;
+
+    public SyntheticUserGenerator(JdbcTemplate jdbcTemplate,
+                                  ShardRouter shardRouter,
+                                  TransactionTemplate transactionTemplate,
+                                  PasswordEncoder passwordEncoder,
+                                  ConfigurableApplicationContext context,
+                                  @Value("${nuzip.generator.enabled:false}") boolean enabled,
+                                  @Value("${nuzip.generator.users:1000000}") long users,
+                                  @Value("${nuzip.generator.seed:20261019}") long seed,
+                                  @Value("${nuzip.generator.threads:8}") int threads,
+                                  @Value("${nuzip.generator.chunk-size:2000}") int chunkSize,
+                                  @Value("${nuzip.generator.id-prefix:gen}") String idPrefix,
+                                  @Value("${nuzip.generator.epoch:2026-10-19}") String epoch,
+                                  @Value("${nuzip.generator.exit-when-done:true}") boolean exitWhenDone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.enabled = enabled;
+        this.users = users;
+        this.seed = seed;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.idPrefix = idPrefix;
+        this.epoch = LocalDate.parse(epoch);
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!enabled) {
+            return;
+        }
+        if (shardRouter.onShardOf(userId(0), () -> jdbcTemplate.queryForObject(
+                "select count(*) > 0 from users where user_id = ?", Boolean.class, userId(0)))) {
+            throw new IllegalStateException("이미 생성된 데이터가 있습니다 (id-prefix를 바꿔서 실행): " + userId(0));
+        }
+
+        String localHash = passwordEncoder.encode(PASSWORD);
+        String socialHash = passwordEncoder.encode("OAUTH2_USER");
+        // 사용자 i의 id = (base + i) * stride + 샤드 + 1 → 기존 id보다 크고 샤드 규칙을 지킴 (샤딩 안 하면 max + i + 1)
+        int stride = shardRouter.idStride();
+        long maxId = shardRouter.scatter(shard -> jdbcTemplate.queryForObject("select coalesce(max(id), 0) from users", Long.class))
+                .stream().mapToLong(Long::longValue).max().orElse(0);
+        long base = (maxId + stride - 1) / stride;
+        LocalDateTime now = epoch.atStartOfDay();
+
+        log.info("🧪 사용자 {}명 생성 시작 (seed={}, threads={}, chunk={})", users, seed, threads, chunkSize);
+        long start = System.nanoTime();
+        AtomicLong done = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long from = 0; from < users; from += chunkSize) {
+                long chunkFrom = from;
+                long chunkTo = Math.min(users, from + chunkSize);
+                futures.add(pool.submit(() -> {
+                    insertChunk(chunkFrom, chunkTo, base, localHash, socialHash, now);
+                    long total = done.addAndGet(chunkTo - chunkFrom);
+                    if ((total / chunkSize) % 50 == 0) {
+                        log.info("🧪 {}/{} ({}건/초)", total, users,
+                                (long) (total / ((System.nanoTime() - start) / 1e9)));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        resetIdentity(base + users);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("🧪 사용자 {}명 생성 완료: {}초, {}건/초 (비밀번호: {})", users, String.format("%.1f", seconds),
+                (long) (users / seconds), PASSWORD);
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    // 사용자 [from, to) 한 청크 = 샤드별 트랜잭션 하나, users 배치 → user_categories 배치
+    private void insertChunk(long from, long to, long base, String localHash, String socialHash, LocalDateTime now) {
+        List<List<Object[]>> userRows = new ArrayList<>();
+        List<List<Object[]>> categoryRows = new ArrayList<>();
+        for (int k = 0; k < shardRouter.shardCount(); k++) {
+            userRows.add(new ArrayList<>());
+            categoryRows.add(new ArrayList<>());
+        }
+        for (long i = from; i < to; i++) {
+            SplittableRandom random = new SplittableRandom(mix(seed, i));
+            int shard = shardRouter.shardOf(userId(i));
+            long id = (base + i) * shardRouter.idStride() + shard + 1;
+            AuthProvider provider = provider(random);
+            userRows.get(shard).add(new Object[]{
+                    id,
+                    userId(i),
+                    provider == AuthProvider.LOCAL ? localHash : socialHash,
+                    name(random),
+                    birthDate(random, now.toLocalDate()),
+                    random.nextInt(100) < 85 ? phone(random) : null,
+                    provider.name(),
+                    Timestamp.valueOf(now.minusSeconds(random.nextLong(3L * 365 * 24 * 3600)))
+            });
+            // 5%는 카테고리 선택 전(온보딩 미완료)
+            if (random.nextInt(100) >= 5) {
+                for (NewsCategory category : categoryTriplet(random)) {
+                    categoryRows.get(shard).add(new Object[]{id, category.name()});
+                }
+            }
+        }
+        for (int k = 0; k < userRows.size(); k++) {
+            if (userRows.get(k).isEmpty()) {
+                continue;
+            }
+            List<Object[]> users = userRows.get(k);
+            List<Object[]> categories = categoryRows.get(k);
+            shardRouter.runOnShard(k, () -> transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER, users);
+                jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories);
+            }));
+        }
+    }
+
+    // id를 직접 넣었으므로 이후 일반 가입이 충돌하지 않게 자동 증가 값을 맞춤 (MariaDB는 자동으로 맞춰짐)
+    private void resetIdentity(long nextBase) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            for (int k = 0; k < shardRouter.shardCount(); k++) {
+                long nextId = nextBase * shardRouter.idStride() + k + 1;
+                shardRouter.runOnShard(k, () -> jdbcTemplate.execute("alter table users alter column id restart with " + nextId));
+            }
+        }
+    }
+
+    private String userId(long i) {
+        return idPrefix + String.format("%09d", i);
+    }
+
+    private static AuthProvider provider(SplittableRandom random) {
+        int r = random.nextInt(100);
+        if (r < 70) return AuthProvider.LOCAL;
+        if (r < 95) return AuthProvider.OAUTH_GOOGLE;
+        return AuthProvider.OAUTH_NAVER;
+    }
+
+    private static String name(SplittableRandom random) {
+        int r = random.nextInt(sum(SURNAME_WEIGHTS));
+        int s = 0;
+        while (r >= SURNAME_WEIGHTS[s]) {
+            r -= SURNAME_WEIGHTS[s++];
+        }
+        return SURNAMES[s]
+                + GIVEN_SYLLABLES[random.nextInt(GIVEN_SYLLABLES.length)]
+                + GIVEN_SYLLABLES[random.nextInt(GIVEN_SYLLABLES.length)];
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "010" + String.format("%08d", random.nextInt(100_000_000));
+    }
+
+    // 10%는 미입력, 나머지는 20~40대에 몰린 분포 (14~80세)
+    private static Date birthDate(SplittableRandom random, LocalDate today) {
+        if (random.nextInt(100) < 10) {
+            return null;
+        }
+        double age = 34 + 11 * gaussian(random);
+        age = Math.max(14, Math.min(80, age));
+        return Date.valueOf(today.minusDays((long) (age * 365.25)));
+    }
+
+    // 가중치대로 서로 다른 카테고리 3개
+    private static NewsCategory[] categoryTriplet(SplittableRandom random) {
+        NewsCategory[] picked = new NewsCategory[3];
+        boolean[] used = new boolean[CATEGORIES.length];
+        for (int k = 0; k < 3; k++) {
+            double remaining = 0;
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                if (!used[c]) remaining += CATEGORY_WEIGHTS[c];
+            }
+            double r = random.nextDouble() * remaining;
+            int c = -1;
+            for (int j = 0; j < CATEGORIES.length; j++) {
+                if (used[j]) continue;
+                c = j; // 부동소수 오차로 끝까지 가면 마지막 미선택 항목
+                r -= CATEGORY_WEIGHTS[j];
+                if (r < 0) break;
+            }
+            used[c] = true;
+            picked[k] = CATEGORIES[c];
+        }
+        return picked;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller
+        double u = 1 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+
+    private static int sum(int[] values) {
+        int s = 0;
+        for (int v : values) s += v;
+        return s;
+    }
+
+    // (seed, i) → 사용자별 독립 난수 시드
+    private static long mix(long seed, long i) {
+        long z = seed + i * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,516 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검색창 자동완성 (기사 제목 + 제목에 자주 나오는 낱말)
+ * - 후보: 최근 기사 제목 전체 + 2건 이상의 제목에 나온 어절(조사가 붙은 어절은 조사 뗀 형태가 따로 쓰였을 때만 뗌)
+ * - 가중치: 기사마다 최신도(반감기 halfLifeHours) x (1 + ln(1 + 인기 기사 창 안의 조회 수))의 합
+ * - 키: HangulJamo로 풀어쓴 자모 → "삼성ㅈ", "삼서"처럼 입력 중인 상태도 접두어로 맞음
+ *   자모/ASCII는 글자당 1바이트 코드, 그 밖의 글자(한자 등)는 0xFF + 코드 포인트 3바이트로 바꿔 보관
+ *   (간선은 byte 배열 그대로, 서로 다른 글자가 같은 키로 합쳐지지 않음)
+ * - 색인: 자모 키의 radix trie를 원시 배열로 평탄화 (노드마다 자식 구간 + 간선 문자열 + 상위 K개 후보 id)
+ *   → 조회는 키를 따라 내려가 그 노드의 상위 K개를 그대로 돌려줌 (정렬/탐색 없음)
+ * - 후보 id는 가중치 내림차순 번호라 노드의 상위 K개 = 자식들 목록을 작은 번호순으로 합친 앞 K개
+ * - rebuild-ms마다 전용 스레드에서 새로 만들어 volatile 참조 하나로 교체 (조회는 잠금 없음, DB 조회 없음)
+ */
+@Slf4j
+@Component
+@Order(280)
+public class TitleAutocomplete implements ArticleSink {
+
+    private static final double LN2 = Math.log(2);
+    // 자모/ASCII가 아닌 글자 앞에 붙는 코드 (호환 자모 코드는 0x80 + 0x5D까지만 씀)
+    private static final int ESCAPE = 0xFF;
+    private static final String[] PARTICLES = {
+            "에서", "으로", "에게", "까지", "부터", "은", "는", "이", "가", "을", "를", "의", "에", "와", "과", "로", "도", "만"};
+
+    private final int topK;
+    private final int maxTerms;
+    private final double halfLifeMillis;
+    private final TrendingService trendingService;
+
+    // 최근 기사 제목 (id 하위 비트 칸, 본문 없는 기사)
+    private final AtomicReferenceArray<Article> titles;
+    private final int titleMask;
+
+    private volatile Index index = Index.EMPTY;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "autocomplete-builder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private volatile long lastBuildAt;
+    private volatile long lastBuildMillis;
+
+    public TitleAutocomplete(TrendingService trendingService,
+                             @Value("${nuzip.autocomplete.top-k:10}") int topK,
+                             @Value("${nuzip.autocomplete.max-terms:200000}") int maxTerms,
+                             @Value("${nuzip.autocomplete.half-life-hours:24}") double halfLifeHours,
+                             @Value("${nuzip.autocomplete.title-window:32768}") int titleWindow) {
+        this.trendingService = trendingService;
+        this.topK = topK;
+        this.maxTerms = maxTerms;
+        this.halfLifeMillis = halfLifeHours * 3_600_000;
+        int window = Integer.highestOneBit(Math.max(1024, titleWindow - 1)) << 1;
+        this.titles = new AtomicReferenceArray<>(window);
+        this.titleMask = window - 1;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+
+    @Override
+    public void accept(List<Article> batch) {
+        for (Article a : batch) {
+            if (a.getTitle() != null && !a.getTitle().isBlank()) {
+                titles.lazySet((int) (a.getId() & titleMask), Article.builder()
+                        .id(a.getId()).category(a.getCategory()).title(a.getTitle()).publishedAt(a.getPublishedAt())
+                        .build());
+            }
+        }
+    }
+
+    // ===== 조회 (요청 스레드) =====
+
+    public List<String> complete(String prefix, int size) {
+        long start = System.nanoTime();
+        Index current = index;
+        String key = key(prefix);
+        List<String> result = key.isEmpty() ? List.of() : current.complete(key, Math.min(size, topK));
+        lookups.increment();
+        lookupNanos.add(System.nanoTime() - start);
+        return result;
+    }
+
+    // ===== 색인 만들기 (autocomplete-builder 스레드) =====
+
+    @Scheduled(fixedDelayString = "${nuzip.autocomplete.rebuild-ms:60000}",
+            initialDelayString = "${nuzip.autocomplete.initial-delay-ms:10000}")
+    public void scheduleRebuild() {
+        if (building.compareAndSet(false, true)) {
+            builder.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("🔤 자동완성 색인 만들기 실패: {}", e.getMessage(), e);
+                } finally {
+                    building.set(false);
+                }
+            });
+        }
+    }
+
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Article> recent = new ArrayList<>();
+        for (int i = 0; i < titles.length(); i++) {
+            Article a = titles.get(i);
+            if (a != null) {
+                recent.add(a);
+            }
+        }
+
+        // 1) 어절 빈도 (조사 떼기 판단용)
+        Map<String, Integer> bareWords = new HashMap<>();
+        for (Article a : recent) {
+            for (String word : words(cleanTitle(a.getTitle()))) {
+                bareWords.merge(word, 1, Integer::sum);
+            }
+        }
+
+        // 2) 후보별 가중치 (같은 자모 키는 하나로 합침, 표시 문자열은 처음 본 것)
+        Map<String, Candidate> candidates = new HashMap<>();
+        for (Article a : recent) {
+            double age = Math.max(0, start - a.getPublishedAt());
+            double weight = Math.exp(-LN2 * age / halfLifeMillis) * (1 + Math.log1p(trendingService.views(a.getId())));
+            String title = cleanTitle(a.getTitle());
+            add(candidates, title, weight, false);
+            for (String word : words(title)) {
+                add(candidates, stripParticle(word, bareWords), weight, true);
+            }
+        }
+
+        List<Candidate> terms = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates.values()) {
+            if (!c.word || c.count >= 2) {
+                terms.add(c);
+            }
+        }
+        terms.sort(Comparator.comparingDouble((Candidate c) -> c.weight).reversed());
+        if (terms.size() > maxTerms) {
+            terms = new ArrayList<>(terms.subList(0, maxTerms));
+        }
+
+        index = new IndexBuilder(terms, topK).build();
+        lastBuildAt = start;
+        lastBuildMillis = System.currentTimeMillis() - start;
+        log.info("🔤 자동완성 색인 교체: 기사 {}건 → 후보 {}개, 노드 {}개, {}KB, {}ms",
+                recent.size(), index.terms(), index.nodes(), index.bytes() / 1024, lastBuildMillis);
+    }
+
+    private static final class Candidate {
+        final String key;
+        final String text;
+        final boolean word;
+        double weight;
+        int count;
+
+        Candidate(String key, String text, boolean word) {
+            this.key = key;
+            this.text = text;
+            this.word = word;
+        }
+    }
+
+    private static void add(Map<String, Candidate> candidates, String text, double weight, boolean word) {
+        String key = key(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Candidate c = candidates.computeIfAbsent(key, k -> new Candidate(k, text, word));
+        c.weight += weight;
+        c.count++;
+    }
+
+    // 자모 풀어쓰기 → 글자마다 0~255 코드 (ASCII 그대로, 호환 자모 0x80~, 나머지는 0xFF 뒤에 코드 포인트 3바이트)
+    static String key(String text) {
+        String jamo = HangulJamo.decompose(text);
+        StringBuilder codes = new StringBuilder(jamo.length());
+        for (int i = 0; i < jamo.length(); ) {
+            int c = jamo.codePointAt(i);
+            i += Character.charCount(c);
+            if (c < 0x80) {
+                codes.append((char) c);
+            } else if (c >= 'ㄱ' && c <= 'ㆎ') {
+                codes.append((char) (0x80 + c - 'ㄱ'));
+            } else {
+                codes.append((char) ESCAPE)
+                        .append((char) (c >>> 16))
+                        .append((char) ((c >>> 8) & 0xFF))
+                        .append((char) (c & 0xFF));
+            }
+        }
+        return codes.toString();
+    }
+
+    // "[속보]", "(종합)" 같은 머리표 제거
+    private static String cleanTitle(String title) {
+        return title.replaceAll("\\[[^\\]]*\\]|\\([^)]*\\)", " ").replaceAll("\\s+", " ").trim();
+    }
+
+    // 두 글자 이상 어절 (문장부호 기준으로 자름)
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int i = 0;
+        int len = text.length();
+        while (i < len) {
+            while (i < len && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int from = i;
+            while (i < len && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i - from >= 2) {
+                words.add(text.substring(from, i));
+            }
+        }
+        return words;
+    }
+
+    // 조사를 뗀 형태가 다른 제목에 맨몸으로 나왔을 때만 뗌 ("삼성전자가" → "삼성전자", "고양이"는 그대로)
+    private static String stripParticle(String word, Map<String, Integer> bareWords) {
+        for (String particle : PARTICLES) {
+            if (word.length() - particle.length() >= 2 && word.endsWith(particle)) {
+                String stem = word.substring(0, word.length() - particle.length());
+                if (bareWords.containsKey(stem)) {
+                    return stem;
+                }
+            }
+        }
+        return word;
+    }
+
+    /**
+     * 평탄화한 radix trie (불변)
+     * - 노드 n: 간선 (키 코드) = labels[labelStart[n], labelStart[n] + labelLength[n])
+     *          자식 = [firstChild[n], firstChild[n] + childCount[n]) (간선 첫 글자 오름차순)
+     *          상위 후보 = tops[topStart[n], topStart[n + 1]) (후보 id 오름차순 = 가중치 내림차순)
+     * - 후보 문자열은 하나의 char[]에 이어 붙여 보관 (String 객체 없음)
+     */
+    private record Index(byte[] labels, int[] labelStart, char[] labelLength, int[] firstChild, char[] childCount,
+                         int[] topStart, int[] tops, char[] text, int[] textStart, float[] weights) {
+
+        static final Index EMPTY = new Index(new byte[0], new int[]{0}, new char[]{0}, new int[]{1}, new char[]{0},
+                new int[]{0, 0}, new int[0], new char[0], new int[]{0}, new float[0]);
+
+        List<String> complete(String key, int size) {
+            int node = 0;
+            int pos = 0;
+            while (pos < key.length()) {
+                int child = findChild(node, key.charAt(pos));
+                if (child < 0) {
+                    return List.of();
+                }
+                int from = labelStart[child];
+                int len = labelLength[child];
+                int i = 0;
+                while (i < len && pos < key.length()) {
+                    if ((labels[from + i] & 0xFF) != key.charAt(pos)) {
+                        return List.of();
+                    }
+                    i++;
+                    pos++;
+                }
+                node = child;
+            }
+            int end = Math.min(topStart[node + 1], topStart[node] + size);
+            List<String> result = new ArrayList<>(end - topStart[node]);
+            for (int t = topStart[node]; t < end; t++) {
+                int term = tops[t];
+                result.add(new String(text, textStart[term], textStart[term + 1] - textStart[term]));
+            }
+            return result;
+        }
+
+        private int findChild(int node, char c) {
+            int lo = firstChild[node];
+            int hi = lo + childCount[node] - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int first = labels[labelStart[mid]] & 0xFF;
+                if (first < c) {
+                    lo = mid + 1;
+                } else if (first > c) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        int terms() {
+            return weights.length;
+        }
+
+        int nodes() {
+            return labelStart.length;
+        }
+
+        long bytes() {
+            return labels.length + labelStart.length * 4L + labelLength.length * 2L + firstChild.length * 4L
+                    + childCount.length * 2L + topStart.length * 4L + tops.length * 4L
+                    + text.length * 2L + textStart.length * 4L + weights.length * 4L;
+        }
+    }
+
+    // 가중치 내림차순 후보 목록 → Index (노드는 자식끼리 연속되도록 부모가 한꺼번에 번호를 잡음)
+    private static final class IndexBuilder {
+        private final List<Candidate> terms;
+        private final int topK;
+        private final String[] keys;   // 키 사전순
+        private final int[] termOfKey; // 키 순번 → 후보 id
+
+        private byte[] labels = new byte[1 << 16];
+        private int labelsLength;
+        private int[] labelStart = new int[1024];
+        private char[] labelLength = new char[1024];
+        private int[] firstChild = new int[1024];
+        private char[] childCount = new char[1024];
+        private int[][] topsOfNode = new int[1024][];
+        private int nodes;
+
+        IndexBuilder(List<Candidate> terms, int topK) {
+            this.terms = terms;
+            this.topK = topK;
+            Integer[] order = new Integer[terms.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> terms.get(i).key));
+            keys = new String[order.length];
+            termOfKey = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = terms.get(order[i]).key;
+                termOfKey[i] = order[i];
+            }
+        }
+
+        Index build() {
+            allocate(1);
+            node(0, 0, keys.length, 0);
+
+            int[] topStart = new int[nodes + 1];
+            int total = 0;
+            for (int n = 0; n < nodes; n++) {
+                topStart[n] = total;
+                total += topsOfNode[n].length;
+            }
+            topStart[nodes] = total;
+            int[] tops = new int[total];
+            for (int n = 0; n < nodes; n++) {
+                System.arraycopy(topsOfNode[n], 0, tops, topStart[n], topsOfNode[n].length);
+            }
+
+            int textLength = 0;
+            for (Candidate c : terms) {
+                textLength += c.text.length();
+            }
+            char[] text = new char[textLength];
+            int[] textStart = new int[terms.size() + 1];
+            float[] weights = new float[terms.size()];
+            int at = 0;
+            for (int i = 0; i < terms.size(); i++) {
+                Candidate c = terms.get(i);
+                textStart[i] = at;
+                c.text.getChars(0, c.text.length(), text, at);
+                at += c.text.length();
+                weights[i] = (float) c.weight;
+            }
+            textStart[terms.size()] = at;
+
+            return new Index(Arrays.copyOf(labels, labelsLength), Arrays.copyOf(labelStart, nodes), Arrays.copyOf(labelLength, nodes),
+                    Arrays.copyOf(firstChild, nodes), Arrays.copyOf(childCount, nodes),
+                    topStart, tops, text, textStart, weights);
+        }
+
+        private int allocate(int count) {
+            int first = nodes;
+            nodes += count;
+            if (nodes > labelStart.length) {
+                int capacity = Math.max(nodes, labelStart.length * 2);
+                labelStart = Arrays.copyOf(labelStart, capacity);
+                labelLength = Arrays.copyOf(labelLength, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                childCount = Arrays.copyOf(childCount, capacity);
+                topsOfNode = Arrays.copyOf(topsOfNode, capacity);
+            }
+            return first;
+        }
+
+        // node의 간선까지 depth 글자를 먹은 상태에서 keys[lo, hi)로 아래를 채우고 그 노드의 상위 후보를 돌려줌
+        private int[] node(int node, int lo, int hi, int depth) {
+            int terminal = -1;
+            if (lo < hi && keys[lo].length() == depth) {
+                terminal = termOfKey[lo];
+                lo++;
+            }
+            List<int[]> groups = new ArrayList<>();
+            for (int i = lo; i < hi; ) {
+                char c = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < hi && keys[j].charAt(depth) == c) {
+                    j++;
+                }
+                groups.add(new int[]{i, j});
+                i = j;
+            }
+            int first = allocate(groups.size());
+            firstChild[node] = first;
+            childCount[node] = (char) groups.size();
+            int[][] childTops = new int[groups.size()][];
+            for (int g = 0; g < groups.size(); g++) {
+                int glo = groups.get(g)[0];
+                int ghi = groups.get(g)[1];
+                // 정렬돼 있으므로 구간의 공통 접두어 = 처음과 마지막 키의 공통 접두어
+                String a = keys[glo];
+                String b = keys[ghi - 1];
+                int end = depth + 1;
+                while (end < a.length() && end < b.length() && a.charAt(end) == b.charAt(end)) {
+                    end++;
+                }
+                int child = first + g;
+                labelStart[child] = labelsLength;
+                labelLength[child] = (char) (end - depth);
+                if (labelsLength + end - depth > labels.length) {
+                    labels = Arrays.copyOf(labels, Math.max(labelsLength + end - depth, labels.length * 2));
+                }
+                for (int i = depth; i < end; i++) {
+                    labels[labelsLength++] = (byte) a.charAt(i);
+                }
+                childTops[g] = node(child, glo, ghi, end);
+            }
+            int[] tops = merge(terminal, childTops);
+            topsOfNode[node] = tops;
+            return tops;
+        }
+
+        // 작은 id(무거운 후보)부터 topK개
+        private int[] merge(int terminal, int[][] lists) {
+            int[] merged = new int[topK];
+            int n = 0;
+            int[] pos = new int[lists.length];
+            boolean terminalUsed = terminal < 0;
+            while (n < topK) {
+                int best = -1;
+                int bestId = Integer.MAX_VALUE;
+                for (int l = 0; l < lists.length; l++) {
+                    if (pos[l] < lists[l].length && lists[l][pos[l]] < bestId) {
+                        bestId = lists[l][pos[l]];
+                        best = l;
+                    }
+                }
+                if (!terminalUsed && terminal < bestId) {
+                    merged[n++] = terminal;
+                    terminalUsed = true;
+                    continue;
+                }
+                if (best < 0) {
+                    break;
+                }
+                merged[n++] = bestId;
+                pos[best]++;
+            }
+            return Arrays.copyOf(merged, n);
+        }
+    }
+
+    // ===== 통계 =====
+
+    public Map<String, Object> stats() {
+        Index current = index;
+        // 같은 기능을 HashMap<String, List<String>>(접두어 → 상위 K개)로 만들면: trie의 간선 글자 하나가 접두어 하나
+        // (항목 32 + String 40 + 키 글자 평균 20자 40 + ArrayList 40 + 목록 K칸 4씩, 후보 문자열은 공유한다고 보고 제외)
+        long prefixes = current.labels().length;
+        long hashMapBytes = prefixes * (32 + 40 + 40 + 40 + 4L * topK);
+        long n = lookups.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("terms", current.terms());
+        stats.put("nodes", current.nodes());
+        stats.put("indexBytes", current.bytes());
+        stats.put("prefixHashMapBytesEstimate", hashMapBytes);
+        stats.put("ratioToHashMap", hashMapBytes == 0 ? 0 : (double) current.bytes() / hashMapBytes);
+        stats.put("lookups", n);
+        stats.put("avgLookupMicros", n == 0 ? 0 : lookupNanos.sum() / n / 1000.0);
+        stats.put("lastBuildAt", lastBuildAt);
+        stats.put("lastBuildMillis", lastBuildMillis);
+        return stats;
+    }
+}
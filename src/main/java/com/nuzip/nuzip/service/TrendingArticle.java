@@ -0,0 +1,13 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+
+// 카테고리별 인기 기사 한 건 (창 안의 추정 조회 수 포함, count-min 추정이라 실제보다 조금 클 수 있음)
+public record TrendingArticle(long articleId,
+                              NewsCategory category,
+                              String title,
+                              String url,
+                              String source,
+                              long publishedAt,
+                              long views) {
+}
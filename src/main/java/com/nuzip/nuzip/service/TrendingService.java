@@ -0,0 +1,440 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.dto.ReadEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 카테고리별 실시간 인기 기사 (슬라이딩 윈도우 heavy hitters)
+ * - 시간 버킷(bucketSeconds)마다 카테고리별 count-min sketch(depth x width int 카운터) + 크기 고정 heavy hitter 후보표
+ * - 요청 스레드: 해시 depth번 → AtomicIntegerArray 증가 (잠금 없음). 후보표는 건드리지 않고,
+ *   추정치가 입장 기준(가득 찬 후보표의 최소 추정치)을 넘으면 표본(1, 2, 4, 8, 그 뒤 16회마다)만 대기 링에 id를 씀
+ *   → 대기 링은 칸 번호 getAndIncrement + 쓰기 한 번, 덮어써도 되는 손실 허용 버퍼
+ * - 대기 링이 절반 찰 때마다 그 요청 스레드가 tryLock으로 비우고(못 잡으면 그냥 지나감), 갱신 때도 전부 비움
+ *   비울 때 후보 추정치를 sketch에서 다시 읽고, 후보표가 차면 추정치가 가장 작은 후보보다 클 때만 그 자리를 차지
+ *   (버킷·카테고리당 메모리는 기사 수와 무관)
+ * - 버킷은 windowBuckets + 1칸 링을 돌려 씀. 갱신 스레드가 다음 차례 칸을 미리 비워 둬서 창이 밀릴 때 다시 훑지 않음
+ * - 갱신(refresh-ms마다): 창 안 버킷들의 후보를 sketch로 추정(버킷별 최소값의 합) → 크기 K 최소 힙 → 불변 스냅샷 교체
+ * - 조회는 마지막 스냅샷만 읽음
+ */
+@Component
+@Order(260)
+public class TrendingService implements ArticleSink {
+
+    private static final NewsCategory[] CATEGORIES = NewsCategory.values();
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L};
+    private static final int RESAMPLE_MASK = 15;
+
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final int depth;
+    private final int widthMask;
+    private final int topK;
+    private final int candidates;
+    private final int pendingMask;
+
+    private final Bucket[] ring;
+    // 최근 기사 id → 본문 뺀 기사 (id 하위 비트 칸, 다른 기사가 덮으면 모르는 기사로 취급)
+    private final AtomicReferenceArray<Article> articles;
+    private final int articleMask;
+
+    private volatile Map<NewsCategory, Snapshot> snapshots = Map.of();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder droppedUnknownArticle = new LongAdder();
+    private volatile long lastRefreshMillis;
+
+    // 한 카테고리의 인기 목록 (불변)
+    public record Snapshot(List<TrendingArticle> items, long generatedAt, long windowMillis) {
+    }
+
+    // 한 시간 버킷: 카테고리별 sketch + 후보 대기 링 + heavy hitter 후보 (후보표와 비운 위치는 lock 안에서만)
+    private final class Bucket {
+        volatile long epoch = -1;
+        final AtomicIntegerArray[] sketches = new AtomicIntegerArray[CATEGORIES.length];
+        final AtomicLongArray[] pending = new AtomicLongArray[CATEGORIES.length];
+        final AtomicLong[] pendingCursors = new AtomicLong[CATEGORIES.length];
+        final long[] drained = new long[CATEGORIES.length];
+        // 카테고리별 입장 기준 (이 값 이하 추정치는 대기 링에 쓰지 않음, 후보표가 덜 찼으면 0)
+        final AtomicIntegerArray admits = new AtomicIntegerArray(CATEGORIES.length);
+        final Candidates[] hitters = new Candidates[CATEGORIES.length];
+        final ReentrantLock lock = new ReentrantLock();
+
+        Bucket() {
+            for (int c = 0; c < CATEGORIES.length; c++) {
+                sketches[c] = new AtomicIntegerArray(depth * (widthMask + 1));
+                pending[c] = new AtomicLongArray(pendingMask + 1);
+                pendingCursors[c] = new AtomicLong();
+                hitters[c] = new Candidates(candidates);
+            }
+        }
+
+        // 새 epoch용으로 비움 (갱신 스레드가 미리, 또는 못 했으면 처음 쓰는 요청 스레드가)
+        void resetTo(long nextEpoch) {
+            lock.lock();
+            try {
+                if (epoch == nextEpoch) {
+                    return;
+                }
+                for (int c = 0; c < CATEGORIES.length; c++) {
+                    AtomicIntegerArray sketch = sketches[c];
+                    for (int i = 0; i < sketch.length(); i++) {
+                        sketch.lazySet(i, 0);
+                    }
+                    hitters[c].clear();
+                    drained[c] = pendingCursors[c].get(); // 지난 epoch에 쓰인 대기 id는 버림
+                    admits.set(c, 0);
+                }
+                epoch = nextEpoch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 요청 스레드: 대기 링에 쓰고, 절반을 채운 스레드만 비우기를 시도 (다른 스레드가 잡고 있으면 기다리지 않음)
+        void enqueue(int category, long articleId) {
+            long at = pendingCursors[category].getAndIncrement();
+            pending[category].set((int) (at & pendingMask), articleId);
+            int half = pendingMask >>> 1;
+            if ((at & half) == half && lock.tryLock()) {
+                try {
+                    drain(category);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        // 갱신 스레드: 남은 대기 id를 반영한 후보 목록
+        long[] candidateIds(int category) {
+            lock.lock();
+            try {
+                drain(category);
+                return hitters[category].ids();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int candidateCount() {
+            lock.lock();
+            try {
+                int n = 0;
+                for (Candidates h : hitters) {
+                    n += h.size;
+                }
+                return n;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // lock 안에서: 후보 추정치를 sketch에서 다시 읽고, 마지막으로 비운 뒤 쓰인 id(링 한 바퀴까지)를 후보표에 반영
+        private void drain(int category) {
+            Candidates h = hitters[category];
+            for (int i = 0; i < h.size; i++) {
+                h.counts[i] = estimate(category, h.ids[i]);
+            }
+            h.findMin();
+            long end = pendingCursors[category].get();
+            for (long at = Math.max(drained[category], end - pendingMask - 1); at < end; at++) {
+                long articleId = pending[category].get((int) (at & pendingMask));
+                int estimate = articleId == 0 ? 0 : estimate(category, articleId);
+                if (estimate > 0) { // 0이면 아직 안 쓰인 칸이거나 비운 뒤 늦게 들어온 지난 epoch의 id
+                    h.offer(articleId, estimate);
+                }
+            }
+            drained[category] = end;
+            admits.set(category, h.size == h.ids.length ? h.counts[h.minSlot] : 0);
+        }
+
+        int estimate(int category, long articleId) {
+            AtomicIntegerArray sketch = sketches[category];
+            int min = Integer.MAX_VALUE;
+            for (int d = 0; d < depth; d++) {
+                min = Math.min(min, sketch.get(slot(d, articleId)));
+            }
+            return min;
+        }
+    }
+
+    // 버킷 하나·카테고리 하나의 후보표 (추정치가 가장 작은 후보 자리를 기억해 두고 더 큰 추정치가 오면 교체)
+    // 버킷 lock 안에서만 접근 → 자체 동기화 없음
+    private static final class Candidates {
+        final long[] ids;
+        final int[] counts;
+        int size;
+        int minSlot;
+
+        Candidates(int capacity) {
+            ids = new long[capacity];
+            counts = new int[capacity];
+        }
+
+        void offer(long articleId, int estimate) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == articleId) {
+                    counts[i] = estimate;
+                    if (i == minSlot) {
+                        findMin();
+                    }
+                    return;
+                }
+            }
+            if (size < ids.length) {
+                ids[size] = articleId;
+                counts[size] = estimate;
+                if (size == 0 || estimate < counts[minSlot]) {
+                    minSlot = size;
+                }
+                size++;
+            } else if (estimate > counts[minSlot]) {
+                ids[minSlot] = articleId;
+                counts[minSlot] = estimate;
+                findMin();
+            }
+        }
+
+        private void findMin() {
+            int min = 0;
+            for (int i = 1; i < size; i++) {
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+            minSlot = min;
+        }
+
+        long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        void clear() {
+            size = 0;
+            minSlot = 0;
+        }
+    }
+
+    public TrendingService(@Value("${nuzip.trending.bucket-seconds:300}") int bucketSeconds,
+                           @Value("${nuzip.trending.window-buckets:12}") int windowBuckets,
+                           @Value("${nuzip.trending.depth:4}") int depth,
+                           @Value("${nuzip.trending.width:4096}") int width,
+                           @Value("${nuzip.trending.top-k:20}") int topK,
+                           @Value("${nuzip.trending.candidates:128}") int candidates,
+                           @Value("${nuzip.trending.article-window:65536}") int articleWindow) {
+        this.bucketMillis = bucketSeconds * 1000L;
+        this.windowBuckets = windowBuckets;
+        this.depth = Math.min(depth, SEEDS.length);
+        int w = Integer.highestOneBit(Math.max(64, width - 1)) << 1;
+        this.widthMask = w - 1;
+        this.topK = topK;
+        this.candidates = Math.max(topK, candidates);
+        // 대기 링: 후보표의 4배 이상 2의 거듭제곱 (절반마다 비우므로 비우기 한 번에 후보표 두 배 분량)
+        this.pendingMask = (Integer.highestOneBit(Math.max(64, this.candidates * 4 - 1)) << 1) - 1;
+        this.ring = new Bucket[windowBuckets + 1];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new Bucket();
+        }
+        int window = Integer.highestOneBit(Math.max(1024, articleWindow - 1)) << 1;
+        this.articles = new AtomicReferenceArray<>(window);
+        this.articleMask = window - 1;
+    }
+
+    // 새 기사를 조회 가능한 기사로 기억 (본문은 빼고)
+    @Override
+    public void accept(List<Article> batch) {
+        for (Article a : batch) {
+            articles.lazySet((int) (a.getId() & articleMask), Article.builder()
+                    .id(a.getId()).category(a.getCategory()).title(a.getTitle()).summary(a.getSummary())
+                    .url(a.getUrl()).source(a.getSource()).publishedAt(a.getPublishedAt())
+                    .build());
+        }
+    }
+
+    // ===== 기록 (요청 스레드) =====
+
+    // 읽기 이벤트 중 클릭만 조회 1회로 셈
+    public void recordViews(List<ReadEventDto> events) {
+        if (events == null) {
+            return;
+        }
+        for (ReadEventDto event : events) {
+            if ("CLICK".equalsIgnoreCase(event.getType())) {
+                recordView(event.getArticleId());
+            }
+        }
+    }
+
+    public void recordView(long articleId) {
+        recordView(articleId, System.currentTimeMillis());
+    }
+
+    void recordView(long articleId, long now) {
+        Article article = articles.get((int) (articleId & articleMask));
+        if (article == null || article.getId() != articleId) {
+            droppedUnknownArticle.increment();
+            return;
+        }
+        int category = article.getCategory().ordinal();
+        Bucket bucket = current(now / bucketMillis);
+        AtomicIntegerArray sketch = bucket.sketches[category];
+        int estimate = Integer.MAX_VALUE;
+        for (int d = 0; d < depth; d++) {
+            estimate = Math.min(estimate, sketch.incrementAndGet(slot(d, articleId)));
+        }
+        if (estimate > bucket.admits.get(category) && sampled(estimate)) {
+            bucket.enqueue(category, articleId);
+        }
+        recorded.increment();
+    }
+
+    // 1, 2, 4, 8, 16 그리고 그 뒤 16회마다 → 인기 기사도 대기 링에는 드물게, 새 기사는 첫 조회에 바로
+    private static boolean sampled(int estimate) {
+        return (estimate & (estimate - 1)) == 0 || (estimate & RESAMPLE_MASK) == 0;
+    }
+
+    private Bucket current(long epoch) {
+        Bucket bucket = ring[(int) (epoch % ring.length)];
+        if (bucket.epoch != epoch) {
+            bucket.resetTo(epoch); // 보통은 갱신 스레드가 미리 비워 둠
+        }
+        return bucket;
+    }
+
+    // ===== 갱신 =====
+
+    @Scheduled(fixedDelayString = "${nuzip.trending.refresh-ms:5000}")
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    void refresh(long start) {
+        long epoch = start / bucketMillis;
+        // 다음 차례 칸(창에서 막 빠진 가장 오래된 버킷)을 미리 비워 둠
+        Bucket next = ring[(int) ((epoch + 1) % ring.length)];
+        if (next.epoch != epoch + 1) {
+            next.resetTo(epoch + 1);
+        }
+
+        List<Bucket> window = new ArrayList<>(windowBuckets);
+        for (long e = epoch - windowBuckets + 1; e <= epoch; e++) {
+            Bucket bucket = ring[(int) (e % ring.length)];
+            if (bucket.epoch == e) {
+                window.add(bucket);
+            }
+        }
+
+        Map<NewsCategory, Snapshot> built = new EnumMap<>(NewsCategory.class);
+        for (NewsCategory category : CATEGORIES) {
+            int c = category.ordinal();
+            PriorityQueue<long[]> heap = new PriorityQueue<>(topK + 1, Comparator.comparingLong(e -> e[1]));
+            Set<Long> visited = new HashSet<>();
+            for (Bucket bucket : window) {
+                for (long articleId : bucket.candidateIds(c)) {
+                    if (!visited.add(articleId)) {
+                        continue;
+                    }
+                    long views = 0;
+                    for (Bucket b : window) {
+                        views += b.estimate(c, articleId);
+                    }
+                    if (heap.size() < topK) {
+                        heap.add(new long[]{articleId, views});
+                    } else if (views > heap.peek()[1]) {
+                        heap.poll();
+                        heap.add(new long[]{articleId, views});
+                    }
+                }
+            }
+            List<long[]> top = new ArrayList<>(heap);
+            top.sort(Comparator.comparingLong((long[] e) -> e[1]).reversed());
+            List<TrendingArticle> items = new ArrayList<>(top.size());
+            for (long[] entry : top) {
+                Article a = articles.get((int) (entry[0] & articleMask));
+                if (a != null && a.getId() == entry[0]) {
+                    items.add(new TrendingArticle(a.getId(), a.getCategory(), a.getTitle(), a.getUrl(),
+                            a.getSource(), a.getPublishedAt(), entry[1]));
+                }
+            }
+            built.put(category, new Snapshot(List.copyOf(items), start, windowBuckets * bucketMillis));
+        }
+        snapshots = built;
+        lastRefreshMillis = Math.max(0, System.currentTimeMillis() - start);
+    }
+
+    // 한 기사의 창 안 추정 조회 수 (자동완성 가중치 등에 사용, 모르는 기사면 0, sketch라 실제보다 작지는 않음)
+    public long views(long articleId) {
+        return views(articleId, System.currentTimeMillis());
+    }
+
+    long views(long articleId, long now) {
+        Article article = articles.get((int) (articleId & articleMask));
+        if (article == null || article.getId() != articleId) {
+            return 0;
+        }
+        int c = article.getCategory().ordinal();
+        long epoch = now / bucketMillis;
+        long views = 0;
+        for (long e = epoch - windowBuckets + 1; e <= epoch; e++) {
+            Bucket bucket = ring[(int) (e % ring.length)];
+            if (bucket.epoch == e) {
+                views += bucket.estimate(c, articleId);
+            }
+        }
+        return views;
+    }
+
+    public Snapshot trending(NewsCategory category) {
+        Snapshot snapshot = snapshots.get(category);
+        return snapshot != null ? snapshot : new Snapshot(List.of(), 0, windowBuckets * bucketMillis);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("recorded", recorded.sum());
+        stats.put("droppedUnknownArticle", droppedUnknownArticle.sum());
+        stats.put("bucketSeconds", bucketMillis / 1000);
+        stats.put("windowBuckets", windowBuckets);
+        stats.put("sketchBytes", (long) ring.length * CATEGORIES.length * depth * (widthMask + 1) * Integer.BYTES);
+        long inUse = 0;
+        for (Bucket bucket : ring) {
+            inUse += bucket.candidateCount();
+        }
+        stats.put("candidates", inUse);
+        stats.put("candidateBytes", (long) ring.length * CATEGORIES.length * candidates * (Long.BYTES + Integer.BYTES));
+        stats.put("pendingBytes", (long) ring.length * CATEGORIES.length * (pendingMask + 1) * Long.BYTES);
+        stats.put("lastRefreshMillis", lastRefreshMillis);
+        return stats;
+    }
+
+    private int slot(int row, long articleId) {
+        long h = (articleId ^ SEEDS[row]) * 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return row * (widthMask + 1) + (int) (h & widthMask);
+    }
+}
@@ -0,0 +1,144 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 마지막 로그인/접속 시각 지연 기록 (write-behind)
+ * - 요청마다 DB UPDATE를 하지 않고 메모리 맵에 userId → 최신 시각만 남김 (같은 사용자의 연속 기록은 하나로 합쳐짐)
+ * - flushIntervalMillis마다 모아서 JDBC 배치 UPDATE → DB 값은 최대 그만큼 늦음
+ * - 종료 시(@PreDestroy) 남은 것까지 기록, DB 오류 시엔 다시 맵에 돌려놓고 다음 주기에 재시도
+ * - 시각이 뒤로 가지 않도록 UPDATE는 기존 값보다 클 때만 반영
+ * - 샤딩 시 사용자 샤드별로 나눠서 배치
+ */
+@Slf4j
+@Component
+public class UserActivityTracker {
+
+    private static final String UPDATE_LAST_SEEN =
+            "update users set last_seen_at = ? where user_id = ? and (last_seen_at is null or last_seen_at < ?)";
+    private static final String UPDATE_LAST_LOGIN =
+            "update users set last_login_at = ? where user_id = ? and (last_login_at is null or last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<String, Long> pendingSeen = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> pendingLogin = new ConcurrentHashMap<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private volatile long lastFlushAt;
+    private volatile long lastFlushMillis;
+
+    public UserActivityTracker(JdbcTemplate jdbcTemplate,
+                               ShardRouter shardRouter,
+                               @Value("${nuzip.activity.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    // 인증된 요청마다 호출 (메모리만 갱신)
+    public void recordSeen(String userId) {
+        pendingSeen.merge(userId, System.currentTimeMillis(), Math::max);
+        recorded.increment();
+    }
+
+    // 로그인 성공 시 호출 (로그인도 접속으로 침)
+    public void recordLogin(String userId) {
+        long now = System.currentTimeMillis();
+        pendingLogin.merge(userId, now, Math::max);
+        pendingSeen.merge(userId, now, Math::max);
+        recorded.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${nuzip.activity.flush-interval-ms:10000}")
+    public void flush() {
+        long start = System.currentTimeMillis();
+        int n = flush(pendingSeen, UPDATE_LAST_SEEN) + flush(pendingLogin, UPDATE_LAST_LOGIN);
+        lastFlushAt = start;
+        lastFlushMillis = System.currentTimeMillis() - start;
+        if (n > 0) {
+            log.debug("접속 기록 반영: {}건, {}ms", n, lastFlushMillis);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private int flush(ConcurrentHashMap<String, Long> pending, String sql) {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        // 키 단위로 꺼내서 비움 (꺼낸 뒤 들어온 기록은 새 항목으로 남아 다음 주기에 반영), 샤드별로 모음
+        Map<Integer, List<Object[]>> rowsByShard = new HashMap<>();
+        for (String userId : pending.keySet()) {
+            Long at = pending.remove(userId);
+            if (at != null) {
+                Timestamp ts = toTimestamp(at);
+                rowsByShard.computeIfAbsent(shardRouter.shardOf(userId), k -> new ArrayList<>())
+                        .add(new Object[]{ts, userId, ts});
+            }
+        }
+
+        int total = 0;
+        for (Map.Entry<Integer, List<Object[]>> entry : rowsByShard.entrySet()) {
+            total += shardRouter.onShard(entry.getKey(), () -> flush(pending, sql, entry.getValue()));
+        }
+        return total;
+    }
+
+    private int flush(ConcurrentHashMap<String, Long> pending, String sql, List<Object[]> rows) {
+        int done = 0;
+        try {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+                done = Math.min(rows.size(), from + batchSize);
+            }
+        } catch (RuntimeException e) {
+            // 못 쓴 것은 되돌려 놓음 (그 사이 더 최신 기록이 들어왔으면 그쪽 유지)
+            for (Object[] row : rows.subList(done, rows.size())) {
+                pending.merge((String) row[1], ((Timestamp) row[0]).getTime(), Math::max);
+            }
+            log.warn("접속 기록 반영 실패, 다음 주기에 재시도: {}건", rows.size() - done, e);
+        }
+        written.add(done);
+        return done;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingSeen", pendingSeen.size());
+        stats.put("pendingLogin", pendingLogin.size());
+        stats.put("recorded", recorded.sum());
+        stats.put("written", written.sum());
+        stats.put("lastFlushAt", lastFlushAt);
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+
+    private static Timestamp toTimestamp(long epochMillis) {
+        return Timestamp.valueOf(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault()));
+    }
+}
@@ -0,0 +1,406 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.ShardRouter;
+import com.nuzip.nuzip.dto.ReadEventDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 클릭/체류 이벤트 → 사용자별 카테고리 관심도
+ * - 요청 스레드: 기사 id → 카테고리 변환(최근 기사 링), 가중치 계산 후 묶음 하나를 큐에 넣고 끝 (DB 접근 없음)
+ * - 집계 스레드 하나: 큐를 모아서 사용자별 float[카테고리 수](NewsCategory.ordinal() 인덱스)에 반감기 감쇠 누적,
+ *   flushIntervalMillis마다 바뀐 만큼(delta)만 JDBC 배치 upsert
+ * - DB upsert는 "기존 값 감쇠 + delta"를 SQL에서 계산 → 여러 노드가 같은 사용자를 동시에 써도 합쳐짐
+ * - 메모리에 없는 사용자는 집계 스레드가 샤드별 IN 조회 한 번으로 모아서 불러옴
+ * - 점수 조회(피드 정렬)는 마지막으로 게시된 배열을 읽기만 함 (잠금 없음)
+ */
+@Slf4j
+@Service
+@Order(250)
+public class UserAffinityService implements ArticleSink {
+
+    private static final int CATEGORIES = NewsCategory.values().length;
+
+    private static final String UPSERT = "insert into user_category_affinity (user_id, category, score, decayed_at) "
+            + "values (?, ?, ?, ?) on duplicate key update "
+            + "score = score * exp((decayed_at - greatest(decayed_at, values(decayed_at))) * ?) "
+            + "+ values(score) * exp((values(decayed_at) - greatest(decayed_at, values(decayed_at))) * ?), "
+            + "decayed_at = greatest(decayed_at, values(decayed_at))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final double decayPerMilli;   // ln2 / 반감기
+    private final long flushIntervalMillis;
+    private final long idleMillis;
+    private final int maxBatch;
+    private final int flushBatchSize;
+    private final double rankBoost;
+
+    // 최근 기사 id → 카테고리: (id << 4) | (ordinal + 1)을 id 하위 비트 칸에 저장
+    private final AtomicLongArray articleCategories;
+    private final int articleMask;
+
+    private final BlockingQueue<EventBatch> queue;
+    private final ConcurrentHashMap<String, Affinity> affinities = new ConcurrentHashMap<>();
+    private final Thread aggregator;
+    private volatile boolean running = true;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder droppedUnknownArticle = new LongAdder();
+    private final LongAdder droppedQueueFull = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private volatile long lastFlushAt;
+    private volatile long lastFlushMillis;
+
+    public UserAffinityService(JdbcTemplate jdbcTemplate,
+                               ShardRouter shardRouter,
+                               @Value("${nuzip.affinity.half-life-hours:72}") double halfLifeHours,
+                               @Value("${nuzip.affinity.flush-interval-ms:5000}") long flushIntervalMillis,
+                               @Value("${nuzip.affinity.idle-evict-ms:1800000}") long idleMillis,
+                               @Value("${nuzip.affinity.queue-capacity:20000}") int queueCapacity,
+                               @Value("${nuzip.affinity.max-batch:200}") int maxBatch,
+                               @Value("${nuzip.affinity.flush-batch-size:1000}") int flushBatchSize,
+                               @Value("${nuzip.affinity.article-window:262144}") int articleWindow,
+                               @Value("${nuzip.affinity.rank-boost:2.0}") double rankBoost) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.decayPerMilli = Math.log(2) / (halfLifeHours * 3_600_000d);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.idleMillis = idleMillis;
+        this.maxBatch = maxBatch;
+        this.flushBatchSize = flushBatchSize;
+        this.rankBoost = rankBoost;
+        int window = Integer.highestOneBit(Math.max(1024, articleWindow - 1)) << 1;
+        this.articleCategories = new AtomicLongArray(window);
+        this.articleMask = window - 1;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.aggregator = new Thread(this::aggregate, "affinity-aggregator");
+        this.aggregator.setDaemon(true);
+        this.aggregator.start();
+    }
+
+    // 수집 파이프라인에서 새 기사를 받을 때 카테고리만 기억
+    @Override
+    public void accept(List<Article> batch) {
+        for (Article article : batch) {
+            articleCategories.lazySet((int) (article.getId() & articleMask),
+                    (article.getId() << 4) | (article.getCategory().ordinal() + 1));
+        }
+    }
+
+    /**
+     * 이벤트 묶음 접수 (요청 스레드)
+     * @return 반영 대기에 들어간 이벤트 수 (모르는 기사/의미 없는 이벤트/큐 가득 참은 제외)
+     */
+    public int submit(String userId, List<ReadEventDto> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        if (events.size() > maxBatch) {
+            throw new IllegalArgumentException("이벤트는 한 번에 최대 " + maxBatch + "개까지 보낼 수 있습니다.");
+        }
+        byte[] categories = new byte[events.size()];
+        float[] weights = new float[events.size()];
+        int n = 0;
+        for (ReadEventDto event : events) {
+            float weight = weightOf(event);
+            int category = categoryOf(event.getArticleId());
+            if (category < 0) {
+                droppedUnknownArticle.increment();
+                continue;
+            }
+            if (weight > 0) {
+                categories[n] = (byte) category;
+                weights[n] = weight;
+                n++;
+            }
+        }
+        if (n == 0) {
+            return 0;
+        }
+        if (!queue.offer(new EventBatch(userId, categories, weights, n, System.currentTimeMillis()))) {
+            droppedQueueFull.add(n); // 관심도는 근사치라 과부하 시 버려도 됨
+            return 0;
+        }
+        accepted.add(n);
+        return n;
+    }
+
+    // 클릭 1점, 체류는 1분에 1점 (3초 미만은 이탈로 보고 무시, 최대 5점), 노출은 관심도와 무관
+    private static float weightOf(ReadEventDto event) {
+        if ("IMPRESSION".equalsIgnoreCase(event.getType())) {
+            return 0f;
+        }
+        if ("CLICK".equalsIgnoreCase(event.getType())) {
+            return 1f;
+        }
+        if ("DWELL".equalsIgnoreCase(event.getType())) {
+            if (event.getDwellMs() < 3_000) {
+                return 0f;
+            }
+            return Math.min(event.getDwellMs(), 300_000) / 60_000f;
+        }
+        throw new IllegalArgumentException("알 수 없는 이벤트 종류입니다: " + event.getType());
+    }
+
+    private int categoryOf(long articleId) {
+        long packed = articleCategories.get((int) (articleId & articleMask));
+        if (packed >>> 4 != articleId || packed == 0) {
+            return -1;
+        }
+        return (int) (packed & 15) - 1;
+    }
+
+    /**
+     * 현재 시각 기준 관심도 (NewsCategory.ordinal() 인덱스, 없으면 전부 0)
+     * - 메모리에 없으면 DB에서 불러와 올려둠
+     */
+    public float[] scores(String userId) {
+        Affinity affinity = affinities.get(userId);
+        if (affinity == null) {
+            affinity = load(List.of(userId)).get(userId);
+        }
+        affinity.touchedAt = System.currentTimeMillis();
+        return affinity.view.decayedTo(System.currentTimeMillis(), decayPerMilli);
+    }
+
+    public Map<NewsCategory, Float> scoresByCategory(String userId) {
+        float[] scores = scores(userId);
+        Map<NewsCategory, Float> result = new LinkedHashMap<>();
+        for (NewsCategory category : NewsCategory.values()) {
+            result.put(category, scores[category.ordinal()]);
+        }
+        return result;
+    }
+
+    /**
+     * 피드 정렬: 최신순 점수에 관심도 비중만큼 가산
+     * - 점수 = exp(-경과시간/하루) * (1 + rankBoost * 관심도/최대 관심도)
+     * - 관심 기록이 없으면 원래 순서 그대로
+     */
+    public List<Article> rank(String userId, List<Article> articles) {
+        float[] scores = scores(userId);
+        float max = 0;
+        for (float s : scores) {
+            max = Math.max(max, s);
+        }
+        if (max <= 0 || articles.size() < 2) {
+            return articles;
+        }
+        long now = System.currentTimeMillis();
+        float top = max;
+        List<Article> ranked = new ArrayList<>(articles);
+        ranked.sort(Comparator.comparingDouble((Article a) ->
+                Math.exp(-(now - a.getPublishedAt()) / 86_400_000d)
+                        * (1 + rankBoost * scores[a.getCategory().ordinal()] / top)).reversed());
+        return ranked;
+    }
+
+    // ===== 집계 스레드 =====
+
+    private void aggregate() {
+        List<EventBatch> drained = new ArrayList<>(1024);
+        long nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+        while (running || !queue.isEmpty()) {
+            try {
+                EventBatch first = queue.poll(Math.max(1, nextFlush - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    drained.add(first);
+                    queue.drainTo(drained, 4095);
+                    apply(drained);
+                    drained.clear();
+                }
+                if (System.currentTimeMillis() >= nextFlush) {
+                    flush();
+                    nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                log.warn("관심도 집계 오류", e);
+            }
+        }
+    }
+
+    private void apply(List<EventBatch> batches) {
+        List<String> missing = new ArrayList<>();
+        for (EventBatch batch : batches) {
+            if (!affinities.containsKey(batch.userId())) {
+                missing.add(batch.userId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            load(missing);
+        }
+        for (EventBatch batch : batches) {
+            affinities.get(batch.userId()).add(batch, decayPerMilli);
+        }
+    }
+
+    // 바뀐 사용자만 delta upsert, 오래 안 쓴 사용자는 메모리에서 내림
+    private void flush() {
+        long start = System.currentTimeMillis();
+        Map<Integer, List<Object[]>> rowsByShard = new HashMap<>();
+        List<Affinity> flushed = new ArrayList<>();
+        for (Map.Entry<String, Affinity> entry : affinities.entrySet()) {
+            Affinity affinity = entry.getValue();
+            if (affinity.pendingAt == 0) {
+                if (start - affinity.touchedAt > idleMillis) {
+                    affinities.remove(entry.getKey(), affinity);
+                }
+                continue;
+            }
+            List<Object[]> rows = rowsByShard.computeIfAbsent(shardRouter.shardOf(entry.getKey()), k -> new ArrayList<>());
+            for (int c = 0; c < CATEGORIES; c++) {
+                if (affinity.pending[c] != 0) {
+                    rows.add(new Object[]{entry.getKey(), NewsCategory.values()[c].name(), affinity.pending[c],
+                            affinity.pendingAt, decayPerMilli, decayPerMilli});
+                }
+            }
+            flushed.add(affinity);
+        }
+        if (flushed.isEmpty()) {
+            return;
+        }
+        try {
+            for (Map.Entry<Integer, List<Object[]>> entry : rowsByShard.entrySet()) {
+                List<Object[]> rows = entry.getValue();
+                shardRouter.runOnShard(entry.getKey(), () -> {
+                    for (int from = 0; from < rows.size(); from += flushBatchSize) {
+                        jdbcTemplate.batchUpdate(UPSERT, rows.subList(from, Math.min(rows.size(), from + flushBatchSize)));
+                    }
+                });
+                flushedRows.add(rows.size());
+            }
+            flushed.forEach(Affinity::clearPending);
+        } catch (RuntimeException e) {
+            // 일부 샤드가 이미 반영됐을 수 있어 재시도하면 그만큼 중복 가산됨 → 근사치라 한 번 버리는 쪽을 택함
+            flushed.forEach(Affinity::clearPending);
+            log.warn("관심도 반영 실패, 이번 주기 변경분 {}명 버림", flushed.size(), e);
+        }
+        lastFlushAt = start;
+        lastFlushMillis = System.currentTimeMillis() - start;
+    }
+
+    // DB 값을 현재 시각까지 감쇠해서 메모리에 올림 (이미 있으면 그것을 유지)
+    private Map<String, Affinity> load(List<String> userIds) {
+        Map<Integer, List<String>> byShard = new HashMap<>();
+        for (String userId : userIds) {
+            byShard.computeIfAbsent(shardRouter.shardOf(userId), k -> new ArrayList<>()).add(userId);
+        }
+        long now = System.currentTimeMillis();
+        Map<String, float[]> loaded = new HashMap<>();
+        for (Map.Entry<Integer, List<String>> entry : byShard.entrySet()) {
+            List<String> ids = entry.getValue();
+            String sql = "select user_id, category, score, decayed_at from user_category_affinity where user_id in ("
+                    + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+            shardRouter.runOnShard(entry.getKey(), () -> jdbcTemplate.query(sql, rs -> {
+                float[] scores = loaded.computeIfAbsent(rs.getString("user_id"), k -> new float[CATEGORIES]);
+                double age = Math.max(0, now - rs.getLong("decayed_at"));
+                scores[NewsCategory.valueOf(rs.getString("category")).ordinal()] =
+                        (float) (rs.getFloat("score") * Math.exp(-age * decayPerMilli));
+            }, ids.toArray()));
+        }
+        Map<String, Affinity> result = new HashMap<>();
+        for (String userId : userIds) {
+            float[] scores = loaded.getOrDefault(userId, new float[CATEGORIES]);
+            result.put(userId, affinities.computeIfAbsent(userId, k -> new Affinity(new View(scores, now))));
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        aggregator.interrupt();
+        aggregator.join(10_000);
+        flush();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("accepted", accepted.sum());
+        stats.put("droppedUnknownArticle", droppedUnknownArticle.sum());
+        stats.put("droppedQueueFull", droppedQueueFull.sum());
+        stats.put("queueDepth", queue.size());
+        stats.put("usersInMemory", affinities.size());
+        stats.put("flushedRows", flushedRows.sum());
+        stats.put("lastFlushAt", lastFlushAt);
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+
+    // 한 요청에서 온 (카테고리, 가중치) 묶음
+    private record EventBatch(String userId, byte[] categories, float[] weights, int size, long at) {
+    }
+
+    // 읽는 쪽에 게시하는 불변 점수 (at 시점 기준)
+    private record View(float[] scores, long at) {
+        float[] decayedTo(long now, double decayPerMilli) {
+            float factor = (float) Math.exp(-Math.max(0, now - at) * decayPerMilli);
+            float[] result = new float[scores.length];
+            for (int c = 0; c < scores.length; c++) {
+                result[c] = scores[c] * factor;
+            }
+            return result;
+        }
+    }
+
+    // 사용자 하나의 관심도: view는 집계 스레드만 교체, pending(아직 DB에 안 쓴 delta)도 집계 스레드만 사용
+    private static final class Affinity {
+        volatile View view;
+        volatile long touchedAt = System.currentTimeMillis();
+        final float[] pending = new float[CATEGORIES];
+        long pendingAt; // 0이면 쓸 것 없음
+
+        Affinity(View view) {
+            this.view = view;
+        }
+
+        void add(EventBatch batch, double decayPerMilli) {
+            long at = Math.max(batch.at(), view.at());
+            float[] scores = view.decayedTo(at, decayPerMilli);
+            if (pendingAt != 0) {
+                float factor = (float) Math.exp(-Math.max(0, at - pendingAt) * decayPerMilli);
+                for (int c = 0; c < CATEGORIES; c++) {
+                    pending[c] *= factor;
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                scores[batch.categories()[i]] += batch.weights()[i];
+                pending[batch.categories()[i]] += batch.weights()[i];
+            }
+            pendingAt = at;
+            view = new View(scores, at);
+            touchedAt = System.currentTimeMillis();
+        }
+
+        void clearPending() {
+            Arrays.fill(pending, 0f);
+            pendingAt = 0;
+        }
+    }
+}
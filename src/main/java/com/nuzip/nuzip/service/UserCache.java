@@ -0,0 +1,81 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.AuthProvider;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.domain.UserChangeEvent;
+import com.nuzip.nuzip.domain.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 노드 로컬 사용자 캐시 (userId → 인증/피드에 필요한 최소 정보)
+ * - 매 요청 JWT 필터의 findByUserId를 대체
+ * - 어느 노드에서 바뀌든 아웃박스 이벤트로 무효화되므로 노드 간에도 일관성 유지
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache implements UserChangeListener {
+
+    // 캐시에 담는 불변 스냅샷 (엔티티를 그대로 들고 있지 않음)
+    public record CachedUser(String userId,
+                             String username,
+                             String password,
+                             AuthProvider provider,
+                             Set<NewsCategory> categories) {
+    }
+
+    private final UserRepository userRepository;
+
+    @Value("${nuzip.user-cache.max-entries:100000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, CachedUser> cache = new ConcurrentHashMap<>();
+    // 무효화가 일어날 때마다 증가 → 로딩 중에 무효화되면 오래된 값을 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public Optional<CachedUser> find(String userId) {
+        CachedUser cached = cache.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long version = invalidations.get();
+        Optional<CachedUser> loaded = userRepository.findByUserId(userId).map(UserCache::snapshot);
+        if (loaded.isPresent() && invalidations.get() == version) {
+            if (cache.size() >= maxEntries) {
+                cache.clear(); // 단순 상한: 넘치면 비우고 다시 채움
+            }
+            cache.putIfAbsent(userId, loaded.get());
+        }
+        return loaded;
+    }
+
+    // 캐시에 있을 때만 (DB 조회 없음)
+    public Optional<CachedUser> peek(String userId) {
+        return Optional.ofNullable(cache.get(userId));
+    }
+
+    public void invalidate(String userId) {
+        invalidations.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    @Override
+    public void onUserChanged(UserChangeEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    private static CachedUser snapshot(User u) {
+        Set<NewsCategory> categories = (u.getNewsCategory() == null || u.getNewsCategory().isEmpty())
+                ? Set.of()
+                : Set.copyOf(u.getNewsCategory());
+        return new CachedUser(u.getUserId(), u.getUsername(), u.getPassword(), u.getProvider(), categories);
+    }
+}
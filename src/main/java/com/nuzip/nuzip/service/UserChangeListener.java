@@ -0,0 +1,12 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.UserChangeEvent;
+
+/**
+ * 사용자 변경 이벤트 수신자 (캐시 무효화 등)
+ * - 같은 이벤트가 두 번 올 수 있음(커밋 직후 로컬 전달 + 릴레이 전달) → 멱등하게 구현할 것
+ */
+public interface UserChangeListener {
+
+    void onUserChanged(UserChangeEvent event);
+}
@@ -0,0 +1,62 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.UserChangeEvent;
+import com.nuzip.nuzip.domain.UserChangeEventRepository;
+import com.nuzip.nuzip.domain.UserChangeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭셔널 아웃박스 기록
+ * - 사용자 변경과 "같은 트랜잭션"에서만 기록 가능(MANDATORY) → 변경과 이벤트가 함께 커밋/롤백
+ * - 커밋 직후 이 노드의 리스너에게 바로 전달하고, 다른 노드는 UserChangeRelay 폴링으로 받음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserChangeOutbox {
+
+    private final UserChangeEventRepository userChangeEventRepository;
+    // 리스너가 다시 아웃박스를 주입받는 경우(순환 의존) 때문에 지연 조회
+    private final ObjectProvider<UserChangeListener> listeners;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String userId, UserChangeType type) {
+        record(userId, type, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String userId, UserChangeType type, String payload) {
+        UserChangeEvent event = userChangeEventRepository.save(UserChangeEvent.builder()
+                .userId(userId)
+                .type(type)
+                .payload(payload)
+                .createdAt(System.currentTimeMillis())
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(event);
+            }
+        });
+    }
+
+    // 로컬 리스너에게 전달 (한 리스너 실패가 다른 리스너를 막지 않도록)
+    void dispatch(UserChangeEvent event) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onUserChanged(event);
+            } catch (Exception e) {
+                log.warn("사용자 변경 이벤트 처리 실패: listener={}, event={}",
+                        listener.getClass().getSimpleName(), event.getId(), e);
+            }
+        });
+    }
+}
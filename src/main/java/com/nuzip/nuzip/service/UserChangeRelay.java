@@ -0,0 +1,98 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.ShardRouter;
+import com.nuzip.nuzip.domain.UserChangeEvent;
+import com.nuzip.nuzip.domain.UserChangeEventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 아웃박스 릴레이 (노드마다 하나)
+ * - user_change_outbox를 id 키셋으로 배치 폴링해서 로컬 리스너(캐시 무효화 등)에 전달
+ * - 기동 시점 이후의 이벤트만 처리 (그 전 상태는 캐시가 비어 있으므로 필요 없음)
+ *
+ * IDENTITY id는 커밋 순서와 다를 수 있음(id 10이 11보다 늦게 커밋).
+ * 중간에 빈 id가 보이면 grace 시간 동안은 그 앞에서 멈추고, 지나면 롤백된 id로 보고 건너뜀.
+ *
+ * 샤딩 시 이벤트는 사용자와 같은 샤드에 기록되므로 샤드마다 따로 폴링하고 위치도 따로 기억함.
+ * 샤드의 id는 stride 간격으로 증가하므로 "다음 id"는 +stride.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserChangeRelay {
+
+    private final UserChangeEventRepository userChangeEventRepository;
+    private final UserChangeOutbox userChangeOutbox;
+    private final ShardRouter shardRouter;
+
+    @Value("${nuzip.outbox.gap-grace-ms:2000}")
+    private long gapGraceMs;
+
+    @Value("${nuzip.outbox.retention-ms:86400000}")
+    private long retentionMs;
+
+    // 샤드 번호 → 마지막으로 전달한 id (폴링 스레드 하나만 씀)
+    private long[] lastSeenIds;
+
+    @PostConstruct
+    void init() {
+        lastSeenIds = new long[shardRouter.shardCount()];
+        for (int shard = 0; shard < lastSeenIds.length; shard++) {
+            lastSeenIds[shard] = shardRouter.onShard(shard, () -> userChangeEventRepository.findTopByOrderByIdDesc()
+                    .map(UserChangeEvent::getId)
+                    .orElse(0L));
+        }
+        log.info("📨 아웃박스 릴레이 시작 위치: id={}", Arrays.toString(lastSeenIds));
+    }
+
+    @Scheduled(fixedDelayString = "${nuzip.outbox.poll-interval-ms:500}")
+    public void poll() {
+        for (int shard = 0; shard < lastSeenIds.length; shard++) {
+            int s = shard;
+            shardRouter.runOnShard(shard, () -> poll(s));
+        }
+    }
+
+    private void poll(int shard) {
+        long step = shardRouter.idStride();
+        while (true) {
+            List<UserChangeEvent> batch = userChangeEventRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastSeenIds[shard]);
+            long now = System.currentTimeMillis();
+            for (UserChangeEvent event : batch) {
+                boolean gap = event.getId() > lastSeenIds[shard] + step;
+                if (gap && now - event.getCreatedAt() < gapGraceMs) {
+                    return; // 앞 id가 아직 커밋 전일 수 있음 → 다음 폴링에서 다시
+                }
+                userChangeOutbox.dispatch(event);
+                lastSeenIds[shard] = event.getId();
+            }
+            if (batch.size() < 500) {
+                return;
+            }
+        }
+    }
+
+    // 모든 노드가 읽고 지나간 오래된 이벤트 정리 (기본 하루 보관)
+    @Scheduled(fixedDelayString = "${nuzip.outbox.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        long deleted = shardRouter.scatter(shard -> userChangeEventRepository.deleteByCreatedAtLessThan(cutoff))
+                .stream().mapToLong(Long::longValue).sum();
+        if (deleted > 0) {
+            log.info("🧹 아웃박스 정리: {}건", deleted);
+        }
+    }
+
+    // 샤드 번호 → 마지막으로 전달한 id (샤딩 끄면 0번 하나)
+    public long[] getLastSeenIds() {
+        return lastSeenIds.clone();
+    }
+}
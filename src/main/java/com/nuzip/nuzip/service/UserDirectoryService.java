@@ -0,0 +1,250 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.domain.AuthProvider;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.ShardContext;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 관리자용 사용자 목록/내보내기
+ * - 페이지는 OFFSET 대신 id 키셋 커서 (id > cursor ORDER BY id LIMIT n) → 몇 번째 페이지든 비용 일정
+ * - 필터: 가입 공급자, 관심 카테고리, 생년월일 범위, 가입일 범위
+ * - 내보내기는 JDBC 결과를 fetchSize 단위 순방향 스트림으로 읽으면서 바로 응답에 씀 → 행 수와 무관하게 힙 일정
+ * - 카테고리는 user_categories LEFT JOIN 결과를 id 순으로 받아, 연속된 같은 id 행을 한 사용자로 합침
+ * - 샤딩 시 페이지는 모든 샤드에서 같은 키셋 쿼리로 size개씩 받아 id 순으로 합친 뒤 앞 size개 (id는 샤드 간 유일)
+ *   내보내기는 샤드를 차례로 스트리밍 (전체 id 순이 아니라 샤드 안에서만 id 순)
+ */
+@Service
+public class UserDirectoryService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String COLUMNS =
+            "u.id, u.user_id, u.username, u.provider, u.birth_date, u.created_at, u.last_login_at, u.last_seen_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ShardRouter shardRouter;
+
+    public UserDirectoryService(JdbcTemplate jdbcTemplate,
+                                DataSource dataSource,
+                                ObjectMapper objectMapper,
+                                ShardRouter shardRouter,
+                                @Value("${nuzip.admin.export-fetch-size:1000}") int exportFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.shardRouter = shardRouter;
+        // 내보내기 전용: 드라이버가 결과 전체를 메모리에 올리지 않고 fetchSize씩 가져오도록
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(exportFetchSize);
+    }
+
+    // 목록 필터 (null인 조건은 무시)
+    public record Filter(AuthProvider provider,
+                         NewsCategory category,
+                         LocalDate birthFrom,
+                         LocalDate birthTo,
+                         LocalDate joinedFrom,
+                         LocalDate joinedTo) {
+    }
+
+    public record DirectoryUser(long id,
+                                String userId,
+                                String username,
+                                String provider,
+                                LocalDate birthDate,
+                                List<String> categories,
+                                LocalDateTime createdAt,
+                                LocalDateTime lastLoginAt,
+                                LocalDateTime lastSeenAt) {
+    }
+
+    public record Page(List<DirectoryUser> items, Long nextCursor) {
+    }
+
+    public Page page(Filter filter, Long cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        List<Object> args = new ArrayList<>();
+        String sql = query(filter, cursor, size, args);
+        List<DirectoryUser> merged = new ArrayList<>(size);
+        for (List<DirectoryUser> shardItems : shardRouter.scatter(shard -> {
+            List<DirectoryUser> found = new ArrayList<>(size);
+            Assembler assembler = new Assembler(found::add);
+            jdbcTemplate.query(sql, assembler, args.toArray());
+            assembler.finish();
+            return found;
+        })) {
+            merged.addAll(shardItems);
+        }
+        merged.sort(Comparator.comparingLong(DirectoryUser::id));
+        List<DirectoryUser> items = merged.size() > size ? merged.subList(0, size) : merged;
+        Long nextCursor = items.size() < size ? null : items.get(items.size() - 1).id();
+        return new Page(items, nextCursor);
+    }
+
+    public void exportCsv(Filter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF'); // 엑셀에서 한글이 깨지지 않도록 BOM
+        writer.write("id,userId,username,provider,birthDate,categories,createdAt,lastLoginAt,lastSeenAt\n");
+        stream(filter, u -> {
+            try {
+                writer.write(u.id() + "," + csv(u.userId()) + "," + csv(u.username()) + "," + u.provider() + ","
+                        + text(u.birthDate()) + "," + csv(String.join("|", u.categories())) + ","
+                        + text(u.createdAt()) + "," + text(u.lastLoginAt()) + "," + text(u.lastSeenAt()) + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    public void exportNdjson(Filter filter, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        stream(filter, u -> {
+            try {
+                generator.writeObject(u);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private void stream(Filter filter, Consumer<DirectoryUser> sink) throws IOException {
+        List<Object> args = new ArrayList<>();
+        String sql = query(filter, null, 0, args);
+        for (int shard : shardRouter.ring().members()) {
+            Assembler assembler = new Assembler(sink);
+            try (ShardContext.Binding ignored = ShardContext.bind(shard)) {
+                streamingJdbcTemplate.query(sql, assembler, args.toArray());
+                assembler.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // 클라이언트 연결 끊김 등 → 쿼리도 함께 중단됨
+            }
+        }
+    }
+
+    // 사용자 행을 먼저 거르고(LIMIT 포함) 그 결과에만 카테고리를 붙임 → LIMIT이 카테고리 행 수에 영향받지 않음
+    private static String query(Filter filter, Long cursor, int limit, List<Object> args) {
+        StringBuilder where = new StringBuilder(" where 1=1");
+        if (cursor != null) {
+            where.append(" and u.id > ?");
+            args.add(cursor);
+        }
+        if (filter.provider() != null) {
+            where.append(" and u.provider = ?");
+            args.add(filter.provider().name());
+        }
+        if (filter.category() != null) {
+            where.append(" and exists (select 1 from user_categories f where f.user_id = u.id and f.category = ?)");
+            args.add(filter.category().name());
+        }
+        if (filter.birthFrom() != null) {
+            where.append(" and u.birth_date >= ?");
+            args.add(filter.birthFrom());
+        }
+        if (filter.birthTo() != null) {
+            where.append(" and u.birth_date <= ?");
+            args.add(filter.birthTo());
+        }
+        if (filter.joinedFrom() != null) {
+            where.append(" and u.created_at >= ?");
+            args.add(Timestamp.valueOf(filter.joinedFrom().atStartOfDay()));
+        }
+        if (filter.joinedTo() != null) {
+            where.append(" and u.created_at < ?");
+            args.add(Timestamp.valueOf(filter.joinedTo().plusDays(1).atStartOfDay()));
+        }
+
+        String users = "select " + COLUMNS + " from users u" + where + " order by u.id"
+                + (limit > 0 ? " limit " + limit : "");
+        return "select u.*, c.category from (" + users + ") u"
+                + " left join user_categories c on c.user_id = u.id order by u.id";
+    }
+
+    // id 순으로 들어오는 (사용자, 카테고리) 행을 사용자 단위로 묶어서 하나씩 내보냄
+    private static final class Assembler implements RowCallbackHandler {
+        private final Consumer<DirectoryUser> sink;
+        private DirectoryUser current;
+
+        Assembler(Consumer<DirectoryUser> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.id() != id) {
+                finish();
+                current = new DirectoryUser(id,
+                        rs.getString("user_id"),
+                        rs.getString("username"),
+                        rs.getString("provider"),
+                        rs.getObject("birth_date", LocalDate.class),
+                        new ArrayList<>(3),
+                        rs.getObject("created_at", LocalDateTime.class),
+                        rs.getObject("last_login_at", LocalDateTime.class),
+                        rs.getObject("last_seen_at", LocalDateTime.class));
+            }
+            String category = rs.getString("category");
+            if (category != null) {
+                current.categories().add(category);
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                sink.accept(current);
+                current = null;
+            }
+        }
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    // RFC 4180: 쉼표/따옴표/개행이 있으면 따옴표로 감싸고 따옴표는 두 번
+    // 수식 주입 방지: =, +, -, @, 탭, CR로 시작하면 앞에 '를 붙여 스프레드시트가 수식으로 실행하지 않게
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
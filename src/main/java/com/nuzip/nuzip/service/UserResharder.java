@@ -0,0 +1,444 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.ShardRing;
+import com.nuzip.nuzip.domain.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 온라인 샤드 재분배 (링 멤버 변경: 샤드 추가/제거)
+ * 1. 복사: 옛 링 샤드의 사용자를 키셋으로 훑으며, 새 링에서 담당이 바뀌는 사용자만 새 샤드로 복사 (서비스는 옛 링으로 계속 동작)
+ * 2. 따라잡기: 복사 시작 이후 옛 샤드 아웃박스에 기록된 사용자를 다시 복사 (변경이 줄어들 때까지 반복)
+ * 3. 전환: 새 링을 공유 링으로 올리고(ShardRingSync.publish) 이 노드의 라우터도 전환
+ * 4. 노드 대기: 살아 있는 모든 노드가 새 링을 적용했다고 보고할 때까지 대기, 이후 진행 중이던 옛 링 트랜잭션이
+ *    끝나도록 drain 시간만큼 더 대기 → 이 시점부터 옛 샤드에 새로 쓰는 노드가 없음
+ * 5. 마지막 따라잡기: 전환 직전/중에 옛 샤드에 커밋된 변경 반영 (단, 전환 후 새 샤드에서 이미 바뀐 사용자는 새 값 유지)
+ * 6. 정리: 옛 샤드에 남은 이동 대상 사용자 삭제. 삭제 전에 사용자 아이디로 묶인 행 중 복사 시작 이후 옛 샤드에
+ *    쓰인 것(아직 옛 링이던 노드의 쓰기)을 새 샤드에 없을 때만 넣음
+ *
+ * 마지막 따라잡기와 정리는 노드 대기가 끝나야만 실행되므로, 보고하지 않는 노드가 있으면 AWAIT_NODES에 머묾
+ * (status의 laggingNodes). 내려간 노드는 node-timeout 뒤 제외되고, 다시 뜰 때 기동 중에 공유 링을 적용함
+ *
+ * - 행은 컬럼 목록을 그대로 옮기므로(SELECT *) 스키마에 컬럼이 늘어도 수정 불필요
+ * - 사용자 아이디(user_id 문자열)로 묶인 테이블(USER_KEYED_TABLES)도 같이 옮김. 이 테이블들의 id는
+ *   샤드별 stride가 없어 겹칠 수 있으므로 id 컬럼은 빼고 넣어 대상 샤드가 새로 발급
+ * - 폐기 토큰 기록은 옮기지 않음 (복구/정리가 모든 샤드를 훑고, 토큰 수명 안에 사라짐)
+ * - 전환 후에는 새 샤드 쪽 값이 기준: 묶인 행은 덮어쓰지 않고 빠진 것만 채움 (옛 링 노드가 그 사이 지운
+ *   저장 기사는 새 샤드에 남을 수 있음)
+ * - 3~6 사이에는 관리자 스캔(스캐터-개더)에서 같은 사용자가 두 번 보일 수 있음
+ */
+@Slf4j
+@Service
+public class UserResharder {
+
+    // users.user_id(문자열)로 사용자에 묶인 테이블 (사용자와 같은 샤드에 기록됨)
+    private static final List<String> USER_KEYED_TABLES = List.of("user_category_affinity", "user_bookmarks",
+            "consumed_reverify_tokens");
+
+    // 정리 전에 옛 샤드에서 다시 볼 행의 조건 (복사 시작 시각 이후에 쓰였거나 아직 유효한 것)
+    private static final Map<String, String> KEYED_CHANGED_SINCE = Map.of(
+            "user_category_affinity", "decayed_at >= ?",
+            "user_bookmarks", "created_at >= ?",
+            "consumed_reverify_tokens", "expires_at >= ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ShardRingSync shardRingSync;
+    private final int chunkSize;
+    private final long drainMillis;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "user-resharder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile String phase = "IDLE";
+    private volatile String error;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile int[] fromMembers = new int[0];
+    private volatile int[] toMembers = new int[0];
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong copied = new AtomicLong();
+    private final AtomicLong recopied = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private volatile long ringVersion;
+    private volatile List<String> laggingNodes = List.of();
+
+    public UserResharder(JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         ShardRouter shardRouter,
+                         ShardRingSync shardRingSync,
+                         @Value("${nuzip.sharding.reshard-chunk-size:500}") int chunkSize,
+                         @Value("${nuzip.sharding.reshard-drain-ms:5000}") long drainMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.shardRingSync = shardRingSync;
+        this.chunkSize = chunkSize;
+        this.drainMillis = drainMillis;
+    }
+
+    // 백그라운드로 시작하고 바로 반환 (진행 상황은 status())
+    public synchronized Map<String, Object> start(List<Integer> members) {
+        if (!phase.equals("IDLE") && !phase.equals("DONE") && !phase.equals("FAILED")) {
+            throw new IllegalArgumentException("이미 재분배 중입니다: " + phase);
+        }
+        ShardRing from = shardRouter.ring();
+        ShardRing to = shardRouter.newRing(members);
+        if (Arrays.equals(from.members(), to.members())) {
+            throw new IllegalArgumentException("현재 링과 같습니다.");
+        }
+        fromMembers = from.members();
+        toMembers = to.members();
+        phase = "COPY";
+        error = null;
+        startedAt = System.currentTimeMillis();
+        finishedAt = 0;
+        scanned.set(0);
+        copied.set(0);
+        recopied.set(0);
+        deleted.set(0);
+        merged.set(0);
+        ringVersion = 0;
+        laggingNodes = List.of();
+        worker.submit(() -> run(from, to));
+        return status();
+    }
+
+    private void run(ShardRing from, ShardRing to) {
+        try {
+            Map<Integer, Long> positions = outboxPositions(from.members());
+            for (int source : from.members()) {
+                copyMoving(source, to);
+            }
+
+            phase = "CATCH_UP";
+            for (int pass = 0; pass < 5; pass++) {
+                Map<Integer, Set<String>> changed = changedSince(positions);
+                int moving = recopy(changed, from, to, Set.of(), true);
+                if (moving < chunkSize) {
+                    break; // 남은 변경이 적으면 전환 후 한 번에
+                }
+            }
+
+            phase = "SWITCH";
+            Map<Integer, Long> targetPositions = outboxPositions(to.members());
+            ringVersion = shardRingSync.publish(to);
+
+            phase = "AWAIT_NODES";
+            awaitNodes(ringVersion);
+            Thread.sleep(drainMillis);
+
+            phase = "FINAL_CATCH_UP";
+            Set<String> newerOnTarget = new HashSet<>();
+            changedSince(targetPositions).values().forEach(newerOnTarget::addAll);
+            recopy(changedSince(positions), from, to, newerOnTarget, false);
+
+            phase = "CLEANUP";
+            for (int source : from.members()) {
+                deleteMoved(source, to);
+            }
+            phase = "DONE";
+            log.info("🗂️ 샤드 재분배 완료: 복사 {}명, 재복사 {}명, 삭제 {}명, 옛 샤드 늦은 쓰기 {}건 반영",
+                    copied.get(), recopied.get(), deleted.get(), merged.get());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            error = e.toString();
+            phase = "FAILED";
+            log.error("🗂️ 샤드 재분배 실패 (단계: 복사 데이터는 남아 있으며 다시 실행 가능)", e);
+        } finally {
+            finishedAt = System.currentTimeMillis();
+        }
+    }
+
+    // 살아 있는 노드가 모두 version을 적용할 때까지 대기 (옛 링으로 옛 샤드에 쓰는 노드가 없어야 정리 가능)
+    private void awaitNodes(long version) throws InterruptedException {
+        while (true) {
+            laggingNodes = shardRingSync.lagging(version);
+            if (laggingNodes.isEmpty()) {
+                return;
+            }
+            Thread.sleep(Math.min(1000, Math.max(50, drainMillis)));
+        }
+    }
+
+    // 샤드 하나를 id 키셋으로 훑어 담당이 바뀌는 사용자만 복사
+    private void copyMoving(int source, ShardRing to) {
+        long cursor = 0;
+        while (true) {
+            long after = cursor;
+            List<Map<String, Object>> chunk = shardRouter.onShard(source, () -> jdbcTemplate.queryForList(
+                    "select id, user_id from users where id > ? order by id limit " + chunkSize, after));
+            if (chunk.isEmpty()) {
+                return;
+            }
+            scanned.addAndGet(chunk.size());
+            Map<Integer, List<Long>> byTarget = new HashMap<>();
+            for (Map<String, Object> row : chunk) {
+                int target = to.shardOf((String) row.get("user_id"));
+                if (target != source) {
+                    byTarget.computeIfAbsent(target, k -> new ArrayList<>()).add(((Number) row.get("id")).longValue());
+                }
+            }
+            byTarget.forEach((target, ids) -> copied.addAndGet(copy(source, target, ids, true)));
+            cursor = ((Number) chunk.get(chunk.size() - 1).get("id")).longValue();
+        }
+    }
+
+    // 샤드별 아웃박스 현재 위치
+    private Map<Integer, Long> outboxPositions(int[] shards) {
+        Map<Integer, Long> positions = new HashMap<>();
+        for (int shard : shards) {
+            positions.put(shard, shardRouter.onShard(shard, () ->
+                    jdbcTemplate.queryForObject("select coalesce(max(id), 0) from user_change_outbox", Long.class)));
+        }
+        return positions;
+    }
+
+    // 위치 이후 변경된 사용자 (샤드별), 위치는 앞으로 당김
+    private Map<Integer, Set<String>> changedSince(Map<Integer, Long> positions) {
+        Map<Integer, Set<String>> changed = new HashMap<>();
+        positions.replaceAll((shard, position) -> shardRouter.onShard(shard, () -> {
+            long last = position;
+            for (Map<String, Object> row : jdbcTemplate.queryForList(
+                    "select id, user_id from user_change_outbox where id > ? order by id", position)) {
+                changed.computeIfAbsent(shard, k -> new HashSet<>()).add((String) row.get("user_id"));
+                last = ((Number) row.get("id")).longValue();
+            }
+            return last;
+        }));
+        return changed;
+    }
+
+    private int recopy(Map<Integer, Set<String>> changed, ShardRing from, ShardRing to, Set<String> skip,
+                       boolean replaceKeyed) {
+        int moving = 0;
+        for (Map.Entry<Integer, Set<String>> entry : changed.entrySet()) {
+            int source = entry.getKey();
+            Map<Integer, List<String>> byTarget = new HashMap<>();
+            for (String userId : entry.getValue()) {
+                int target = to.shardOf(userId);
+                if (from.shardOf(userId) == source && target != source && !skip.contains(userId)) {
+                    byTarget.computeIfAbsent(target, k -> new ArrayList<>()).add(userId);
+                }
+            }
+            for (Map.Entry<Integer, List<String>> t : byTarget.entrySet()) {
+                for (List<String> userIds : chunks(t.getValue())) {
+                    List<Long> ids = shardRouter.onShard(source, () -> jdbcTemplate.queryForList(
+                            "select id from users where user_id in (" + placeholders(userIds.size()) + ")",
+                            Long.class, userIds.toArray()));
+                    moving += ids.size();
+                    recopied.addAndGet(copy(source, t.getKey(), ids, replaceKeyed));
+                }
+            }
+        }
+        return moving;
+    }
+
+    // 원본 샤드의 사용자 행 + 카테고리를 대상 샤드에 덮어씀 (대상 쪽은 한 트랜잭션)
+    // 사용자 아이디로 묶인 행은 전환 전(replaceKeyed)이면 덮어쓰고, 전환 후면 대상에 없는 것만 채움
+    private int copy(int source, int target, List<Long> ids, boolean replaceKeyed) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = " in (" + placeholders(ids.size()) + ")";
+        Object[] args = ids.toArray();
+        List<Map<String, Object>> users = shardRouter.onShard(source, () ->
+                jdbcTemplate.queryForList("select * from users where id" + in, args));
+        List<Map<String, Object>> categories = shardRouter.onShard(source, () ->
+                jdbcTemplate.queryForList("select * from user_categories where user_id" + in, args));
+        if (users.isEmpty()) {
+            return 0;
+        }
+        Object[] userIds = users.stream().map(row -> row.get("user_id")).toArray();
+        String userIdIn = " in (" + placeholders(userIds.length) + ")";
+        Map<String, List<Map<String, Object>>> keyed = new LinkedHashMap<>();
+        for (String table : USER_KEYED_TABLES) {
+            List<Map<String, Object>> rows = shardRouter.onShard(source, () ->
+                    jdbcTemplate.queryForList("select * from " + table + " where user_id" + userIdIn, userIds));
+            rows.forEach(row -> row.remove("id"));
+            keyed.put(table, rows);
+        }
+        shardRouter.runOnShard(target, () -> transactionTemplate.executeWithoutResult(status -> {
+            if (replaceKeyed) {
+                for (String table : USER_KEYED_TABLES) {
+                    jdbcTemplate.update("delete from " + table + " where user_id" + userIdIn, userIds);
+                }
+            }
+            jdbcTemplate.update("delete from user_categories where user_id" + in, args);
+            jdbcTemplate.update("delete from users where id" + in, args);
+            insertAll("users", users);
+            insertAll("user_categories", categories);
+            if (replaceKeyed) {
+                keyed.forEach(this::insertAll);
+            }
+        }));
+        if (!replaceKeyed) {
+            keyed.forEach((table, rows) -> merged.addAndGet(insertMissing(target, table, rows)));
+        }
+        return users.size();
+    }
+
+    // 대상 샤드에 없는 행만 넣음 (유니크 키가 겹치면 대상 쪽 값 유지), 넣은 행 수 반환
+    private int insertMissing(int target, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + placeholders(columns.size()) + ")";
+        return shardRouter.onShard(target, () -> {
+            int inserted = 0;
+            for (Map<String, Object> row : rows) {
+                try {
+                    inserted += jdbcTemplate.update(sql, columns.stream().map(row::get).toArray());
+                } catch (DuplicateKeyException e) {
+                    // 새 샤드에 이미 있음
+                }
+            }
+            return inserted;
+        });
+    }
+
+    // 복사 시작 이후 옛 샤드에 쓰인 묶인 행을 새 샤드로 (정리 직전, 노드 대기가 끝난 뒤)
+    private void mergeLateKeyedRows(int source, Map<Integer, List<String>> byTarget) {
+        long since = startedAt;
+        for (Map.Entry<Integer, List<String>> t : byTarget.entrySet()) {
+            Object[] args = new Object[t.getValue().size() + 1];
+            for (int i = 0; i < t.getValue().size(); i++) {
+                args[i] = t.getValue().get(i);
+            }
+            args[args.length - 1] = since;
+            for (String table : USER_KEYED_TABLES) {
+                List<Map<String, Object>> rows = shardRouter.onShard(source, () -> jdbcTemplate.queryForList(
+                        "select * from " + table + " where user_id in (" + placeholders(args.length - 1) + ") and "
+                                + KEYED_CHANGED_SINCE.get(table), args));
+                rows.forEach(row -> row.remove("id"));
+                merged.addAndGet(insertMissing(t.getKey(), table, rows));
+            }
+        }
+    }
+
+    private void insertAll(String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + placeholders(columns.size()) + ")";
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            batch.add(columns.stream().map(row::get).toArray());
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    // 옛 샤드에서 다른 샤드 담당이 된 사용자 삭제
+    private void deleteMoved(int source, ShardRing to) {
+        long cursor = 0;
+        while (true) {
+            long after = cursor;
+            List<Map<String, Object>> chunk = shardRouter.onShard(source, () -> jdbcTemplate.queryForList(
+                    "select id, user_id from users where id > ? order by id limit " + chunkSize, after));
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Long> moved = new ArrayList<>();
+            List<String> movedUserIds = new ArrayList<>();
+            Map<Integer, List<String>> byTarget = new HashMap<>();
+            for (Map<String, Object> row : chunk) {
+                String userId = (String) row.get("user_id");
+                int target = to.shardOf(userId);
+                if (target != source) {
+                    moved.add(((Number) row.get("id")).longValue());
+                    movedUserIds.add(userId);
+                    byTarget.computeIfAbsent(target, k -> new ArrayList<>()).add(userId);
+                }
+            }
+            if (!moved.isEmpty()) {
+                mergeLateKeyedRows(source, byTarget);
+                String in = " in (" + placeholders(moved.size()) + ")";
+                Object[] args = moved.toArray();
+                Object[] userIds = movedUserIds.toArray();
+                shardRouter.runOnShard(source, () -> transactionTemplate.executeWithoutResult(status -> {
+                    for (String table : USER_KEYED_TABLES) {
+                        jdbcTemplate.update("delete from " + table + " where user_id" + in, userIds);
+                    }
+                    jdbcTemplate.update("delete from user_categories where user_id" + in, args);
+                    deleted.addAndGet(jdbcTemplate.update("delete from users where id" + in, args));
+                }));
+            }
+            cursor = ((Number) chunk.get(chunk.size() - 1).get("id")).longValue();
+        }
+    }
+
+    private List<List<String>> chunks(Collection<String> values) {
+        List<String> list = new ArrayList<>(values);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            chunks.add(list.subList(from, Math.min(list.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int n) {
+        return String.join(", ", Collections.nCopies(n, "?"));
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("phase", phase);
+        status.put("from", fromMembers);
+        status.put("to", toMembers);
+        status.put("scanned", scanned.get());
+        status.put("copied", copied.get());
+        status.put("recopied", recopied.get());
+        status.put("deleted", deleted.get());
+        status.put("merged", merged.get());
+        status.put("ringVersion", ringVersion);
+        status.put("laggingNodes", laggingNodes);
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("error", error);
+        return status;
+    }
+
+    // 샤드별 사용자 수 (링에 없는 샤드 포함)
+    public Map<String, Object> shards() {
+        Map<String, Object> shards = new LinkedHashMap<>();
+        shards.put("shardCount", shardRouter.shardCount());
+        shards.put("ring", shardRouter.ring().members());
+        shards.put("ringSync", shardRingSync.stats());
+        Map<Integer, Long> users = new LinkedHashMap<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            users.put(shard, shardRouter.onShard(shard, () ->
+                    jdbcTemplate.queryForObject("select count(*) from users", Long.class)));
+        }
+        shards.put("users", users);
+        shards.put("resharding", status());
+        return shards;
+    }
+}
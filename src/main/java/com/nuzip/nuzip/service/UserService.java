@@ -2,9 +2,11 @@ package com.nuzip.nuzip.service;
 
 import com.nuzip.nuzip.domain.AuthProvider;
 import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.domain.UserChangeType;
 import com.nuzip.nuzip.domain.UserRepository;
 import com.nuzip.nuzip.domain.NewsCategory;
 import com.nuzip.nuzip.dto.*;
+import com.nuzip.nuzip.security.TokenRevocationStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,6 +30,9 @@ public class UserService {
 
     private final UserRepository userRepository;   // DB 접근용 (회원 정보 조회/저장)
     private final PasswordEncoder passwordEncoder; // 비밀번호 암호화/검증
+    private final TokenRevocationStore tokenRevocationStore; // 비밀번호 변경 시 기존 토큰 폐기
+    private final UserChangeOutbox userChangeOutbox; // 같은 트랜잭션에 변경 이벤트 기록 (노드 간 캐시 무효화)
+    private final SubscriptionStats subscriptionStats; // 커밋 후 카테고리 구독 통계 증감
 
 
     /**
@@ -55,6 +60,8 @@ public class UserService {
         user.setPhone(req.getPhone());                               // 숫자만(11자리) @Pattern 검증
 
         User saved = userRepository.save(user);
+        userChangeOutbox.record(saved.getUserId(), UserChangeType.JOINED);
+        subscriptionStats.recordChange(null, SubscriptionStats.Profile.of(saved));
 
         return new RegisterResponseDto(
                 saved.getId(),
@@ -119,7 +126,10 @@ public class UserService {
             throw new IllegalArgumentException("카테고리는 중복 없이 3개를 선택해야 합니다.");
         }
 
+        SubscriptionStats.Profile before = SubscriptionStats.Profile.of(user);
         user.setNewsCategory(set); // JPA dirty checking으로 업데이트
+        userChangeOutbox.record(userId, UserChangeType.CATEGORIES_UPDATED);
+        subscriptionStats.recordChange(before, SubscriptionStats.Profile.of(user));
     }
 
     @Transactional(readOnly = true)
@@ -173,11 +183,13 @@ public class UserService {
      *   2) 비밀번호 변경은 LOCAL만 가능
      *      - OAUTH_GOOGLE이 newPassword를 보내면 403(IllegalStateException) 던짐
      *      - LOCAL인 경우에만 currentPassword 검증 후 변경
+     *      - 변경되면 그 이전에 발급된 토큰은 모두 폐기 → 반환값 true (컨트롤러가 새 토큰 발급)
      */
     @Transactional
-    public void updateMyInfo(String userId, UpdateMyInfoRequestDto updateMyInfoReq) {
+    public boolean updateMyInfo(String userId, UpdateMyInfoRequestDto updateMyInfoReq) {
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+        SubscriptionStats.Profile before = SubscriptionStats.Profile.of(user);
 
         // 1) 프로필 필드 부분 수정(Null 아닌 값만 반영)
         if(updateMyInfoReq.getUsername() != null) user.setUsername(updateMyInfoReq.getUsername());
@@ -208,6 +220,8 @@ public class UserService {
 
             user.setNewsCategory(newCats);
         }
+        userChangeOutbox.record(userId, UserChangeType.PROFILE_UPDATED);
+        subscriptionStats.recordChange(before, SubscriptionStats.Profile.of(user));
 
         // 3) 비밀번호 변경 요청이 있는지 확인
         boolean wantsPwChange =
@@ -215,7 +229,7 @@ public class UserService {
                         StringUtils.hasText(updateMyInfoReq.getConfirmNewPassword());
 
         if (!wantsPwChange) {
-            return;
+            return false;
         }
 
         if (user.getProvider() != AuthProvider.LOCAL) {
@@ -234,5 +248,9 @@ public class UserService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
+
+        // 다른 기기/탈취된 토큰이 계속 쓰이지 않도록 지금까지 발급된 토큰 폐기
+        tokenRevocationStore.revokeAllIssuedBefore(userId, System.currentTimeMillis());
+        return true;
     }
 }
\ No newline at end of file
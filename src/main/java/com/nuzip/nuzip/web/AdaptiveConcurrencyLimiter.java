@@ -0,0 +1,156 @@
+package com.nuzip.nuzip.web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 응답시간(RTT) 기울기로 동시 처리 한도를 자동 조절하는 리미터 (Gradient 방식)
+ * - longRtt: 평소(부하 없을 때) 응답시간 기준, shortRtt: 최근 샘플 구간 평균
+ * - gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0) → 최근이 느려질수록 한도를 줄임
+ * - newLimit = limit * gradient + sqrt(limit) (여유 큐), 급변을 막기 위해 smoothing으로 섞음
+ * - 요청이 한도의 절반도 안 차 있으면(부하가 적으면) 한도를 늘리지 않음
+ * - 우선순위별로 한도의 일부까지만 쓸 수 있음 → 과부하 시 LOW부터 거절
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        HIGH(1.0), NORMAL(0.9), LOW(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 1000; // longRtt가 올라갈 때의 지수이동평균 기간 (샘플 구간 수)
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // 현재 샘플 구간 누적
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowCount = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private volatile long windowEnd;
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    // updateLock 안에서만 갱신
+    private double longRttNanos;
+    private volatile double lastShortRttNanos;
+
+    private final LongAdder[] accepted = adders();
+    private final LongAdder[] rejected = adders();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowMillis) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.windowEnd = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * 처리 허용 여부 (허용되면 반드시 release 호출)
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected[priority.ordinal()].increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted[priority.ordinal()].increment();
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        windowRttSum.add(rttNanos);
+        windowCount.increment();
+
+        long now = System.nanoTime();
+        if (now - windowEnd >= 0 && updateLock.tryLock()) {
+            try {
+                if (now - windowEnd >= 0) {
+                    updateLimit(now);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void updateLimit(long now) {
+        long count = windowCount.sum();
+        if (count < MIN_WINDOW_SAMPLES) {
+            return; // 샘플이 적으면 구간을 늘려서 더 모음
+        }
+        double shortRtt = (double) windowRttSum.sumThenReset() / count;
+        windowCount.reset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        windowEnd = now + windowNanos;
+        lastShortRttNanos = shortRtt;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+            return;
+        }
+        if (shortRtt < longRttNanos) {
+            // 더 빠른 구간이 나오면 기준 RTT는 바로 따라 내려감 (부하 없을 때의 RTT에 가깝게)
+            longRttNanos = shortRtt;
+        } else {
+            // 올라가는 쪽은 아주 천천히 (DB 자체가 느려진 경우 등 기준이 실제로 바뀐 경우만 반영)
+            longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOW;
+        }
+
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return; // 한도까지 쓰지도 않았으면 RTT와 무관하게 현 상태 유지
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRtt));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("limit", (int) limit);
+        stats.put("inFlight", inFlight.get());
+        stats.put("shortRttMillis", lastShortRttNanos / 1_000_000.0);
+        stats.put("longRttMillis", longRttNanos / 1_000_000.0);
+        Map<String, Long> acceptedByPriority = new LinkedHashMap<>();
+        Map<String, Long> rejectedByPriority = new LinkedHashMap<>();
+        for (Priority p : Priority.values()) {
+            acceptedByPriority.put(p.name(), accepted[p.ordinal()].sum());
+            rejectedByPriority.put(p.name(), rejected[p.ordinal()].sum());
+        }
+        stats.put("accepted", acceptedByPriority);
+        stats.put("rejected", rejectedByPriority);
+        return stats;
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[Priority.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
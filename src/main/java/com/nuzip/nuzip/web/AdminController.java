@@ -0,0 +1,161 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.security.ReverifyTokenStore;
+import com.nuzip.nuzip.service.ArticleLog;
+import com.nuzip.nuzip.service.ArticleSearchIndex;
+import com.nuzip.nuzip.service.BookmarkService;
+import com.nuzip.nuzip.service.ArticleStreamHub;
+import com.nuzip.nuzip.service.DailyDigestJob;
+import com.nuzip.nuzip.service.FeedMaterializer;
+import com.nuzip.nuzip.service.NewsIngestionPipeline;
+import com.nuzip.nuzip.service.SeenArticleTracker;
+import com.nuzip.nuzip.service.SubscriptionStats;
+import com.nuzip.nuzip.service.TitleAutocomplete;
+import com.nuzip.nuzip.service.TrendingService;
+import com.nuzip.nuzip.service.UserActivityTracker;
+import com.nuzip.nuzip.service.UserAffinityService;
+import com.nuzip.nuzip.service.UserResharder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 운영용 지표 조회 API (ROLE_ADMIN 전용, SecurityConfig 참고)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final NewsIngestionPipeline newsIngestionPipeline;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleStreamHub articleStreamHub;
+    private final FeedMaterializer feedMaterializer;
+    private final SubscriptionStats subscriptionStats;
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final UserActivityTracker userActivityTracker;
+    private final UserResharder userResharder;
+    private final UserAffinityService userAffinityService;
+    private final DailyDigestJob dailyDigestJob;
+    private final ArticleLog articleLog;
+    private final BookmarkService bookmarkService;
+    private final TrendingService trendingService;
+    private final SeenArticleTracker seenArticleTracker;
+    private final TitleAutocomplete titleAutocomplete;
+    private final ReverifyTokenStore reverifyTokenStore;
+
+    // 뉴스 수집 처리량(건/초), 단계별 지연, 큐 깊이
+    @GetMapping("/ingest")
+    public ResponseEntity<?> ingestStats() {
+        return ResponseEntity.ok(newsIngestionPipeline.stats());
+    }
+
+    // 검색 색인 세그먼트 수, 문서 수, posting 수
+    @GetMapping("/search")
+    public ResponseEntity<?> searchStats() {
+        return ResponseEntity.ok(articleSearchIndex.stats());
+    }
+
+    // SSE 연결 수(카테고리별), 전송 프레임 수, 느린 연결 강제 종료 수
+    @GetMapping("/stream")
+    public ResponseEntity<?> streamStats() {
+        return ResponseEntity.ok(articleStreamHub.stats());
+    }
+
+    // 카테고리 조합별 미리 만든 피드: 적중 수, 재생성 수, 보관 바이트
+    @GetMapping("/feed")
+    public ResponseEntity<?> feedStats() {
+        return ResponseEntity.ok(feedMaterializer.stats());
+    }
+
+    // 카테고리별 구독자 수 (가입 공급자 x 연령대), COUNT 쿼리 없이 메모리 카운터에서
+    @GetMapping("/subscriptions")
+    public ResponseEntity<?> subscriptionStats() {
+        return ResponseEntity.ok(subscriptionStats.stats());
+    }
+
+    // 과부하 차단: 현재 동시 처리 한도, 처리 중 요청 수, 우선순위별 허용/거절 수
+    @GetMapping("/limiter")
+    public ResponseEntity<?> limiterStats() {
+        return ResponseEntity.ok(adaptiveConcurrencyLimiter.stats());
+    }
+
+    // 마지막 접속/로그인 지연 기록: 대기 중인 사용자 수, 누적 기록/반영 건수, 마지막 flush
+    @GetMapping("/activity")
+    public ResponseEntity<?> activityStats() {
+        return ResponseEntity.ok(userActivityTracker.stats());
+    }
+
+    // 사용자 샤드: 링 구성, 샤드별 사용자 수, 재분배 진행 상황
+    @GetMapping("/shards")
+    public ResponseEntity<?> shards() {
+        return ResponseEntity.ok(userResharder.shards());
+    }
+
+    // 온라인 재분배 시작: POST /api/admin/shards/reshard?shards=0,1,2
+    @PostMapping("/shards/reshard")
+    public ResponseEntity<?> reshard(@RequestParam List<Integer> shards) {
+        return ResponseEntity.accepted().body(userResharder.start(shards));
+    }
+
+    // 읽기 이벤트 관심도 집계: 접수/버림 건수, 큐 깊이, 메모리 사용자 수, DB 반영
+    @GetMapping("/affinity")
+    public ResponseEntity<?> affinityStats() {
+        return ResponseEntity.ok(userAffinityService.stats());
+    }
+
+    // 아침 다이제스트 배치: 처리 인원, 요약 종류 수, 처리량, 남은 예상 시간, 샤드별 체크포인트
+    @GetMapping("/digest")
+    public ResponseEntity<?> digestStats() {
+        return ResponseEntity.ok(dailyDigestJob.stats());
+    }
+
+    // 다이제스트 수동 실행/재개: POST /api/admin/digest/run?date=2026-10-19 (생략 시 오늘)
+    @PostMapping("/digest/run")
+    public ResponseEntity<?> runDigest(@RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.accepted().body(dailyDigestJob.start(date));
+    }
+
+    // 기사 로그: 세그먼트/레코드/바이트 수, 희소 색인 크기, 복구·재생 결과, 조회 적중
+    @GetMapping("/articles")
+    public ResponseEntity<?> articleLogStats() {
+        return ResponseEntity.ok(articleLog.stats());
+    }
+
+    // 기사 저장: 메모리에 올린 사용자/id 수, 반영 대기, 저장·해제·확인 수, 로딩/내림 수
+    @GetMapping("/bookmarks")
+    public ResponseEntity<?> bookmarkStats() {
+        return ResponseEntity.ok(bookmarkService.stats());
+    }
+
+    // 인기 기사: 기록된 조회 수, sketch 메모리, 후보 id 수, 마지막 갱신 소요 시간
+    @GetMapping("/trending")
+    public ResponseEntity<?> trendingStats() {
+        return ResponseEntity.ok(trendingService.stats());
+    }
+
+    // 본 기사 비트맵: 활성 사용자 수, 날짜 창, 메모리(활성 사용자 100만 명당 MB 환산), 거른 기사 수, 마지막 스냅샷
+    @GetMapping("/seen")
+    public ResponseEntity<?> seenStats() {
+        return ResponseEntity.ok(seenArticleTracker.stats());
+    }
+
+    // 자동완성 색인: 후보/노드 수, 색인 바이트 vs 같은 후보 HashMap 추정치, 평균 조회 시간, 마지막 빌드
+    @GetMapping("/autocomplete")
+    public ResponseEntity<?> autocompleteStats() {
+        return ResponseEntity.ok(titleAutocomplete.stats());
+    }
+
+    // 회원정보 수정용 임시 토큰: 기억 중인 사용한 jti 수, 통과/재사용 거부/기동 전 발급 거부/만료 정리 건수
+    @GetMapping("/reverify")
+    public ResponseEntity<?> reverifyStats() {
+        return ResponseEntity.ok(reverifyTokenStore.stats());
+    }
+}
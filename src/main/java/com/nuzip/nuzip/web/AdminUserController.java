@@ -0,0 +1,67 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.domain.AuthProvider;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.service.UserDirectoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// 관리자용 사용자 목록 조회/내보내기 (ROLE_ADMIN 전용)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/users")
+public class AdminUserController {
+
+    private final UserDirectoryService userDirectoryService;
+
+    // GET /api/admin/users?provider=LOCAL&category=SPORTS&birthFrom=1990-01-01&joinedFrom=2026-01-01&cursor=123&size=50
+    @GetMapping
+    public ResponseEntity<?> list(@RequestParam(required = false) AuthProvider provider,
+                                  @RequestParam(required = false) NewsCategory category,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthFrom,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthTo,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo,
+                                  @RequestParam(required = false) Long cursor,
+                                  @RequestParam(defaultValue = "50") int size) {
+        var filter = new UserDirectoryService.Filter(provider, category, birthFrom, birthTo, joinedFrom, joinedTo);
+        return ResponseEntity.ok(userDirectoryService.page(filter, cursor, size));
+    }
+
+    // GET /api/admin/users/export?format=csv|ndjson&(목록과 같은 필터)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(required = false) AuthProvider provider,
+                                                        @RequestParam(required = false) NewsCategory category,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthFrom,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate birthTo,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedFrom,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate joinedTo) {
+        var filter = new UserDirectoryService.Filter(provider, category, birthFrom, birthTo, joinedFrom, joinedTo);
+        String fileName = "users-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+
+        return switch (format) {
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + ".csv\"")
+                    .body(out -> userDirectoryService.exportCsv(filter, out));
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + ".ndjson\"")
+                    .body(out -> userDirectoryService.exportNdjson(filter, out));
+            default -> throw new IllegalArgumentException("format은 csv 또는 ndjson이어야 합니다: " + format);
+        };
+    }
+}
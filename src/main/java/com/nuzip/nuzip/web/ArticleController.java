@@ -0,0 +1,60 @@
+package com.nuzip.nuzip.web;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.nuzip.nuzip.service.ArticleLog;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+// 기사 상세 (본문 포함) — 기사 로그의 메타 JSON은 변환 없이 그대로, 본문만 풀어서 뒤에 붙임
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/articles")
+public class ArticleController {
+
+    private static final byte[] BODY_FIELD = ",\"body\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ArticleLog articleLog;
+
+    // GET /api/articles/123
+    @GetMapping("/{id}")
+    public ResponseEntity<?> article(@PathVariable long id, HttpServletResponse response) throws IOException {
+        ArticleLog.Location location = articleLog.locate(id);
+        if (location == null) {
+            return ResponseEntity.status(404).body(Map.of("message", "기사를 찾을 수 없습니다."));
+        }
+        byte[] body = JsonStringEncoder.getInstance().quoteAsUTF8(articleLog.body(location));
+
+        // {"id":..,...,"publishedAt":..} 의 마지막 } 앞에 "body"를 끼워 넣음. 메타는 mmap 슬라이스를 그대로 씀
+        ByteBuffer meta = location.meta();
+        meta.limit(meta.limit() - 1);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_LENGTH,
+                String.valueOf(meta.remaining() + BODY_FIELD.length + body.length + END.length));
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        while (meta.hasRemaining()) {
+            out.write(meta);
+        }
+        response.getOutputStream().write(BODY_FIELD);
+        response.getOutputStream().write(body);
+        response.getOutputStream().write(END);
+        response.flushBuffer();
+        return null; // 응답은 이미 씀
+    }
+}
@@ -0,0 +1,41 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.service.TitleAutocomplete;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 검색창 자동완성 (글자를 칠 때마다 호출, 메모리 색인에서만 응답)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private static final int MAX_PREFIX_LENGTH = 50;
+
+    private final TitleAutocomplete titleAutocomplete;
+
+    // GET /api/autocomplete?q=삼성ㅈ&size=10
+    @GetMapping
+    public ResponseEntity<?> complete(@AuthenticationPrincipal User principal,
+                                      @RequestParam String q,
+                                      @RequestParam(defaultValue = "10") int size) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        if (q.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("검색어는 " + MAX_PREFIX_LENGTH + "자 이하여야 합니다.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        return ResponseEntity.ok(Map.of("query", q, "items", titleAutocomplete.complete(q, size)));
+    }
+}
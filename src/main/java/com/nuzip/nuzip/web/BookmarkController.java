@@ -0,0 +1,81 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.service.BookmarkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 기사 저장("zip") — 저장/해제, 내 저장 목록, 피드 한 페이지 분량 저장 여부 확인
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/bookmarks")
+public class BookmarkController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CHECK_IDS = 200;
+
+    private final BookmarkService bookmarkService;
+
+    // PUT /api/bookmarks/123 (이미 저장돼 있어도 200)
+    @PutMapping("/{articleId}")
+    public ResponseEntity<?> save(@AuthenticationPrincipal User principal, @PathVariable long articleId) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        boolean created = bookmarkService.save(principal.getUsername(), articleId);
+        return ResponseEntity.ok(Map.of("articleId", articleId, "saved", true, "created", created));
+    }
+
+    // DELETE /api/bookmarks/123 (저장돼 있지 않아도 200)
+    @DeleteMapping("/{articleId}")
+    public ResponseEntity<?> unsave(@AuthenticationPrincipal User principal, @PathVariable long articleId) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        boolean removed = bookmarkService.unsave(principal.getUsername(), articleId);
+        return ResponseEntity.ok(Map.of("articleId", articleId, "saved", false, "removed", removed));
+    }
+
+    // GET /api/bookmarks?before=5000&size=20 — 최신 기사부터, 다음 페이지는 nextBefore로
+    @GetMapping
+    public ResponseEntity<?> list(@AuthenticationPrincipal User principal,
+                                  @RequestParam(defaultValue = "" + Long.MAX_VALUE) long before,
+                                  @RequestParam(defaultValue = "20") int size) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        long[] ids = bookmarkService.page(principal.getUsername(), before, size);
+        Map<String, Object> body = new HashMap<>();
+        body.put("items", ids);
+        body.put("total", bookmarkService.count(principal.getUsername()));
+        body.put("nextBefore", ids.length == size ? ids[ids.length - 1] : null);
+        return ResponseEntity.ok(body);
+    }
+
+    // GET /api/bookmarks/check?ids=101,102,103 → {"saved":[101,103]}
+    @GetMapping("/check")
+    public ResponseEntity<?> check(@AuthenticationPrincipal User principal, @RequestParam List<Long> ids) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        if (ids.size() > MAX_CHECK_IDS) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_CHECK_IDS + "개까지 확인할 수 있습니다.");
+        }
+        return ResponseEntity.ok(Map.of("saved", bookmarkService.savedAmong(principal.getUsername(), ids)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.service.BootstrapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 앱 시작 시 /api/auth/me, /api/users/me, /api/users/me/categories, /api/feed 를 한 번에
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/bootstrap")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    // GET /api/bootstrap → { profile, categories, catalogue, feed, partial, errors }
+    @GetMapping
+    public ResponseEntity<?> bootstrap(@AuthenticationPrincipal User principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("authenticated", false));
+        }
+        return ResponseEntity.ok(bootstrapService.bootstrap(principal.getUsername()));
+    }
+}
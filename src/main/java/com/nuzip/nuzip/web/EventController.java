@@ -0,0 +1,49 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.dto.ReadEventBatchDto;
+import com.nuzip.nuzip.service.SeenArticleTracker;
+import com.nuzip.nuzip.service.TrendingService;
+import com.nuzip.nuzip.service.UserAffinityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 기사 읽기(클릭/체류/노출) 이벤트 수집 → 카테고리 관심도, 카테고리별 인기 기사 조회 수, 본 기사
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/events")
+public class EventController {
+
+    private final UserAffinityService userAffinityService;
+    private final TrendingService trendingService;
+    private final SeenArticleTracker seenArticleTracker;
+
+    // POST /api/events {"events":[{"articleId":123,"type":"CLICK"},{"articleId":123,"type":"DWELL","dwellMs":45000}]}
+    @PostMapping
+    public ResponseEntity<?> submit(@AuthenticationPrincipal User principal, @RequestBody ReadEventBatchDto body) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        int accepted = userAffinityService.submit(principal.getUsername(), body.getEvents());
+        trendingService.recordViews(body.getEvents());
+        seenArticleTracker.record(principal.getUsername(), body.getEvents());
+        return ResponseEntity.accepted().body(Map.of("accepted", accepted));
+    }
+
+    // 내 카테고리 관심도 (현재 시각 기준)
+    @GetMapping("/affinity")
+    public ResponseEntity<?> myAffinity(@AuthenticationPrincipal User principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "로그인이 필요합니다."));
+        }
+        return ResponseEntity.ok(userAffinityService.scoresByCategory(principal.getUsername()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.dto.FeedPageDto;
+import com.nuzip.nuzip.service.CategoryFeedStore;
+import com.nuzip.nuzip.service.FeedCursor;
+import com.nuzip.nuzip.service.FeedMaterializer;
+import com.nuzip.nuzip.service.SeenArticleTracker;
+import com.nuzip.nuzip.service.UserAffinityService;
+import com.nuzip.nuzip.service.UserCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 내 관심 카테고리 3개를 병합한 뉴스 피드 (DB 조회 없이 메모리에서만 응답)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/feed")
+public class FeedController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // unseen=true일 때 한 페이지를 채우려고 더 읽는 최대 횟수 (다 본 기사뿐이어도 요청 하나의 비용은 제한)
+    private static final int MAX_UNSEEN_SCANS = 5;
+
+    private final CategoryFeedStore categoryFeedStore;
+    private final UserCache userCache;
+    private final FeedMaterializer feedMaterializer;
+    private final UserAffinityService userAffinityService;
+    private final SeenArticleTracker seenArticleTracker;
+
+    // GET /api/feed?cursor={publishedAt}_{id}&size=20[&ranked=true][&unseen=true]
+    // ranked=true면 페이지 안에서 읽기 관심도 순으로 재정렬 (커서는 최신순 기준 그대로)
+    // unseen=true면 이미 노출된 기사를 빼고 채움 (사용자별 결과라 미리 만든 페이지는 쓰지 않음)
+    @GetMapping
+    public ResponseEntity<?> getFeed(@AuthenticationPrincipal User principal,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "20") int size,
+                                     @RequestParam(defaultValue = "false") boolean ranked,
+                                     @RequestParam(defaultValue = "false") boolean unseen,
+                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "피드를 보려면 로그인해야 합니다."));
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        var categories = userCache.find(principal.getUsername())
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + principal.getUsername()))
+                .categories();
+
+        // 앞쪽 페이지는 카테고리 조합별로 미리 만든 바이트를 그대로 응답 (사용자 수와 무관한 비용)
+        if (!ranked && !unseen && size == feedMaterializer.pageSize()) {
+            FeedMaterializer.Snapshot snapshot = feedMaterializer.find(categories, cursor);
+            if (snapshot != null) {
+                return materialized(snapshot, acceptEncoding, ifNoneMatch);
+            }
+        }
+
+        List<Article> items;
+        String nextCursor;
+        if (unseen) {
+            items = new ArrayList<>(size);
+            nextCursor = unseenPage(principal.getUsername(), categories, FeedCursor.parse(cursor), size, items);
+        } else {
+            items = categoryFeedStore.page(categories, FeedCursor.parse(cursor), size);
+            nextCursor = items.size() < size ? null : FeedCursor.of(items.get(items.size() - 1)).toString();
+        }
+        if (ranked) {
+            items = userAffinityService.rank(principal.getUsername(), items);
+        }
+        return ResponseEntity.ok(new FeedPageDto(items, nextCursor));
+    }
+
+    // 안 본 기사로 items를 size개까지 채우고 다음 커서를 돌려줌 (마지막으로 담았거나 훑은 기사 기준, 끝이면 null)
+    private String unseenPage(String userId, Set<NewsCategory> categories, FeedCursor cursor, int size, List<Article> items) {
+        FeedCursor after = cursor;
+        for (int scan = 0; scan < MAX_UNSEEN_SCANS; scan++) {
+            List<Article> page = categoryFeedStore.page(categories, after, size);
+            if (page.isEmpty()) {
+                return null;
+            }
+            after = FeedCursor.of(page.get(page.size() - 1));
+            for (Article article : seenArticleTracker.unseen(userId, page)) {
+                items.add(article);
+                if (items.size() == size) {
+                    return FeedCursor.of(article).toString();
+                }
+            }
+            if (page.size() < size) {
+                return null;
+            }
+        }
+        return after.toString();
+    }
+
+    static ResponseEntity<?> materialized(FeedMaterializer.Snapshot snapshot, String acceptEncoding, String ifNoneMatch) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = snapshot.etag(gzip);
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    // Accept-Encoding: gzip(x-gzip)의 q가 0보다 크면 허용, gzip이 없으면 *의 q를 따름 (gzip;q=0은 명시적 거부)
+    // q를 읽을 수 없으면 그 항목은 거부로 봄 → 압축 없는 응답은 항상 안전
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = Math.max(any, q);
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : any > 0;
+    }
+
+    // If-None-Match: 쉼표로 나열된 태그 중 하나라도 같으면 (약한 비교라 W/ 접두어는 무시, *는 전부 일치)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
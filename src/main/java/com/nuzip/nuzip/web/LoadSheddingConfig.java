@@ -0,0 +1,33 @@
+package com.nuzip.nuzip.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 과부하 차단 필터를 시큐리티 필터 체인(-100)보다 먼저 등록 → 거절할 요청은 JWT 검증/DB 조회도 하지 않음
+@Configuration
+public class LoadSheddingConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${nuzip.limiter.initial-limit:50}") int initialLimit,
+            @Value("${nuzip.limiter.min-limit:10}") int minLimit,
+            @Value("${nuzip.limiter.max-limit:400}") int maxLimit,
+            @Value("${nuzip.limiter.window-ms:250}") long windowMillis) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, windowMillis);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            @Value("${nuzip.limiter.enabled:true}") boolean enabled,
+            @Value("${nuzip.limiter.retry-after-seconds:1}") int retryAfterSeconds) {
+        FilterRegistrationBean<LoadSheddingFilter> registration =
+                new FilterRegistrationBean<>(new LoadSheddingFilter(limiter, retryAfterSeconds));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
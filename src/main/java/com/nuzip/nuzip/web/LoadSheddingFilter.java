@@ -0,0 +1,72 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.web.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 과부하 차단 필터 (시큐리티 체인보다 앞에서 실행)
+ * - DB가 느려져 스레드가 쌓이기 전에 한도를 넘는 요청은 바로 503 + Retry-After
+ * - 우선순위: 내 정보 조회는 HIGH, 비밀번호 해시가 필요한 로그인/회원가입/구글 로그인과 읽기 이벤트 수집은 LOW
+ * - 헬스체크, SSE 스트림(장시간 연결), 운영 지표 API는 제한하지 않음
+ */
+@RequiredArgsConstructor
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final byte[] REJECTED_BODY =
+            "{\"message\":\"요청이 많아 잠시 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final int retryAfterSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return uri.equals("/") || uri.equals("/ready")
+                || uri.startsWith("/api/stream") || uri.startsWith("/api/admin/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.tryAcquire(priorityOf(request))) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(REJECTED_BODY.length);
+            response.getOutputStream().write(REJECTED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    static Priority priorityOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if ("POST".equals(method)
+                && (uri.equals("/login") || uri.equals("/api/auth/register") || uri.equals("/api/auth/google")
+                || uri.equals("/api/events"))) {
+            return Priority.LOW;
+        }
+        if ("GET".equals(method) && (uri.equals("/api/users/me") || uri.equals("/api/auth/me"))) {
+            return Priority.HIGH;
+        }
+        return Priority.NORMAL;
+    }
+}
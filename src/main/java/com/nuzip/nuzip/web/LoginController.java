@@ -2,6 +2,7 @@ package com.nuzip.nuzip.web;
 
 import com.nuzip.nuzip.dto.AccountCredentialsDto;
 import com.nuzip.nuzip.security.JwtService;
+import com.nuzip.nuzip.service.UserActivityTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -26,6 +27,7 @@ public class LoginController {
 
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserActivityTracker userActivityTracker; // 마지막 로그인 시각 (DB는 배치로 반영)
 
     /**
      * POST /login
@@ -42,6 +44,7 @@ public class LoginController {
             Authentication auth = authenticationManager.authenticate(authToken);
 
             String jwt = jwtService.generateToken(auth.getName()); // subject=userId
+            userActivityTracker.recordLogin(auth.getName());
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt)                  // ← 한 문자열이어야 함
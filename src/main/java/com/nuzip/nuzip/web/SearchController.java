@@ -0,0 +1,63 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.service.ArticleSearchIndex;
+import com.nuzip.nuzip.service.SearchHit;
+import com.nuzip.nuzip.service.UserCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 기사 검색 (인메모리 역색인, 기본 범위는 내 관심 카테고리)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final ArticleSearchIndex articleSearchIndex;
+    private final UserCache userCache;
+
+    // GET /api/search?q=반도체&categories=ECONOMY,IT_SCIENCE&size=20
+    @GetMapping
+    public ResponseEntity<?> search(@AuthenticationPrincipal User principal,
+                                    @RequestParam String q,
+                                    @RequestParam(required = false) Set<NewsCategory> categories,
+                                    @RequestParam(defaultValue = "20") int size) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "검색하려면 로그인해야 합니다."));
+        }
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("검색어는 1~" + MAX_QUERY_LENGTH + "자여야 합니다.");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        // categories 미지정 → 내 관심 카테고리, 관심 카테고리도 없으면 전체
+        Set<NewsCategory> scope = (categories != null && !categories.isEmpty())
+                ? categories
+                : userCache.find(principal.getUsername())
+                        .map(UserCache.CachedUser::categories)
+                        .orElse(Set.of());
+
+        int mask = 0;
+        for (NewsCategory c : scope) {
+            mask |= 1 << c.ordinal();
+        }
+
+        List<SearchHit> hits = articleSearchIndex.search(q, mask, size);
+        return ResponseEntity.ok(Map.of("query", q, "items", hits));
+    }
+}
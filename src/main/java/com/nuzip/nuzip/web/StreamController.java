@@ -0,0 +1,48 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.service.ArticleStreamHub;
+import com.nuzip.nuzip.service.UserCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// 내 관심 카테고리의 새 기사 실시간 스트림 (Server-Sent Events)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    private final ArticleStreamHub articleStreamHub;
+    private final UserCache userCache;
+
+    // GET /api/stream  (재접속 시 브라우저가 Last-Event-ID 헤더를 자동으로 보냄)
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal User principal,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (principal == null) {
+            throw new IllegalStateException("스트림을 구독하려면 로그인해야 합니다.");
+        }
+        var categories = userCache.find(principal.getUsername())
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + principal.getUsername()))
+                .categories();
+        if (categories.isEmpty()) {
+            throw new IllegalArgumentException("관심 카테고리를 먼저 선택해야 합니다.");
+        }
+
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Last-Event-ID 형식이 올바르지 않습니다: " + lastEventId);
+            }
+        }
+        return articleStreamHub.subscribe(categories, resumeFrom);
+    }
+}
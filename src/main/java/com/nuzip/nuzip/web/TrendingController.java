@@ -0,0 +1,37 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.service.TrendingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 카테고리별 실시간 인기 기사 (몇 초마다 갱신되는 스냅샷을 그대로 응답)
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/trending")
+public class TrendingController {
+
+    private final TrendingService trendingService;
+
+    // GET /api/trending/SPORTS?size=10
+    @GetMapping("/{category}")
+    public ResponseEntity<?> trending(@PathVariable NewsCategory category,
+                                      @RequestParam(defaultValue = "10") int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다.");
+        }
+        TrendingService.Snapshot snapshot = trendingService.trending(category);
+        return ResponseEntity.ok(Map.of(
+                "category", category,
+                "items", snapshot.items().subList(0, Math.min(size, snapshot.items().size())),
+                "generatedAt", snapshot.generatedAt(),
+                "windowMinutes", snapshot.windowMillis() / 60_000));
+    }
+}
@@ -7,6 +7,7 @@ import com.nuzip.nuzip.domain.AuthProvider;
 import com.nuzip.nuzip.security.JwtService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.User;
@@ -28,6 +29,9 @@ import java.util.LinkedHashMap;
 @RequestMapping("/api/users")
 public class UserController {
 
+    // /me/verify-password에서 받은 임시 토큰을 회원정보 수정 요청에 실어 보내는 헤더
+    private static final String REVERIFY_HEADER = "X-Reverify-Token";
+
     private final UserService userService;
     private final JwtService jwtService;
 
@@ -139,12 +143,26 @@ public class UserController {
     // 비밀번호 불일치시 메시지 띄우고 일치시 통과
     @PatchMapping("/me")
     public ResponseEntity<?> updateMyInfo(@AuthenticationPrincipal org.springframework.security.core.userdetails.User principal,
+                                          @RequestHeader(value = REVERIFY_HEADER, required = false) String reverifyToken,
                                           @Valid @RequestBody UpdateMyInfoRequestDto updateMyInfoReq) {
         if (principal == null) {
             return ResponseEntity.status(401).body(Map.of("message", "프로필을 수정하려면 로그인해 주세요."));
         }
-        // LOCAL에서만 비번 검증 API를 쓰고 싶다면: 프론트에서 /me/verify-password를 먼저 호출하도록 유지
-        userService.updateMyInfo(principal.getUsername(), updateMyInfoReq);
+        // LOCAL 계정은 /me/verify-password에서 받은 임시 토큰이 있어야 수정 가능
+        // 토큰은 한 번만 쓸 수 있음 (수정이 실패해도 소모되므로 다시 수정하려면 비밀번호 확인부터)
+        if (userService.getProvider(principal.getUsername()) == AuthProvider.LOCAL
+                && !jwtService.verifyReverifyToken(reverifyToken, principal.getUsername())) {
+            return ResponseEntity.status(403).body(Map.of("message", "비밀번호를 다시 확인한 뒤 수정해 주세요."));
+        }
+        boolean passwordChanged = userService.updateMyInfo(principal.getUsername(), updateMyInfoReq);
+        if (passwordChanged) {
+            // 비밀번호 변경으로 기존 토큰이 폐기되었으므로 새 토큰을 헤더로 전달
+            String jwt = jwtService.generateToken(principal.getUsername());
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt)
+                    .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, "Authorization")
+                    .body(Map.of("updated", true, "tokenReissued", true));
+        }
         return ResponseEntity.ok(Map.of("updated", true));
     }
 
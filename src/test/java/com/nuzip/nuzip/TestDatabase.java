@@ -0,0 +1,67 @@
+package com.nuzip.nuzip;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JdbcTemplate으로 쓰는 서비스의 단위 테스트용 H2 (MariaDB 모드, 테스트마다 새 DB)
+ * - 테이블 정의는 여기 한 곳에만: 엔티티(domain)에서 Hibernate가 만드는 것과 같은 컬럼/널 허용/유니크 제약
+ *   → 엔티티 컬럼을 바꾸면 여기도 같이 바꿀 것
+ * - enum 컬럼 검사 제약은 넣지 않음 (잘못된 값이 저장된 상황을 테스트에서 만들 수 있게)
+ */
+public final class TestDatabase {
+
+    private static final Map<String, String> TABLES = Map.of(
+            // User
+            "users", "create table users (id bigint auto_increment primary key, "
+                    + "user_id varchar(50) not null, password varchar(255) not null, username varchar(50) not null, "
+                    + "birth_date date, phone varchar(11), provider varchar(255) not null, created_at timestamp(6), "
+                    + "last_login_at timestamp(6), last_seen_at timestamp(6), "
+                    + "constraint uk_users_user_id unique (user_id))",
+            // User.newsCategory
+            "user_categories", "create table user_categories (user_id bigint not null, category varchar(30) not null, "
+                    + "primary key (user_id, category), foreign key (user_id) references users (id))",
+            // UserBookmark
+            "user_bookmarks", "create table user_bookmarks (id bigint auto_increment primary key, "
+                    + "user_id varchar(50) not null, article_id bigint not null, created_at bigint not null, "
+                    + "constraint uk_user_bookmarks unique (user_id, article_id))",
+            // UserCategoryAffinity
+            "user_category_affinity", "create table user_category_affinity (id bigint auto_increment primary key, "
+                    + "user_id varchar(50) not null, category varchar(30) not null, score real not null, "
+                    + "decayed_at bigint not null, constraint uk_user_category_affinity unique (user_id, category))",
+            // ConsumedReverifyToken
+            "consumed_reverify_tokens", "create table consumed_reverify_tokens (id bigint auto_increment primary key, "
+                    + "jti varchar(64) not null, user_id varchar(50) not null, expires_at bigint not null, "
+                    + "constraint uk_consumed_reverify_tokens unique (jti))",
+            // ArticleIdBlock
+            "article_id_blocks", "create table article_id_blocks (name varchar(30) primary key, next_id bigint not null)"
+    );
+
+    private TestDatabase() {
+    }
+
+    // name은 DB 이름 앞부분 (어느 테스트의 DB인지 보이도록), tables는 만들 순서대로
+    public static DriverManagerDataSource dataSource(String name, String... tables) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1", "sa", "");
+        createTables(new JdbcTemplate(dataSource), tables);
+        return dataSource;
+    }
+
+    public static JdbcTemplate jdbc(String name, String... tables) {
+        return new JdbcTemplate(dataSource(name, tables));
+    }
+
+    public static void createTables(JdbcTemplate jdbc, String... tables) {
+        for (String table : tables) {
+            String ddl = TABLES.get(table);
+            if (ddl == null) {
+                throw new IllegalArgumentException("테스트 스키마에 없는 테이블: " + table);
+            }
+            jdbc.execute(ddl);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.nuzip.nuzip.domain;
+
+import com.nuzip.nuzip.NuzipApplication;
+import com.nuzip.nuzip.dto.RegisterRequestDto;
+import com.nuzip.nuzip.service.UserResharder;
+import com.nuzip.nuzip.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 임베디드 DB 세 개를 샤드로 쓰는 노드 하나: 링(0, 1)에 가입 → 샤드 배치/id 규칙 확인 → 샤드 2를 추가하는 재분배(저장한 기사도 같이 이동)
+// 재분배는 옛 링에 머문 다른 노드가 새 링을 보고할 때까지 옛 샤드를 지우지 않고, 그 노드가 옛 샤드에 쓴 것도 옮김
+class UserShardingTest {
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext node;
+
+    @BeforeEach
+    void startNode() {
+        node = new SpringApplicationBuilder(NuzipApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--nuzip.sharding.enabled=true",
+                        "--nuzip.sharding.urls=" + shardUrl(0) + "," + shardUrl(1) + "," + shardUrl(2),
+                        "--nuzip.sharding.active=0,1",
+                        "--nuzip.sharding.username=sa",
+                        "--nuzip.sharding.password=",
+                        "--nuzip.sharding.reshard-drain-ms=200",
+                        "--nuzip.sharding.reshard-chunk-size=7",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.security.oauth2.client.registration.google.client-id=test",
+                        "--spring.security.oauth2.client.registration.google.client-secret=test",
+                        "--nuzip.ingest.enabled=false",
+                        "--nuzip.article-log.enabled=false",
+                        "--nuzip.seen.dir=" + dataDir.resolve("seen")
+                );
+    }
+
+    @AfterEach
+    void stopNode() {
+        node.close();
+    }
+
+    @Test
+    void usersAreRoutedByRingAndMovedByResharding() throws InterruptedException {
+        ShardRouter router = node.getBean(ShardRouter.class);
+        UserRepository userRepository = node.getBean(UserRepository.class);
+        List<String> userIds = new ArrayList<>(List.of("kim1", "lee2"));
+        for (int i = 0; i < 40; i++) {
+            String userId = "shard-user-" + i;
+            node.getBean(UserService.class).register(new RegisterRequestDto(userId, "pw-" + i, "사용자" + i,
+                    Set.of(NewsCategory.SPORTS), LocalDate.of(1990, 1, 1), "01000000000"));
+            userIds.add(userId);
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (String userId : userIds) {
+            int shard = router.shardOf(userId);
+            assertThat(shard).isIn(0, 1);
+            long id = storedId(shard, userId);
+            assertThat(id % router.idStride()).isEqualTo(shard + 1);
+            ids.add(id);
+            assertThat(userRepository.findByUserId(userId)).isPresent();
+        }
+        assertThat(ids).hasSize(userIds.size());
+        assertThat(userCount(2)).isZero();
+        for (String userId : userIds) {
+            shardJdbc(router.shardOf(userId)).update(
+                    "insert into user_bookmarks (user_id, article_id, created_at) values (?, 1, 0)", userId);
+        }
+
+        Map<String, Integer> oldShards = new HashMap<>();
+        userIds.forEach(userId -> oldShards.put(userId, router.shardOf(userId)));
+        // 아직 옛 링(version 1)을 쓰는 다른 노드
+        shardJdbc(ShardContext.HOME).update("insert into shard_ring_nodes (node_id, version, seen_at) values (?, 1, ?)",
+                "other-node", System.currentTimeMillis() + 60_000);
+
+        UserResharder resharder = node.getBean(UserResharder.class);
+        resharder.start(List.of(0, 1, 2));
+        Map<String, Object> status = resharder.status();
+        for (int i = 0; i < 100 && !"AWAIT_NODES".equals(status.get("phase")); i++) {
+            Thread.sleep(100);
+            status = resharder.status();
+        }
+        assertThat(status.get("phase")).isEqualTo("AWAIT_NODES");
+        assertThat(status.get("laggingNodes")).isEqualTo(List.of("other-node"));
+        Thread.sleep(500);
+        assertThat(resharder.status().get("phase")).isEqualTo("AWAIT_NODES");
+        // 정리 전이라 옛 샤드에 이동 대상이 그대로 남아 있음
+        assertThat(userCount(0) + userCount(1)).isEqualTo(userIds.size());
+        assertThat(router.ring().members()).containsExactly(0, 1, 2);
+
+        // 옛 링 노드가 옮겨 갈 사용자의 옛 샤드에 저장한 기사 → 정리 전에 새 샤드로 옮겨져야 함
+        String movedUser = userIds.stream()
+                .filter(userId -> router.shardOf(userId) != oldShards.get(userId))
+                .findFirst().orElseThrow();
+        shardJdbc(oldShards.get(movedUser)).update(
+                "insert into user_bookmarks (user_id, article_id, created_at) values (?, 2, ?)",
+                movedUser, System.currentTimeMillis());
+
+        shardJdbc(ShardContext.HOME).update("update shard_ring_nodes set version = ? where node_id = 'other-node'",
+                status.get("ringVersion"));
+        for (int i = 0; i < 100 && !"DONE".equals(status.get("phase")) && !"FAILED".equals(status.get("phase")); i++) {
+            Thread.sleep(100);
+            status = resharder.status();
+        }
+        assertThat(status.get("phase")).isEqualTo("DONE");
+
+        assertThat(userCount(2)).isPositive();
+        assertThat(userCount(0) + userCount(1) + userCount(2)).isEqualTo(userIds.size());
+        for (String userId : userIds) {
+            assertThat(storedId(router.shardOf(userId), userId)).isPositive();
+            assertThat(userRepository.findByUserId(userId).orElseThrow().getNewsCategory()).isNotEmpty();
+            assertThat(shardJdbc(router.shardOf(userId)).queryForObject(
+                    "select count(*) from user_bookmarks where user_id = ? and article_id = 1", Long.class, userId))
+                    .isEqualTo(1);
+        }
+        assertThat(bookmarkCount(0) + bookmarkCount(1) + bookmarkCount(2)).isEqualTo(userIds.size() + 1);
+        assertThat(shardJdbc(router.shardOf(movedUser)).queryForObject(
+                "select count(*) from user_bookmarks where user_id = ? and article_id = 2", Long.class, movedUser))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void saveAllSplitsUsersByShard() {
+        ShardRouter router = node.getBean(ShardRouter.class);
+        UserRepository userRepository = node.getBean(UserRepository.class);
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            batch.add(User.builder()
+                    .userId("bulk-user-" + i)
+                    .password("pw")
+                    .username("일괄" + i)
+                    .newsCategory(Set.of(NewsCategory.WORLD))
+                    .build());
+        }
+
+        List<User> saved = userRepository.saveAll(batch);
+
+        assertThat(saved).extracting(User::getUserId)
+                .containsExactlyElementsOf(batch.stream().map(User::getUserId).toList());
+        Set<Long> ids = new HashSet<>();
+        for (User user : saved) {
+            int shard = router.shardOf(user.getUserId());
+            assertThat(storedId(shard, user.getUserId())).isEqualTo(user.getId());
+            assertThat(user.getId() % router.idStride()).isEqualTo(shard + 1);
+            assertThat(shardJdbc(1 - shard).queryForObject(
+                    "select count(*) from users where user_id = ?", Long.class, user.getUserId())).isZero();
+            ids.add(user.getId());
+        }
+        assertThat(ids).hasSize(batch.size());
+
+        userRepository.deleteAll(saved);
+        assertThat(userCount(0) + userCount(1)).isEqualTo(2); // 시드 계정(kim1, lee2)만 남음
+    }
+
+    private long storedId(int shard, String userId) {
+        return shardJdbc(shard).queryForObject("select id from users where user_id = ?", Long.class, userId);
+    }
+
+    private long userCount(int shard) {
+        return shardJdbc(shard).queryForObject("select count(*) from users", Long.class);
+    }
+
+    private long bookmarkCount(int shard) {
+        return shardJdbc(shard).queryForObject("select count(*) from user_bookmarks", Long.class);
+    }
+
+    private JdbcTemplate shardJdbc(int shard) {
+        return new JdbcTemplate(node.getBean(ShardDataSources.class).get(shard));
+    }
+
+    private static String shardUrl(int shard) {
+        return "jdbc:h2:mem:user-shard-" + shard + ";MODE=MariaDB;DB_CLOSE_DELAY=-1";
+    }
+}
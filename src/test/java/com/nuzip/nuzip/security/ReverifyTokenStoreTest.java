@@ -0,0 +1,105 @@
+package com.nuzip.nuzip.security;
+
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// reverify 토큰 1회 사용: 같은 노드/다른 노드 재사용, 동시 사용, 만료 후 메모리·DB 정리
+class ReverifyTokenStoreTest {
+
+    private JdbcTemplate jdbc;
+    private ShardRouter router;
+    private ReverifyTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = TestDatabase.jdbc("reverify", "consumed_reverify_tokens");
+        router = new ShardRouter(false, List.of(), List.of(), 128, 64);
+        store = new ReverifyTokenStore(jdbc, router);
+    }
+
+    @Test
+    void secondUseIsRejectedOnSameAndOtherNode() {
+        Date expiration = new Date(System.currentTimeMillis() + 300_000);
+        ReverifyTokenStore otherNode = new ReverifyTokenStore(jdbc, router);
+
+        assertThat(store.consume("kim1", "jti-1", expiration)).isTrue();
+        assertThat(store.consume("kim1", "jti-1", expiration)).isFalse();       // 메모리에서 거절
+        assertThat(otherNode.consume("kim1", "jti-1", expiration)).isFalse();   // DB 유니크 제약으로 거절
+        assertThat(otherNode.consume("kim1", "jti-1", expiration)).isFalse();
+        assertThat(otherNode.consume("kim1", "jti-2", expiration)).isTrue();
+
+        assertThat(store.stats()).containsEntry("accepted", 1L).containsEntry("replayed", 1L);
+        assertThat(otherNode.stats()).containsEntry("accepted", 1L).containsEntry("replayed", 1L)
+                .containsEntry("replayedOtherNode", 1L);
+        assertThat(count()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentUsesAcrossNodesLetExactlyOneThrough() throws Exception {
+        Date expiration = new Date(System.currentTimeMillis() + 300_000);
+        List<ReverifyTokenStore> nodes = List.of(store, new ReverifyTokenStore(jdbc, router),
+                new ReverifyTokenStore(jdbc, router));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 20; round++) {
+                String jti = "jti-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    ReverifyTokenStore node = nodes.get(i % nodes.size());
+                    Callable<Boolean> use = () -> {
+                        start.await();
+                        return node.consume("lee2", jti, expiration);
+                    };
+                    results.add(pool.submit(use));
+                }
+                start.countDown();
+                int passed = 0;
+                for (Future<Boolean> result : results) {
+                    passed += result.get() ? 1 : 0;
+                }
+                assertThat(passed).isEqualTo(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(count()).isEqualTo(20);
+    }
+
+    @Test
+    void expiredTokensAreForgottenInMemoryAndDb() {
+        long now = System.currentTimeMillis();
+        assertThat(store.consume("park3", "short", new Date(now + 2_000))).isTrue();
+        assertThat(store.consume("park3", "long", new Date(now + 600_000))).isTrue();
+        assertThat(store.consume("park3", "gone", new Date(now - 1))).isFalse(); // 이미 만료
+
+        store.tick(now + 1_000);
+        assertThat(store.stats()).containsEntry("remembered", 2).containsEntry("expired", 0L);
+
+        store.tick(now + 5_000);
+        assertThat(store.stats()).containsEntry("remembered", 1).containsEntry("expired", 1L);
+
+        store.evictExpired(now + 5_000);
+        assertThat(jdbc.queryForList("select jti from consumed_reverify_tokens", String.class))
+                .containsExactly("long");
+        assertThat(store.consume("park3", "long", new Date(now + 600_000))).isFalse();
+    }
+
+    private long count() {
+        return jdbc.queryForObject("select count(*) from consumed_reverify_tokens", Long.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.nuzip.nuzip.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 타이밍 휠: 레벨 0/1/2와 범위 밖 항목이 일찍 만료되지 않고 정확히 한 번, 만료된 틱에서 만료되는지
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long T0 = 1_760_000_000_000L;
+
+    @Test
+    void entriesExpireOnceAndNeverEarlyAcrossLevels() {
+        Map<String, Long> expiredAt = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        long[] now = {T0};
+        TimingWheel wheel = new TimingWheel(TICK, T0, (id, expiresAt) -> {
+            assertThat(now[0]).isGreaterThanOrEqualTo(expiresAt);
+            assertThat(expiredAt.put(id, now[0])).isNull();
+            order.add(id);
+        });
+
+        long[] delays = {
+                1_500,                 // 레벨 0
+                63_000,                // 레벨 0 끝
+                64_000,                // 레벨 1 시작
+                300_500,               // 레벨 1
+                4_096_000,             // 레벨 2 시작
+                10_000_000,            // 레벨 2
+                300_000_000            // 세 레벨 범위(약 3일) 밖
+        };
+        for (long delay : delays) {
+            wheel.schedule("d" + delay, T0 + delay);
+        }
+
+        // 1초씩 나아가며 각 항목이 만료 시각이 지난 첫 틱에서 만료되는지
+        long end = T0 + 300_000_000 + 2 * TICK;
+        while (now[0] < end) {
+            now[0] += TICK;
+            wheel.advance(now[0]);
+        }
+
+        assertThat(order).containsExactly("d1500", "d63000", "d64000", "d300500", "d4096000", "d10000000",
+                "d300000000");
+        for (long delay : delays) {
+            long due = T0 + delay;
+            assertThat(expiredAt.get("d" + delay) - due).isGreaterThanOrEqualTo(0L).isLessThan(TICK);
+        }
+    }
+
+    @Test
+    void advanceCatchesUpSkippedTicks() {
+        List<String> expired = new ArrayList<>();
+        TimingWheel wheel = new TimingWheel(TICK, T0, (id, expiresAt) -> expired.add(id));
+        wheel.schedule("soon", T0 + 2_000);
+        wheel.schedule("later", T0 + 200_000);
+        wheel.schedule("past", T0 - 5_000); // 이미 지난 것은 다음 틱에
+
+        wheel.advance(T0 + 1_000);
+        assertThat(expired).containsExactly("past");
+
+        // 스케줄러가 밀려 한 번에 크게 나아가도 빠짐없이 만료
+        wheel.advance(T0 + 150_000);
+        assertThat(expired).containsExactly("past", "soon");
+        wheel.advance(T0 + 199_999);
+        assertThat(expired).containsExactly("past", "soon");
+        wheel.advance(T0 + 200_000);
+        assertThat(expired).containsExactly("past", "soon", "later");
+    }
+}
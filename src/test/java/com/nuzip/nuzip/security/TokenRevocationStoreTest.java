@@ -0,0 +1,179 @@
+package com.nuzip.nuzip.security;
+
+import com.nuzip.nuzip.NuzipApplication;
+import com.nuzip.nuzip.domain.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 토큰 폐기: 같은 임베디드 DB를 공유하는 두 노드에서 폐기한 토큰은 필터가 거절하고 다른 토큰은 그대로 통과하는지,
+// 비밀번호 변경 이전 발급 토큰 일괄 폐기, 원래 토큰 만료 시각이 지나면 메모리·DB에서 지워지는지, 재시작 후 복구
+class TokenRevocationStoreTest {
+
+    @TempDir
+    Path dataDir;
+
+    private String dbName;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        dbName = "revocation-" + UUID.randomUUID();
+        nodeA = startNode(dbName, dataDir.resolve("a"));
+        nodeB = startNode(dbName, dataDir.resolve("b"));
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void revokedTokenIsRefusedOnEveryNodeWhileOtherTokensPass() throws InterruptedException {
+        JwtService jwtService = nodeA.getBean(JwtService.class);
+        String revoked = jwtService.generateToken("kim1");
+        String sameUser = jwtService.generateToken("kim1");
+        String otherUser = jwtService.generateToken("lee2");
+
+        // 토큰마다 jti가 다르고 서명이 틀리면 클레임을 주지 않음
+        Claims claims = claims(nodeA, revoked);
+        assertThat(claims.getSubject()).isEqualTo("kim1");
+        assertThat(claims.getId()).isNotEqualTo(claims(nodeA, sameUser).getId());
+        assertThat(claims.getExpiration().getTime() - claims.getIssuedAt().getTime())
+                .isEqualTo(JwtService.EXPIRATION_TIME);
+        assertThat(claims(nodeA, revoked.substring(0, revoked.length() - 2) + "xx")).isNull();
+        assertThat(authenticates(nodeB, revoked)).isTrue();
+
+        // 로그아웃과 같은 경로로 폐기
+        nodeA.getBean(TokenRevocationStore.class)
+                .revokeToken(claims.getSubject(), claims.getId(), claims.getExpiration());
+
+        assertThat(authenticates(nodeA, revoked)).isFalse();
+        assertThat(eventually(() -> !authenticates(nodeB, revoked))).isTrue(); // 아웃박스 릴레이로 전파
+        for (ConfigurableApplicationContext node : new ConfigurableApplicationContext[]{nodeA, nodeB}) {
+            assertThat(authenticates(node, sameUser)).isTrue();
+            assertThat(authenticates(node, otherUser)).isTrue();
+        }
+
+        // 재시작한 노드는 DB에서 복구
+        try (ConfigurableApplicationContext restarted = startNode(dbName, dataDir.resolve("c"))) {
+            assertThat(authenticates(restarted, revoked)).isFalse();
+            assertThat(authenticates(restarted, sameUser)).isTrue();
+        }
+    }
+
+    @Test
+    void passwordChangeRevokesOnlyTokensIssuedBefore() throws InterruptedException {
+        JwtService jwtService = nodeA.getBean(JwtService.class);
+        String before = jwtService.generateToken("kim1");
+        String otherUser = jwtService.generateToken("lee2");
+
+        Thread.sleep(1_000); // iat는 초 단위 → 폐기 시각과 다른 초에 발급
+        nodeA.getBean(TokenRevocationStore.class).revokeAllIssuedBefore("kim1", System.currentTimeMillis());
+        Thread.sleep(1_000);
+        String after = jwtService.generateToken("kim1");
+
+        assertThat(authenticates(nodeA, before)).isFalse();
+        assertThat(eventually(() -> !authenticates(nodeB, before))).isTrue();
+        assertThat(authenticates(nodeA, after)).isTrue();
+        assertThat(authenticates(nodeB, after)).isTrue();
+        assertThat(authenticates(nodeB, otherUser)).isTrue();
+    }
+
+    @Test
+    void entriesAreDroppedOnceTheTokenWouldHaveExpired() throws InterruptedException {
+        TokenRevocationStore store = nodeA.getBean(TokenRevocationStore.class);
+        RevokedTokenRepository repository = nodeA.getBean(RevokedTokenRepository.class);
+        Date issuedAt = new Date();
+        long now = System.currentTimeMillis();
+
+        store.revokeToken("kim1", "short-lived", new Date(now + 1_500));
+        store.revokeToken("kim1", "long-lived", new Date(now + 3_600_000));
+        store.revokeToken("kim1", "already-expired", new Date(now - 1)); // 기록할 필요 없음
+        assertThat(store.isRevoked("short-lived", "kim1", issuedAt)).isTrue();
+        assertThat(repository.count()).isEqualTo(2L);
+
+        // 만료 전 정리는 아무것도 지우지 않음
+        store.evictExpired();
+        assertThat(store.isRevoked("short-lived", "kim1", issuedAt)).isTrue();
+
+        Thread.sleep(1_600);
+        store.evictExpired();
+
+        assertThat(store.isRevoked("short-lived", "kim1", issuedAt)).isFalse();
+        assertThat(store.isRevoked("long-lived", "kim1", issuedAt)).isTrue();
+        assertThat(repository.count()).isEqualTo(1L);
+        assertThat(repository.findAll().get(0).getRevokedKey()).isEqualTo("long-lived");
+    }
+
+    // 필터를 한 번 통과시켜 SecurityContext에 인증이 올라갔는지
+    private static boolean authenticates(ConfigurableApplicationContext node, String token) {
+        SecurityContextHolder.clearContext();
+        try {
+            node.getBean(JwtAuthenticationFilter.class)
+                    .doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication() != null;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static Claims claims(ConfigurableApplicationContext node, String token) {
+        return node.getBean(JwtService.class).parseClaims(request(token));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader(HttpHeaders.AUTHORIZATION, JwtService.PREFIX + token);
+        return request;
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    // application.properties(MariaDB)보다 우선하도록 커맨드라인 인자로 전달 (UserChangeOutboxTest와 같은 구성)
+    private static ConfigurableApplicationContext startNode(String dbName, Path dataDir) {
+        return new SpringApplicationBuilder(NuzipApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + dbName + ";MODE=MariaDB;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.security.oauth2.client.registration.google.client-id=test",
+                        "--spring.security.oauth2.client.registration.google.client-secret=test",
+                        "--nuzip.outbox.poll-interval-ms=100",
+                        "--nuzip.ingest.enabled=false",
+                        "--nuzip.article-log.enabled=false",
+                        "--nuzip.seen.dir=" + dataDir.resolve("seen")
+                );
+    }
+}
@@ -0,0 +1,126 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 본문 압축: 사전 학습 → 새 버전으로 압축, 옛 버전 블록도 풀리는지, 재기동 후 사전 복구, 안 쓰는 사전 정리
+// 표본 64건(= 압축률 점검 주기)마다 학습, 재학습 최소 간격 0분 / 최대 수명 0시간 → 점검 두 번에 한 번씩 새 버전
+class ArticleBodyCodecTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<ArticleBodyCodec> codecs = new ArrayList<>();
+    private int serial;
+
+    @AfterEach
+    void tearDown() {
+        codecs.forEach(ArticleBodyCodec::shutdown);
+    }
+
+    @Test
+    void trainedDictionaryIsDurableAndEveryVersionDecodes() throws Exception {
+        ArticleBodyCodec codec = open();
+        byte[] plain = codec.encode(NewsCategory.POLITICS, body());
+        assertThat(version(plain)).isZero();
+        assertThat(codec.decode(ByteBuffer.wrap(plain))).isEqualTo(bodyAt(serial));
+
+        byte[] v1 = encodeUntilVersion(codec, 1);
+        assertThat(Files.exists(dir.resolve("POLITICS-1.dict"))).isTrue();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.noneMatch(p -> p.getFileName().toString().endsWith(".tmp"))).isTrue();
+        }
+        // 사전 덕분에 같은 본문이 더 작게
+        String sample = bodyAt(serial);
+        assertThat(v1.length).isLessThan(plain.length);
+        assertThat(codec.decode(ByteBuffer.wrap(v1))).isEqualTo(sample);
+        assertThat(codec.decode(ByteBuffer.wrap(plain))).isEqualTo(bodyAt(1));
+
+        // 다른 카테고리는 따로 학습 (아직 사전 없음)
+        assertThat(version(codec.encode(NewsCategory.SPORTS, "경기 결과"))).isZero();
+
+        // 재기동: 파일에서 사전을 읽어 옛 블록을 풀고, 같은 버전으로 이어서 압축
+        ArticleBodyCodec restarted = open();
+        assertThat(restarted.decode(ByteBuffer.wrap(v1))).isEqualTo(sample);
+        assertThat(version(restarted.encode(NewsCategory.POLITICS, body()))).isEqualTo(1);
+    }
+
+    @Test
+    void retainFromDeletesOnlyUnusedOlderVersions() throws Exception {
+        ArticleBodyCodec codec = open();
+        byte[] v1 = encodeUntilVersion(codec, 1);
+        byte[] v2 = encodeUntilVersion(codec, 2);
+        byte[] v3 = encodeUntilVersion(codec, 3);
+
+        int[] inUse = new int[NewsCategory.values().length];
+        Arrays.fill(inUse, Integer.MAX_VALUE);
+        inUse[NewsCategory.POLITICS.ordinal()] = 1;
+        codec.retainFrom(inUse); // 로그가 아직 v1을 씀 → 아무것도 지우지 않음
+        assertThat(Files.exists(dir.resolve("POLITICS-1.dict"))).isTrue();
+
+        // 현재 버전과 바로 앞 버전은 로그가 안 써도 남김
+        inUse[NewsCategory.POLITICS.ordinal()] = Integer.MAX_VALUE;
+        codec.retainFrom(inUse);
+        assertThat(Files.exists(dir.resolve("POLITICS-1.dict"))).isFalse();
+        assertThat(Files.exists(dir.resolve("POLITICS-2.dict"))).isTrue();
+        assertThat(Files.exists(dir.resolve("POLITICS-3.dict"))).isTrue();
+        assertThatThrownBy(() -> codec.decode(ByteBuffer.wrap(v1))).isInstanceOf(IllegalStateException.class);
+        assertThat(codec.decode(ByteBuffer.wrap(v2))).startsWith("[정치] 국회");
+        assertThat(codec.decode(ByteBuffer.wrap(v3))).startsWith("[정치] 국회");
+        assertThat(codec.stats()).containsEntry("dictionaries", 2);
+    }
+
+    // 새 버전 사전으로 압축될 때까지 64건씩 넣고, 처음 그 버전으로 압축된 블록 반환
+    private byte[] encodeUntilVersion(ArticleBodyCodec codec, int version) throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 64; i++) {
+                byte[] block = codec.encode(NewsCategory.POLITICS, body());
+                if (version(block) == version) {
+                    return block;
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("사전 v" + version + "가 만들어지지 않음: " + politics(codec));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object politics(ArticleBodyCodec codec) {
+        return ((Map<String, Object>) codec.stats().get("categories")).get("POLITICS");
+    }
+
+    private ArticleBodyCodec open() throws Exception {
+        ArticleBodyCodec codec = new ArticleBodyCodec(dir.toString(), 6, 128, 4096, 64, 0.15, 0, 0);
+        codecs.add(codec);
+        return codec;
+    }
+
+    private String body() {
+        return bodyAt(++serial);
+    }
+
+    // 기사마다 머리말/꼬리말이 겹치고 가운데만 다름
+    private static String bodyAt(int n) {
+        return "[정치] 국회 본회의에서 예산안 처리를 두고 여야가 막판 협상을 이어갔다. 기사 번호 " + n
+                + "번, 원내대표 회동은 " + (n % 7) + "차례 열렸다. 무단 전재 및 재배포 금지. "
+                + "ⓒ 뉴스집 기자 news@nuzip.example 구독과 좋아요는 큰 힘이 됩니다.";
+    }
+
+    private static int version(byte[] block) {
+        return ArticleBodyCodec.versionOf(ByteBuffer.wrap(block), 0);
+    }
+}
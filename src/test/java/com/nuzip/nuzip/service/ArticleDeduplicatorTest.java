@@ -0,0 +1,104 @@
+package com.nuzip.nuzip.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 근접 중복: 재전송 기사의 SimHash 거리, LSH 밴드로 거리 d 이하만 묶이는지, 윈도우가 밀리면 잊는지
+class ArticleDeduplicatorTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long T0 = 1_760_000_000_000L / HOUR * HOUR;
+
+    private static final String TITLE = "한국은행 기준금리 연 3.25%로 동결…물가 불확실성 여전";
+    private static final String BODY = "한국은행 금융통화위원회는 오늘 통화정책방향 회의를 열고 기준금리를 현재 수준인 연 3.25%로 "
+            + "유지하기로 했다. 금통위는 소비자물가 상승률이 목표 수준에 가까워지고 있지만 환율 변동성과 "
+            + "가계부채 증가세를 고려해 추가 인하 시점을 신중히 판단하겠다고 밝혔다. 이창용 총재는 기자간담회에서 "
+            + "향후 석 달 안에 금리를 내릴 가능성을 열어두겠다는 위원이 다수라고 설명했다. 시장에서는 연내 한 차례 "
+            + "추가 인하를 예상하는 시각이 우세하다.";
+
+    @Test
+    void reprintedWireStoryKeepsItsFingerprint() {
+        long original = SimHash.fingerprint(TITLE, BODY);
+
+        // 말머리/꼬리표와 띄어쓰기만 다른 재전송 → 같은 지문
+        long tagged = SimHash.fingerprint("[속보] " + TITLE + " (종합)", BODY.replace(" ", "  ") + " (끝)");
+        assertThat(SimHash.hammingDistance(original, tagged)).isZero();
+
+        // 한 글자를 고친 수정본 → 가까움
+        long edited = SimHash.fingerprint(TITLE, BODY.replace("석 달", "세 달"));
+        assertThat(SimHash.hammingDistance(original, edited)).isLessThanOrEqualTo(7);
+
+        // 다른 기사 → 멀리
+        long other = SimHash.fingerprint("프로야구 한국시리즈 7차전 끝내기 홈런으로 우승 확정",
+                "9회말 2사 만루에서 터진 끝내기 홈런으로 홈 팀이 통산 열두 번째 우승을 차지했다. "
+                        + "관중석을 가득 메운 팬들은 경기가 끝난 뒤에도 한참 동안 자리를 떠나지 않았다.");
+        assertThat(SimHash.hammingDistance(original, other)).isGreaterThan(15);
+    }
+
+    @Test
+    void fingerprintsWithinDistanceShareABand() {
+        ArticleDeduplicator dedup = new ArticleDeduplicator(true, 7, 60, 24, 1000);
+        long base = 0x0123_4567_89ab_cdefL;
+        assertThat(dedup.representativeOf(1, base, T0)).isEqualTo(-1);
+
+        // 8개 밴드 중 7개에 한 비트씩 → 거리 7, 마지막 밴드는 그대로라 후보로 잡힘
+        long sevenBands = base ^ spread(7);
+        assertThat(dedup.representativeOf(2, sevenBands, T0 + 1)).isEqualTo(1);
+
+        // 8개 밴드 모두에 한 비트씩 → 거리 8, 어느 밴드도 같지 않음 → 새 대표
+        long eightBands = base ^ spread(8);
+        assertThat(dedup.representativeOf(3, eightBands, T0 + 2)).isEqualTo(-1);
+
+        // 한 밴드 안에서 여러 비트가 바뀌어도 거리가 d 이하면 다른 밴드로 잡힘
+        long oneBand = base ^ 0x7fL;
+        assertThat(dedup.representativeOf(4, oneBand, T0 + 3)).isEqualTo(1);
+        // 거리가 d를 넘으면 밴드가 같아도 버림
+        assertThat(dedup.representativeOf(5, base ^ 0xffL ^ (1L << 63), T0 + 4)).isEqualTo(-1);
+
+        assertThat(dedup.stats())
+                .containsEntry("duplicatesDropped", 2L)
+                .containsEntry("representatives", 3L)
+                .containsEntry("windowEntries", 3L);
+    }
+
+    @Test
+    void windowForgetsOldBucketsAndReusesSlots() {
+        ArticleDeduplicator dedup = new ArticleDeduplicator(true, 3, 60, 2, 1000);
+        long fingerprint = 0xdead_beefL;
+        assertThat(dedup.representativeOf(1, fingerprint, T0)).isEqualTo(-1);
+        assertThat(dedup.representativeOf(2, fingerprint ^ 0b101, T0 + HOUR)).isEqualTo(1);
+
+        // 버킷 2개 윈도우에서 T0 버킷이 빠짐 → 같은 지문도 새 대표
+        assertThat(dedup.representativeOf(3, fingerprint, T0 + 2 * HOUR)).isEqualTo(-1);
+        assertThat(dedup.representativeOf(4, fingerprint, T0 + 2 * HOUR + 1)).isEqualTo(3);
+        // T0 + HOUR 버킷은 비어 있으므로 자리를 다시 쓴 T0 + 2h 버킷 하나만 남음
+        assertThat(dedup.stats()).containsEntry("windowEntries", 1L);
+
+        // 한참 뒤: 링이 두 바퀴 넘게 돌아도 예전 내용은 남지 않음
+        assertThat(dedup.representativeOf(5, fingerprint, T0 + 10 * HOUR)).isEqualTo(-1);
+        assertThat(dedup.stats()).containsEntry("windowEntries", 1L);
+    }
+
+    @Test
+    void disabledOrOutOfRangeSettings() {
+        ArticleDeduplicator disabled = new ArticleDeduplicator(false, 7, 60, 24, 1000);
+        assertThat(disabled.representativeOf(1, 42L, T0)).isEqualTo(-1);
+        assertThat(disabled.representativeOf(2, 42L, T0)).isEqualTo(-1);
+
+        assertThatThrownBy(() -> new ArticleDeduplicator(true, 16, 60, 24, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ArticleDeduplicator(true, 0, 60, 24, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // 8비트 밴드 앞에서부터 n개에 한 비트씩 (밴드 안 위치는 제각각)
+    private static long spread(int n) {
+        long mask = 0;
+        for (int band = 0; band < n; band++) {
+            mask |= 1L << (band * 8 + band % 8);
+        }
+        return mask;
+    }
+}
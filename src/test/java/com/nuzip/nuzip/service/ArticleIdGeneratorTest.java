@@ -0,0 +1,78 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 기사 id 발급: 같은 DB를 보는 두 노드가 겹치지 않는 구간을 받아 쓰는지, 복구한 id가 다른 노드에도 이어지는지
+class ArticleIdGeneratorTest {
+
+    @Test
+    void nodesSharingDatabaseNeverIssueSameId() {
+        JdbcTemplate jdbc = database();
+        ArticleIdGenerator a = node(jdbc, 3);
+        ArticleIdGenerator b = node(jdbc, 3);
+
+        Set<Long> ids = new HashSet<>();
+        long previousA = 0;
+        for (int i = 0; i < 20; i++) {
+            long id = a.next();
+            assertThat(id).isGreaterThan(previousA); // 한 노드 안에서는 증가
+            previousA = id;
+            ids.add(id);
+            ids.add(b.next());
+        }
+        assertThat(ids).hasSize(40);
+        // 구간 3개씩 → 공유 위치는 두 노드가 받아 간 만큼만 앞으로
+        assertThat(jdbc.queryForObject("select next_id from article_id_blocks", Long.class)).isEqualTo(43L);
+    }
+
+    @Test
+    void recoveredIdAdvancesEveryNode() {
+        JdbcTemplate jdbc = database();
+        ArticleIdGenerator recovering = node(jdbc, 10);
+        ArticleIdGenerator other = node(jdbc, 10);
+        assertThat(other.next()).isEqualTo(1L); // 구간 [1, 11)
+
+        recovering.advanceTo(500);
+        assertThat(recovering.current()).isEqualTo(500L);
+        assertThat(recovering.next()).isEqualTo(501L);
+
+        // 이미 받아 둔 구간은 끝까지 쓰고, 다음 구간은 복구한 id 뒤에서
+        for (int i = 0; i < 9; i++) {
+            assertThat(other.next()).isLessThanOrEqualTo(10L);
+        }
+        assertThat(other.next()).isGreaterThan(510L);
+
+        // 더 작은 id로 되돌리지 않음
+        recovering.advanceTo(100);
+        assertThat(recovering.current()).isEqualTo(501L);
+    }
+
+    @Test
+    void localGeneratorIssuesConsecutiveIds() {
+        ArticleIdGenerator generator = new ArticleIdGenerator();
+        assertThat(generator.current()).isZero();
+        assertThat(generator.next()).isEqualTo(1L);
+        assertThat(generator.next()).isEqualTo(2L);
+
+        generator.advanceTo(2000);
+        assertThat(generator.next()).isEqualTo(2001L);
+        assertThat(generator.current()).isEqualTo(2001L);
+    }
+
+    private static JdbcTemplate database() {
+        return TestDatabase.jdbc("article-id", "article_id_blocks");
+    }
+
+    private static ArticleIdGenerator node(JdbcTemplate jdbc, int blockSize) {
+        return new ArticleIdGenerator(jdbc, new ShardRouter(false, List.of(), List.of(), 128, 64), blockSize);
+    }
+}
@@ -0,0 +1,155 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 기사 로그: 세그먼트 교체, 희소 색인 조회, 사전 압축 본문, 찢어진 꼬리 복구 후 재생, 만료 세그먼트 삭제(실패하면 다음 정리 때 재시도)
+class ArticleLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversTornTailAndReplaysIntoOtherSinks() throws Exception {
+        ArticleLog log = open(new ArrayList<>(), new ArticleIdGenerator());
+        List<Article> batch = new ArrayList<>();
+        for (int i = 1; i <= 2000; i++) {
+            // 병렬 정규화 때문에 id가 조금씩 뒤섞여 들어오는 상황
+            long id = i % 10 == 1 ? i + 4 : i % 10 == 5 ? i - 4 : i;
+            batch.add(article(id, "[서울=뉴스] 기자 = 본문 " + i + " " + "경기 결과 ".repeat(i % 300) + noise(id) + " 무단전재 및 재배포 금지"));
+            if (batch.size() == 100) {
+                log.accept(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        assertThat((int) log.stats().get("segments")).isGreaterThan(1); // segment-mb=1 → 중간에 교체됨
+        for (long id = 1; id <= 2000; id++) {
+            assertThat(log.locate(id)).as("id=%d", id).isNotNull();
+        }
+        ArticleLog.Location location = log.locate(1234);
+        assertThat(StandardCharsets.UTF_8.decode(location.meta()).toString()).startsWith("{\"id\":1234,");
+        assertThat(log.body(log.locate(1234))).startsWith("[서울=뉴스] 기자 = 본문 1234 경기 결과").endsWith("재배포 금지");
+        log.close();
+
+        // 마지막 세그먼트 끝에 쓰다 만 레코드
+        Path last;
+        try (Stream<Path> files = Files.list(dir)) {
+            last = files.filter(p -> p.toString().endsWith(".log")).sorted().reduce((a, b) -> b).orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(0, 500), channel.size());
+        }
+
+        List<Article> replayed = Collections.synchronizedList(new ArrayList<>());
+        ArticleIdGenerator idGenerator = new ArticleIdGenerator();
+        ArticleLog reopened = open(replayed, idGenerator);
+        reopened.replay();
+
+        assertThat(reopened.stats())
+                .containsEntry("recoveredRecords", 2000L)
+                .containsEntry("truncatedBytes", 12L);
+        assertThat(replayed).hasSize(2000);
+        assertThat(replayed).allSatisfy(a -> assertThat(a.getBody()).endsWith("무단전재 및 재배포 금지"));
+        assertThat(idGenerator.current()).isEqualTo(2000);
+        assertThat(reopened.locate(2000)).isNotNull();
+        reopened.close();
+    }
+
+    @Test
+    void expiredSegmentIsKeptForRetryWhenItsFileCannotBeDeleted() throws Exception {
+        ArticleLog log = open(new ArrayList<>(), new ArticleIdGenerator(), 0); // 보관 0일 → 교체된 세그먼트는 모두 만료
+        for (int start = 1; start <= 4000; start += 100) {
+            List<Article> batch = new ArrayList<>();
+            for (long id = start; id < start + 100; id++) {
+                batch.add(article(id, "본문 " + id + " " + noise(id)));
+            }
+            log.accept(batch);
+        }
+        int segments = (int) log.stats().get("segments");
+        assertThat(segments).isGreaterThan(2);
+
+        // 가장 오래된 세그먼트 파일 자리에 비어 있지 않은 디렉터리 → 삭제 실패
+        Path first;
+        try (Stream<Path> files = Files.list(dir)) {
+            first = files.filter(p -> p.toString().endsWith(".log")).sorted().findFirst().orElseThrow();
+        }
+        Files.delete(first);
+        Path pin = Files.createDirectories(first).resolve("pin");
+        Files.createFile(pin);
+        Thread.sleep(5);
+
+        log.purgeExpired();
+
+        assertThat(log.stats())
+                .containsEntry("segments", 2)
+                .containsEntry("segmentsDeleted", (long) segments - 2)
+                .containsEntry("segmentsPendingDelete", 1L);
+        assertThat(log.locate(1)).isNull();       // 만료된 세그먼트는 조회에서 빠짐
+        assertThat(log.locate(4000)).isNotNull(); // 활성 세그먼트는 그대로
+
+        Files.delete(pin);
+        log.purgeExpired();
+
+        assertThat(log.stats())
+                .containsEntry("segments", 1)
+                .containsEntry("segmentsDeleted", (long) segments - 1)
+                .containsEntry("segmentsPendingDelete", 0L);
+        assertThat(Files.exists(first)).isFalse();
+        log.close();
+    }
+
+    private ArticleLog open(List<Article> replayTarget, ArticleIdGenerator idGenerator) throws Exception {
+        return open(replayTarget, idGenerator, 7);
+    }
+
+    private ArticleLog open(List<Article> replayTarget, ArticleIdGenerator idGenerator, int retentionDays) throws Exception {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("target", (ArticleSink) replayTarget::addAll));
+        ArticleLog log = new ArticleLog(beans.getBeanProvider(ArticleSink.class), idGenerator,
+                new ArticleDeduplicator(true, 7, 60, 24, 1000),
+                new ArticleBodyCodec(dir.resolve("dict").toString(), 6, 64, 4096, 32, 0.15, 0, 168),
+                true, dir.toString(), 1, 60, retentionDays, 24, 8, false);
+        log.open();
+        return log;
+    }
+
+    // 사전 압축으로도 줄지 않는 본문 (segment-mb=1을 넘겨 세그먼트가 교체되도록)
+    private static String noise(long id) {
+        Random random = new Random(id);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 80; i++) {
+            sb.append(' ').append(Long.toHexString(random.nextLong()));
+        }
+        return sb.toString();
+    }
+
+    private static Article article(long id, String body) {
+        return Article.builder()
+                .id(id)
+                .category(NewsCategory.values()[(int) (id % NewsCategory.values().length)])
+                .title("기사 " + id)
+                .summary("요약 " + id)
+                .body(body)
+                .url("https://news.example.com/" + id)
+                .source("테스트")
+                .publishedAt(1_760_000_000_000L + id)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 검색 색인: 어절 + 한글 bigram 토큰, 부분 단어 검색과 카테고리 필터, 세그먼트 병합과 보관 기간,
+// 병합되지 않는 세그먼트의 보관 기간 정리, 점수 누적 구간(4096)을 넘는 큰 세그먼트
+class ArticleSearchIndexTest {
+
+    private static final long DAY = 86_400_000L;
+
+    private ArticleSearchIndex index;
+
+    @AfterEach
+    void tearDown() {
+        if (index != null) {
+            index.shutdown();
+        }
+    }
+
+    @Test
+    void tokenizerEmitsWordsAndHangulBigrams() {
+        assertThat(tokens("국회의원은 오늘")).containsExactly("국회", "회의", "의원", "원은", "국회의원은", "오늘");
+        // 영문은 소문자 어절, 섞인 어절은 한글 구간만 bigram (한 글자면 그대로)
+        assertThat(tokens("OpenAI가 GPT-5를, 북")).containsExactly("가", "openai가", "gpt", "를", "5를", "북");
+        assertThat(tokens("  …!! ")).isEmpty();
+        assertThat(tokens(null)).isEmpty();
+    }
+
+    @Test
+    void bigramsFindWordsInsideLongerWordsAndTitleOutranksBody() {
+        index = new ArticleSearchIndex(8, 4, 30);
+        long now = System.currentTimeMillis();
+        index.accept(List.of(
+                article(1, NewsCategory.POLITICS, "국회의원은 예산안 처리에 합의", "여야가 본회의 일정을 정했다.", now),
+                article(2, NewsCategory.POLITICS, "여야 원내대표 회동", "의원 총회에서 예산 문제를 논의했다.", now),
+                article(3, NewsCategory.SPORTS, "야구 대표팀 명단 발표", "감독은 의원 출신이 아니다.", now)));
+
+        // "의원": 1은 제목(국회의원은)의 bigram, 2와 3은 본문 어절 → 제목 가중치로 1이 먼저
+        List<SearchHit> hits = index.search("의원", 0, 10);
+        assertThat(hits).extracting(SearchHit::articleId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(hits.get(0).articleId()).isEqualTo(1L);
+
+        int politics = 1 << NewsCategory.POLITICS.ordinal();
+        assertThat(index.search("의원", politics, 10)).extracting(SearchHit::articleId)
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("의원", 0, 1)).hasSize(1);
+        assertThat(index.search("없는말", 0, 10)).isEmpty();
+        assertThat(index.search("!!", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void segmentsAreMergedInBackgroundAndOldArticlesDropped() throws InterruptedException {
+        index = new ArticleSearchIndex(2, 2, 1);
+        long now = System.currentTimeMillis();
+        index.accept(List.of(article(1, NewsCategory.ECONOMY, "환율 급등", "원화 약세", now - 3 * DAY)));
+        for (long id = 2; id <= 6; id++) {
+            index.accept(List.of(article(id, NewsCategory.ECONOMY, "환율 " + id + "차 점검", "원화 흐름", now)));
+        }
+
+        for (int i = 0; i < 50 && (int) index.stats().get("segments") > 2; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(index.stats())
+                .containsEntry("segments", 2)
+                .containsEntry("docs", 5L);
+
+        // 병합 뒤에도 posting 문서 번호가 맞는지: 전부 검색되고 보관 기간이 지난 1번만 빠짐
+        List<Long> ids = new ArrayList<>();
+        for (SearchHit hit : index.search("환율", 0, 10)) {
+            ids.add(hit.articleId());
+        }
+        assertThat(ids).containsExactlyInAnyOrder(2L, 3L, 4L, 5L, 6L);
+        assertThat(index.search("4차", 0, 10).get(0).articleId()).isEqualTo(4L);
+        assertThat(index.search("급등", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void expiredArticlesAreHiddenAtQueryTimeAndSweptWithoutMerge() {
+        index = new ArticleSearchIndex(8, 4, 1);
+        long now = System.currentTimeMillis();
+        long old = now - 3 * DAY;
+        index.accept(List.of(
+                article(1, NewsCategory.ECONOMY, "환율 급등", "원화 약세", old),
+                article(2, NewsCategory.ECONOMY, "환율 하락", "원화 강세", old)));
+        index.accept(List.of(
+                article(3, NewsCategory.ECONOMY, "환율 보합", "원화", old),
+                article(4, NewsCategory.ECONOMY, "환율 전망", "원화", old),
+                article(5, NewsCategory.ECONOMY, "환율 반등", "원화", now)));
+        index.accept(List.of(article(6, NewsCategory.ECONOMY, "환율 안정", "원화", now)));
+
+        // 세그먼트가 적어 병합은 없지만 지난 기사는 검색되지 않음
+        assertThat(index.search("환율", 0, 10)).extracting(SearchHit::articleId).containsExactlyInAnyOrder(5L, 6L);
+        assertThat(index.stats()).containsEntry("segments", 3).containsEntry("docs", 6L);
+
+        // 전부 지난 세그먼트는 버리고, 절반 이상 지난 세그먼트는 남은 기사로 다시 만듦
+        index.sweep();
+        assertThat(index.stats()).containsEntry("segments", 2).containsEntry("docs", 2L);
+        assertThat(index.search("반등", 0, 10)).extracting(SearchHit::articleId).containsExactly(5L);
+    }
+
+    @Test
+    void largeSegmentIsScoredWindowByWindow() {
+        index = new ArticleSearchIndex(8, 4, 30);
+        long now = System.currentTimeMillis();
+        List<Article> batch = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            boolean rare = id == 11 || id == 5_000 || id == 10_000;
+            batch.add(article(id, id == 5_000 ? NewsCategory.SPORTS : NewsCategory.ECONOMY,
+                    rare ? "희귀 단어 기사 " + id : "일반 기사 " + id, "본문", now));
+        }
+        index.accept(batch);
+
+        assertThat(index.search("희귀", 0, 10)).extracting(SearchHit::articleId)
+                .containsExactlyInAnyOrder(11L, 5_000L, 10_000L);
+        assertThat(index.search("희귀", 1 << NewsCategory.SPORTS.ordinal(), 10)).extracting(SearchHit::articleId)
+                .containsExactly(5_000L);
+        // 두 term이 서로 다른 구간에 흩어져 있어도 문서별 점수를 합침
+        List<SearchHit> hits = index.search("희귀 일반", 0, 10_000);
+        assertThat(hits).hasSize(10_000);
+        assertThat(hits.get(0).articleId()).isIn(11L, 5_000L, 10_000L);
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        KoreanBigramTokenizer.tokenize(text, tokens::add);
+        return tokens;
+    }
+
+    private static Article article(long id, NewsCategory category, String title, String body, long publishedAt) {
+        return Article.builder()
+                .id(id)
+                .category(category)
+                .title(title)
+                .body(body)
+                .url("https://news.example.com/" + id)
+                .source("테스트")
+                .publishedAt(publishedAt)
+                .build();
+    }
+}
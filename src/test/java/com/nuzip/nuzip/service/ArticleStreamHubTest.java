@@ -0,0 +1,180 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// SSE 허브: 쓰기가 멈춘 연결은 쓰기가 끝나길 기다리지 않고 떼어 내고, 다른 연결 전송은 계속되는지, 기사 id 기준 Last-Event-ID 재접속
+class ArticleStreamHubTest {
+
+    private ArticleStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        // sender 1개, 한 번 쓰기 200ms 넘으면 느린 연결
+        hub = new ArticleStreamHub(new ObjectMapper(), 64, 200, 60_000, 100, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void stalledEmitterIsEvictedWhileWriteIsBlocked() throws Exception {
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        hub.subscribe(Set.of(NewsCategory.POLITICS), null, stalled);
+        hub.accept(List.of(article(1, NewsCategory.POLITICS)));
+        assertThat(stalled.writing.await(1, TimeUnit.SECONDS)).isTrue(); // 하나뿐인 sender가 멈춘 쓰기에 묶임
+
+        hub.subscribe(Set.of(NewsCategory.WORLD), null, healthy);
+        hub.accept(List.of(article(2, NewsCategory.WORLD)));
+        Thread.sleep(20);
+        hub.checkStalled();
+        assertThat(healthy.frames).isEmpty(); // 아직 200ms 전이라 그대로
+
+        Thread.sleep(250);
+        hub.checkStalled();
+        assertThat(healthy.frames.poll(1, TimeUnit.SECONDS)).contains("\"id\":2");
+        assertThat(hub.stats()).containsEntry("connections", 1).containsEntry("evictedStalled", 1L)
+                .containsEntry("stalledSenders", 1);
+
+        // 떼어 낸 연결에는 더 넣지 않음
+        hub.accept(List.of(article(3, NewsCategory.POLITICS), article(4, NewsCategory.WORLD)));
+        assertThat(healthy.frames.poll(1, TimeUnit.SECONDS)).contains("\"id\":4");
+
+        // 막힌 쓰기가 돌아오면 sender가 연결을 닫고 보충분을 돌려놓음
+        stalled.release.countDown();
+        assertThat(stalled.completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(stalled.sent).isEqualTo(1);
+        assertThat(hub.stats()).containsEntry("stalledSenders", 0);
+    }
+
+    @Test
+    void slowButFinishedWriteIsEvictedAfterwards() throws Exception {
+        StalledEmitter slow = new StalledEmitter();
+        hub.subscribe(Set.of(NewsCategory.SPORTS), null, slow);
+        hub.accept(List.of(article(1, NewsCategory.SPORTS)));
+        assertThat(slow.writing.await(1, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(300);
+        slow.release.countDown(); // 감시자가 돌기 전에 끝남 → 쓰기 직후 검사로 끊김
+
+        assertThat(slow.completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(hub.stats()).containsEntry("connections", 0).containsEntry("evictedSlow", 1L)
+                .containsEntry("evictedStalled", 0L).containsEntry("stalledSenders", 0);
+    }
+
+    @Test
+    void lastEventIdIsArticleIdAndResumesOnAnyNode() throws Exception {
+        // 두 노드가 같은 기사를 다른 순서로 받음 (1~100, 101~200은 서로 다른 노드가 발급한 구간)
+        ArticleStreamHub other = new ArticleStreamHub(new ObjectMapper(), 64, 200, 60_000, 100, 1, 4);
+        try {
+            RecordingEmitter client = new RecordingEmitter();
+            hub.subscribe(Set.of(NewsCategory.POLITICS), null, client);
+            hub.accept(articles(101, 1, 102, 2));
+            other.accept(articles(1, 101, 102, 2, 103));
+            assertThat(ids(client, 4)).containsExactly(101L, 1L, 102L, 2L);
+
+            // 같은 노드: 101 다음에 발행된 것은 id가 더 작아도 다시 보냄
+            RecordingEmitter sameNode = new RecordingEmitter();
+            hub.subscribe(Set.of(NewsCategory.POLITICS), 101L, sameNode);
+            assertThat(ids(sameNode, 3)).containsExactly(1L, 102L, 2L);
+
+            // 다른 노드: 그 노드에서 102 뒤에 발행된 것 + 102보다 큰 것
+            RecordingEmitter otherNode = new RecordingEmitter();
+            other.subscribe(Set.of(NewsCategory.POLITICS), 102L, otherNode);
+            assertThat(ids(otherNode, 2)).containsExactly(2L, 103L);
+
+            // 보관분에서 이미 밀려난 id → 그보다 큰 id만
+            RecordingEmitter unknown = new RecordingEmitter();
+            other.subscribe(Set.of(NewsCategory.POLITICS), 100L, unknown);
+            assertThat(ids(unknown, 3)).containsExactly(101L, 102L, 103L);
+            assertThat(unknown.frames.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private static List<Article> articles(long... ids) {
+        List<Article> batch = new ArrayList<>();
+        for (long id : ids) {
+            batch.add(article(id, NewsCategory.POLITICS));
+        }
+        return batch;
+    }
+
+    // 받은 프레임의 이벤트 id (id: 줄)
+    private static List<Long> ids(RecordingEmitter emitter, int count) throws InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String frame = emitter.frames.poll(1, TimeUnit.SECONDS);
+            assertThat(frame).isNotNull();
+            ids.add(Long.parseLong(frame.substring(3, frame.indexOf('\n'))));
+        }
+        return ids;
+    }
+
+    private static Article article(long id, NewsCategory category) {
+        return Article.builder()
+                .id(id)
+                .category(category)
+                .title("기사 " + id)
+                .url("https://news.example.com/" + id)
+                .source("테스트")
+                .publishedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    // 첫 쓰기에서 release 전까지 멈추는 연결 (소켓 버퍼가 찬 클라이언트)
+    private static final class StalledEmitter extends SseEmitter {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile int sent;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent++;
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            for (DataWithMediaType item : items) {
+                frames.add(item.getData().toString());
+            }
+        }
+    }
+}
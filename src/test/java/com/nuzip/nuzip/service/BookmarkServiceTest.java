@@ -0,0 +1,127 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 기사 저장: 같은 기사 동작 합치기, 반영 전/반영 실패 중에는 DB로 덮어쓰지 않기, 반영과 겹친 동시 저장,
+// 수집하지 않는 노드의 기사 id 확인
+class BookmarkServiceTest {
+
+    private JdbcTemplate jdbc;
+    private BookmarkService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = TestDatabase.jdbc("bookmark", "user_bookmarks");
+        ArticleIdGenerator idGenerator = new ArticleIdGenerator();
+        idGenerator.advanceTo(100);
+        // ttl 0: 반영할 것이 없으면 매번 DB에서 다시 읽음
+        service = new BookmarkService(jdbc, new ShardRouter(false, List.of(), List.of(), 128, 64), idGenerator,
+                50, 1000, 60_000, 0, 2);
+    }
+
+    @Test
+    void repeatedTogglesAreCoalescedIntoLastState() {
+        assertThat(service.save("kim1", 10)).isTrue();
+        assertThat(service.unsave("kim1", 10)).isTrue();
+        assertThat(service.save("kim1", 10)).isTrue();
+        assertThat(service.save("kim1", 10)).isFalse();
+        assertThat(service.save("kim1", 30)).isTrue();
+        assertThat(service.save("kim1", 20)).isTrue();
+        assertThat(service.unsave("kim1", 20)).isTrue();
+
+        service.flush();
+
+        assertThat(stored("kim1")).containsExactly(10L, 30L);
+        assertThat(service.stats()).containsEntry("written", 3L); // 10, 30 저장 + 20 삭제
+        assertThat(service.page("kim1", Long.MAX_VALUE, 10)).containsExactly(30L, 10L);
+    }
+
+    @Test
+    void pendingChangesSurviveReloadAndFailedFlush() {
+        jdbc.update("insert into user_bookmarks (user_id, article_id, created_at) values ('lee2', 5, 0)");
+        assertThat(service.count("lee2")).isEqualTo(1);
+
+        service.save("lee2", 7);
+        assertThat(service.savedAmong("lee2", List.of(5L, 6L, 7L))).containsExactly(5L, 7L); // 반영 전이라 다시 읽지 않음
+
+        jdbc.execute("alter table user_bookmarks rename to user_bookmarks_offline");
+        service.flush(); // 실패 → 되돌려 놓음
+        assertThat(service.count("lee2")).isEqualTo(2);
+        assertThat(service.unsave("lee2", 7)).isTrue();
+        assertThat(service.save("lee2", 8)).isTrue();
+
+        jdbc.execute("alter table user_bookmarks_offline rename to user_bookmarks");
+        service.flush();
+        assertThat(stored("lee2")).containsExactly(5L, 8L);
+        assertThat(service.page("lee2", Long.MAX_VALUE, 10)).containsExactly(8L, 5L);
+    }
+
+    @Test
+    void concurrentSavesAreAllKeptAcrossReloads() throws InterruptedException {
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            int first = w * 10 + 1;
+            writers[w] = new Thread(() -> {
+                for (int i = 0; i < 10; i++) {
+                    service.save("park3", first + i);
+                    service.count("park3");
+                }
+            });
+        }
+        Thread flusher = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                service.flush();
+            }
+        });
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        flusher.start();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        flusher.join();
+        service.flush();
+
+        assertThat(service.count("park3")).isEqualTo(40);
+        assertThat(stored("park3")).hasSize(40);
+        assertThat(service.unsave("park3", 40)).isTrue();
+        service.flush();
+        assertThat(stored("park3")).hasSize(39).doesNotContain(40L);
+    }
+
+    @Test
+    void nonIngestingNodeAcceptsIdsIssuedElsewhere() {
+        TestDatabase.createTables(jdbc, "article_id_blocks");
+        ShardRouter router = new ShardRouter(false, List.of(), List.of(), 128, 64);
+        ArticleIdGenerator ingesting = new ArticleIdGenerator(jdbc, router, 10);
+        long issued = 0;
+        for (int i = 0; i < 15; i++) {
+            issued = ingesting.next(); // 구간 두 개 → 공유 위치 21
+        }
+        // 기사를 하나도 발급/복구하지 않은 노드
+        BookmarkService other = new BookmarkService(jdbc, router, new ArticleIdGenerator(jdbc, router, 10),
+                50, 1000, 60_000, 0, 2);
+
+        assertThat(other.save("kim1", issued)).isTrue();
+        assertThat(other.save("kim1", 20)).isTrue();
+        assertThatThrownBy(() -> other.save("kim1", 21)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> other.save("kim1", 0)).isInstanceOf(IllegalArgumentException.class);
+        other.flush();
+        assertThat(stored("kim1")).containsExactly(15L, 20L);
+    }
+
+    private List<Long> stored(String userId) {
+        return jdbc.queryForList("select article_id from user_bookmarks where user_id = ? order by article_id",
+                Long.class, userId);
+    }
+}
@@ -0,0 +1,175 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.User;
+import com.nuzip.nuzip.dto.FeedPageDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static com.nuzip.nuzip.domain.NewsCategory.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// /api/bootstrap 조립: 캐시에 있는 사용자는 메모리 파트를 DB와 무관하게, 없는 사용자는 DB 파트의 카테고리로,
+// DB가 느리면 제한 시간 뒤 프로필만 빼고, DB 풀이 가득 차면 기다리지 않고 "busy"로 응답하는지
+class BootstrapServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 200;
+
+    private final Map<String, User> users = Map.of(
+            "kim1", User.builder()
+                    .id(1L)
+                    .userId("kim1")
+                    .password("encoded")
+                    .username("김일")
+                    .newsCategory(Set.of(POLITICS, ECONOMY, IT_SCIENCE))
+                    .birthDate(LocalDate.of(1990, 1, 1))
+                    .build(),
+            "park3", User.builder()
+                    .id(3L)
+                    .userId("park3")
+                    .password("encoded")
+                    .username("박삼")
+                    .build());
+    // 열려 있는 동안 DB 조회가 멈춤 (인터럽트도 무시 → 취소돼도 DB 풀 스레드를 계속 차지)
+    private volatile CountDownLatch slowDb = new CountDownLatch(0);
+
+    private UserCache userCache;
+    private BootstrapService service;
+
+    @BeforeEach
+    void setUp() {
+        var repository = TestUserRepository.of(Map.of("findByUserId", args -> {
+            awaitUninterruptibly(slowDb);
+            return Optional.ofNullable(users.get((String) args[0]));
+        }));
+        userCache = new UserCache(repository);
+        CategoryFeedStore feedStore = new CategoryFeedStore(100);
+        FeedMaterializer materializer = new FeedMaterializer(new ObjectMapper(), 20, 1);
+        List<Article> batch = List.of(Article.builder()
+                .id(1L)
+                .category(POLITICS)
+                .title("국회 예산안 통과")
+                .url("https://news.example.com/1")
+                .source("테스트")
+                .publishedAt(1_000L)
+                .build());
+        feedStore.accept(batch);
+        materializer.accept(batch);
+        // DB 풀: 스레드 1개 + 대기열 1칸
+        service = new BootstrapService(new UserService(repository, null, null, null, null),
+                userCache, feedStore, materializer, TIMEOUT_MILLIS, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowDb.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void cachedUserGetsEveryPart() {
+        userCache.find("kim1");
+
+        Map<String, Object> body = service.bootstrap("kim1");
+
+        assertThat(body).containsEntry("partial", false).containsEntry("errors", Map.of());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> profile = (Map<String, Object>) body.get(BootstrapService.PROFILE);
+        assertThat(profile).containsEntry("userId", "kim1").containsEntry("categoriesSelected", true);
+        assertThat(body.get(BootstrapService.CATEGORIES)).isEqualTo(List.of("ECONOMY", "IT_SCIENCE", "POLITICS"));
+        assertThat((List<?>) body.get(BootstrapService.CATALOGUE)).hasSize(8);
+        // 카테고리 3개 → 미리 직렬화한 조합 피드를 그대로
+        assertThat(body.get(BootstrapService.FEED)).isInstanceOf(RawValue.class);
+        assertThat(((RawValue) body.get(BootstrapService.FEED)).rawValue().toString()).contains("국회 예산안 통과");
+    }
+
+    @Test
+    void uncachedUserTakesCategoriesFromDbPart() {
+        Map<String, Object> body = service.bootstrap("park3");
+
+        assertThat(body).containsEntry("partial", false);
+        assertThat(body.get(BootstrapService.CATEGORIES)).isEqualTo(List.of());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> profile = (Map<String, Object>) body.get(BootstrapService.PROFILE);
+        assertThat(profile).containsEntry("needsCategorySelection", true);
+        // 카테고리가 없으면 빈 페이지
+        FeedPageDto feed = (FeedPageDto) body.get(BootstrapService.FEED);
+        assertThat(feed.getItems()).isEmpty();
+        assertThat(feed.getNextCursor()).isNull();
+    }
+
+    @Test
+    void unknownUserLeavesDbDependentPartsEmpty() {
+        Map<String, Object> body = service.bootstrap("ghost");
+
+        assertThat(body).containsEntry("partial", true);
+        assertThat(body.get(BootstrapService.PROFILE)).isNull();
+        assertThat(body.get(BootstrapService.CATEGORIES)).isNull();
+        assertThat(body.get(BootstrapService.FEED)).isNull();
+        assertThat((List<?>) body.get(BootstrapService.CATALOGUE)).hasSize(8);
+        @SuppressWarnings("unchecked")
+        Map<String, String> errors = (Map<String, String>) body.get("errors");
+        assertThat(errors.get(BootstrapService.PROFILE)).contains("ghost");
+        assertThat(errors).containsEntry(BootstrapService.FEED, errors.get(BootstrapService.PROFILE));
+    }
+
+    @Test
+    void slowDbTimesOutThenFullPoolAnswersBusyAtOnce() throws InterruptedException {
+        userCache.find("kim1");
+        slowDb = new CountDownLatch(1);
+
+        // 1) 실행 중인 DB 작업이 제한 시간을 넘김 → 프로필만 빠짐 (피드/카테고리는 캐시로)
+        long started = System.nanoTime();
+        Map<String, Object> first = service.bootstrap("kim1");
+        assertThat((System.nanoTime() - started) / 1_000_000).isBetween(TIMEOUT_MILLIS - 1, TIMEOUT_MILLIS + 1_000);
+        assertThat(first).containsEntry("partial", true);
+        assertThat(first.get(BootstrapService.PROFILE)).isNull();
+        assertThat(first.get("errors")).isEqualTo(Map.of(BootstrapService.PROFILE, "timeout"));
+        assertThat(first.get(BootstrapService.FEED)).isInstanceOf(RawValue.class);
+        assertThat(first.get(BootstrapService.CATEGORIES)).isEqualTo(List.of("ECONOMY", "IT_SCIENCE", "POLITICS"));
+
+        // 2) 스레드는 아직 멈춘 작업이 차지 → 대기열 한 칸에서 기다리다 제한 시간
+        assertThat(service.bootstrap("kim1").get("errors")).isEqualTo(Map.of(BootstrapService.PROFILE, "timeout"));
+
+        // 3) 스레드와 대기열이 모두 찼음 → 기다리지 않고 바로 busy
+        started = System.nanoTime();
+        Map<String, Object> busy = service.bootstrap("kim1");
+        assertThat((System.nanoTime() - started) / 1_000_000).isLessThan(TIMEOUT_MILLIS);
+        assertThat(busy.get("errors")).isEqualTo(Map.of(BootstrapService.PROFILE, "busy"));
+        assertThat(busy.get(BootstrapService.FEED)).isNotNull();
+
+        // DB가 풀리면 다시 전부 응답
+        slowDb.countDown();
+        Map<String, Object> recovered = service.bootstrap("kim1");
+        for (int i = 0; i < 20 && (Boolean) recovered.get("partial"); i++) {
+            Thread.sleep(50); // 멈췄던 작업과 취소된 대기 작업이 빠질 때까지
+            recovered = service.bootstrap("kim1");
+        }
+        assertThat(recovered).containsEntry("partial", false);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
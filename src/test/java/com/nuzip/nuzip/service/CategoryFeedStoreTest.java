@@ -0,0 +1,101 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 카테고리별 피드: 여러 카테고리 최신순 병합과 커서, 같은 id 재수집 시 중복 없이 교체, 용량을 넘으면 오래된 것부터 밀려나는지
+class CategoryFeedStoreTest {
+
+    private static final Set<NewsCategory> POLITICS_SPORTS = Set.of(NewsCategory.POLITICS, NewsCategory.SPORTS);
+
+    @Test
+    void pagesMergeCategoriesNewestFirst() {
+        CategoryFeedStore store = new CategoryFeedStore(100);
+        store.addAll(List.of(
+                article(1, NewsCategory.POLITICS, 1_000),
+                article(2, NewsCategory.SPORTS, 4_000),
+                article(3, NewsCategory.POLITICS, 3_000),
+                article(4, NewsCategory.WORLD, 9_000)));
+        // 늦게 도착한 과거 기사도 제자리에, 같은 시각이면 id가 큰 쪽이 앞
+        store.addAll(List.of(article(5, NewsCategory.SPORTS, 2_000), article(6, NewsCategory.SPORTS, 3_000)));
+
+        List<Article> first = store.page(POLITICS_SPORTS, null, 3);
+        assertThat(ids(first)).containsExactly(2L, 6L, 3L);
+        List<Article> second = store.page(POLITICS_SPORTS, FeedCursor.of(first.get(2)), 3);
+        assertThat(ids(second)).containsExactly(5L, 1L);
+        assertThat(store.page(POLITICS_SPORTS, FeedCursor.of(second.get(1)), 3)).isEmpty();
+        assertThat(ids(store.latest(NewsCategory.SPORTS, 2))).containsExactly(2L, 6L);
+    }
+
+    @Test
+    void sameIdIsKeptOnceAndReplacedByNewerCopy() {
+        CategoryFeedStore store = new CategoryFeedStore(100);
+        store.addAll(List.of(article(1, NewsCategory.POLITICS, 1_000), article(2, NewsCategory.POLITICS, 2_000)));
+
+        // 재전송: 같은 배치 안에서도, 기존 타임라인과도 겹침
+        store.addAll(List.of(
+                article(2, NewsCategory.POLITICS, 2_000),
+                article(3, NewsCategory.POLITICS, 3_000),
+                article(3, NewsCategory.POLITICS, 3_000)));
+        assertThat(ids(store.latest(NewsCategory.POLITICS, 10))).containsExactly(3L, 2L, 1L);
+        assertThat(store.size(NewsCategory.POLITICS)).isEqualTo(3);
+
+        // 발행 시각이 고쳐져 다시 온 기사 → 옛 위치는 빠지고 새 위치에 한 번만
+        Article corrected = Article.builder()
+                .id(1L)
+                .category(NewsCategory.POLITICS)
+                .title("정정된 기사 1")
+                .url("https://news.example.com/1")
+                .source("테스트")
+                .publishedAt(5_000)
+                .build();
+        store.addAll(List.of(corrected));
+        List<Article> latest = store.latest(NewsCategory.POLITICS, 10);
+        assertThat(ids(latest)).containsExactly(1L, 3L, 2L);
+        assertThat(latest.get(0).getTitle()).isEqualTo("정정된 기사 1");
+    }
+
+    @Test
+    void capacityKeepsNewestArticles() {
+        CategoryFeedStore store = new CategoryFeedStore(3);
+        List<Article> batch = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            batch.add(article(i, NewsCategory.SPORTS, i * 1_000L));
+        }
+        store.addAll(batch);
+        assertThat(ids(store.latest(NewsCategory.SPORTS, 10))).containsExactly(5L, 4L, 3L);
+
+        // 가득 찬 뒤 더 오래된 기사는 들어가지 않고, 더 최신이면 가장 오래된 것이 밀려남
+        store.addAll(List.of(article(6, NewsCategory.SPORTS, 500)));
+        assertThat(ids(store.latest(NewsCategory.SPORTS, 10))).containsExactly(5L, 4L, 3L);
+        store.addAll(List.of(article(7, NewsCategory.SPORTS, 4_500)));
+        assertThat(ids(store.latest(NewsCategory.SPORTS, 10))).containsExactly(5L, 7L, 4L);
+
+        // 같은 id를 다시 넣어도 크기 그대로 (빈 칸 없이)
+        store.addAll(List.of(article(5, NewsCategory.SPORTS, 5_000)));
+        assertThat(store.size(NewsCategory.SPORTS)).isEqualTo(3);
+        assertThat(store.size(NewsCategory.POLITICS)).isZero();
+    }
+
+    private static List<Long> ids(List<Article> articles) {
+        return articles.stream().map(Article::getId).toList();
+    }
+
+    private static Article article(long id, NewsCategory category, long publishedAt) {
+        return Article.builder()
+                .id(id)
+                .category(category)
+                .title("기사 " + id)
+                .url("https://news.example.com/" + id)
+                .source("테스트")
+                .publishedAt(publishedAt)
+                .build();
+    }
+}
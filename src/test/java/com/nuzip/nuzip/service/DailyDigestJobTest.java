@@ -0,0 +1,184 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 다이제스트 배치: 청크별 수신자 파일, 체크포인트에서 이어서 실행(뒤쪽 구간의 남은 파일은 지우고), 중단 후 재실행해도 사용자가 한 번씩만 들어가는지
+class DailyDigestJobTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 10, 19);
+
+    @TempDir
+    Path spool;
+
+    private JdbcTemplate jdbc;
+    private DailyDigestJob job;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        jdbc = TestDatabase.jdbc("digest", "users", "user_categories");
+        // 사용자 1~7, 4번은 카테고리를 아직 고르지 않음
+        for (int i = 1; i <= 7; i++) {
+            insertUser("user" + i, "사용자" + i);
+            if (i != 4) {
+                for (NewsCategory category : List.of(NewsCategory.POLITICS, NewsCategory.ECONOMY,
+                        i % 2 == 0 ? NewsCategory.SPORTS : NewsCategory.WORLD)) {
+                    jdbc.update("insert into user_categories (user_id, category) values (?, ?)", i, category.name());
+                }
+            }
+        }
+
+        CategoryFeedStore feed = new CategoryFeedStore(100);
+        feed.accept(List.of(Article.builder()
+                .id(1L)
+                .category(NewsCategory.POLITICS)
+                .title("국회 <예산안> 통과")
+                .url("https://news.example.com/1")
+                .source("테스트")
+                .publishedAt(System.currentTimeMillis())
+                .build()));
+        // 청크 2명, 레인 1개 → 청크가 순서대로 끝나므로 체크포인트 위치가 정해짐
+        job = new DailyDigestJob(jdbc, new ShardRouter(false, List.of(), List.of(), 128, 64), feed, objectMapper,
+                true, spool.toString(), 2, 1, 5, 60, 7, "Asia/Seoul");
+    }
+
+    @Test
+    void runWritesEveryRecipientOnceAndMarksSuccess() throws IOException {
+        job.run(DAY);
+
+        Path dir = spool.resolve(DAY.toString());
+        assertThat(Files.exists(dir.resolve("_SUCCESS"))).isTrue();
+        assertThat(Files.readString(dir.resolve("checkpoint-0"))).isEqualTo("7");
+        assertThat(recipientIds(dir)).containsExactly(1L, 2L, 3L, 5L, 6L, 7L);
+        // 조합은 (정치, 경제, 스포츠)와 (정치, 경제, 세계) 두 가지뿐
+        assertThat(job.stats())
+                .containsEntry("users", 6L)
+                .containsEntry("skippedNoCategory", 1L)
+                .containsEntry("chunks", 4L)
+                .containsEntry("distinctDigests", 2);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.filter(p -> p.getFileName().toString().startsWith("digest-")).count()).isEqualTo(2L);
+        }
+
+        // 완료된 날짜는 다시 돌리지 않음
+        insertUser("user8", "사용자8");
+        job.run(DAY);
+        assertThat(recipientIds(dir)).doesNotContain(8L);
+    }
+
+    @Test
+    void rerunResumesFromCheckpoint() throws IOException {
+        Path dir = Files.createDirectories(spool.resolve(DAY.toString()));
+        Files.writeString(dir.resolve("checkpoint-0"), "3"); // 이전 실행이 3번까지 끝낸 상태
+
+        job.run(DAY);
+
+        assertThat(Files.exists(dir.resolve("_SUCCESS"))).isTrue();
+        assertThat(recipientIds(dir)).containsExactly(5L, 6L, 7L);
+        assertThat(job.stats())
+                .containsEntry("users", 3L)
+                .containsEntry("skippedNoCategory", 1L);
+        assertThat(Files.readString(dir.resolve("checkpoint-0"))).isEqualTo("7");
+    }
+
+    @Test
+    void resumeDiscardsRecipientFilesBeyondCheckpoint() throws IOException {
+        // 이전 실행: (0, 2] 청크를 끝내 체크포인트 3까지 전진했고, 다른 레인이 경계가 다른 (4, 6] 청크를 먼저 써 둔 채 중단
+        Path dir = Files.createDirectories(spool.resolve(DAY.toString()));
+        Files.writeString(dir.resolve("checkpoint-0"), "3");
+        writeRecipients(dir.resolve(String.format("recipients-s0-%019d.ndjson.gz", 1)), 1, 2);
+        Path beyond = dir.resolve(String.format("recipients-s0-%019d.ndjson.gz", 5));
+        writeRecipients(beyond, 5, 6);
+        Path partial = dir.resolve(String.format("recipients-s0-%019d.ndjson.gz.tmp", 7));
+        Files.write(partial, new byte[]{1, 2, 3});
+
+        job.run(DAY);
+
+        assertThat(Files.exists(dir.resolve("_SUCCESS"))).isTrue();
+        assertThat(Files.exists(beyond)).isFalse();
+        assertThat(Files.exists(partial)).isFalse();
+        // 다시 읽은 청크는 (3, 5], (5, 7] → 5, 6번이 두 번 들어가지 않음
+        assertThat(recipientIds(dir)).containsExactly(1L, 2L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void failedRunIsCompletedByRerunWithoutDuplicates() throws IOException {
+        // 5번 사용자의 잘못된 카테고리 → 세 번째 청크를 읽다가 실패
+        jdbc.update("insert into user_categories (user_id, category) values (5, 'NOPE')");
+        job.run(DAY);
+
+        Path dir = spool.resolve(DAY.toString());
+        assertThat(Files.exists(dir.resolve("_SUCCESS"))).isFalse();
+        assertThat(job.stats().get("error")).isNotNull();
+        // 실패 전에 끝낸 청크가 있을 때만 체크포인트가 생김 (끝낸 청크는 모두 체크포인트 안쪽)
+        Path checkpoint = dir.resolve("checkpoint-0");
+        long watermark = Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint)) : 0;
+        assertThat(watermark).isLessThanOrEqualTo(4L);
+        assertThat(recipientIds(dir)).allMatch(id -> id <= watermark);
+
+        jdbc.update("delete from user_categories where category = 'NOPE'");
+        job.run(DAY);
+
+        assertThat(Files.exists(dir.resolve("_SUCCESS"))).isTrue();
+        assertThat(recipientIds(dir)).containsExactly(1L, 2L, 3L, 5L, 6L, 7L);
+        assertThat(Files.readString(checkpoint)).isEqualTo("7");
+    }
+
+    private void insertUser(String userId, String username) {
+        jdbc.update("insert into users (user_id, password, username, provider) values (?, '', ?, 'LOCAL')",
+                userId, username);
+    }
+
+    private void writeRecipients(Path file, long... ids) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            for (long id : ids) {
+                out.write(("{\"id\":" + id + ",\"userId\":\"user" + id + "\"}\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    // 수신자 파일 전체의 사용자 id (파일 이름 순 = 청크 순)
+    private List<Long> recipientIds(Path dir) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(".ndjson.gz")).sorted().toList();
+        }
+        for (Path file : files) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        ids.add(objectMapper.readTree(line).get("id").asLong());
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,117 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 미리 만든 피드 페이지: 조합별 병합 순서와 페이지 이어 받기, 바뀐 조합만 다시 만드는지, 내용 기준 ETag와 gzip 본문
+class FeedMaterializerTest {
+
+    private static final Set<NewsCategory> POLITICS_ECONOMY_SPORTS =
+            Set.of(NewsCategory.POLITICS, NewsCategory.ECONOMY, NewsCategory.SPORTS);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void pagesFollowNewestFirstAcrossCategories() throws IOException {
+        FeedMaterializer materializer = new FeedMaterializer(objectMapper, 2, 3);
+        List<Article> batch = new ArrayList<>();
+        batch.add(article(1, NewsCategory.POLITICS, 1_000));
+        batch.add(article(2, NewsCategory.ECONOMY, 3_000));
+        batch.add(article(3, NewsCategory.SPORTS, 2_000));
+        batch.add(article(4, NewsCategory.WORLD, 5_000)); // 조합에 없는 카테고리
+        batch.add(article(5, NewsCategory.POLITICS, 3_000)); // 같은 시각이면 id가 큰 쪽이 앞
+        materializer.accept(batch);
+
+        FeedMaterializer.Snapshot first = materializer.find(POLITICS_ECONOMY_SPORTS, null);
+        assertThat(ids(first.json())).containsExactly(5L, 2L);
+        assertThat(first.nextCursor()).isEqualTo("3000_2");
+
+        FeedMaterializer.Snapshot second = materializer.find(POLITICS_ECONOMY_SPORTS, first.nextCursor());
+        assertThat(ids(second.json())).containsExactly(3L, 1L);
+        FeedMaterializer.Snapshot third = materializer.find(POLITICS_ECONOMY_SPORTS, second.nextCursor());
+        assertThat(ids(third.json())).isEmpty();
+        assertThat(third.nextCursor()).isNull();
+
+        // 미리 만든 페이지의 커서가 아니거나 조합이 3개가 아니면 일반 경로로
+        assertThat(materializer.find(POLITICS_ECONOMY_SPORTS, "2000_3")).isNull();
+        assertThat(materializer.find(Set.of(NewsCategory.POLITICS), null)).isNull();
+
+        // gzip 본문은 JSON과 같은 내용
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(first.json());
+        }
+    }
+
+    @Test
+    void onlyTouchedCombinationsAreRebuiltAndCapacityIsKept() {
+        FeedMaterializer materializer = new FeedMaterializer(objectMapper, 2, 2);
+        materializer.accept(List.of(article(1, NewsCategory.WORLD, 1_000)));
+        // 세계를 포함한 조합 = C(7,2) = 21개
+        assertThat(materializer.stats()).containsEntry("combinations", 56).containsEntry("rebuilds", 21L);
+
+        for (int i = 2; i <= 6; i++) {
+            materializer.accept(List.of(article(i, NewsCategory.POLITICS, i * 1_000L)));
+        }
+        FeedMaterializer.Snapshot first = materializer.find(POLITICS_ECONOMY_SPORTS, null);
+        FeedMaterializer.Snapshot second = materializer.find(POLITICS_ECONOMY_SPORTS, first.nextCursor());
+        assertThat(ids(first.json())).containsExactly(6L, 5L);
+        assertThat(ids(second.json())).containsExactly(4L, 3L);
+
+        // 상위 4건(2페이지 × 2건)이 꽉 찬 뒤 더 오래된 기사만 오면 다시 만들지 않음
+        long rebuilds = (Long) materializer.stats().get("rebuilds");
+        materializer.accept(List.of(article(7, NewsCategory.POLITICS, 500)));
+        assertThat(materializer.find(POLITICS_ECONOMY_SPORTS, null)).isSameAs(first);
+        assertThat(materializer.stats()).containsEntry("rebuilds", rebuilds);
+    }
+
+    @Test
+    void etagFollowsContent() {
+        FeedMaterializer a = new FeedMaterializer(objectMapper, 2, 1);
+        FeedMaterializer b = new FeedMaterializer(objectMapper, 2, 1);
+        List<Article> batch = List.of(article(1, NewsCategory.POLITICS, 1_000), article(2, NewsCategory.ECONOMY, 2_000));
+        a.accept(batch);
+        b.accept(batch);
+
+        // 노드가 달라도 같은 내용이면 같은 ETag (SHA-256 앞 128비트 = 16진수 32자)
+        String etag = a.find(POLITICS_ECONOMY_SPORTS, null).etag();
+        assertThat(etag).isEqualTo(b.find(POLITICS_ECONOMY_SPORTS, null).etag());
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+        assertThat(a.find(POLITICS_ECONOMY_SPORTS, null).etag(true)).isEqualTo(etag.substring(0, 33) + "-gz\"");
+
+        a.accept(List.of(article(3, NewsCategory.SPORTS, 3_000)));
+        assertThat(a.find(POLITICS_ECONOMY_SPORTS, null).etag()).isNotEqualTo(etag);
+        assertThat(FeedMaterializer.etag("{}".getBytes())).isNotEqualTo(FeedMaterializer.etag("[]".getBytes()));
+    }
+
+    private List<Long> ids(byte[] json) {
+        try {
+            List<Long> ids = new ArrayList<>();
+            objectMapper.readTree(json).get("items").forEach(item -> ids.add(item.get("id").asLong()));
+            return ids;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Article article(long id, NewsCategory category, long publishedAt) {
+        return Article.builder()
+                .id(id)
+                .category(category)
+                .title("기사 " + id)
+                .url("https://news.example.com/" + id)
+                .source("테스트")
+                .publishedAt(publishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.nuzip.nuzip.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 자모 풀어쓰기: 받침/겹받침, 겹모음, 따로 입력된 겹자모, 입력 중간 상태가 완성된 글자의 접두어가 되는지
+class HangulJamoTest {
+
+    @Test
+    void syllablesAreSplitInTypingOrder() {
+        assertThat(HangulJamo.decompose("가")).isEqualTo("ㄱㅏ");
+        assertThat(HangulJamo.decompose("한")).isEqualTo("ㅎㅏㄴ");
+        assertThat(HangulJamo.decompose("닭")).isEqualTo("ㄷㅏㄹㄱ");
+        assertThat(HangulJamo.decompose("값")).isEqualTo("ㄱㅏㅂㅅ");
+        assertThat(HangulJamo.decompose("쌈")).isEqualTo("ㅆㅏㅁ"); // 자판 한 번인 쌍자음은 그대로
+        assertThat(HangulJamo.decompose("밖")).isEqualTo("ㅂㅏㄲ");
+    }
+
+    @Test
+    void compoundVowelsAreTwoKeystrokes() {
+        assertThat(HangulJamo.decompose("과")).isEqualTo("ㄱㅗㅏ");
+        assertThat(HangulJamo.decompose("왜")).isEqualTo("ㅇㅗㅐ");
+        assertThat(HangulJamo.decompose("뭐")).isEqualTo("ㅁㅜㅓ");
+        assertThat(HangulJamo.decompose("의")).isEqualTo("ㅇㅡㅣ");
+        assertThat(HangulJamo.decompose("괜")).isEqualTo("ㄱㅗㅐㄴ");
+    }
+
+    @Test
+    void standaloneCompoundJamoIsSplitToo() {
+        assertThat(HangulJamo.decompose("ㄵ")).isEqualTo("ㄴㅈ");
+        assertThat(HangulJamo.decompose("ㅘ")).isEqualTo("ㅗㅏ");
+        assertThat(HangulJamo.decompose("삼성ㅈ")).isEqualTo("ㅅㅏㅁㅅㅓㅇㅈ");
+    }
+
+    @Test
+    void inProgressInputIsPrefixOfFinishedWord() {
+        // "한" 다음 "ㅏ"를 치면 "하나": 종성 ㄴ이 다음 글자 초성으로 넘어가도 자모열은 이어짐
+        assertThat(HangulJamo.decompose("하나")).startsWith(HangulJamo.decompose("한"));
+        assertThat(HangulJamo.decompose("삼성전자")).startsWith(HangulJamo.decompose("삼서"));
+        assertThat(HangulJamo.decompose("삼성전자")).startsWith(HangulJamo.decompose("삼성저"));
+        assertThat(HangulJamo.decompose("닭고기")).startsWith(HangulJamo.decompose("닭"));
+        assertThat(HangulJamo.decompose("닭고기")).startsWith(HangulJamo.decompose("달"));
+        assertThat(HangulJamo.decompose("과일")).startsWith(HangulJamo.decompose("고"));
+    }
+
+    @Test
+    void asciiIsLowercasedAndPunctuationDropped() {
+        assertThat(HangulJamo.decompose("Apple  아이폰!")).isEqualTo("apple ㅇㅏㅇㅣㅍㅗㄴ");
+        assertThat(HangulJamo.decompose("  K-POP ")).isEqualTo("kpop");
+        assertThat(HangulJamo.decompose("美 대선")).isEqualTo("美 ㄷㅐㅅㅓㄴ");
+    }
+}
@@ -0,0 +1,178 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// src/test/resources/ingest-corpus 의 파일만으로 (네트워크 없이) 수집 파이프라인 전체를 돌려봄
+// + 중간에 실패한 파일을 다시 넣으면 체크포인트부터 이어서 (중복 없이), 오프셋 표기별 발행 시각 파싱
+class NewsIngestionPipelineTest {
+
+    private static final List<String> CORPUS = List.of(
+            "yonhap_politics_20261019.xml",
+            "hankook_sports.atom",
+            "crawler-batch-001.ndjson"
+    );
+
+    @TempDir
+    Path dropDir;
+
+    @Test
+    void ingestsCorpusIntoSinksByCategory() throws Exception {
+        List<Article> stored = Collections.synchronizedList(new ArrayList<>());
+        NewsIngestionPipeline pipeline = new NewsIngestionPipeline(
+                List.<ArticleSink>of(stored::addAll), new NewsCategoryMapper(), new ArticleIdGenerator(),
+                new ArticleDeduplicator(true, 7, 60, 24, 1000),
+                true, dropDir.toString(), 2, 4);
+
+        for (String name : CORPUS) {
+            try (InputStream in = getClass().getResourceAsStream("/ingest-corpus/" + name)) {
+                Files.copy(in, dropDir.resolve(name));
+            }
+        }
+
+        pipeline.start();
+        try {
+            for (int i = 0; i < 100 && (long) pipeline.stats().get("filesProcessed") < CORPUS.size(); i++) {
+                Thread.sleep(100);
+            }
+        } finally {
+            pipeline.stop();
+        }
+
+        Map<NewsCategory, Long> byCategory = stored.stream()
+                .collect(Collectors.groupingBy(Article::getCategory, Collectors.counting()));
+        assertThat(byCategory).containsOnly(
+                Map.entry(NewsCategory.POLITICS, 2L),   // 카테고리 없는 항목은 파일명(politics)으로 매핑
+                Map.entry(NewsCategory.ECONOMY, 1L),
+                Map.entry(NewsCategory.SPORTS, 2L),
+                Map.entry(NewsCategory.IT_SCIENCE, 1L),
+                Map.entry(NewsCategory.WORLD, 1L),
+                Map.entry(NewsCategory.ENTERTAINMENT, 1L));
+        assertThat(pipeline.stats())
+                .containsEntry("droppedNoTitle", 1L)
+                .containsEntry("unmappedCategory", 1L)
+                .containsEntry("filesFailed", 0L);
+        assertThat(Files.list(dropDir.resolve("processed")).count()).isEqualTo(CORPUS.size());
+
+        Article baseball = stored.stream().filter(a -> a.getTitle().startsWith("프로야구")).findFirst().orElseThrow();
+        assertThat(baseball.getUrl()).isEqualTo("https://www.hankookilbo.com/News/Read/A2026101912000001");
+        assertThat(baseball.getSource()).isEqualTo("한국일보 스포츠");
+        assertThat(baseball.getBody()).isEqualTo("프로야구 포스트시즌이 19일 개막했다.");
+
+        Article budget = stored.stream().filter(a -> a.getTitle().startsWith("국회")).findFirst().orElseThrow();
+        assertThat(budget.getSummary()).isEqualTo("국회 예산결산특별위원회가 내년도 예산안 심사에 들어갔다.");
+        assertThat(stored).extracting(Article::getTitle).contains("한은, 기준금리 동결 & 성장률 전망 유지");
+    }
+
+    @Test
+    void failedFileResumesFromCheckpointWithoutDuplicates() throws Exception {
+        List<Article> stored = Collections.synchronizedList(new ArrayList<>());
+        NewsIngestionPipeline pipeline = pipeline(stored);
+        pipeline.start();
+        try {
+            // 300건 뒤에 깨진 줄 → 앞 256건(정규화 묶음 하나)만 넘어간 채 실패
+            drop("crawler-batch-777.ndjson", lines(1, 300) + "{\"title\": 깨진 줄\n");
+            await(pipeline, "filesFailed", 1);
+            assertThat(stored).hasSize(256);
+            Path checkpoint = dropDir.resolve("checkpoints").resolve("crawler-batch-777.ndjson");
+            assertThat(Files.readString(checkpoint)).startsWith("256 ");
+
+            // 크롤러가 고친 파일을 같은 이름으로 다시 떨굼 → 257번째부터
+            drop("crawler-batch-777.ndjson", lines(1, 320));
+            await(pipeline, "filesProcessed", 1);
+        } finally {
+            pipeline.stop();
+        }
+
+        assertThat(stored).hasSize(320);
+        assertThat(stored.stream().map(Article::getTitle).distinct().count()).isEqualTo(320);
+        assertThat(pipeline.stats())
+                .containsEntry("filesResumed", 1L)
+                .containsEntry("skippedOnResume", 256L);
+        assertThat(Files.exists(dropDir.resolve("checkpoints").resolve("crawler-batch-777.ndjson"))).isFalse();
+        assertThat(Files.exists(dropDir.resolve("processed").resolve("crawler-batch-777.ndjson"))).isTrue();
+    }
+
+    @Test
+    void checkpointIsIgnoredForDifferentFileWithSameName() throws Exception {
+        List<Article> stored = Collections.synchronizedList(new ArrayList<>());
+        NewsIngestionPipeline pipeline = pipeline(stored);
+        pipeline.start();
+        try {
+            drop("crawler-batch-778.ndjson", lines(1, 300) + "{\"title\": 깨진 줄\n");
+            await(pipeline, "filesFailed", 1);
+
+            // 같은 이름이지만 내용이 다른 파일 → 체크포인트를 버리고 처음부터
+            drop("crawler-batch-778.ndjson", lines(1001, 1010));
+            await(pipeline, "filesProcessed", 1);
+        } finally {
+            pipeline.stop();
+        }
+
+        assertThat(stored).hasSize(266);
+        assertThat(pipeline.stats()).containsEntry("filesResumed", 0L);
+    }
+
+    @Test
+    void publishedAtAcceptsOffsetsWithAndWithoutColon() {
+        long expected = Instant.parse("2025-10-19T01:00:00Z").toEpochMilli();
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-19T10:00:00+09:00")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-19T10:00:00+0900")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-19T10:00:00+09")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-19T10:00:00.000+0900")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-19 10:00:00+0900")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-19T01:00:00Z")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-18T20:00:00-0500")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("Sun, 19 Oct 2025 10:00:00 +0900")).isEqualTo(expected);
+        assertThat(NewsIngestionPipeline.parsePublishedAt("2025-10-19 10:00:00")).isEqualTo(expected); // KST
+        assertThat(NewsIngestionPipeline.parsePublishedAt("1760835600")).isEqualTo(expected);
+    }
+
+    private NewsIngestionPipeline pipeline(List<Article> stored) {
+        // 제목이 비슷한 기사들이라 근접 중복 제거는 끔
+        return new NewsIngestionPipeline(
+                List.<ArticleSink>of(stored::addAll), new NewsCategoryMapper(), new ArticleIdGenerator(),
+                new ArticleDeduplicator(false, 7, 60, 24, 1000),
+                true, dropDir.toString(), 2, 4);
+    }
+
+    private static String lines(int from, int to) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            sb.append("{\"section\":\"world\",\"title\":\"세계 소식 ").append(i)
+                    .append("\",\"url\":\"https://news.example.com/world/").append(i)
+                    .append("\",\"publishedAt\":\"2025-10-19T10:00:00+0900\"}\n");
+        }
+        return sb.toString();
+    }
+
+    // 크롤러처럼 임시 이름으로 쓰고 rename
+    private void drop(String name, String content) throws Exception {
+        Path tmp = dropDir.resolve(name + ".tmp");
+        Files.writeString(tmp, content);
+        Files.move(tmp, dropDir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void await(NewsIngestionPipeline pipeline, String counter, long expected) throws InterruptedException {
+        for (int i = 0; i < 100 && (long) pipeline.stats().get(counter) < expected; i++) {
+            Thread.sleep(100);
+        }
+        // 마지막 배치가 sink까지 가도록 잠깐 더
+        Thread.sleep(300);
+    }
+}
@@ -0,0 +1,103 @@
+package com.nuzip.nuzip.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 본 기사 비트맵: 중복 추가, char[] → int[] → 비트셋 전환, 종류별 저장/복원
+class SeenBitmapTest {
+
+    @Test
+    void sparseOffsetsStayInSortedArrays() {
+        SeenBitmap bitmap = new SeenBitmap();
+        assertThat(bitmap.add(500)).isTrue();
+        assertThat(bitmap.add(3)).isTrue();
+        assertThat(bitmap.add(500)).isFalse();
+        assertThat(bitmap.contains(3)).isTrue();
+        assertThat(bitmap.contains(4)).isFalse();
+        assertThat(bitmap.contains(70_000)).isFalse();
+        assertThat(bitmap.sizeInBytes()).isEqualTo(4 * 2L); // char[4]
+
+        // 65536 이상이 들어오면 int[]로, 앞서 넣은 것도 그대로
+        assertThat(bitmap.add(70_000)).isTrue();
+        assertThat(bitmap.sizeInBytes()).isEqualTo(4 * 4L); // int[4]
+        assertThat(bitmap.contains(3)).isTrue();
+        assertThat(bitmap.contains(500)).isTrue();
+        assertThat(bitmap.contains(70_000)).isTrue();
+        assertThat(bitmap.add(70_000)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(3);
+    }
+
+    @Test
+    void denseDaySwitchesToBitsetAndStaysBounded() {
+        SeenBitmap bitmap = new SeenBitmap();
+        for (int offset = 0; offset < 10_000; offset += 2) {
+            assertThat(bitmap.add(offset)).isTrue();
+        }
+        assertThat(bitmap.add(9_998)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(5_000);
+        // 비트셋: 오프셋 10000까지 157워드 (배열이었으면 char 5000개 = 10000바이트)
+        assertThat(bitmap.sizeInBytes()).isLessThanOrEqualTo(2 * 157 * 8L);
+        assertThat(bitmap.contains(4_000)).isTrue();
+        assertThat(bitmap.contains(4_001)).isFalse();
+        assertThat(bitmap.contains(1_000_000)).isFalse();
+
+        // 비트셋 범위 밖도 늘려서 받음
+        assertThat(bitmap.add(200_000)).isTrue();
+        assertThat(bitmap.contains(200_000)).isTrue();
+        assertThat(bitmap.cardinality()).isEqualTo(5_001);
+    }
+
+    @Test
+    void everyKindSurvivesWriteAndRead() throws IOException {
+        SeenBitmap small = new SeenBitmap();
+        small.add(7);
+        small.add(65_535);
+        SeenBitmap wide = new SeenBitmap();
+        wide.add(1);
+        wide.add(1_000_000);
+        SeenBitmap bits = new SeenBitmap();
+        for (int offset = 0; offset < 300; offset++) {
+            bits.add(offset);
+        }
+
+        for (SeenBitmap original : new SeenBitmap[]{small, wide, bits}) {
+            SeenBitmap copy = roundTrip(original);
+            assertThat(copy.cardinality()).isEqualTo(original.cardinality());
+            assertThat(copy.sizeInBytes()).isLessThanOrEqualTo(Math.max(original.sizeInBytes(), 16L));
+            for (int offset : new int[]{0, 1, 7, 150, 299, 300, 65_535, 1_000_000}) {
+                assertThat(copy.contains(offset)).isEqualTo(original.contains(offset));
+            }
+        }
+
+        // 복원한 뒤에도 계속 추가할 수 있음
+        SeenBitmap copy = roundTrip(small);
+        assertThat(copy.add(8)).isTrue();
+        assertThat(copy.add(7)).isFalse();
+        assertThat(copy.add(100_000)).isTrue();
+        assertThat(copy.contains(8)).isTrue();
+        assertThat(copy.contains(100_000)).isTrue();
+    }
+
+    @Test
+    void unknownKindIsRejected() {
+        byte[] bytes = {9, 0, 0, 0, 0};
+        assertThatThrownBy(() -> SeenBitmap.read(new DataInputStream(new ByteArrayInputStream(bytes))))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static SeenBitmap roundTrip(SeenBitmap bitmap) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            bitmap.write(out);
+        }
+        return SeenBitmap.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
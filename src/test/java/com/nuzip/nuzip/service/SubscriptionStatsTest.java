@@ -0,0 +1,153 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.AuthProvider;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.service.SubscriptionStats.AgeBand;
+import com.nuzip.nuzip.service.SubscriptionStats.Profile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.nuzip.nuzip.domain.NewsCategory.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 구독 통계: 가입/변경/탈퇴 증감, 커밋된 변경만 반영, 재집계가 오차를 고치되 집계 중에 바뀐 칸은 다음 주기로 미루는지
+class SubscriptionStatsTest {
+
+    // 올해 기준 35세 → THIRTIES
+    private static final int BIRTH_YEAR = Year.now().getValue() - 35;
+
+    private final List<Object[]> subscriptionRows = new ArrayList<>();
+    private final List<Object[]> userRows = new ArrayList<>();
+    // DB 집계 도중에 커밋되는 변경을 흉내 냄
+    private Runnable duringQuery = () -> { };
+    private SubscriptionStats stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = new SubscriptionStats(TestUserRepository.of(Map.of(
+                "countSubscriptionsByCategoryProviderBirthYear", args -> {
+                    duringQuery.run();
+                    return subscriptionRows;
+                },
+                "countUsersByProviderBirthYear", args -> userRows)));
+    }
+
+    @Test
+    void countersFollowSignupChangeAndDeletion() {
+        Profile kim = new Profile(Set.of(POLITICS, ECONOMY, IT_SCIENCE), AuthProvider.LOCAL,
+                LocalDate.of(BIRTH_YEAR, 12, 31));
+        Profile lee = new Profile(Set.of(SOCIETY, LIFE_CULTURE, SPORTS), AuthProvider.OAUTH_GOOGLE, null);
+
+        stats.recordChange(null, kim);
+        stats.recordChange(null, lee);
+        assertThat(stats.stats()).containsEntry("users", 2L);
+        assertThat(category(POLITICS)).containsEntry("total", 1L);
+        assertThat(byAgeBand(POLITICS)).containsEntry("THIRTIES", 1L).containsEntry("UNKNOWN", 0L);
+        assertThat(byProvider(SPORTS)).containsEntry("OAUTH_GOOGLE", 1L).containsEntry("LOCAL", 0L);
+        assertThat(byAgeBand(SPORTS)).containsEntry("UNKNOWN", 1L);
+
+        // 카테고리 변경: 빠진 카테고리는 줄고 새 카테고리는 늘어남 (사용자 수는 그대로)
+        Profile kimChanged = new Profile(Set.of(SPORTS, ECONOMY, WORLD), AuthProvider.LOCAL, kim.birthDate());
+        stats.recordChange(kim, kimChanged);
+        assertThat(stats.stats()).containsEntry("users", 2L);
+        assertThat(category(POLITICS)).containsEntry("total", 0L);
+        assertThat(category(ECONOMY)).containsEntry("total", 1L);
+        assertThat(category(SPORTS)).containsEntry("total", 2L);
+
+        stats.recordChange(lee, null);
+        assertThat(stats.stats()).containsEntry("users", 1L);
+        assertThat(category(SPORTS)).containsEntry("total", 1L);
+        assertThat(category(SOCIETY)).containsEntry("total", 0L);
+    }
+
+    @Test
+    void ageBandsUseBirthYear() {
+        assertThat(AgeBand.of(null, 2026)).isEqualTo(AgeBand.UNKNOWN);
+        assertThat(AgeBand.of(2007, 2026)).isEqualTo(AgeBand.UNDER_20);
+        assertThat(AgeBand.of(2006, 2026)).isEqualTo(AgeBand.TWENTIES);
+        assertThat(AgeBand.of(1977, 2026)).isEqualTo(AgeBand.FORTIES);
+        assertThat(AgeBand.of(1967, 2026)).isEqualTo(AgeBand.FIFTIES);
+        assertThat(AgeBand.of(1966, 2026)).isEqualTo(AgeBand.SIXTIES_PLUS);
+    }
+
+    @Test
+    void onlyCommittedChangesAreCounted() {
+        Profile kim = new Profile(Set.of(POLITICS, ECONOMY, IT_SCIENCE), AuthProvider.LOCAL, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stats.recordChange(null, kim);
+            assertThat(stats.stats()).containsEntry("users", 0L); // 커밋 전
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(stats.stats()).containsEntry("users", 1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stats.recordChange(kim, null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(stats.stats()).containsEntry("users", 1L);
+        assertThat(category(POLITICS)).containsEntry("total", 1L);
+    }
+
+    @Test
+    void reconcileFixesDriftButDefersCellsChangedDuringQuery() {
+        Profile kim = new Profile(Set.of(POLITICS, ECONOMY, IT_SCIENCE), AuthProvider.LOCAL,
+                LocalDate.of(BIRTH_YEAR, 1, 1));
+        stats.recordChange(null, kim);
+
+        // DB에는 다른 노드에서 가입한 lee2도 있음 (이 노드 카운터에는 없음)
+        for (NewsCategory category : kim.categories()) {
+            subscriptionRows.add(new Object[]{category, AuthProvider.LOCAL, BIRTH_YEAR, 1L});
+        }
+        for (NewsCategory category : List.of(SOCIETY, LIFE_CULTURE, SPORTS)) {
+            subscriptionRows.add(new Object[]{category, AuthProvider.OAUTH_GOOGLE, null, 1L});
+        }
+        userRows.add(new Object[]{AuthProvider.LOCAL, BIRTH_YEAR, 1L});
+        userRows.add(new Object[]{AuthProvider.OAUTH_GOOGLE, null, 1L});
+
+        stats.reconcile();
+        // 구독 3칸 + 사용자 1칸
+        assertThat(stats.stats()).containsEntry("users", 2L).containsEntry("driftCorrections", 4L);
+        assertThat(byProvider(SPORTS)).containsEntry("OAUTH_GOOGLE", 1L);
+        assertThat((Long) stats.stats().get("lastReconciledAt")).isPositive();
+
+        // 집계 도중 이 노드에서 가입이 커밋됨 → DB 결과에는 없지만 그 칸은 덮어쓰지 않음
+        duringQuery = () -> stats.recordChange(null, new Profile(Set.of(POLITICS, WORLD, SPORTS),
+                AuthProvider.LOCAL, LocalDate.of(BIRTH_YEAR, 6, 1)));
+        stats.reconcile();
+        assertThat(stats.stats()).containsEntry("users", 3L).containsEntry("driftCorrections", 4L);
+        assertThat(category(POLITICS)).containsEntry("total", 2L);
+        assertThat(category(WORLD)).containsEntry("total", 1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> category(NewsCategory category) {
+        return (Map<String, Object>) ((Map<String, Object>) stats.stats().get("categories")).get(category.name());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> byProvider(NewsCategory category) {
+        return (Map<String, Long>) category(category).get("byProvider");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> byAgeBand(NewsCategory category) {
+        return (Map<String, Long>) category(category).get("byAgeBand");
+    }
+}
@@ -0,0 +1,65 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 사용자 대량 생성: 같은 seed면 스레드 수/청크 크기/실행 시각이 달라도 같은 행, seed가 다르면 다른 행
+class SyntheticUserGeneratorTest {
+
+    // BCrypt 대신 입력을 그대로 (해시 salt 때문에 행이 달라지지 않게)
+    private static final PasswordEncoder PLAIN = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence raw) {
+            return "plain:" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return encoded.equals(encode(raw));
+        }
+    };
+
+    @Test
+    void sameSeedProducesSameRows() throws Exception {
+        JdbcTemplate parallel = generate(42, 4, 7);
+        Thread.sleep(1100); // 실행 시각이 달라도 가입 시각은 기준일에서 계산
+        JdbcTemplate sequential = generate(42, 1, 50);
+
+        List<Map<String, Object>> users = rows(parallel, "select * from users order by id");
+        assertThat(users).hasSize(50);
+        assertThat(users).isEqualTo(rows(sequential, "select * from users order by id"));
+        String categories = "select user_id, category from user_categories order by user_id, category";
+        assertThat(rows(parallel, categories)).isNotEmpty().isEqualTo(rows(sequential, categories));
+
+        Timestamp epoch = Timestamp.valueOf("2026-10-19 00:00:00");
+        assertThat(users).allMatch(row -> !((Timestamp) row.get("created_at")).after(epoch));
+
+        JdbcTemplate otherSeed = generate(43, 4, 7);
+        assertThat(rows(otherSeed, "select * from users order by id")).isNotEqualTo(users);
+    }
+
+    private static JdbcTemplate generate(long seed, int threads, int chunkSize) throws Exception {
+        DataSource dataSource = TestDatabase.dataSource("generator", "users", "user_categories");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        new SyntheticUserGenerator(jdbc, new ShardRouter(false, List.of(), List.of(), 128, 64),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), PLAIN, null,
+                true, 50, seed, threads, chunkSize, "gen", "2026-10-19", false).run(null);
+        return jdbc;
+    }
+
+    private static List<Map<String, Object>> rows(JdbcTemplate jdbc, String sql) {
+        return jdbc.queryForList(sql);
+    }
+}
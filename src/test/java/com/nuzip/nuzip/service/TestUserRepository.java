@@ -0,0 +1,32 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+// 테스트용 UserRepository: 쓰는 메서드만 이름으로 지정 (나머지를 부르면 UnsupportedOperationException)
+final class TestUserRepository {
+
+    private TestUserRepository() {
+    }
+
+    static UserRepository of(Map<String, Function<Object[], Object>> methods) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> "TestUserRepository" + methods.keySet();
+                        };
+                    }
+                    Function<Object[], Object> body = methods.get(method.getName());
+                    if (body == null) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return body.apply(args);
+                });
+    }
+}
@@ -0,0 +1,81 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 자동완성: 가중치(최신도) 순 상위 K, 입력 중간 상태 접두어, 한자처럼 자모/ASCII가 아닌 글자가 서로 섞이지 않는지
+class TitleAutocompleteTest {
+
+    private static final long HOUR = 3_600_000;
+
+    private TitleAutocomplete autocomplete;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        autocomplete = new TitleAutocomplete(new TrendingService(60, 5, 4, 4096, 3, 8, 65536), 10, 1000, 24, 1024);
+        now = System.currentTimeMillis();
+    }
+
+    @AfterEach
+    void tearDown() {
+        autocomplete.shutdown();
+    }
+
+    @Test
+    void topKFollowsWeightOrder() {
+        autocomplete.accept(List.of(
+                article(1, "삼성전자 실적 발표", now),
+                article(2, "삼성물산 합병", now - 24 * HOUR),
+                article(3, "삼성바이오 상장", now - 48 * HOUR),
+                article(4, "[속보] 삼성전자가 신제품 공개", now - 72 * HOUR),
+                article(5, "현대차 신차", now)));
+        autocomplete.rebuild();
+
+        // 어절 "삼성전자"는 두 제목에 나와 후보가 되고(조사 뗌), 가중치는 두 기사의 합
+        assertThat(autocomplete.complete("삼성", 10)).containsExactly(
+                "삼성전자", "삼성전자 실적 발표", "삼성물산 합병", "삼성바이오 상장", "삼성전자가 신제품 공개");
+        assertThat(autocomplete.complete("삼성", 2)).containsExactly("삼성전자", "삼성전자 실적 발표");
+        assertThat(autocomplete.complete("삼서", 3)).containsExactly("삼성전자", "삼성전자 실적 발표", "삼성물산 합병");
+        assertThat(autocomplete.complete("삼성ㅈ", 10)).containsExactly(
+                "삼성전자", "삼성전자 실적 발표", "삼성전자가 신제품 공개");
+        assertThat(autocomplete.complete("삼성전자 ㅅ", 10)).containsExactly("삼성전자 실적 발표");
+        assertThat(autocomplete.complete("현대", 10)).containsExactly("현대차 신차");
+        assertThat(autocomplete.complete("기아", 10)).isEmpty();
+        assertThat(autocomplete.complete("!!", 10)).isEmpty();
+    }
+
+    @Test
+    void nonJamoCharactersKeepTheirOwnKeys() {
+        autocomplete.accept(List.of(
+                article(1, "美 대선 결과", now),
+                article(2, "中 대선 결과", now - HOUR),
+                article(3, "日 대선 결과", now - 2 * HOUR)));
+        autocomplete.rebuild();
+
+        assertThat(TitleAutocomplete.key("美")).isNotEqualTo(TitleAutocomplete.key("中"));
+        assertThat(autocomplete.complete("美", 10)).containsExactly("美 대선 결과");
+        assertThat(autocomplete.complete("中", 10)).containsExactly("中 대선 결과");
+        assertThat(autocomplete.complete("日 대", 10)).containsExactly("日 대선 결과");
+        assertThat(autocomplete.complete("대", 10)).containsExactly("대선");
+        assertThat(autocomplete.stats()).containsEntry("terms", 5);
+    }
+
+    private static Article article(long id, String title, long publishedAt) {
+        return Article.builder()
+                .id(id)
+                .category(NewsCategory.POLITICS)
+                .title(title)
+                .url("https://news.example.com/" + id)
+                .source("테스트")
+                .publishedAt(publishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 인기 기사: 긴 꼬리 속에서 상위 K 순서, 후보표 크기 상한, 창이 밀리면 지난 버킷 조회 수가 빠지는지,
+// 여러 스레드가 동시에 기록해도(후보표는 대기 링을 거쳐 갱신) 상위 K가 맞는지
+class TrendingServiceTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long T0 = 1_760_000_000_000L / MINUTE * MINUTE;
+
+    @Test
+    void topKSurvivesLongTailWithBoundedCandidates() {
+        TrendingService trending = new TrendingService(60, 5, 4, 4096, 3, 8, 65536);
+        List<Article> batch = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            batch.add(article(id, NewsCategory.ECONOMY));
+        }
+        batch.add(article(5000, NewsCategory.SPORTS));
+        trending.accept(batch);
+
+        // 기사 1~5는 50, 40, 30, 20, 10회, 나머지 2995건은 한 번씩 → 섞어서 기록
+        List<Long> views = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            for (int i = 0; i < 60 - 10 * id; i++) {
+                views.add(id);
+            }
+        }
+        for (long id = 6; id <= 3000; id++) {
+            views.add(id);
+        }
+        Collections.shuffle(views, new Random(42));
+        for (long id : views) {
+            trending.recordView(id, T0 + 1_000);
+        }
+        trending.recordView(5000, T0 + 1_000);
+        trending.recordView(9999, T0 + 1_000); // 모르는 기사
+
+        trending.refresh(T0 + 2_000);
+
+        List<TrendingArticle> top = trending.trending(NewsCategory.ECONOMY).items();
+        assertThat(top).extracting(TrendingArticle::articleId).containsExactly(1L, 2L, 3L);
+        assertThat(top.get(0).views()).isGreaterThanOrEqualTo(50L);
+        assertThat(trending.trending(NewsCategory.SPORTS).items()).extracting(TrendingArticle::articleId)
+                .containsExactly(5000L);
+        assertThat(trending.trending(NewsCategory.WORLD).items()).isEmpty();
+        assertThat((long) trending.stats().get("candidates")).isLessThanOrEqualTo(8L * 2);
+        assertThat(trending.stats()).containsEntry("droppedUnknownArticle", 1L);
+    }
+
+    @Test
+    void viewsLeaveTheWindowWithTheirBucket() {
+        TrendingService trending = new TrendingService(60, 2, 4, 4096, 5, 16, 65536);
+        trending.accept(List.of(article(1, NewsCategory.WORLD), article(2, NewsCategory.WORLD)));
+
+        for (int i = 0; i < 5; i++) {
+            trending.recordView(1, T0 + i);
+        }
+        for (int i = 0; i < 3; i++) {
+            trending.recordView(2, T0 + MINUTE + i);
+        }
+
+        trending.refresh(T0 + MINUTE + 10);
+        assertThat(trending.trending(NewsCategory.WORLD).items()).extracting(TrendingArticle::articleId)
+                .containsExactly(1L, 2L);
+        assertThat(trending.views(1, T0 + MINUTE + 10)).isEqualTo(5L);
+
+        // 창(버킷 2개)이 밀려 기사 1의 버킷이 빠짐
+        trending.refresh(T0 + 2 * MINUTE + 10);
+        assertThat(trending.trending(NewsCategory.WORLD).items()).extracting(TrendingArticle::articleId)
+                .containsExactly(2L);
+        assertThat(trending.views(1, T0 + 2 * MINUTE + 10)).isZero();
+        assertThat(trending.views(2, T0 + 2 * MINUTE + 10)).isEqualTo(3L);
+
+        // 링(3칸)이 한 바퀴 돌아 기사 1의 옛 칸을 다시 씀 → 예전 5회는 남지 않고, 기사 2도 창에서 빠짐
+        trending.recordView(1, T0 + 3 * MINUTE);
+        trending.refresh(T0 + 3 * MINUTE + 10);
+        assertThat(trending.trending(NewsCategory.WORLD).items()).extracting(TrendingArticle::articleId)
+                .containsExactly(1L);
+        assertThat(trending.views(1, T0 + 3 * MINUTE + 10)).isEqualTo(1L);
+        assertThat(trending.views(2, T0 + 3 * MINUTE + 10)).isZero();
+    }
+
+    @Test
+    void concurrentRecordingKeepsTopKWithoutRefreshInBetween() throws Exception {
+        TrendingService trending = new TrendingService(60, 5, 4, 4096, 3, 8, 65536);
+        List<Article> batch = new ArrayList<>();
+        for (long id = 1; id <= 4000; id++) {
+            batch.add(article(id, NewsCategory.IT_SCIENCE));
+        }
+        trending.accept(batch);
+
+        // 스레드 4개가 각자 긴 꼬리 1000건 + 인기 기사 1~3을 400, 300, 200회씩 섞어서 기록
+        int threads = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long tailFrom = 1001 + t * 750L;
+            int seed = t;
+            done.add(pool.submit(() -> {
+                List<Long> views = new ArrayList<>();
+                for (long id = 1; id <= 3; id++) {
+                    for (int i = 0; i < 100 * (5 - id); i++) {
+                        views.add(id);
+                    }
+                }
+                for (long id = tailFrom; id < tailFrom + 750; id++) {
+                    views.add(id);
+                }
+                Collections.shuffle(views, new Random(seed));
+                for (long id : views) {
+                    trending.recordView(id, T0 + 1_000);
+                }
+            }));
+        }
+        for (Future<?> f : done) {
+            f.get();
+        }
+        pool.shutdown();
+
+        // 갱신 전에도 대기 링이 절반 찰 때마다 비워져 후보표가 이미 채워져 있음
+        assertThat((long) trending.stats().get("candidates")).isEqualTo(8L);
+
+        trending.refresh(T0 + 2_000);
+        List<TrendingArticle> top = trending.trending(NewsCategory.IT_SCIENCE).items();
+        assertThat(top).extracting(TrendingArticle::articleId).containsExactly(1L, 2L, 3L);
+        assertThat(top.get(0).views()).isGreaterThanOrEqualTo(1600L);
+        assertThat(trending.stats()).containsEntry("recorded", 4L * (900 + 750));
+    }
+
+    private static Article article(long id, NewsCategory category) {
+        return Article.builder()
+                .id(id)
+                .category(category)
+                .title("기사 " + id)
+                .url("https://news.example.com/" + id)
+                .source("테스트")
+                .publishedAt(T0)
+                .build();
+    }
+}
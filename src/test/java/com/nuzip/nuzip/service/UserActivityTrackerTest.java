@@ -0,0 +1,101 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 접속 기록: 같은 사용자의 연속 기록이 UPDATE 하나로 합쳐지는지, 시각이 뒤로 가지 않는지, 실패하면 다음 주기에 다시 쓰는지
+class UserActivityTrackerTest {
+
+    private JdbcTemplate jdbc;
+    private UserActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = TestDatabase.jdbc("activity", "users");
+        for (String userId : List.of("kim1", "lee2", "park3")) {
+            jdbc.update("insert into users (user_id, password, username, provider) values (?, '', ?, 'LOCAL')",
+                    userId, userId);
+        }
+        // 배치 2건씩: 여러 배치로 나뉘어도 전부 반영되는지
+        tracker = new UserActivityTracker(jdbc, new ShardRouter(false, List.of(), List.of(), 128, 64), 2);
+    }
+
+    @Test
+    void repeatedRecordsAreCoalescedPerUser() {
+        for (int i = 0; i < 5; i++) {
+            tracker.recordSeen("kim1");
+        }
+        for (int i = 0; i < 3; i++) {
+            tracker.recordSeen("lee2");
+        }
+        tracker.recordLogin("park3");
+        assertThat(tracker.stats())
+                .containsEntry("pendingSeen", 3)
+                .containsEntry("pendingLogin", 1)
+                .containsEntry("recorded", 9L);
+
+        tracker.flush();
+
+        // 접속 3명 + 로그인 1명 → 기록 9번이 UPDATE 4건으로
+        assertThat(tracker.stats())
+                .containsEntry("written", 4L)
+                .containsEntry("pendingSeen", 0)
+                .containsEntry("pendingLogin", 0);
+        assertThat(seenAt("kim1")).isNotNull();
+        assertThat(seenAt("lee2")).isNotNull();
+        assertThat(seenAt("park3")).isNotNull();
+        assertThat(jdbc.queryForObject("select last_login_at from users where user_id = 'park3'", Timestamp.class))
+                .isNotNull();
+        assertThat(jdbc.queryForObject("select count(*) from users where last_login_at is not null", Long.class))
+                .isEqualTo(1L);
+
+        tracker.flush(); // 반영할 것이 없으면 아무것도 쓰지 않음
+        assertThat(tracker.stats()).containsEntry("written", 4L);
+    }
+
+    @Test
+    void newerValueWrittenByOtherNodeIsKept() {
+        Timestamp later = new Timestamp(System.currentTimeMillis() + 3_600_000L);
+        jdbc.update("update users set last_seen_at = ? where user_id = 'kim1'", later);
+
+        tracker.recordSeen("kim1");
+        tracker.flush();
+
+        assertThat(seenAt("kim1")).isEqualTo(later);
+    }
+
+    @Test
+    void failedFlushIsRetriedOnNextCycle() {
+        tracker.recordSeen("kim1");
+        tracker.recordSeen("lee2");
+        tracker.recordSeen("park3");
+
+        jdbc.execute("alter table users rename to users_offline");
+        tracker.flush();
+        assertThat(tracker.stats())
+                .containsEntry("written", 0L)
+                .containsEntry("pendingSeen", 3);
+
+        // 실패한 동안 들어온 기록과 합쳐져 한 번만 씀
+        tracker.recordSeen("kim1");
+        jdbc.execute("alter table users_offline rename to users");
+        tracker.flush();
+        assertThat(tracker.stats())
+                .containsEntry("written", 3L)
+                .containsEntry("pendingSeen", 0);
+        assertThat(jdbc.queryForObject("select count(*) from users where last_seen_at is not null", Long.class))
+                .isEqualTo(3L);
+    }
+
+    private Timestamp seenAt(String userId) {
+        return jdbc.queryForObject("select last_seen_at from users where user_id = ?", Timestamp.class, userId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.ShardRouter;
+import com.nuzip.nuzip.dto.ReadEventDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// 관심도: DB 값을 반감기만큼 감쇠해서 불러오는지, 배치 upsert가 기존 행을 감쇠한 뒤 delta를 더하는지
+class UserAffinityServiceTest {
+
+    private static final long HALF_LIFE_MILLIS = 72 * 3_600_000L;
+
+    private JdbcTemplate jdbc;
+    private UserAffinityService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = TestDatabase.jdbc("affinity", "user_category_affinity");
+        service = new UserAffinityService(jdbc, new ShardRouter(false, List.of(), List.of(), 128, 64),
+                72, 50, 1_800_000, 1000, 200, 1000, 1024, 2.0);
+        service.accept(List.of(article(1, NewsCategory.SPORTS), article(2, NewsCategory.ECONOMY)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    void storedScoresAreDecayedByHalfLifeOnLoad() {
+        long now = System.currentTimeMillis();
+        insert("kim1", NewsCategory.SPORTS, 8f, now - HALF_LIFE_MILLIS);
+        insert("kim1", NewsCategory.ECONOMY, 8f, now - 2 * HALF_LIFE_MILLIS);
+
+        float[] scores = service.scores("kim1");
+
+        assertThat(scores[NewsCategory.SPORTS.ordinal()]).isCloseTo(4f, within(0.01f));
+        assertThat(scores[NewsCategory.ECONOMY.ordinal()]).isCloseTo(2f, within(0.01f));
+        assertThat(scores[NewsCategory.WORLD.ordinal()]).isZero();
+    }
+
+    @Test
+    void upsertDecaysExistingRowBeforeAddingDelta() throws InterruptedException {
+        long before = System.currentTimeMillis() - HALF_LIFE_MILLIS;
+        insert("lee2", NewsCategory.SPORTS, 4f, before);
+
+        assertThat(service.submit("lee2", List.of(
+                new ReadEventDto(1, "CLICK", 0),
+                new ReadEventDto(2, "DWELL", 120_000),
+                new ReadEventDto(2, "DWELL", 1_000),      // 3초 미만은 무시
+                new ReadEventDto(1, "IMPRESSION", 0)))).isEqualTo(2);
+        awaitDecayedAfter("lee2", NewsCategory.SPORTS, before);
+
+        assertThat(score("lee2", NewsCategory.SPORTS)).isCloseTo(3f, within(0.01f));   // 4 → 2로 감쇠 + 클릭 1
+        assertThat(score("lee2", NewsCategory.ECONOMY)).isCloseTo(2f, within(0.01f));  // 새 행: 체류 2분
+        assertThat(service.scores("lee2")[NewsCategory.SPORTS.ordinal()]).isCloseTo(3f, within(0.01f));
+
+        // 다른 노드가 같은 사용자를 먼저 써둔 경우에도 DB에서 합쳐짐
+        long other = System.currentTimeMillis() - 1_000;
+        jdbc.update("update user_category_affinity set score = score + 10, decayed_at = ? "
+                + "where user_id = 'lee2' and category = 'SPORTS'", other);
+        service.submit("lee2", List.of(new ReadEventDto(1, "CLICK", 0)));
+        awaitDecayedAfter("lee2", NewsCategory.SPORTS, other);
+
+        assertThat(score("lee2", NewsCategory.SPORTS)).isCloseTo(14f, within(0.01f));
+        assertThat(jdbc.queryForObject("select count(*) from user_category_affinity", Long.class)).isEqualTo(2);
+    }
+
+    private void awaitDecayedAfter(String userId, NewsCategory category, long after) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            Long decayedAt = jdbc.query("select decayed_at from user_category_affinity where user_id = ? and category = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, userId, category.name());
+            if (decayedAt != null && decayedAt > after) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private float score(String userId, NewsCategory category) {
+        return jdbc.queryForObject("select score from user_category_affinity where user_id = ? and category = ?",
+                Float.class, userId, category.name());
+    }
+
+    private void insert(String userId, NewsCategory category, float score, long decayedAt) {
+        jdbc.update("insert into user_category_affinity (user_id, category, score, decayed_at) values (?, ?, ?, ?)",
+                userId, category.name(), score, decayedAt);
+    }
+
+    private static Article article(long id, NewsCategory category) {
+        return Article.builder()
+                .id(id)
+                .category(category)
+                .title("기사 " + id)
+                .publishedAt(System.currentTimeMillis())
+                .build();
+    }
+}
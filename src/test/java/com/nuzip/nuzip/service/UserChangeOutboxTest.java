@@ -0,0 +1,77 @@
+package com.nuzip.nuzip.service;
+
+import com.nuzip.nuzip.NuzipApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static com.nuzip.nuzip.domain.NewsCategory.*;
+
+// 같은 임베디드 DB를 공유하는 두 노드(애플리케이션 컨텍스트)로
+// 한 노드의 변경이 아웃박스를 통해 다른 노드의 캐시를 무효화하는지 확인
+class UserChangeOutboxTest {
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = startNode(dataDir.resolve("a"));
+        nodeB = startNode(dataDir.resolve("b"));
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void categoryChangeOnOneNodeInvalidatesOtherNodesCache() throws InterruptedException {
+        UserCache cacheB = nodeB.getBean(UserCache.class);
+        assertThat(cacheB.find("kim1").orElseThrow().categories())
+                .containsExactlyInAnyOrder(POLITICS, ECONOMY, IT_SCIENCE);
+
+        nodeA.getBean(UserService.class).updateCategories("kim1", List.of("SPORTS", "WORLD", "SOCIETY"));
+
+        Set<?> categories = Set.of();
+        for (int i = 0; i < 50; i++) {
+            categories = cacheB.find("kim1").orElseThrow().categories();
+            if (categories.contains(SPORTS)) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(categories).containsExactlyInAnyOrder(SPORTS, WORLD, SOCIETY);
+    }
+
+    // application.properties(MariaDB)보다 우선하도록 커맨드라인 인자로 전달 (본 기사 스냅샷은 노드마다 임시 디렉터리)
+    private static ConfigurableApplicationContext startNode(Path dataDir) {
+        return new SpringApplicationBuilder(NuzipApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:outbox;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.security.oauth2.client.registration.google.client-id=test",
+                        "--spring.security.oauth2.client.registration.google.client-secret=test",
+                        "--nuzip.outbox.poll-interval-ms=100",
+                        "--nuzip.ingest.enabled=false",
+                        "--nuzip.article-log.enabled=false",
+                        "--nuzip.seen.dir=" + dataDir.resolve("seen")
+                );
+    }
+}
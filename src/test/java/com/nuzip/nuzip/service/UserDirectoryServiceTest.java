@@ -0,0 +1,113 @@
+package com.nuzip.nuzip.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.TestDatabase;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.domain.ShardRouter;
+import com.nuzip.nuzip.service.UserDirectoryService.DirectoryUser;
+import com.nuzip.nuzip.service.UserDirectoryService.Filter;
+import com.nuzip.nuzip.service.UserDirectoryService.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 관리자 사용자 목록: 키셋 커서로 이어 받기, 카테고리 여러 개인 사용자(정렬 키가 같은 조인 행)가 페이지 경계에서
+// 쪼개지지 않는지, CSV 따옴표/수식 주입 이스케이프
+class UserDirectoryServiceTest {
+
+    private static final Filter ALL = new Filter(null, null, null, null, null, null);
+
+    private JdbcTemplate jdbc;
+    private UserDirectoryService service;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = TestDatabase.dataSource("directory", "users", "user_categories");
+        jdbc = new JdbcTemplate(dataSource);
+        service = new UserDirectoryService(jdbc, dataSource, new ObjectMapper(),
+                new ShardRouter(false, List.of(), List.of(), 128, 64), 2);
+    }
+
+    @Test
+    void cursorContinuesWithoutSplittingUsersAcrossPages() {
+        for (int i = 1; i <= 7; i++) {
+            insertUser(i, "user" + i, "사용자" + i);
+        }
+        // 2번은 카테고리 3개 → 조인 결과에서 id가 같은 행 3개, 페이지 크기 2의 경계에 걸침
+        for (NewsCategory category : List.of(NewsCategory.POLITICS, NewsCategory.ECONOMY, NewsCategory.SPORTS)) {
+            jdbc.update("insert into user_categories (user_id, category) values (2, ?)", category.name());
+        }
+        jdbc.update("insert into user_categories (user_id, category) values (5, 'SPORTS')");
+
+        List<DirectoryUser> seen = new ArrayList<>();
+        List<Long> cursors = new ArrayList<>();
+        Long cursor = null;
+        do {
+            Page page = service.page(ALL, cursor, 2);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+            cursors.add(cursor);
+        } while (cursor != null);
+
+        assertThat(seen).extracting(DirectoryUser::id).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(cursors).containsExactly(2L, 4L, 6L, null);
+        assertThat(seen.get(1).categories()).containsExactlyInAnyOrder("POLITICS", "ECONOMY", "SPORTS");
+        assertThat(seen.get(0).categories()).isEmpty();
+
+        // 필터와 커서를 같이: 스포츠를 고른 2, 5번만
+        Filter sports = new Filter(null, NewsCategory.SPORTS, null, null, null, null);
+        Page first = service.page(sports, null, 1);
+        assertThat(first.items()).extracting(DirectoryUser::id).containsExactly(2L);
+        assertThat(first.items().get(0).categories()).hasSize(3);
+        Page second = service.page(sports, first.nextCursor(), 1);
+        assertThat(second.items()).extracting(DirectoryUser::id).containsExactly(5L);
+        assertThat(service.page(sports, second.nextCursor(), 1).items()).isEmpty();
+
+        assertThatThrownBy(() -> service.page(ALL, null, UserDirectoryService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void csvQuotesAndDefusesFormulas() throws IOException {
+        insertUser(1, "kim1", "=HYPERLINK(\"http://evil\")");
+        insertUser(2, "lee2", "+821012345678");
+        insertUser(3, "park3", "-1+1");
+        insertUser(4, "choi4", "@SUM(A1)");
+        insertUser(5, "jung5", "\t탭");
+        insertUser(6, "kang6", "홍길동, 주임");
+        insertUser(7, "cho7", "평범한-이름");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.exportCsv(ALL, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertThat(lines[0]).isEqualTo("﻿id,userId,username,provider,birthDate,categories,createdAt,lastLoginAt,lastSeenAt");
+        assertThat(lines).hasSize(8);
+        assertThat(lines[1]).startsWith("1,kim1,\"'=HYPERLINK(\"\"http://evil\"\")\",LOCAL,");
+        assertThat(lines[2]).startsWith("2,lee2,'+821012345678,");
+        assertThat(lines[3]).startsWith("3,park3,'-1+1,");
+        assertThat(lines[4]).startsWith("4,choi4,'@SUM(A1),");
+        assertThat(lines[5]).startsWith("5,jung5,'\t탭,");
+        assertThat(lines[6]).startsWith("6,kang6,\"홍길동, 주임\",");
+        assertThat(lines[7]).startsWith("7,cho7,평범한-이름,");
+
+        assertThat(UserDirectoryService.csv("\r줄")).isEqualTo("\"'\r줄\"");
+        assertThat(UserDirectoryService.csv("")).isEmpty();
+        assertThat(UserDirectoryService.csv(null)).isEmpty();
+    }
+
+    private void insertUser(long id, String userId, String username) {
+        jdbc.update("insert into users (id, user_id, password, username, provider, created_at) "
+                + "values (?, ?, '', ?, 'LOCAL', current_timestamp)", id, userId, username);
+    }
+}
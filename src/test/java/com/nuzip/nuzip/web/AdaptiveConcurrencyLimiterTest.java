@@ -0,0 +1,94 @@
+package com.nuzip.nuzip.web;
+
+import com.nuzip.nuzip.web.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 동시 처리 한도: 우선순위별 몫, 응답시간이 늘면 줄이고 회복하면 늘리기, 한도를 다 안 쓰면 늘리지 않기
+// 샘플 구간 0ms → 샘플 10개마다 한 번씩 한도를 다시 계산
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void lowerPrioritiesGetSmallerShareOfLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0);
+
+        assertThat(acquireAll(limiter, Priority.LOW)).isEqualTo(5);
+        assertThat(acquireAll(limiter, Priority.NORMAL)).isEqualTo(4);  // 9까지
+        assertThat(acquireAll(limiter, Priority.HIGH)).isEqualTo(1);    // 10까지
+        assertThat(limiter.stats()).containsEntry("inFlight", 10);
+
+        limiter.release(MS);
+        assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> rejected = (Map<String, Long>) limiter.stats().get("rejected");
+        assertThat(rejected).containsEntry("LOW", 2L).containsEntry("NORMAL", 1L).containsEntry("HIGH", 1L);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRisesAndRecovers() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, 0);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, MS);
+        }
+        int grown = limit(limiter);
+        assertThat(grown).isGreaterThan(20).isLessThanOrEqualTo(100);
+
+        // DB가 느려져 응답시간 10배 → 기울기 하한(0.5)으로 한도를 줄임
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, 10 * MS);
+        }
+        int shrunk = limit(limiter);
+        assertThat(shrunk).isLessThan(grown / 2).isGreaterThanOrEqualTo(2);
+        // 기준 RTT는 느린 구간을 따라 올라가지 않음
+        assertThat((double) limiter.stats().get("longRttMillis")).isLessThan(1.5);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, MS);
+        }
+        assertThat(limit(limiter)).isGreaterThan(shrunk);
+    }
+
+    @Test
+    void limitDoesNotGrowWhileHalfUnused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0);
+
+        // 매번 10개만 동시에 → 한도가 20을 넘으면 절반도 안 쓰는 셈이라 더 늘리지 않음
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(limiter.tryAcquire(Priority.HIGH)).isTrue();
+            }
+            for (int i = 0; i < 10; i++) {
+                limiter.release(MS);
+            }
+        }
+        assertThat(limit(limiter)).isBetween(20, 21);
+    }
+
+    // 허용되는 만큼 다 받아서 같은 응답시간으로 끝냄 (한도를 꽉 채워 쓰는 부하)
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = acquireAll(limiter, Priority.HIGH);
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+
+    private static int acquireAll(AdaptiveConcurrencyLimiter limiter, Priority priority) {
+        int acquired = 0;
+        while (limiter.tryAcquire(priority)) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    private static int limit(AdaptiveConcurrencyLimiter limiter) {
+        return (int) limiter.stats().get("limit");
+    }
+}
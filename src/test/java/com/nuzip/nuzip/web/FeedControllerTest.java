@@ -0,0 +1,78 @@
+package com.nuzip.nuzip.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nuzip.nuzip.domain.Article;
+import com.nuzip.nuzip.domain.NewsCategory;
+import com.nuzip.nuzip.service.FeedMaterializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 미리 만든 피드 응답: Accept-Encoding q값으로 gzip 협상, 인코딩별 ETag, If-None-Match가 맞으면 본문 없이 304
+class FeedControllerTest {
+
+    @Test
+    void gzipNegotiationHonoursQValues() {
+        assertThat(FeedController.acceptsGzip(null)).isFalse();
+        assertThat(FeedController.acceptsGzip("")).isFalse();
+        assertThat(FeedController.acceptsGzip("gzip")).isTrue();
+        assertThat(FeedController.acceptsGzip("deflate, GZIP;q=0.5, br")).isTrue();
+        assertThat(FeedController.acceptsGzip("x-gzip")).isTrue();
+        assertThat(FeedController.acceptsGzip("br, *")).isTrue();
+
+        // q=0은 "받지 않음" → 이름이 들어 있어도 압축하지 않음
+        assertThat(FeedController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(FeedController.acceptsGzip("gzip; q=0.000, deflate")).isFalse();
+        assertThat(FeedController.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(FeedController.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(FeedController.acceptsGzip("identity")).isFalse();
+        assertThat(FeedController.acceptsGzip("gzip;q=oops")).isFalse();
+        assertThat(FeedController.acceptsGzip("gzipx")).isFalse();
+    }
+
+    @Test
+    void conditionalRequestsUseEncodingSpecificEtag() {
+        FeedMaterializer materializer = new FeedMaterializer(new ObjectMapper(), 20, 1);
+        materializer.accept(List.of(Article.builder()
+                .id(1L)
+                .category(NewsCategory.POLITICS)
+                .title("국회 예산안 통과")
+                .url("https://news.example.com/1")
+                .source("테스트")
+                .publishedAt(1_000L)
+                .build()));
+        FeedMaterializer.Snapshot snapshot = materializer.find(
+                Set.of(NewsCategory.POLITICS, NewsCategory.ECONOMY, NewsCategory.SPORTS), null);
+
+        ResponseEntity<?> plain = FeedController.materialized(snapshot, "gzip;q=0", null);
+        assertThat(plain.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(plain.getHeaders().getETag()).isEqualTo(snapshot.etag());
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(plain.getBody()).isSameAs(snapshot.json());
+
+        ResponseEntity<?> gzipped = FeedController.materialized(snapshot, "gzip, deflate", null);
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getETag()).isEqualTo(snapshot.etag(true));
+        assertThat(gzipped.getBody()).isSameAs(snapshot.gzip());
+
+        // 같은 인코딩의 ETag면 304 (약한 비교, 여러 태그 중 하나)
+        ResponseEntity<?> notModified = FeedController.materialized(
+                snapshot, "gzip", "\"other\", W/" + snapshot.etag(true));
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(snapshot.etag(true));
+
+        // 다른 인코딩으로 받은 ETag는 본문 바이트가 다르므로 일치하지 않음
+        assertThat(FeedController.materialized(snapshot, "identity", snapshot.etag(true)).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(FeedController.materialized(snapshot, null, "*").getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+}